@@ -0,0 +1,126 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.benchmarks.support.BenchmarkEventRepresentation;
+import com.espertech.esper.benchmarks.support.BenchmarkRuntime;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParamImpl;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceBase;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockFine;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates events against the filter service directly, with a number of filters that each test the symbol for equality
+ * and the price for being greater than a constant, as produced by statements such as "select * from Tick(symbol='IBM', price &gt; 50)".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterServiceBenchmark {
+    private static final String[] SYMBOLS = {"IBM", "MSFT", "ORCL", "GE", "CSCO", "INTC", "AAPL", "SAP", "HPQ", "DELL"};
+
+    @Param({"BEAN", "MAP", "OBJECTARRAY"})
+    public BenchmarkEventRepresentation representation;
+
+    @Param({"fine", "coarse"})
+    public String locking;
+
+    @Param({"10", "1000"})
+    public int numFilters;
+
+    private BenchmarkRuntime runtime;
+    private FilterServiceBase filterService;
+    private EventBean[] events;
+    private List<FilterHandle> matches;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(FilterServiceBenchmark.class.getSimpleName() + "-" + representation, representation);
+        EventType eventType = runtime.getRuntime().getEventTypeService().getBusEventType("Tick");
+        filterService = locking.equals("fine") ? new FilterServiceLockFine(-1) : new FilterServiceLockCoarse(-1);
+
+        ExprFilterSpecLookupable symbol = new ExprFilterSpecLookupable("symbol", eventType.getGetter("symbol"), String.class, false, null);
+        ExprFilterSpecLookupable price = new ExprFilterSpecLookupable("price", eventType.getGetter("price"), Double.class, false, null);
+        for (int i = 0; i < numFilters; i++) {
+            FilterValueSetParam[][] valueSet = new FilterValueSetParam[][]{{
+                new FilterValueSetParamImpl(symbol, FilterOperator.EQUAL, SYMBOLS[i % SYMBOLS.length]),
+                new FilterValueSetParamImpl(price, FilterOperator.GREATER, (double) (i % 100))
+            }};
+            filterService.add(eventType, valueSet, new BenchmarkFilterHandle(i));
+        }
+
+        EventBeanTypedEventFactory factory = ((EPRuntimeSPI) runtime.getRuntime()).getServicesContext().getEventBeanTypedEventFactory();
+        Object[] underlyings = runtime.makeEvents(1024, SYMBOLS.length);
+        events = new EventBean[underlyings.length];
+        for (int i = 0; i < underlyings.length; i++) {
+            events[i] = toEventBean(factory, underlyings[i], eventType);
+        }
+        matches = new ArrayList<>();
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public int evaluate() {
+        matches.clear();
+        filterService.evaluate(events[index++ & 1023], matches);
+        return matches.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private EventBean toEventBean(EventBeanTypedEventFactory factory, Object underlying, EventType eventType) {
+        switch (representation) {
+            case BEAN:
+                return factory.adapterForTypedBean(underlying, eventType);
+            case MAP:
+                return factory.adapterForTypedMap((Map<String, Object>) underlying, eventType);
+            default:
+                return factory.adapterForTypedObjectArray((Object[]) underlying, eventType);
+        }
+    }
+
+    private static class BenchmarkFilterHandle implements FilterHandle {
+        private final int statementId;
+
+        BenchmarkFilterHandle(int statementId) {
+            this.statementId = statementId;
+        }
+
+        public int getStatementId() {
+            return statementId;
+        }
+
+        public int getAgentInstanceId() {
+            return -1;
+        }
+    }
+}
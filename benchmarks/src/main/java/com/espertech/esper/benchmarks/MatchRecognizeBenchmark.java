@@ -0,0 +1,62 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.benchmarks.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmarks.support.BenchmarkEventRepresentation;
+import com.espertech.esper.benchmarks.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events into a match-recognize statement, partitioned by symbol, that detects a price rising over three events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchRecognizeBenchmark {
+    @Param({"BEAN", "MAP", "OBJECTARRAY"})
+    public BenchmarkEventRepresentation representation;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkCountingListener listener;
+    private Object[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(MatchRecognizeBenchmark.class.getSimpleName() + "-" + representation, representation);
+        String epl = "@name('s0') select * from Tick " +
+            "match_recognize (" +
+            "  partition by symbol" +
+            "  measures A.price as a_price, B.price as b_price, C.price as c_price" +
+            "  pattern (A B C)" +
+            "  define B as B.price > A.price, C as C.price > B.price" +
+            ")";
+        listener = runtime.compileDeployWithListener(epl, "s0");
+        events = runtime.makeEvents(1024, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long send() {
+        runtime.send(events[index++ & 1023]);
+        return listener.getCountNew();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.benchmarks.support.BenchmarkEventRepresentation;
+import com.espertech.esper.benchmarks.support.BenchmarkRuntime;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQueryParameterized;
+import com.espertech.esper.runtime.client.EPFireAndForgetService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes an on-demand (fire-and-forget) query against a named window that looks up rows by key,
+ * with or without an explicit index on the key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NamedWindowLookupBenchmark {
+    private static final int NUM_ROWS = 10000;
+
+    @Param({"BEAN", "MAP", "OBJECTARRAY"})
+    public BenchmarkEventRepresentation representation;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private BenchmarkRuntime runtime;
+    private EPFireAndForgetService fafService;
+    private EPFireAndForgetPreparedQueryParameterized query;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(NamedWindowLookupBenchmark.class.getSimpleName() + "-" + representation + "-" + indexed, representation);
+        String epl = "@public create window TickWindow#keepall as Tick;\n" +
+            "insert into TickWindow select * from Tick;\n" +
+            (indexed ? "create index TickWindowVolumeIndex on TickWindow(volume);\n" : "");
+        runtime.compileDeploy(epl);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            runtime.send(runtime.makeEvent("IBM", i, i));
+        }
+        fafService = runtime.getRuntime().getFireAndForgetService();
+        query = fafService.prepareQueryWithParameters(runtime.compileQuery("select * from TickWindow where volume = ?:volume:long"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public int lookup() {
+        query.setObject("volume", (long) (index++ % NUM_ROWS));
+        return fafService.executeQuery(query).getArray().length;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.benchmarks.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmarks.support.BenchmarkEventRepresentation;
+import com.espertech.esper.benchmarks.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events into the pattern "every a -&gt; b" correlating the two events by symbol, with the followed-by
+ * bounded by a time interval so that the number of active pattern instances remains steady.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternFollowedByBenchmark {
+    @Param({"BEAN", "MAP", "OBJECTARRAY"})
+    public BenchmarkEventRepresentation representation;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkCountingListener listener;
+    private Object[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(PatternFollowedByBenchmark.class.getSimpleName() + "-" + representation, representation);
+        String epl = "@name('s0') select a.symbol as symbol, b.price - a.price as delta " +
+            "from pattern[every a=Tick -> (b=Tick(symbol=a.symbol, price>a.price) where timer:within(100 msec))]";
+        listener = runtime.compileDeployWithListener(epl, "s0");
+        events = runtime.makeEvents(1024, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long send() {
+        runtime.advanceTime(1);
+        runtime.send(events[index++ & 1023]);
+        return listener.getCountNew();
+    }
+}
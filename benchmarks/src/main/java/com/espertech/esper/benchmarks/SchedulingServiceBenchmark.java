@@ -0,0 +1,86 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds schedules to the scheduling service and advances time so that they fire, as a time window or pattern timer does.
+ * Each invocation adds a schedule a fixed distance ahead of the current time and advances time by one millisecond,
+ * so that the service holds a steady number of schedules.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulingServiceBenchmark {
+    @Param({"100", "10000"})
+    public int numScheduled;
+
+    private SchedulingServiceImpl schedulingService;
+    private ScheduleHandle[] handles;
+    private List<ScheduleHandle> triggered;
+    private long currentTime;
+    private int index;
+
+    @Setup
+    public void setup() {
+        schedulingService = new SchedulingServiceImpl(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+        handles = new ScheduleHandle[numScheduled];
+        for (int i = 0; i < numScheduled; i++) {
+            handles[i] = new BenchmarkScheduleHandle(i);
+        }
+        triggered = new ArrayList<>();
+        currentTime = 0;
+        schedulingService.setTime(currentTime);
+        for (int i = 0; i < numScheduled; i++) {
+            schedulingService.add(i + 1, handles[i], 0);
+        }
+    }
+
+    @Benchmark
+    public int addAndEvaluate() {
+        ScheduleHandle handle = handles[index];
+        index = index + 1 == numScheduled ? 0 : index + 1;
+        currentTime++;
+        schedulingService.setTime(currentTime);
+        triggered.clear();
+        schedulingService.evaluate(triggered);
+        schedulingService.add(numScheduled, handle, 0);
+        return triggered.size();
+    }
+
+    private static class BenchmarkScheduleHandle implements ScheduleHandle {
+        private final int statementId;
+
+        BenchmarkScheduleHandle(int statementId) {
+            this.statementId = statementId;
+        }
+
+        public int getStatementId() {
+            return statementId;
+        }
+
+        public int getAgentInstanceId() {
+            return -1;
+        }
+    }
+}
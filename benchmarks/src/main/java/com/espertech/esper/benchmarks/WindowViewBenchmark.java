@@ -0,0 +1,63 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.benchmarks.support.BenchmarkCountingListener;
+import com.espertech.esper.benchmarks.support.BenchmarkEventRepresentation;
+import com.espertech.esper.benchmarks.support.BenchmarkRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events into a statement with a time window or a length window computing an aggregate.
+ * For the time window, time advances by one millisecond per event so that the window expires events at a steady rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WindowViewBenchmark {
+    @Param({"BEAN", "MAP", "OBJECTARRAY"})
+    public BenchmarkEventRepresentation representation;
+
+    @Param({"time", "length"})
+    public String window;
+
+    private BenchmarkRuntime runtime;
+    private BenchmarkCountingListener listener;
+    private Object[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = new BenchmarkRuntime(WindowViewBenchmark.class.getSimpleName() + "-" + representation + "-" + window, representation);
+        String view = window.equals("time") ? "#time(1 sec)" : "#length(1000)";
+        listener = runtime.compileDeployWithListener("@name('s0') select count(*) as cnt, avg(price) as avgPrice from Tick" + view, "s0");
+        events = runtime.makeEvents(1024, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public long send() {
+        if (window.equals("time")) {
+            runtime.advanceTime(1);
+        }
+        runtime.send(events[index++ & 1023]);
+        return listener.getCountNew();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks.report;
+
+import com.espertech.esper.common.client.json.minimaljson.Json;
+import com.espertech.esper.common.client.json.minimaljson.JsonArray;
+import com.espertech.esper.common.client.json.minimaljson.JsonObject;
+import com.espertech.esper.common.client.json.minimaljson.JsonValue;
+import com.espertech.esper.common.client.json.minimaljson.Member;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the results of a benchmark run to the results of a baseline run, both in the JMH JSON result format
+ * (as written by "-rf json"), and prints the change in score per benchmark and parameter combination.
+ * <p>
+ * A benchmark regresses when its score is worse than the baseline score by more than the threshold percentage.
+ * Exits with a non-zero status when any benchmark regresses, for use in a build.
+ * <p>
+ * Usage: BenchmarkBaselineReport baseline.json current.json [thresholdPercent]
+ */
+public class BenchmarkBaselineReport {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkBaselineReport baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Score> baseline = read(args[0]);
+        Map<String, Score> current = read(args[1]);
+        int regressions = report(baseline, current, threshold, System.out);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Print the comparison.
+     *
+     * @param baseline  baseline scores by benchmark key
+     * @param current   current scores by benchmark key
+     * @param threshold regression threshold in percent
+     * @param out       where to print
+     * @return number of regressions
+     */
+    public static int report(Map<String, Score> baseline, Map<String, Score> current, double threshold, PrintStream out) {
+        int regressions = 0;
+        out.println(String.format("%-90s %16s %16s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score currentScore = entry.getValue();
+            Score baselineScore = baseline.get(entry.getKey());
+            if (baselineScore == null) {
+                out.println(String.format("%-90s %16s %16.3f %9s", entry.getKey(), "-", currentScore.value, "new"));
+                continue;
+            }
+            double change = currentScore.changePercent(baselineScore);
+            boolean regressed = change < -threshold;
+            if (regressed) {
+                regressions++;
+            }
+            out.println(String.format("%-90s %16.3f %16.3f %+8.1f%%%s", entry.getKey(), baselineScore.value, currentScore.value, change, regressed ? " REGRESSION" : ""));
+        }
+        for (String key : new TreeMap<>(baseline).keySet()) {
+            if (!current.containsKey(key)) {
+                out.println(String.format("%-90s %16.3f %16s %9s", key, baseline.get(key).value, "-", "missing"));
+            }
+        }
+        out.println(regressions + " regression(s) beyond " + threshold + "%");
+        return regressions;
+    }
+
+    /**
+     * Read a JMH JSON result file.
+     *
+     * @param file file name
+     * @return scores by benchmark name and parameters
+     * @throws IOException when the file cannot be read
+     */
+    public static Map<String, Score> read(String file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            return parse(Json.parse(reader).asArray());
+        }
+    }
+
+    /**
+     * Parse JMH JSON results.
+     *
+     * @param results array of results
+     * @return scores by benchmark name and parameters
+     */
+    public static Map<String, Score> parse(JsonArray results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonValue value : results) {
+            JsonObject result = value.asObject();
+            StringBuilder key = new StringBuilder(result.getString("benchmark", ""));
+            JsonValue params = result.get("params");
+            if (params != null && params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                for (Member member : params.asObject()) {
+                    sorted.put(member.getName(), member.getValue().isString() ? member.getValue().asString() : member.getValue().toString());
+                }
+                key.append(sorted);
+            }
+            JsonObject metric = result.get("primaryMetric").asObject();
+            String unit = metric.getString("scoreUnit", "");
+            scores.put(key.toString(), new Score(metric.getDouble("score", Double.NaN), unit.endsWith("/op")));
+        }
+        return scores;
+    }
+
+    /**
+     * Score of a benchmark.
+     */
+    public static class Score {
+        private final double value;
+        private final boolean lowerIsBetter;
+
+        /**
+         * Ctor.
+         *
+         * @param value         score
+         * @param lowerIsBetter true for time-per-operation units, false for throughput units
+         */
+        public Score(double value, boolean lowerIsBetter) {
+            this.value = value;
+            this.lowerIsBetter = lowerIsBetter;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public boolean isLowerIsBetter() {
+            return lowerIsBetter;
+        }
+
+        /**
+         * Returns the improvement over the baseline in percent, negative when worse than the baseline.
+         *
+         * @param baseline baseline score
+         * @return change in percent
+         */
+        public double changePercent(Score baseline) {
+            if (baseline.value == 0) {
+                return 0;
+            }
+            double change = (value - baseline.value) / baseline.value * 100d;
+            return lowerIsBetter ? -change : change;
+        }
+    }
+}
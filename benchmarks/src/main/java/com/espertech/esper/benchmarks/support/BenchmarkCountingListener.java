@@ -0,0 +1,42 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks.support;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+
+/**
+ * Listener that counts output events, so that the output of a statement under measurement is consumed
+ * without retaining events.
+ */
+public class BenchmarkCountingListener implements UpdateListener {
+    private long countNew;
+    private long countOld;
+
+    public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+        if (newEvents != null) {
+            countNew += newEvents.length;
+        }
+        if (oldEvents != null) {
+            countOld += oldEvents.length;
+        }
+    }
+
+    public long getCountNew() {
+        return countNew;
+    }
+
+    public long getCountOld() {
+        return countOld;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks.support;
+
+/**
+ * Event representation of the "Tick" event type that benchmarks run against.
+ * <p>
+ * The bean representation uses the {@link BenchmarkTick} class, the map and object-array representations
+ * use an EPL-declared schema. In each case statements access properties through compiler-generated getters.
+ */
+public enum BenchmarkEventRepresentation {
+    BEAN(null),
+    MAP("@public @buseventtype create map schema Tick(symbol string, price double, volume long);\n"),
+    OBJECTARRAY("@public @buseventtype create objectarray schema Tick(symbol string, price double, volume long);\n");
+
+    private final String schemaEPL;
+
+    BenchmarkEventRepresentation(String schemaEPL) {
+        this.schemaEPL = schemaEPL;
+    }
+
+    /**
+     * Returns the EPL declaring the type or null when the type is configured as a bean event type.
+     *
+     * @return schema EPL
+     */
+    public String getSchemaEPL() {
+        return schemaEPL;
+    }
+}
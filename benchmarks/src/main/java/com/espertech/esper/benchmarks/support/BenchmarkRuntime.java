@@ -0,0 +1,189 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks.support;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runtime for benchmarks, with an external clock so that timer-driven behavior such as window expiry is
+ * under the control of the benchmark, and with the "Tick" event type in the chosen representation.
+ */
+public class BenchmarkRuntime {
+    private static final String[] SYMBOLS = {"IBM", "MSFT", "ORCL", "GE", "CSCO", "INTC", "AAPL", "SAP", "HPQ", "DELL"};
+
+    private final BenchmarkEventRepresentation representation;
+    private final Configuration configuration;
+    private final EPRuntime runtime;
+    private final EPEventService eventService;
+    private long currentTime;
+
+    /**
+     * Ctor.
+     *
+     * @param uri            runtime URI, unique per benchmark
+     * @param representation event representation of the "Tick" type
+     */
+    public BenchmarkRuntime(String uri, BenchmarkEventRepresentation representation) {
+        this.representation = representation;
+        configuration = new Configuration();
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getLogging().setEnableExecutionDebug(false);
+        if (representation == BenchmarkEventRepresentation.BEAN) {
+            configuration.getCommon().addEventType("Tick", BenchmarkTick.class);
+        }
+        runtime = EPRuntimeProvider.getRuntime(uri, configuration);
+        runtime.initialize();
+        eventService = runtime.getEventService();
+        eventService.clockExternal();
+        eventService.advanceTime(currentTime);
+        if (representation.getSchemaEPL() != null) {
+            compileDeploy(representation.getSchemaEPL());
+        }
+    }
+
+    public EPRuntime getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * Compile and deploy a module, making EPL objects deployed before visible to the module.
+     *
+     * @param epl module text
+     * @return deployment
+     */
+    public EPDeployment compileDeploy(String epl) {
+        try {
+            EPCompiled compiled = EPCompilerProvider.getCompiler().compile(epl, makeArguments());
+            return runtime.getDeploymentService().deploy(compiled);
+        } catch (EPCompileException | EPDeployException ex) {
+            throw new RuntimeException("Failed to compile and deploy: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Compile and deploy a module and attach a counting listener to the statement of the given name.
+     *
+     * @param epl           module text
+     * @param statementName statement to attach the listener to
+     * @return listener
+     */
+    public BenchmarkCountingListener compileDeployWithListener(String epl, String statementName) {
+        EPDeployment deployment = compileDeploy(epl);
+        BenchmarkCountingListener listener = new BenchmarkCountingListener();
+        runtime.getDeploymentService().getStatement(deployment.getDeploymentId(), statementName).addListener(listener);
+        return listener;
+    }
+
+    /**
+     * Compile a fire-and-forget query against EPL objects deployed before.
+     *
+     * @param epl query
+     * @return compiled query
+     */
+    public EPCompiled compileQuery(String epl) {
+        try {
+            return EPCompilerProvider.getCompiler().compileQuery(epl, makeArguments());
+        } catch (EPCompileException ex) {
+            throw new RuntimeException("Failed to compile: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns events in the underlying form of the representation, for sending using {@link #send(Object)}.
+     * Symbols cycle through a small fixed set, prices and volumes are pseudo-random and repeatable.
+     *
+     * @param count   number of events
+     * @param symbols number of distinct symbols, at most 10
+     * @return events
+     */
+    public Object[] makeEvents(int count, int symbols) {
+        Random random = new Random(1000);
+        Object[] events = new Object[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = makeEvent(SYMBOLS[i % Math.min(symbols, SYMBOLS.length)], random.nextInt(10000) / 100d, random.nextInt(1000));
+        }
+        return events;
+    }
+
+    /**
+     * Returns an event in the underlying form of the representation.
+     *
+     * @param symbol symbol
+     * @param price  price
+     * @param volume volume
+     * @return event
+     */
+    public Object makeEvent(String symbol, double price, long volume) {
+        switch (representation) {
+            case BEAN:
+                return new BenchmarkTick(symbol, price, volume);
+            case MAP:
+                Map<String, Object> map = new HashMap<>(4);
+                map.put("symbol", symbol);
+                map.put("price", price);
+                map.put("volume", volume);
+                return map;
+            default:
+                return new Object[]{symbol, price, volume};
+        }
+    }
+
+    /**
+     * Send an event made by {@link #makeEvents(int, int)} or {@link #makeEvent(String, double, long)}.
+     *
+     * @param event to send
+     */
+    @SuppressWarnings("unchecked")
+    public void send(Object event) {
+        switch (representation) {
+            case BEAN:
+                eventService.sendEventBean(event, "Tick");
+                break;
+            case MAP:
+                eventService.sendEventMap((Map<String, Object>) event, "Tick");
+                break;
+            default:
+                eventService.sendEventObjectArray((Object[]) event, "Tick");
+        }
+    }
+
+    /**
+     * Advance the external clock.
+     *
+     * @param millis milliseconds to advance
+     */
+    public void advanceTime(long millis) {
+        currentTime += millis;
+        eventService.advanceTime(currentTime);
+    }
+
+    /**
+     * Destroy the runtime.
+     */
+    public void destroy() {
+        runtime.destroy();
+    }
+
+    private CompilerArguments makeArguments() {
+        CompilerArguments arguments = new CompilerArguments(configuration);
+        arguments.getPath().add(runtime.getRuntimePath());
+        return arguments;
+    }
+}
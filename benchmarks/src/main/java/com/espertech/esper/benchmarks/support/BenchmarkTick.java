@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks.support;
+
+/**
+ * Event class for benchmarks that use a bean event type.
+ */
+public class BenchmarkTick {
+    private final String symbol;
+    private final double price;
+    private final long volume;
+
+    public BenchmarkTick(String symbol, double price, long volume) {
+        this.symbol = symbol;
+        this.price = price;
+        this.volume = volume;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public long getVolume() {
+        return volume;
+    }
+}
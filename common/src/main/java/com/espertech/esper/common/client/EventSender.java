@@ -10,6 +10,8 @@
  */
 package com.espertech.esper.common.client;
 
+import java.util.Collection;
+
 /**
  * Returns a facility to process event objects that are of a known type.
  * <p>
@@ -28,6 +30,22 @@ public interface EventSender {
      */
     void sendEvent(Object theEvent) throws EPException;
 
+    /**
+     * Processes the event objects in iteration order, with the same semantics as processing each event object
+     * using {@link #sendEvent(Object)}.
+     * <p>
+     * The default implementation calls {@link #sendEvent(Object)} for each event object.
+     * Event senders obtained from the runtime amortize locking across event objects.
+     *
+     * @param events to process
+     * @throws EPException if a runtime error occured.
+     */
+    default void sendEventBatch(Collection<?> events) throws EPException {
+        for (Object theEvent : events) {
+            sendEvent(theEvent);
+        }
+    }
+
     /**
      * Route the event object back to the event stream processing runtime for internal dispatching,
      * to avoid the possibility of a stack overflow due to nested calls to sendEvent.
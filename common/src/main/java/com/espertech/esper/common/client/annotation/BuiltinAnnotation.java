@@ -25,8 +25,8 @@ public class BuiltinAnnotation {
     public final static Map<String, Class> BUILTIN = new HashMap<String, Class>();
 
     static {
-        for (Class clazz : new Class[]{Audit.class, Description.class, Drop.class, EventRepresentation.class,
-            Hint.class, Hook.class, IterableUnbound.class, Name.class, NoLock.class, Priority.class, Tag.class
+        for (Class clazz : new Class[]{Audit.class, Columnar.class, Description.class, Drop.class, EventRepresentation.class, EvictIdle.class,
+            Hint.class, Hook.class, IterableUnbound.class, Name.class, NoLock.class, Priority.class, SingleWriter.class, Tag.class
         }) {
             BUILTIN.put(clazz.getSimpleName().toLowerCase(Locale.ENGLISH), clazz);
         }
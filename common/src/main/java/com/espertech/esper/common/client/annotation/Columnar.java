@@ -0,0 +1,33 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation for use with create-window to keep the named window events column-by-column,
+ * with boolean, character and numeric values held off-heap, instead of as one object array per event.
+ * <p>
+ * This reduces heap use and garbage collection cost for large named windows, at the cost of
+ * materializing the object array of an event when a statement reads its underlying or evaluates a compiled getter.
+ * </p>
+ * <p>
+ * Events are stored in chunks of rows and a chunk releases the storage of removed events only once few of its events remain,
+ * so a named window that removes events other than in arrival order can retain up to four times the storage of its events.
+ * </p>
+ * <p>
+ * The named window must use the object-array event representation and the data window must be a single keep-all or time window.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Columnar {
+}
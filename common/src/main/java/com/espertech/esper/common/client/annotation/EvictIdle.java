@@ -0,0 +1,61 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation for use with create-context for a keyed segmented context to terminate context partitions that are idle,
+ * so that the number of context partitions does not grow with every key ever seen.
+ * <p>
+ * A context partition is idle when the runtime has not received an event for its key for the given number of seconds.
+ * When the number of context partitions exceeds the given maximum, the runtime terminates the least recently active context partition.
+ * The next event for the key of a terminated context partition allocates a new context partition.
+ * </p>
+ * <p>
+ * The policy determines what happens to the state of a terminated context partition. The only supported policy
+ * is {@link #POLICY_DROP}, which discards the state.
+ * </p>
+ * <p>
+ * The context must be a keyed segmented context that is not nested.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EvictIdle {
+    /**
+     * Policy that discards the state of a terminated context partition.
+     */
+    String POLICY_DROP = "drop";
+
+    /**
+     * Returns the number of seconds after which a context partition that did not receive events terminates,
+     * or zero for no time-based eviction.
+     *
+     * @return seconds
+     */
+    int after() default 0;
+
+    /**
+     * Returns the maximum number of context partitions, or zero for no maximum.
+     *
+     * @return maximum number of context partitions
+     */
+    int maxPartitions() default 0;
+
+    /**
+     * Returns the policy for the state of a terminated context partition (not case-sensitive),
+     * the only supported policy is {@link #POLICY_DROP}.
+     *
+     * @return policy
+     */
+    String policy() default POLICY_DROP;
+}
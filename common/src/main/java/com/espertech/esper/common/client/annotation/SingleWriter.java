@@ -0,0 +1,37 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation for use in EPL statements to declare that a single thread at a time processes the statement,
+ * so that the runtime does not acquire the statement-level lock.
+ * <p>
+ * Unlike {@link NoLock}, the runtime validates the statement when deploying and fails the deployment
+ * when the statement or the configuration is known to allow processing by multiple threads, i.e. when
+ * </p>
+ * <ul>
+ * <li>the statement creates a named window or table, is an on-trigger for a named window or table, or accesses a table,</li>
+ * <li>the statement schedules, such as for time windows, patterns with timers or output rate limiting,</li>
+ * <li>route execution or timer execution threading is enabled,</li>
+ * <li>or inbound threading is enabled with multiple threads, unless the statement is in a keyed segmented context that partitions
+ * each event type by its inbound affinity key and affinity lock elision is enabled.</li>
+ * </ul>
+ * <p>
+ * The validation does not make the statement safe: the application must send events to the statement from a single thread
+ * at a time, or only through the inbound thread pool, and must not route events to the statement from other threads.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleWriter {
+}
@@ -41,6 +41,7 @@ public class ConfigurationCompilerByteCode implements Serializable {
     private int threadPoolCompilerNumThreads = 8;
     private Integer threadPoolCompilerCapacity = null;
     private int maxMethodsPerClass = 16 * 1024; // constant pool is 64k, the default is a quarter of the constant pool
+    private String compileCacheDirectory = null;
 
     /**
      * Set all access modifiers to public.
@@ -419,6 +420,30 @@ public class ConfigurationCompilerByteCode implements Serializable {
         this.allowInlinedClass = allowInlinedClass;
     }
 
+    /**
+     * Returns the directory of the compile cache, or null if none defined (null is the default and the compiler does not cache).
+     *
+     * @return directory or null if none defined
+     */
+    public String getCompileCacheDirectory() {
+        return compileCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the compile cache, or null if none defined (null is the default and the compiler does not cache).
+     * <p>
+     * When defined, the compiler keeps the output of compiling a module in the directory, keyed by the module text,
+     * the configuration, the compiled modules of the path and the compiler version, and returns the kept output when compiling
+     * the same module again. The cache is not aware of changes to classes on the classpath and the directory should be cleared
+     * when such classes change.
+     * </p>
+     *
+     * @param compileCacheDirectory directory or null if none defined
+     */
+    public void setCompileCacheDirectory(String compileCacheDirectory) {
+        this.compileCacheDirectory = compileCacheDirectory;
+    }
+
     private void checkModifier(NameAccessModifier modifier) {
         if (!modifier.isModuleProvidedAccessModifier()) {
             throw new ConfigurationException("Access modifier configuration allows private, protected or public");
@@ -20,6 +20,7 @@ public class ConfigurationCompilerExecution implements Serializable {
 
     private int filterServiceMaxFilterWidth = 16;
     private boolean enabledDeclaredExprValueCache = true;
+    private boolean enabledGroupByOpenAddressing = false;
 
     /**
      * Returns the maximum width for breaking up "or" expression in filters to
@@ -58,4 +59,24 @@ public class ConfigurationCompilerExecution implements Serializable {
     public void setEnabledDeclaredExprValueCache(boolean enabledDeclaredExprValueCache) {
         this.enabledDeclaredExprValueCache = enabledDeclaredExprValueCache;
     }
+
+    /**
+     * Returns indicator whether grouped aggregation keeps rows in an open-addressing table chosen by the group-by expression types,
+     * instead of a hash map (false by default). The order of groups when iterating differs from a hash map.
+     *
+     * @return indicator
+     */
+    public boolean isEnabledGroupByOpenAddressing() {
+        return enabledGroupByOpenAddressing;
+    }
+
+    /**
+     * Sets indicator whether grouped aggregation keeps rows in an open-addressing table chosen by the group-by expression types,
+     * instead of a hash map (false by default). The order of groups when iterating differs from a hash map.
+     *
+     * @param enabledGroupByOpenAddressing indicator
+     */
+    public void setEnabledGroupByOpenAddressing(boolean enabledGroupByOpenAddressing) {
+        this.enabledGroupByOpenAddressing = enabledGroupByOpenAddressing;
+    }
 }
@@ -102,6 +102,7 @@ public class ConfigurationCompilerParser {
             compiler.getExecution().setFilterServiceMaxFilterWidth(Integer.parseInt(filterServiceMaxFilterWidthStr));
         }
         parseOptionalBoolean(element, "enable-declared-expr-value-cache", b -> compiler.getExecution().setEnabledDeclaredExprValueCache(b));
+        parseOptionalBoolean(element, "enable-group-by-open-addressing", b -> compiler.getExecution().setEnabledGroupByOpenAddressing(b));
     }
 
     private static void handleExpression(ConfigurationCompiler compiler, Element element) {
@@ -201,6 +202,10 @@ public class ConfigurationCompilerParser {
         parseOptionalInteger(element, "threadpool-compiler-capacity", codegen::setThreadPoolCompilerCapacity);
         parseOptionalInteger(element, "max-methods-per-class", codegen::setMaxMethodsPerClass);
         parseOptionalBoolean(element, "allow-inlined-class", codegen::setAllowInlinedClass);
+        String compileCacheDirectory = getOptionalAttribute(element, "compile-cache-directory");
+        if (compileCacheDirectory != null) {
+            codegen.setCompileCacheDirectory(compileCacheDirectory);
+        }
 
         parseOptionalAccessMod(element, "access-modifier-context", codegen::setAccessModifierContext);
         parseOptionalAccessMod(element, "access-modifier-event-type", codegen::setAccessModifierEventType);
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 
 import java.io.Serializable;
 
@@ -24,7 +25,11 @@ public class ConfigurationRuntimeExecution implements Serializable {
     private boolean fairlock;
     private boolean disableLocking;
     private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
+    private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTED;
     private int declaredExprValueCacheSize = 1;
+    private int batchDispatchSize = 1;
+    private int fireAndForgetParallelThreshold;
+    private boolean keyedContextSharedFilters;
 
     /**
      * Ctor - sets up defaults.
@@ -111,6 +116,24 @@ public class ConfigurationRuntimeExecution implements Serializable {
         this.filterServiceProfile = filterServiceProfile;
     }
 
+    /**
+     * Returns the scheduling service profile for tuning schedule operations.
+     *
+     * @return scheduling service profile
+     */
+    public SchedulingServiceProfile getSchedulingServiceProfile() {
+        return schedulingServiceProfile;
+    }
+
+    /**
+     * Set the scheduling service profile for tuning schedule operations.
+     *
+     * @param schedulingServiceProfile scheduling service profile
+     */
+    public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+        this.schedulingServiceProfile = schedulingServiceProfile;
+    }
+
     /**
      * Returns the cache size for declared expression values
      *
@@ -128,4 +151,75 @@ public class ConfigurationRuntimeExecution implements Serializable {
     public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
         this.declaredExprValueCacheSize = declaredExprValueCacheSize;
     }
+
+    /**
+     * Returns the number of events of a batch submission after which the runtime dispatches results to listeners and subscribers.
+     * <p>
+     * The default is 1, which dispatches the results of each event of a batch before evaluating the next event,
+     * same as when sending events one-by-one.
+     * Larger values defer dispatch and deliver the combined results of multiple events to listeners and subscribers in a single invocation.
+     * </p>
+     *
+     * @return batch dispatch size
+     */
+    public int getBatchDispatchSize() {
+        return batchDispatchSize;
+    }
+
+    /**
+     * Sets the number of events of a batch submission after which the runtime dispatches results to listeners and subscribers.
+     *
+     * @param batchDispatchSize batch dispatch size, a value of zero or less dispatches at the end of the batch
+     */
+    public void setBatchDispatchSize(int batchDispatchSize) {
+        this.batchDispatchSize = batchDispatchSize;
+    }
+
+    /**
+     * Returns the minimum number of context partitions at which a fire-and-forget query snapshots and filters
+     * the context partitions of a named window in parallel, using the common fork-join pool.
+     * <p>
+     * The default is zero, which processes context partitions on the calling thread.
+     * Queries that have subqueries or that access tables always process context partitions on the calling thread.
+     * </p>
+     *
+     * @return threshold, or zero or less for not processing in parallel
+     */
+    public int getFireAndForgetParallelThreshold() {
+        return fireAndForgetParallelThreshold;
+    }
+
+    /**
+     * Sets the minimum number of context partitions at which a fire-and-forget query snapshots and filters
+     * the context partitions of a named window in parallel, using the common fork-join pool.
+     *
+     * @param fireAndForgetParallelThreshold threshold, or zero or less for not processing in parallel
+     */
+    public void setFireAndForgetParallelThreshold(int fireAndForgetParallelThreshold) {
+        this.fireAndForgetParallelThreshold = fireAndForgetParallelThreshold;
+    }
+
+    /**
+     * Returns indicator whether statements of a single-level keyed context share one filter per stream across all context partitions.
+     * <p>
+     * By default each context partition registers its own filters that include the partition key.
+     * When enabled, the runtime registers one filter per statement stream without the partition key
+     * and, for matching events, obtains the context partition from the key value of the event.
+     * Pattern filters and contexts with initiating or terminating conditions register filters per context partition regardless.
+     * </p>
+     *
+     * @return indicator
+     */
+    public boolean isKeyedContextSharedFilters() {
+        return keyedContextSharedFilters;
+    }
+
+    /**
+     * Sets indicator whether statements of a single-level keyed context share one filter per stream across all context partitions.
+     *
+     * @param keyedContextSharedFilters indicator
+     */
+    public void setKeyedContextSharedFilters(boolean keyedContextSharedFilters) {
+        this.keyedContextSharedFilters = keyedContextSharedFilters;
+    }
 }
@@ -13,6 +13,7 @@ package com.espertech.esper.common.client.configuration.runtime;
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.util.FilterServiceProfile;
 import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.client.util.TimeSourceType;
 import com.espertech.esper.common.client.util.UndeployRethrowPolicy;
 import com.espertech.esper.common.internal.collection.Pair;
@@ -78,6 +79,7 @@ public class ConfigurationRuntimeParser {
         parseOptionalBoolean(parentElement, "prioritized", b -> runtime.getExecution().setPrioritized(b));
         parseOptionalBoolean(parentElement, "fairlock", b -> runtime.getExecution().setFairlock(b));
         parseOptionalBoolean(parentElement, "disable-locking", b -> runtime.getExecution().setDisableLocking(b));
+        parseOptionalBoolean(parentElement, "keyed-context-shared-filters", b -> runtime.getExecution().setKeyedContextSharedFilters(b));
 
         String filterServiceProfileStr = getOptionalAttribute(parentElement, "filter-service-profile");
         if (filterServiceProfileStr != null) {
@@ -85,10 +87,26 @@ public class ConfigurationRuntimeParser {
             runtime.getExecution().setFilterServiceProfile(profile);
         }
 
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            SchedulingServiceProfile profile = SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            runtime.getExecution().setSchedulingServiceProfile(profile);
+        }
+
         String declExprValueCacheSizeStr = getOptionalAttribute(parentElement, "declared-expr-value-cache-size");
         if (declExprValueCacheSizeStr != null) {
             runtime.getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+
+        String batchDispatchSizeStr = getOptionalAttribute(parentElement, "batch-dispatch-size");
+        if (batchDispatchSizeStr != null) {
+            runtime.getExecution().setBatchDispatchSize(Integer.parseInt(batchDispatchSizeStr));
+        }
+
+        String fafParallelThresholdStr = getOptionalAttribute(parentElement, "fire-and-forget-parallel-threshold");
+        if (fafParallelThresholdStr != null) {
+            runtime.getExecution().setFireAndForgetParallelThreshold(Integer.parseInt(fafParallelThresholdStr));
+        }
     }
 
     private static void handleExpression(ConfigurationRuntime runtime, Element element) {
@@ -119,6 +137,7 @@ public class ConfigurationRuntimeParser {
     }
 
     private static void handlePatterns(ConfigurationRuntime runtime, Element element) {
+        parseOptionalBoolean(element, "correlated-filter-index", b -> runtime.getPatterns().setCorrelatedFilterIndex(b));
         DOMElementIterator nodeIterator = new DOMElementIterator(element.getChildNodes());
         while (nodeIterator.hasNext()) {
             Element subElement = nodeIterator.next();
@@ -313,6 +332,11 @@ public class ConfigurationRuntimeParser {
                     runtime.getThreading().setNamedWindowConsumerDispatchLocking(
                             Locking.valueOf(value.toUpperCase(Locale.ENGLISH)));
                 }
+
+                if (subElement.getAttributes().getNamedItem("num-threads") != null) {
+                    String value = subElement.getAttributes().getNamedItem("num-threads").getTextContent();
+                    runtime.getThreading().setNamedWindowConsumerDispatchNumThreads(Integer.parseInt(value));
+                }
             }
             if (subElement.getNodeName().equals("internal-timer")) {
                 String enabledText = getRequiredAttribute(subElement, "enabled");
@@ -327,12 +351,29 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolInbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolInboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolInboundCapacity(result.getCapacity());
+                String lockElisionStr = getOptionalAttribute(subElement, "affinity-lock-elision");
+                if (lockElisionStr != null) {
+                    runtime.getThreading().setThreadPoolInboundAffinityLockElision(Boolean.parseBoolean(lockElisionStr));
+                }
+                DOMElementIterator affinityIterator = new DOMElementIterator(subElement.getChildNodes());
+                while (affinityIterator.hasNext()) {
+                    Element affinityElement = affinityIterator.next();
+                    if (affinityElement.getNodeName().equals("affinity-key")) {
+                        String eventTypeName = getRequiredAttribute(affinityElement, "event-type");
+                        String property = getRequiredAttribute(affinityElement, "property");
+                        runtime.getThreading().addThreadPoolInboundAffinityKey(eventTypeName, property);
+                    }
+                }
             }
             if (subElement.getNodeName().equals("threadpool-outbound")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 runtime.getThreading().setThreadPoolOutbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolOutboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolOutboundCapacity(result.getCapacity());
+                String virtualThreadsStr = getOptionalAttribute(subElement, "virtual-threads");
+                if (virtualThreadsStr != null) {
+                    runtime.getThreading().setThreadPoolOutboundVirtualThreads(Boolean.parseBoolean(virtualThreadsStr));
+                }
             }
             if (subElement.getNodeName().equals("threadpool-timerexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
@@ -345,6 +386,10 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolRouteExec(result.isEnabled());
                 runtime.getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
+                String virtualThreadsStr = getOptionalAttribute(subElement, "virtual-threads");
+                if (virtualThreadsStr != null) {
+                    runtime.getThreading().setThreadPoolRouteExecVirtualThreads(Boolean.parseBoolean(virtualThreadsStr));
+                }
             }
         }
     }
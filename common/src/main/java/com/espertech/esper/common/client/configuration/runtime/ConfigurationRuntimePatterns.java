@@ -20,6 +20,7 @@ public class ConfigurationRuntimePatterns implements Serializable {
 
     private Long maxSubexpressions;
     private boolean maxSubexpressionPreventStart = true;
+    private boolean correlatedFilterIndex;
 
     /**
      * Returns the maximum number of subexpressions
@@ -58,4 +59,26 @@ public class ConfigurationRuntimePatterns implements Serializable {
     public void setMaxSubexpressionPreventStart(boolean maxSubexpressionPreventStart) {
         this.maxSubexpressionPreventStart = maxSubexpressionPreventStart;
     }
+
+    /**
+     * Returns false (the default) to indicate that each active followed-by subexpression registers its own filter,
+     * or true to indicate that filters that compare for equality to a property of a prior tagged event
+     * share one filter per pattern and look up the waiting subexpressions by the value of the property.
+     *
+     * @return indicator
+     */
+    public boolean isCorrelatedFilterIndex() {
+        return correlatedFilterIndex;
+    }
+
+    /**
+     * Set to true to indicate that filters that compare for equality to a property of a prior tagged event
+     * share one filter per pattern and look up the waiting subexpressions by the value of the property,
+     * or false (the default) to indicate that each active followed-by subexpression registers its own filter.
+     *
+     * @param correlatedFilterIndex indicator
+     */
+    public void setCorrelatedFilterIndex(boolean correlatedFilterIndex) {
+        this.correlatedFilterIndex = correlatedFilterIndex;
+    }
 }
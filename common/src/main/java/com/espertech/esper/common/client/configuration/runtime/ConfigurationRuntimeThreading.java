@@ -13,6 +13,8 @@ package com.espertech.esper.common.client.configuration.runtime;
 import com.espertech.esper.common.client.util.Locking;
 
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Holds threading settings.
@@ -31,6 +33,7 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private boolean isNamedWindowConsumerDispatchPreserveOrder;
     private long namedWindowConsumerDispatchTimeout;
     private Locking namedWindowConsumerDispatchLocking;
+    private int namedWindowConsumerDispatchNumThreads;
 
     private long internalTimerMsecResolution;
     private boolean internalTimerEnabled;
@@ -47,6 +50,10 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private Integer threadPoolInboundCapacity;
     private Integer threadPoolRouteExecCapacity;
     private Integer threadPoolOutboundCapacity;
+    private Map<String, String> threadPoolInboundAffinityKeys;
+    private boolean threadPoolInboundAffinityLockElision;
+    private boolean threadPoolOutboundVirtualThreads;
+    private boolean threadPoolRouteExecVirtualThreads;
 
     private boolean runtimeFairlock;
 
@@ -78,6 +85,7 @@ public class ConfigurationRuntimeThreading implements Serializable {
         threadPoolInboundNumThreads = 2;
         threadPoolRouteExecNumThreads = 2;
         threadPoolOutboundNumThreads = 2;
+        threadPoolInboundAffinityKeys = new LinkedHashMap<>();
     }
 
     /**
@@ -265,6 +273,72 @@ public class ConfigurationRuntimeThreading implements Serializable {
         isThreadPoolInbound = threadPoolInbound;
     }
 
+    /**
+     * Returns the inbound affinity keys, a map of event type name and key property expression.
+     * <p>
+     * When not empty and inbound threading is enabled, the inbound thread pool assigns each event to a fixed worker thread
+     * by the key of the event, so that events of the same key are processed in the order they are sent while events of
+     * different keys are processed in parallel.
+     *
+     * @return map of event type name and key property expression
+     */
+    public Map<String, String> getThreadPoolInboundAffinityKeys() {
+        return threadPoolInboundAffinityKeys;
+    }
+
+    /**
+     * Adds an inbound affinity key, for use when inbound threading is enabled, causing events of the given event type
+     * to be assigned to a worker thread by the value of the key property expression.
+     * <p>
+     * Typically the key is the property that a keyed segmented context partitions by, such as
+     * "accountId" for "create context PerAccount partition by accountId from Account".
+     * Events of event types without an affinity key are assigned to a worker thread by event type name.
+     *
+     * @param eventTypeName         event type name
+     * @param keyPropertyExpression property name or property expression providing the key
+     */
+    public void addThreadPoolInboundAffinityKey(String eventTypeName, String keyPropertyExpression) {
+        threadPoolInboundAffinityKeys.put(eventTypeName, keyPropertyExpression);
+    }
+
+    /**
+     * Returns true when inbound affinity keys are defined, i.e. when the inbound thread pool assigns events to
+     * a fixed worker thread by key.
+     *
+     * @return indicator
+     */
+    public boolean isThreadPoolInboundAffinity() {
+        return !threadPoolInboundAffinityKeys.isEmpty();
+    }
+
+    /**
+     * Returns true to elide the statement lock for context partitions of keyed segmented contexts
+     * when inbound affinity is in effect, the default is false.
+     *
+     * @return lock elision indicator
+     */
+    public boolean isThreadPoolInboundAffinityLockElision() {
+        return threadPoolInboundAffinityLockElision;
+    }
+
+    /**
+     * Set to true to elide the statement lock for context partitions of keyed segmented contexts
+     * when inbound affinity is in effect, the default is false.
+     * <p>
+     * The runtime elides the lock of a statement only when the statement's keyed segmented context partitions
+     * each event type by exactly the affinity key property of that event type, when the context has no termination
+     * condition and when the statement has no schedule callbacks. Deploying a statement that inserts into an event type
+     * that has an affinity key fails, and routing events of such an event type fails at runtime.
+     * <p>
+     * Use with caution: the application must send all events through the inbound thread pool and
+     * no other thread, such as a thread advancing time, may process events for the same context partitions.
+     *
+     * @param threadPoolInboundAffinityLockElision lock elision indicator
+     */
+    public void setThreadPoolInboundAffinityLockElision(boolean threadPoolInboundAffinityLockElision) {
+        this.threadPoolInboundAffinityLockElision = threadPoolInboundAffinityLockElision;
+    }
+
     /**
      * Returns true for timer execution threading enabled, the default is false for not enabled.
      *
@@ -319,6 +393,57 @@ public class ConfigurationRuntimeThreading implements Serializable {
         isThreadPoolOutbound = threadPoolOutbound;
     }
 
+    /**
+     * Returns true when outbound threading runs listener and subscriber dispatches on virtual threads, the default is false.
+     *
+     * @return indicator whether outbound threading uses virtual threads
+     * @see #setThreadPoolOutboundVirtualThreads(boolean)
+     */
+    public boolean isThreadPoolOutboundVirtualThreads() {
+        return threadPoolOutboundVirtualThreads;
+    }
+
+    /**
+     * Set to true to have outbound threading run listener and subscriber dispatches on virtual threads, the default is false.
+     * <p>
+     * Dispatches of the same statement run one after the other and in order, while dispatches of different
+     * statements run in parallel without being limited by the number of threads, so that slow listeners
+     * of one statement do not hold up other statements.
+     * The outbound capacity, when set, is the maximum number of outstanding dispatches per statement; the number of threads is not used.
+     * <p>
+     * Requires a Java runtime that supports virtual threads. Otherwise the runtime logs a warning and uses the outbound thread pool.
+     *
+     * @param threadPoolOutboundVirtualThreads indicator whether outbound threading uses virtual threads
+     */
+    public void setThreadPoolOutboundVirtualThreads(boolean threadPoolOutboundVirtualThreads) {
+        this.threadPoolOutboundVirtualThreads = threadPoolOutboundVirtualThreads;
+    }
+
+    /**
+     * Returns true when route execution threading runs route work units on virtual threads, the default is false.
+     *
+     * @return indicator whether route execution threading uses virtual threads
+     * @see #setThreadPoolRouteExecVirtualThreads(boolean)
+     */
+    public boolean isThreadPoolRouteExecVirtualThreads() {
+        return threadPoolRouteExecVirtualThreads;
+    }
+
+    /**
+     * Set to true to have route execution threading run route work units on virtual threads, the default is false.
+     * <p>
+     * Work units of the same statement run one after the other and in order, while work units of different
+     * statements run in parallel.
+     * The route execution capacity, when set, is the maximum number of outstanding work units per statement; the number of threads is not used.
+     * <p>
+     * Requires a Java runtime that supports virtual threads. Otherwise the runtime logs a warning and uses the route execution thread pool.
+     *
+     * @param threadPoolRouteExecVirtualThreads indicator whether route execution threading uses virtual threads
+     */
+    public void setThreadPoolRouteExecVirtualThreads(boolean threadPoolRouteExecVirtualThreads) {
+        this.threadPoolRouteExecVirtualThreads = threadPoolRouteExecVirtualThreads;
+    }
+
     /**
      * Returns the number of thread in the inbound threading pool.
      *
@@ -547,4 +672,28 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.namedWindowConsumerDispatchLocking = namedWindowConsumerDispatchLocking;
     }
 
+    /**
+     * Returns the number of threads that process named window consumers in parallel, or zero (the default)
+     * for processing named window consumers by the thread that produced the named window result.
+     *
+     * @return number of threads
+     */
+    public int getNamedWindowConsumerDispatchNumThreads() {
+        return namedWindowConsumerDispatchNumThreads;
+    }
+
+    /**
+     * Sets the number of threads that process named window consumers in parallel, or zero (the default)
+     * for processing named window consumers by the thread that produced the named window result.
+     * <p>
+     * When set, the consuming statements of a named window result are divided among the threads, each consuming statement
+     * always going to the same thread, and the producing thread waits for all consuming statements to complete.
+     * Listeners of consuming statements receive results on the dispatch threads before the producing thread continues.
+     *
+     * @param namedWindowConsumerDispatchNumThreads number of threads
+     */
+    public void setNamedWindowConsumerDispatchNumThreads(int namedWindowConsumerDispatchNumThreads) {
+        this.namedWindowConsumerDispatchNumThreads = namedWindowConsumerDispatchNumThreads;
+    }
+
 }
@@ -0,0 +1,34 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.fireandforget;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+
+/**
+ * Receives the result rows of a fire-and-forget query incrementally.
+ * <p>
+ * For queries that select from a single named window or table without aggregation, order-by, row limit or distinct,
+ * the runtime provides rows as it processes context partitions and chunks of a context partition,
+ * without building the complete result first.
+ * For other queries the runtime provides all rows in a single invocation.
+ * The runtime invokes the callback on the thread executing the query and does not invoke the callback for an empty result.
+ * </p>
+ */
+public interface EPFireAndForgetQueryRowCallback {
+    /**
+     * Receives result rows.
+     *
+     * @param eventType event type of the result rows
+     * @param rows      result rows, not empty
+     */
+    void rows(EventType eventType, EventBean[] rows);
+}
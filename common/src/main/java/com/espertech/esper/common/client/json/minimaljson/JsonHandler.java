@@ -247,6 +247,21 @@ public abstract class JsonHandler<A, O> {
     public void startObjectValue(O object, String name) {
     }
 
+    /**
+     * Indicates whether the value of an object member should be skipped. This method will be called
+     * just after {@link #startObjectValue(Object, String) startObjectValue()}. When returning true,
+     * the parser validates and consumes the member value without materializing it and reports no events
+     * for the value, including {@link #endObjectValue(Object, String) endObjectValue()}.
+     *
+     * @param object the object handler returned from {@link #startObject()}, or <code>null</code> if not
+     *               provided
+     * @param name   the parsed member name
+     * @return true to skip the member value, the default is false
+     */
+    public boolean skipObjectValue(O object, String name) {
+        return false;
+    }
+
     /**
      * Indicates the end of an object member value in the JSON input. This method will be called after
      * reading the last character of the member value, just after the <code>end</code> method for the
@@ -39,10 +39,15 @@ package com.espertech.esper.common.client.json.minimaljson;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 
 
 /**
  * A streaming parser for JSON text. The parser reports all events to a given handler.
+ * <p>
+ * A parser instance may be reused for parsing any number of inputs one after the other, reusing its buffers.
+ * UTF-8 encoded input provided as byte array or byte buffer is decoded directly into the parser buffer.
+ * </p>
  */
 public class JsonParser {
 
@@ -52,6 +57,10 @@ public class JsonParser {
 
     private final JsonHandler<Object, Object> handler;
     private Reader reader;
+    private byte[] bytes;
+    private ByteBuffer byteBuffer;
+    private int bytesIndex;
+    private int bytesEnd;
     private char[] buffer;
     private int bufferOffset;
     private int index;
@@ -107,6 +116,63 @@ public class JsonParser {
         }
     }
 
+    /**
+     * Parses the given UTF-8 encoded input without first converting it to a string. The input must contain
+     * a valid JSON value, optionally padded with whitespace. Malformed UTF-8 sequences are replaced by the
+     * replacement character U+FFFD.
+     *
+     * @param bytes  the array holding the input
+     * @param offset the offset of the input in the array
+     * @param length the number of bytes of input
+     * @throws ParseException if the input is not valid JSON
+     */
+    public void parse(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes is null");
+        }
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + " and length " + length + " out of bounds for length " + bytes.length);
+        }
+        this.bytes = bytes;
+        parseBytes(offset, offset + length);
+    }
+
+    /**
+     * Parses the UTF-8 encoded input remaining in the given buffer, from its position to its limit,
+     * without first converting it to a string. The position of the buffer does not change.
+     * The input must contain a valid JSON value, optionally padded with whitespace. Malformed UTF-8
+     * sequences are replaced by the replacement character U+FFFD.
+     *
+     * @param buffer the buffer holding the input
+     * @throws ParseException if the input is not valid JSON
+     */
+    public void parse(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("buffer is null");
+        }
+        if (buffer.hasArray()) {
+            parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        this.byteBuffer = buffer;
+        parseBytes(buffer.position(), buffer.limit());
+    }
+
+    private void parseBytes(int start, int end) {
+        this.reader = null;
+        this.bytesIndex = start;
+        this.bytesEnd = end;
+        try {
+            parseInput(Math.max(MIN_BUFFER_SIZE, Math.min(DEFAULT_BUFFER_SIZE, end - start)));
+        } catch (IOException exception) {
+            // decoding from memory does not throw IOException
+            throw new RuntimeException(exception);
+        } finally {
+            this.bytes = null;
+            this.byteBuffer = null;
+        }
+    }
+
     /**
      * Reads the entire input from the given reader and parses it as JSON. The input must contain a
      * valid JSON value, optionally padded with whitespace.
@@ -144,7 +210,17 @@ public class JsonParser {
             throw new IllegalArgumentException("buffersize is zero or negative");
         }
         this.reader = reader;
-        buffer = new char[buffersize];
+        parseInput(buffersize);
+    }
+
+    private void parseInput(int buffersize) throws IOException {
+        if (buffer == null || buffer.length < buffersize) {
+            buffer = new char[buffersize];
+        }
+        if (captureBuffer != null) {
+            captureBuffer.setLength(0);
+        }
+        nestingLevel = 0;
         bufferOffset = 0;
         index = 0;
         fill = 0;
@@ -248,8 +324,12 @@ public class JsonParser {
             }
             skipWhiteSpace();
             handler.startObjectValue(object, name);
-            readValue();
-            handler.endObjectValue(object, name);
+            if (handler.skipObjectValue(object, name)) {
+                skipValue();
+            } else {
+                readValue();
+                handler.endObjectValue(object, name);
+            }
             skipWhiteSpace();
         } while (readChar(','));
         if (!readChar('}')) {
@@ -348,15 +428,7 @@ public class JsonParser {
                 captureBuffer.append('\t');
                 break;
             case 'u':
-                char[] hexChars = new char[4];
-                for (int i = 0; i < 4; i++) {
-                    read();
-                    if (!isHexDigit()) {
-                        throw expected("hexadecimal digit");
-                    }
-                    hexChars[i] = (char) current;
-                }
-                captureBuffer.append((char) Integer.parseInt(new String(hexChars), 16));
+                captureBuffer.append((char) readHexDigits());
                 break;
             default:
                 throw expected("valid escape sequence");
@@ -364,6 +436,158 @@ public class JsonParser {
         read();
     }
 
+    private int readHexDigits() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            read();
+            if (!isHexDigit()) {
+                throw expected("hexadecimal digit");
+            }
+            value = (value << 4) | Character.digit(current, 16);
+        }
+        return value;
+    }
+
+    private void skipValue() throws IOException {
+        switch (current) {
+            case 'n':
+                read();
+                readRequiredChar('u');
+                readRequiredChar('l');
+                readRequiredChar('l');
+                break;
+            case 't':
+                read();
+                readRequiredChar('r');
+                readRequiredChar('u');
+                readRequiredChar('e');
+                break;
+            case 'f':
+                read();
+                readRequiredChar('a');
+                readRequiredChar('l');
+                readRequiredChar('s');
+                readRequiredChar('e');
+                break;
+            case '"':
+                skipString();
+                break;
+            case '[':
+                skipArray();
+                break;
+            case '{':
+                skipObject();
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                skipNumber();
+                break;
+            default:
+                throw expected("value");
+        }
+    }
+
+    private void skipArray() throws IOException {
+        read();
+        if (++nestingLevel > MAX_NESTING_LEVEL) {
+            throw error("Nesting too deep");
+        }
+        skipWhiteSpace();
+        if (!readChar(']')) {
+            do {
+                skipWhiteSpace();
+                skipValue();
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar(']')) {
+                throw expected("',' or ']'");
+            }
+        }
+        nestingLevel--;
+    }
+
+    private void skipObject() throws IOException {
+        read();
+        if (++nestingLevel > MAX_NESTING_LEVEL) {
+            throw error("Nesting too deep");
+        }
+        skipWhiteSpace();
+        if (!readChar('}')) {
+            do {
+                skipWhiteSpace();
+                if (current != '"') {
+                    throw expected("name");
+                }
+                skipString();
+                skipWhiteSpace();
+                if (!readChar(':')) {
+                    throw expected("':'");
+                }
+                skipWhiteSpace();
+                skipValue();
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar('}')) {
+                throw expected("',' or '}'");
+            }
+        }
+        nestingLevel--;
+    }
+
+    private void skipString() throws IOException {
+        read();
+        while (current != '"') {
+            if (current == '\\') {
+                read();
+                switch (current) {
+                    case '"':
+                    case '/':
+                    case '\\':
+                    case 'b':
+                    case 'f':
+                    case 'n':
+                    case 'r':
+                    case 't':
+                        break;
+                    case 'u':
+                        readHexDigits();
+                        break;
+                    default:
+                        throw expected("valid escape sequence");
+                }
+                read();
+            } else if (current < 0x20) {
+                throw expected("valid string character");
+            } else {
+                read();
+            }
+        }
+        read();
+    }
+
+    private void skipNumber() throws IOException {
+        readChar('-');
+        int firstDigit = current;
+        if (!readDigit()) {
+            throw expected("digit");
+        }
+        if (firstDigit != '0') {
+            while (readDigit()) {
+            }
+        }
+        readFraction();
+        readExponent();
+    }
+
     private void readNumber() throws IOException {
         handler.startNumber();
         startCapture();
@@ -437,7 +661,7 @@ public class JsonParser {
                 captureStart = 0;
             }
             bufferOffset += fill;
-            fill = reader.read(buffer, 0, buffer.length);
+            fill = reader != null ? reader.read(buffer, 0, buffer.length) : decodeBytes();
             index = 0;
             if (fill == -1) {
                 current = -1;
@@ -452,6 +676,72 @@ public class JsonParser {
         current = buffer[index++];
     }
 
+    private int decodeBytes() {
+        if (bytesIndex >= bytesEnd) {
+            return -1;
+        }
+        int count = 0;
+        while (count < buffer.length && bytesIndex < bytesEnd) {
+            int lead = byteAt(bytesIndex);
+            if (lead >= 0) {
+                buffer[count++] = (char) lead;
+                bytesIndex++;
+                continue;
+            }
+            lead &= 0xff;
+            int needed;
+            int codePoint;
+            int minimum;
+            if (lead >= 0xc2 && lead <= 0xdf) {
+                needed = 1;
+                codePoint = lead & 0x1f;
+                minimum = 0x80;
+            } else if (lead >= 0xe0 && lead <= 0xef) {
+                needed = 2;
+                codePoint = lead & 0x0f;
+                minimum = 0x800;
+            } else if (lead >= 0xf0 && lead <= 0xf4) {
+                if (count + 1 == buffer.length) {
+                    break; // no room for a surrogate pair
+                }
+                needed = 3;
+                codePoint = lead & 0x07;
+                minimum = 0x10000;
+            } else {
+                needed = -1;
+                codePoint = 0;
+                minimum = 0;
+            }
+            int position = bytesIndex + 1;
+            boolean valid = needed > 0 && position + needed <= bytesEnd;
+            for (int i = 0; valid && i < needed; i++) {
+                int next = byteAt(position + i);
+                if ((next & 0xc0) != 0x80) {
+                    valid = false;
+                } else {
+                    codePoint = (codePoint << 6) | (next & 0x3f);
+                }
+            }
+            if (!valid || codePoint < minimum || codePoint > Character.MAX_CODE_POINT || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                buffer[count++] = '\uFFFD';
+                bytesIndex++;
+                continue;
+            }
+            bytesIndex = position + needed;
+            if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                buffer[count++] = Character.highSurrogate(codePoint);
+                buffer[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                buffer[count++] = (char) codePoint;
+            }
+        }
+        return count;
+    }
+
+    private int byteAt(int position) {
+        return bytes != null ? bytes[position] : byteBuffer.get(position);
+    }
+
     private void startCapture() {
         if (captureBuffer == null) {
             captureBuffer = new StringBuilder();
@@ -12,11 +12,17 @@ package com.espertech.esper.common.client.json.util;
 
 import com.espertech.esper.common.client.EventSender;
 
+import java.nio.ByteBuffer;
+
 /**
  * Event sender for JSON documents and pre-parsed event objects.
  * <p>
  *     Allows parsing a JSON document returning the event object.
  * </p>
+ * <p>
+ *     Sending accepts JSON documents as string, as UTF-8 encoded byte array or as UTF-8 encoded byte buffer
+ *     (remaining bytes, the position does not change), or a pre-parsed event object.
+ * </p>
  */
 public interface EventSenderJson extends EventSender {
     /**
@@ -26,4 +32,25 @@ public interface EventSenderJson extends EventSender {
      * @throws com.espertech.esper.common.client.EPException when parsing the document failed
      */
     Object parse(String json);
+
+    /**
+     * Parses a UTF-8 encoded JSON document from a slice of a byte array, without first converting it to a string.
+     *
+     * @param json   array holding the document to parse
+     * @param offset offset of the document
+     * @param length length of the document in bytes
+     * @return event object
+     * @throws com.espertech.esper.common.client.EPException when parsing the document failed
+     */
+    Object parse(byte[] json, int offset, int length);
+
+    /**
+     * Parses a UTF-8 encoded JSON document from the remaining bytes of the buffer, without first converting it to a string.
+     * The position of the buffer does not change.
+     *
+     * @param json buffer holding the document to parse
+     * @return event object
+     * @throws com.espertech.esper.common.client.EPException when parsing the document failed
+     */
+    Object parse(ByteBuffer json);
 }
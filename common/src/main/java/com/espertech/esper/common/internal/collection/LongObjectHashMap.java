@@ -0,0 +1,235 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map keyed by primitive long, for use by a single thread or under an external lock.
+ * <p>
+ * Keys and values are kept in parallel arrays and slots use linear probing. Removal shifts following entries back
+ * instead of leaving a marker, so that lookups never probe past removed entries. An entry takes a 64-bit key slot and
+ * a reference slot, without a boxed key and without an entry object.
+ */
+public class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Ctor.
+     */
+    public LongObjectHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the value for the key, or null if not found.
+     *
+     * @param key key
+     * @return value or null
+     */
+    public V get(long key) {
+        int index = hash(key) & mask;
+        while (true) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Puts a value.
+     *
+     * @param key   key
+     * @param value value, not null
+     * @return previous value or null if none
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int index = hash(key) & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                keys[index] = key;
+                values[index] = value;
+                size++;
+                if (size * 4 > values.length * 3) {
+                    resize(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key key
+     * @return removed value or null if not found
+     */
+    public V remove(long key) {
+        int index = hash(key) & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                shiftBack(index);
+                size--;
+                if (size * 8 < values.length && values.length > MIN_CAPACITY) {
+                    resize(values.length >> 1);
+                }
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true when there are no entries.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        if (values.length == MIN_CAPACITY) {
+            Arrays.fill(values, null);
+        } else {
+            allocate(MIN_CAPACITY);
+        }
+        size = 0;
+    }
+
+    /**
+     * Provides each value to the consumer, in slot order.
+     *
+     * @param consumer receives values
+     */
+    public void forEachValue(Consumer<V> consumer) {
+        for (Object value : values) {
+            if (value != null) {
+                consumer.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over values, in slot order. The map must not be modified while iterating.
+     *
+     * @return value iterator
+     */
+    public Iterator<V> valueIterator() {
+        return new Iterator<V>() {
+            private final Object[] slots = values;
+            private int index = advance(0);
+
+            public boolean hasNext() {
+                return index < slots.length;
+            }
+
+            public V next() {
+                if (index >= slots.length) {
+                    throw new NoSuchElementException();
+                }
+                Object value = slots[index];
+                index = advance(index + 1);
+                return (V) value;
+            }
+
+            private int advance(int from) {
+                while (from < slots.length && slots[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+        };
+    }
+
+    private void shiftBack(int removed) {
+        // move back any following entry of the same probe run that would no longer be reachable
+        int gap = removed;
+        int index = (gap + 1) & mask;
+        while (values[index] != null) {
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null) {
+                continue;
+            }
+            int index = hash(oldKeys[i]) & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.*;
+
+/**
+ * Open-addressing map for keys that are all boxed integral values of the same type, for use by a single thread or under an external lock.
+ * <p>
+ * Keys are kept as primitive long values in a parallel array to the values and slots use linear probing,
+ * so that putting a value does not allocate an entry object and lookup does not call equals on keys.
+ * Removal shifts following entries back instead of leaving a marker. A null key is supported and kept outside the table.
+ * <p>
+ * Keys returned by iteration are boxed anew into the key type. Null values are not supported.
+ * The map must not be modified while iterating.
+ */
+public class OpenAddressingLongKeyMap extends AbstractMap<Object, Object> {
+    private static final int MIN_CAPACITY = 16;
+
+    private final Class keyType;
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private Object nullKeyValue;
+    private Set<Entry<Object, Object>> entrySet;
+
+    /**
+     * Ctor.
+     *
+     * @param keyType boxed key type, one of Integer, Long, Short or Byte
+     * @throws IllegalArgumentException for an unsupported key type
+     */
+    public OpenAddressingLongKeyMap(Class keyType) {
+        if (!isSupportedKeyType(keyType)) {
+            throw new IllegalArgumentException("Unsupported key type " + keyType);
+        }
+        this.keyType = keyType;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns true when the map can hold keys of the given type.
+     *
+     * @param keyType key type, may be null
+     * @return indicator
+     */
+    public static boolean isSupportedKeyType(Class keyType) {
+        return keyType == Integer.class || keyType == Long.class || keyType == Short.class || keyType == Byte.class;
+    }
+
+    public Class getKeyType() {
+        return keyType;
+    }
+
+    public Object get(Object key) {
+        if (key == null) {
+            return nullKeyValue;
+        }
+        long value = ((Number) key).longValue();
+        int index = hash(value) & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null || keys[index] == value) {
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public Object put(Object key, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        if (key == null) {
+            Object existing = nullKeyValue;
+            nullKeyValue = value;
+            if (existing == null) {
+                size++;
+            }
+            return existing;
+        }
+        long keyValue = ((Number) key).longValue();
+        int index = hash(keyValue) & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                keys[index] = keyValue;
+                values[index] = value;
+                size++;
+                if (size * 4 > values.length * 3) {
+                    resize(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[index] == keyValue) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public Object remove(Object key) {
+        if (key == null) {
+            Object existing = nullKeyValue;
+            if (existing != null) {
+                nullKeyValue = null;
+                size--;
+            }
+            return existing;
+        }
+        long keyValue = ((Number) key).longValue();
+        int index = hash(keyValue) & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (keys[index] == keyValue) {
+                shiftBack(index);
+                size--;
+                if (size * 8 < values.length && values.length > MIN_CAPACITY) {
+                    resize(values.length >> 1);
+                }
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (values.length == MIN_CAPACITY) {
+            Arrays.fill(values, null);
+        } else {
+            allocate(MIN_CAPACITY);
+        }
+        nullKeyValue = null;
+        size = 0;
+    }
+
+    public Set<Entry<Object, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<Object, Object>>() {
+                public Iterator<Entry<Object, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private Object toKey(long key) {
+        if (keyType == Integer.class) {
+            return (int) key;
+        }
+        if (keyType == Long.class) {
+            return key;
+        }
+        if (keyType == Short.class) {
+            return (short) key;
+        }
+        return (byte) key;
+    }
+
+    private void shiftBack(int removed) {
+        // move back any following entry of the same probe run that would no longer be reachable
+        int gap = removed;
+        int index = (gap + 1) & mask;
+        while (values[index] != null) {
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null) {
+                continue;
+            }
+            int index = hash(oldKeys[i]) & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private class EntryIterator implements Iterator<Entry<Object, Object>> {
+        private final long[] slotKeys = keys;
+        private final Object[] slots = values;
+        private boolean nullKeyPending = nullKeyValue != null;
+        private int index = advance(0);
+
+        public boolean hasNext() {
+            return nullKeyPending || index < slots.length;
+        }
+
+        public Entry<Object, Object> next() {
+            if (nullKeyPending) {
+                nullKeyPending = false;
+                return new SimpleImmutableEntry<>(null, nullKeyValue);
+            }
+            if (index >= slots.length) {
+                throw new NoSuchElementException();
+            }
+            Entry<Object, Object> entry = new SimpleImmutableEntry<>(toKey(slotKeys[index]), slots[index]);
+            index = advance(index + 1);
+            return entry;
+        }
+
+        private int advance(int from) {
+            while (from < slots.length && slots[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
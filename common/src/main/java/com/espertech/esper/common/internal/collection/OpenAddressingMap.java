@@ -0,0 +1,238 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.*;
+
+/**
+ * Open-addressing hash map, for use by a single thread or under an external lock.
+ * <p>
+ * Keys, their hash codes and values are kept in parallel arrays and slots use linear probing,
+ * so that putting a value does not allocate an entry object and lookup compares the cached hash code before calling equals.
+ * Removal shifts following entries back instead of leaving a marker. A null key is supported and kept outside the table.
+ * <p>
+ * Null values are not supported. The map must not be modified while iterating.
+ */
+public class OpenAddressingMap extends AbstractMap<Object, Object> {
+    private static final int MIN_CAPACITY = 16;
+
+    private Object[] keys;
+    private int[] hashes;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private Object nullKeyValue;
+    private Set<Entry<Object, Object>> entrySet;
+
+    /**
+     * Ctor.
+     */
+    public OpenAddressingMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public Object get(Object key) {
+        if (key == null) {
+            return nullKeyValue;
+        }
+        int hash = hash(key);
+        int index = hash & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null || (hashes[index] == hash && key.equals(keys[index]))) {
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public Object put(Object key, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        if (key == null) {
+            Object existing = nullKeyValue;
+            nullKeyValue = value;
+            if (existing == null) {
+                size++;
+            }
+            return existing;
+        }
+        int hash = hash(key);
+        int index = hash & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                keys[index] = key;
+                hashes[index] = hash;
+                values[index] = value;
+                size++;
+                if (size * 4 > values.length * 3) {
+                    resize(values.length << 1);
+                }
+                return null;
+            }
+            if (hashes[index] == hash && key.equals(keys[index])) {
+                values[index] = value;
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public Object remove(Object key) {
+        if (key == null) {
+            Object existing = nullKeyValue;
+            if (existing != null) {
+                nullKeyValue = null;
+                size--;
+            }
+            return existing;
+        }
+        int hash = hash(key);
+        int index = hash & mask;
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (hashes[index] == hash && key.equals(keys[index])) {
+                shiftBack(index);
+                size--;
+                if (size * 8 < values.length && values.length > MIN_CAPACITY) {
+                    resize(values.length >> 1);
+                }
+                return existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (values.length == MIN_CAPACITY) {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+        } else {
+            allocate(MIN_CAPACITY);
+        }
+        nullKeyValue = null;
+        size = 0;
+    }
+
+    public Set<Entry<Object, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<Object, Object>>() {
+                public Iterator<Entry<Object, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private void shiftBack(int removed) {
+        // move back any following entry of the same probe run that would no longer be reachable
+        int gap = removed;
+        int index = (gap + 1) & mask;
+        while (values[index] != null) {
+            int home = hashes[index] & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                hashes[gap] = hashes[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null) {
+                continue;
+            }
+            int index = oldHashes[i] & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            hashes[index] = oldHashes[i];
+            values[index] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(Object key) {
+        // spread the hash code as multi-keys and small numbers differ mostly in the low bits
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Entry<Object, Object>> {
+        private final Object[] slotKeys = keys;
+        private final Object[] slots = values;
+        private boolean nullKeyPending = nullKeyValue != null;
+        private int index = advance(0);
+
+        public boolean hasNext() {
+            return nullKeyPending || index < slots.length;
+        }
+
+        public Entry<Object, Object> next() {
+            if (nullKeyPending) {
+                nullKeyPending = false;
+                return new SimpleImmutableEntry<>(null, nullKeyValue);
+            }
+            if (index >= slots.length) {
+                throw new NoSuchElementException();
+            }
+            Entry<Object, Object> entry = new SimpleImmutableEntry<>(slotKeys[index], slots[index]);
+            index = advance(index + 1);
+            return entry;
+        }
+
+        private int advance(int from) {
+            while (from < slots.length && slots[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Open-addressing hash map keyed by primitive long that allows any number of concurrent readers
+ * without locking, provided that writes are performed by one thread at a time.
+ * <p>
+ * Slots use linear probing. A key, once written to a slot, never changes for the life of the table and
+ * removal leaves a marker in the slot, so that readers never miss an entry that is not concurrently removed.
+ * The value of a slot is written after its key and with volatile semantics, which publishes the key to readers.
+ * Growing or compacting creates a new table that is published as a whole.
+ */
+public class SingleWriterLongHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+    private static final Object REMOVED = new Object();
+
+    private volatile Table table;
+    private int size;
+
+    /**
+     * Ctor.
+     */
+    public SingleWriterLongHashMap() {
+        table = new Table(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the value for the key, or null if not found. May be invoked concurrently with a writer.
+     *
+     * @param key key
+     * @return value or null
+     */
+    public V get(long key) {
+        Table t = table;
+        int mask = t.mask;
+        int index = hash(key) & mask;
+        while (true) {
+            Object value = t.values.get(index);
+            if (value == null) {
+                return null;
+            }
+            if (t.keys[index] == key) {
+                return value == REMOVED ? null : (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Puts a value. Writers must not invoke concurrently.
+     *
+     * @param key   key
+     * @param value value, not null
+     * @return previous value or null if none
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        Table t = table;
+        int mask = t.mask;
+        int index = hash(key) & mask;
+        while (true) {
+            Object existing = t.values.get(index);
+            if (existing == null) {
+                if (t.used + 1 > t.threshold) {
+                    resize(size + 1);
+                    return put(key, value);
+                }
+                t.keys[index] = key;
+                t.values.set(index, value);
+                t.used++;
+                size++;
+                return null;
+            }
+            if (t.keys[index] == key) {
+                t.values.set(index, value);
+                if (existing == REMOVED) {
+                    size++;
+                    return null;
+                }
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes a value. Writers must not invoke concurrently.
+     *
+     * @param key key
+     * @return removed value or null if not found
+     */
+    public V remove(long key) {
+        Table t = table;
+        int mask = t.mask;
+        int index = hash(key) & mask;
+        while (true) {
+            Object existing = t.values.get(index);
+            if (existing == null) {
+                return null;
+            }
+            if (t.keys[index] == key) {
+                if (existing == REMOVED) {
+                    return null;
+                }
+                t.values.set(index, REMOVED);
+                size--;
+                if (size * 8 < t.keys.length && capacityFor(size) < t.keys.length) {
+                    resize(size);
+                }
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the number of entries, as seen by the writer.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true when there are no entries, as seen by the writer.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Provides each entry to the consumer.
+     *
+     * @param consumer receives value and key
+     */
+    public void forEach(ObjLongConsumer<V> consumer) {
+        Table t = table;
+        for (int i = 0; i < t.keys.length; i++) {
+            Object value = t.values.get(i);
+            if (value != null && value != REMOVED) {
+                consumer.accept((V) value, t.keys[i]);
+            }
+        }
+    }
+
+    private void resize(int expectedSize) {
+        Table current = table;
+        Table resized = new Table(capacityFor(expectedSize));
+        int mask = resized.mask;
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values.get(i);
+            if (value == null || value == REMOVED) {
+                continue;
+            }
+            long key = current.keys[i];
+            int index = hash(key) & mask;
+            while (resized.values.get(index) != null) {
+                index = (index + 1) & mask;
+            }
+            resized.keys[index] = key;
+            resized.values.set(index, value);
+            resized.used++;
+        }
+        table = resized;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+        private final int threshold;
+        private int used;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<Object>(capacity);
+            mask = capacity - 1;
+            threshold = capacity * 3 / 4;
+        }
+    }
+}
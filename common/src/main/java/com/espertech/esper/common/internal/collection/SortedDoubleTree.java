@@ -0,0 +1,325 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, reference-counting multiset of double values that answers order-statistic queries,
+ * i.e. the value at a given position in sort order.
+ * <p>
+ * An AVL tree of distinct values, each node holding the number of occurrences of its value and the total number
+ * of occurrences in its subtree. Add, remove and get-by-index are O(log n).
+ * Nodes are kept in primitive arrays and are reused after removal, so that values are not boxed and
+ * adding a value does not allocate unless the capacity grows.
+ * <p>
+ * NaN values are ignored.
+ */
+public class SortedDoubleTree {
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] values;
+    private int[] counts;
+    private int[] sizes;
+    private int[] lefts;
+    private int[] rights;
+    private int[] heights;
+    private int root;
+    private int next;
+    private int free;
+
+    /**
+     * Constructor.
+     */
+    public SortedDoubleTree() {
+        values = new double[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+        sizes = new int[INITIAL_CAPACITY];
+        lefts = new int[INITIAL_CAPACITY];
+        rights = new int[INITIAL_CAPACITY];
+        heights = new int[INITIAL_CAPACITY];
+        clear();
+    }
+
+    /**
+     * Clear out the collection.
+     */
+    public void clear() {
+        root = NIL;
+        next = 1;
+        free = NIL;
+    }
+
+    /**
+     * Returns the number of items in the collection, counting each occurrence of a value.
+     *
+     * @return size
+     */
+    public int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Add a value to the collection.
+     *
+     * @param value is the double-type value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (free == NIL && next == values.length) {
+            grow();
+        }
+        root = insert(root, value);
+    }
+
+    /**
+     * Remove one occurrence of a value from the collection, if the collection holds the value.
+     *
+     * @param value to remove
+     */
+    public void remove(double value) {
+        if (Double.isNaN(value) || !contains(value)) {
+            return;
+        }
+        root = delete(root, value);
+    }
+
+    /**
+     * Returns true if the collection holds the value.
+     *
+     * @param value to check
+     * @return indicator
+     */
+    public boolean contains(double value) {
+        int node = root;
+        while (node != NIL) {
+            double nodeValue = values[node];
+            if (value < nodeValue) {
+                node = lefts[node];
+            } else if (value > nodeValue) {
+                node = rights[node];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value at a given index in sort order.
+     *
+     * @param index for which to return value for
+     * @return value at index
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     */
+    public double getValue(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizes[lefts[node]];
+            if (index < leftSize) {
+                node = lefts[node];
+                continue;
+            }
+            index -= leftSize;
+            if (index < counts[node]) {
+                return values[node];
+            }
+            index -= counts[node];
+            node = rights[node];
+        }
+    }
+
+    /**
+     * Returns the percentile of the values, interpolating linearly between the two closest values by position.
+     * The 0th percentile is the smallest value, the 50th percentile is the median and the 100th percentile the largest value.
+     *
+     * @param percent the percentile, between zero and 100
+     * @return percentile or NaN when the collection is empty
+     */
+    public double getPercentile(double percent) {
+        int size = size();
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double rank = percent / 100d * (size - 1);
+        int lower = (int) rank;
+        double lowerValue = getValue(lower);
+        double fraction = rank - lower;
+        if (fraction == 0 || lower + 1 >= size) {
+            return lowerValue;
+        }
+        return lowerValue + (getValue(lower + 1) - lowerValue) * fraction;
+    }
+
+    /**
+     * Returns all values in sort order, repeating values that occur multiple times.
+     *
+     * @return sorted values
+     */
+    public double[] toArray() {
+        double[] result = new double[size()];
+        fill(root, result, 0);
+        return result;
+    }
+
+    private int fill(int node, double[] result, int index) {
+        while (node != NIL) {
+            index = fill(lefts[node], result, index);
+            for (int i = 0; i < counts[node]; i++) {
+                result[index++] = values[node];
+            }
+            node = rights[node];
+        }
+        return index;
+    }
+
+    private int insert(int node, double value) {
+        if (node == NIL) {
+            return allocate(value);
+        }
+        double nodeValue = values[node];
+        if (value < nodeValue) {
+            int left = insert(lefts[node], value);
+            lefts[node] = left;
+        } else if (value > nodeValue) {
+            int right = insert(rights[node], value);
+            rights[node] = right;
+        } else {
+            counts[node]++;
+            sizes[node]++;
+            return node;
+        }
+        return rebalance(node);
+    }
+
+    private int delete(int node, double value) {
+        double nodeValue = values[node];
+        if (value < nodeValue) {
+            lefts[node] = delete(lefts[node], value);
+        } else if (value > nodeValue) {
+            rights[node] = delete(rights[node], value);
+        } else {
+            if (counts[node] > 1) {
+                counts[node]--;
+                sizes[node]--;
+                return node;
+            }
+            int left = lefts[node];
+            int right = rights[node];
+            release(node);
+            if (left == NIL) {
+                return right;
+            }
+            if (right == NIL) {
+                return left;
+            }
+            int successor = right;
+            while (lefts[successor] != NIL) {
+                successor = lefts[successor];
+            }
+            rights[successor] = deleteMin(right);
+            lefts[successor] = left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private int deleteMin(int node) {
+        if (lefts[node] == NIL) {
+            return rights[node];
+        }
+        lefts[node] = deleteMin(lefts[node]);
+        return rebalance(node);
+    }
+
+    private int rebalance(int node) {
+        update(node);
+        int balance = heights[lefts[node]] - heights[rights[node]];
+        if (balance > 1) {
+            int left = lefts[node];
+            if (heights[lefts[left]] < heights[rights[left]]) {
+                lefts[node] = rotateLeft(left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            int right = rights[node];
+            if (heights[rights[right]] < heights[lefts[right]]) {
+                rights[node] = rotateRight(right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = lefts[node];
+        lefts[node] = rights[pivot];
+        rights[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = rights[node];
+        rights[node] = lefts[pivot];
+        lefts[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        int left = lefts[node];
+        int right = rights[node];
+        sizes[node] = sizes[left] + sizes[right] + counts[node];
+        heights[node] = Math.max(heights[left], heights[right]) + 1;
+    }
+
+    private int allocate(double value) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = lefts[node];
+        } else {
+            node = next++;
+        }
+        values[node] = value;
+        counts[node] = 1;
+        sizes[node] = 1;
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        heights[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        lefts[node] = free;
+        free = node;
+    }
+
+    private void grow() {
+        int capacity = values.length << 1;
+        values = Arrays.copyOf(values, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+}
@@ -14,6 +14,9 @@ import java.util.ArrayList;
 
 /**
  * Sorted, reference-counting set based on an ArrayList implementation that it being kept sorted.
+ * <p>
+ * The median and percentile aggregations use {@link SortedDoubleTree} instead. This class remains as the
+ * straightforward reference implementation that the {@link SortedDoubleTree} tests compare against.
  */
 public class SortedDoubleVector {
     private ArrayList<Double> values;
@@ -24,6 +24,7 @@ import com.espertech.esper.common.internal.epl.agg.access.linear.AggregationAcce
 import com.espertech.esper.common.internal.epl.enummethod.dot.ExprLambdaGoesNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionCountMinSketchNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionLinearAccessNode;
+import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionQuantileSketchNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionSortedMinMaxByNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprPlugInMultiFunctionAggNode;
 import com.espertech.esper.common.internal.epl.expression.agg.method.*;
@@ -2219,12 +2220,20 @@ public class StatementSpecMapper {
             return new AvgProjectionExpression(sub.isDistinct());
         } else if (expr instanceof ExprNthAggNode) {
             return new PlugInProjectionExpression("nth", false);
+        } else if (expr instanceof ExprPercentileAggNode) {
+            ExprPercentileAggNode percentile = (ExprPercentileAggNode) expr;
+            return new PlugInProjectionExpression(percentile.getAggregationFunctionName(), percentile.isDistinct());
+        } else if (expr instanceof ExprCountDistinctApproxAggNode) {
+            return new PlugInProjectionExpression("countDistinctApprox", false);
         } else if (expr instanceof ExprBetweenNode) {
             ExprBetweenNode between = (ExprBetweenNode) expr;
             return new BetweenExpression(between.isLowEndpointIncluded(), between.isHighEndpointIncluded(), between.isNotBetween());
         } else if (expr instanceof ExprAggMultiFunctionCountMinSketchNode) {
             ExprAggMultiFunctionCountMinSketchNode cmsNode = (ExprAggMultiFunctionCountMinSketchNode) expr;
             return new PlugInProjectionExpression(cmsNode.getAggregationFunctionName(), false);
+        } else if (expr instanceof ExprAggMultiFunctionQuantileSketchNode) {
+            ExprAggMultiFunctionQuantileSketchNode quantileSketchNode = (ExprAggMultiFunctionQuantileSketchNode) expr;
+            return new PlugInProjectionExpression(quantileSketchNode.getAggregationFunctionName(), false);
         } else if (expr instanceof ExprBitWiseNode) {
             ExprBitWiseNode node = (ExprBitWiseNode) expr;
             return new BitwiseOpExpression(node.getBitWiseOpEnum());
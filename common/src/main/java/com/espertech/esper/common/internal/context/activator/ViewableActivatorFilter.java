@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.context.activator;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceFilterProxy;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
@@ -55,12 +56,6 @@ public class ViewableActivatorFilter implements ViewableActivator {
 
     public ViewableActivationResult activate(final AgentInstanceContext agentInstanceContext, boolean isSubselect, boolean isRecoveringResilient) {
 
-        FilterValueSetParam[][] addendum = null;
-        if (agentInstanceContext.getAgentInstanceFilterProxy() != null) {
-            addendum = agentInstanceContext.getAgentInstanceFilterProxy().getAddendumFilters(filterSpec, agentInstanceContext);
-        }
-        FilterValueSetParam[][] filterValues = filterSpec.getValueSet(null, addendum, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
-
         EventStream theStream;
         if (!agentInstanceContext.getAuditProvider().activated() && !agentInstanceContext.getInstrumentationProvider().activated()) {
             theStream = canIterate ? new ZeroDepthStreamIterable(filterSpec.getResultEventType()) : new ZeroDepthStreamNoIterate(filterSpec.getResultEventType());
@@ -97,8 +92,17 @@ public class ViewableActivatorFilter implements ViewableActivator {
         }
 
         EPStatementHandleCallbackFilter filterHandle = new EPStatementHandleCallbackFilter(agentInstanceContext.getEpStatementAgentInstanceHandle(), filterCallback);
-        agentInstanceContext.getStatementContext().getFilterService().add(filterSpec.getFilterForEventType(), filterValues, filterHandle);
-        ViewableActivatorFilterMgmtCallback stopCallback = new ViewableActivatorFilterMgmtCallback(filterHandle, filterSpec);
+        AgentInstanceFilterProxy proxy = agentInstanceContext.getAgentInstanceFilterProxy();
+        boolean shared = proxy != null && proxy.addSharedFilter(filterSpec, filterHandle, agentInstanceContext);
+        if (!shared) {
+            FilterValueSetParam[][] addendum = null;
+            if (proxy != null) {
+                addendum = proxy.getAddendumFilters(filterSpec, agentInstanceContext);
+            }
+            FilterValueSetParam[][] filterValues = filterSpec.getValueSet(null, addendum, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+            agentInstanceContext.getStatementContext().getFilterService().add(filterSpec.getFilterForEventType(), filterValues, filterHandle);
+        }
+        ViewableActivatorFilterMgmtCallback stopCallback = new ViewableActivatorFilterMgmtCallback(filterHandle, filterSpec, shared);
         return new ViewableActivationResult(theStream, stopCallback, null, false, false, null, null, null);
     }
 }
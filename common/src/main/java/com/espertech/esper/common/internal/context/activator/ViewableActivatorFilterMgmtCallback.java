@@ -22,16 +22,22 @@ public class ViewableActivatorFilterMgmtCallback implements AgentInstanceMgmtCal
 
     private FilterHandle filterHandle;
     private FilterSpecActivatable filterSpecActivatable;
+    private boolean shared;
 
-    public ViewableActivatorFilterMgmtCallback(FilterHandle filterHandle, FilterSpecActivatable filterSpecActivatable) {
+    public ViewableActivatorFilterMgmtCallback(FilterHandle filterHandle, FilterSpecActivatable filterSpecActivatable, boolean shared) {
         this.filterHandle = filterHandle;
         this.filterSpecActivatable = filterSpecActivatable;
+        this.shared = shared;
     }
 
     public synchronized void stop(AgentInstanceStopServices services) {
         if (filterHandle != null) {
-            FilterValueSetParam[][] filterValues = computeFilterValues(services.getAgentInstanceContext());
-            services.getAgentInstanceContext().getFilterService().remove(filterHandle, filterSpecActivatable.getFilterForEventType(), filterValues);
+            if (shared) {
+                services.getAgentInstanceContext().getAgentInstanceFilterProxy().removeSharedFilter(filterSpecActivatable, filterHandle);
+            } else {
+                FilterValueSetParam[][] filterValues = computeFilterValues(services.getAgentInstanceContext());
+                services.getAgentInstanceContext().getFilterService().remove(filterHandle, filterSpecActivatable.getFilterForEventType(), filterValues);
+            }
         }
         filterHandle = null;
     }
@@ -41,6 +47,14 @@ public class ViewableActivatorFilterMgmtCallback implements AgentInstanceMgmtCal
         if (filterHandle == null) {
             return;
         }
+        if (shared) {
+            // the target filter service gets a filter for this agent instance alone
+            services.getAgentInstanceContext().getAgentInstanceFilterProxy().removeSharedFilter(filterSpecActivatable, filterHandle);
+            shared = false;
+            FilterValueSetParam[][] filterValues = computeFilterValues(services.getAgentInstanceContext());
+            services.getTargetFilterService().add(filterSpecActivatable.getFilterForEventType(), filterValues, filterHandle);
+            return;
+        }
         FilterValueSetParam[][] filterValues = computeFilterValues(services.getAgentInstanceContext());
         services.getAgentInstanceContext().getFilterService().remove(filterHandle, filterSpecActivatable.getFilterForEventType(), filterValues);
         services.getTargetFilterService().add(filterSpecActivatable.getFilterForEventType(), filterValues, filterHandle);
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.aifactory.createcontext;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.EvictIdle;
 import com.espertech.esper.common.client.meta.EventTypeApplicationType;
 import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
@@ -39,6 +40,7 @@ import com.espertech.esper.common.internal.context.module.StatementFields;
 import com.espertech.esper.common.internal.context.module.StatementInformationalsCompileTime;
 import com.espertech.esper.common.internal.context.module.StatementProvider;
 import com.espertech.esper.common.internal.context.util.ContextPropertyEventType;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.epl.expression.core.*;
 import com.espertech.esper.common.internal.epl.pattern.core.EvalForgeNode;
 import com.espertech.esper.common.internal.epl.pattern.core.PatternContext;
@@ -53,6 +55,7 @@ import com.espertech.esper.common.internal.schedule.ScheduleHandleCallbackProvid
 import com.espertech.esper.common.internal.serde.compiletime.eventtype.SerdeEventTypeUtility;
 import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
 
+import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -82,6 +85,7 @@ public class StmtForgeMethodCreateContext implements StmtForgeMethod {
         // compile filter specs, if any
         CreateContextValidationEnv validationEnv = new CreateContextValidationEnv(context.getContextName(), base.getStatementRawInfo(), services, filterSpecCompileds, scheduleHandleCallbackProviders, filterBooleanExpressions);
         List<StmtClassForgeableFactory> additionalForgeables = validateContextDetail(context.getContextDetail(), 0, validationEnv);
+        validateEvictIdle(context, statementSpec.getAnnotations());
 
         // get controller factory forges
         ContextControllerFactoryForge[] controllerFactoryForges = getForges(context.getContextName(), context.getContextDetail());
@@ -376,6 +380,26 @@ public class StmtForgeMethodCreateContext implements StmtForgeMethod {
         }
     }
 
+    private static void validateEvictIdle(CreateContextDesc context, Annotation[] annotations) throws ExprValidationException {
+        EvictIdle evictIdle = (EvictIdle) AnnotationUtil.findAnnotation(annotations, EvictIdle.class);
+        if (evictIdle == null) {
+            return;
+        }
+        String annotation = "@" + EvictIdle.class.getSimpleName();
+        if (!(context.getContextDetail() instanceof ContextSpecKeyed)) {
+            throw new ExprValidationException(annotation + " requires a keyed segmented context that is not nested");
+        }
+        if (evictIdle.after() < 0 || evictIdle.maxPartitions() < 0) {
+            throw new ExprValidationException(annotation + " requires non-negative values for 'after' and 'maxPartitions'");
+        }
+        if (evictIdle.after() == 0 && evictIdle.maxPartitions() == 0) {
+            throw new ExprValidationException(annotation + " requires a value for 'after' or 'maxPartitions'");
+        }
+        if (!EvictIdle.POLICY_DROP.equalsIgnoreCase(evictIdle.policy())) {
+            throw new ExprValidationException(annotation + " policy '" + evictIdle.policy() + "' is not supported, the only supported policy is '" + EvictIdle.POLICY_DROP + "'");
+        }
+    }
+
     private ContextControllerFactoryForge[] getForges(String contextName, ContextSpec contextDetail) throws ExprValidationException {
         if (!(contextDetail instanceof ContextNested)) {
             ContextControllerFactoryEnv factoryEnv = new ContextControllerFactoryEnv(contextName, contextName, 1, 1);
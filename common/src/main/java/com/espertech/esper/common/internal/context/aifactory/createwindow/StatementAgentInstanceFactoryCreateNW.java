@@ -25,6 +25,7 @@ import com.espertech.esper.common.internal.context.module.StatementReadyCallback
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.epl.agg.core.AggregationService;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.namedwindow.columnar.ColumnarEventStore;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindow;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowInstance;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowTailViewInstance;
@@ -33,6 +34,7 @@ import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessor
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorFactoryProvider;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWView;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWViewFactory;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.event.core.EventTypeUtility;
 import com.espertech.esper.common.internal.view.core.*;
 import org.slf4j.Logger;
@@ -52,6 +54,7 @@ public class StatementAgentInstanceFactoryCreateNW implements StatementAgentInst
     private NamedWindow insertFromNamedWindow;
     private EventType asEventType;
     private ResultSetProcessorFactoryProvider resultSetProcessorFactoryProvider;
+    private boolean columnar;
 
     public void setActivator(ViewableActivatorFilter activator) {
         this.activator = activator;
@@ -81,6 +84,10 @@ public class StatementAgentInstanceFactoryCreateNW implements StatementAgentInst
         this.resultSetProcessorFactoryProvider = resultSetProcessorFactoryProvider;
     }
 
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
     public EventType getStatementEventType() {
         return activator.getEventType();
     }
@@ -129,6 +136,9 @@ public class StatementAgentInstanceFactoryCreateNW implements StatementAgentInst
 
             // Allocate processor instance
             namedWindowInstance = new NamedWindowInstance(namedWindow, agentInstanceContext);
+            if (columnar) {
+                namedWindowInstance.getRootViewInstance().setColumnarStore(new ColumnarEventStore((ObjectArrayEventType) namedWindow.getRootView().getEventType()));
+            }
             View rootView = namedWindowInstance.getRootViewInstance();
 
             // Materialize views
@@ -38,8 +38,9 @@ public class StatementAgentInstanceFactoryCreateNWForge {
     private final ExprNode insertFromFilter;
     private final EventType asEventType;
     private final String resultSetProcessorProviderClassName;
+    private final boolean columnar;
 
-    public StatementAgentInstanceFactoryCreateNWForge(ViewableActivatorFilterForge activator, String namedWindowName, List<ViewFactoryForge> views, NamedWindowMetaData insertFromNamedWindow, ExprNode insertFromFilter, EventType asEventType, String resultSetProcessorProviderClassName) {
+    public StatementAgentInstanceFactoryCreateNWForge(ViewableActivatorFilterForge activator, String namedWindowName, List<ViewFactoryForge> views, NamedWindowMetaData insertFromNamedWindow, ExprNode insertFromFilter, EventType asEventType, String resultSetProcessorProviderClassName, boolean columnar) {
         this.activator = activator;
         this.namedWindowName = namedWindowName;
         this.views = views;
@@ -47,6 +48,7 @@ public class StatementAgentInstanceFactoryCreateNWForge {
         this.insertFromFilter = insertFromFilter;
         this.asEventType = asEventType;
         this.resultSetProcessorProviderClassName = resultSetProcessorProviderClassName;
+        this.columnar = columnar;
     }
 
     public CodegenMethod initializeCodegen(CodegenMethodScope parent, SAIFFInitializeSymbol symbols, CodegenClassScope classScope) {
@@ -62,6 +64,7 @@ public class StatementAgentInstanceFactoryCreateNWForge {
                 .exprDotMethod(ref("saiff"), "setInsertFromFilter", insertFromFilter == null ? constantNull() : ExprNodeUtilityCodegen.codegenEvaluator(insertFromFilter.getForge(), method, this.getClass(), classScope))
                 .exprDotMethod(ref("saiff"), "setAsEventType", asEventType == null ? constantNull() : EventTypeUtility.resolveTypeCodegen(asEventType, EPStatementInitServices.REF))
                 .exprDotMethod(ref("saiff"), "setResultSetProcessorFactoryProvider", CodegenExpressionBuilder.newInstance(resultSetProcessorProviderClassName, symbols.getAddInitSvc(method)))
+                .exprDotMethod(ref("saiff"), "setColumnar", constant(columnar))
                 .exprDotMethod(symbols.getAddInitSvc(method), "addReadyCallback", ref("saiff"));
 
         method.getBlock().methodReturn(ref("saiff"));
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.aifactory.createwindow;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.Columnar;
 import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.client.util.StatementProperty;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenPackageScope;
@@ -27,6 +28,7 @@ import com.espertech.esper.common.internal.context.module.StatementAIFactoryProv
 import com.espertech.esper.common.internal.context.module.StatementFields;
 import com.espertech.esper.common.internal.context.module.StatementInformationalsCompileTime;
 import com.espertech.esper.common.internal.context.module.StatementProvider;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.epl.expression.core.*;
 import com.espertech.esper.common.internal.epl.namedwindow.path.NamedWindowMetaData;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorDesc;
@@ -37,8 +39,11 @@ import com.espertech.esper.common.internal.epl.resultset.select.core.SelectSubsc
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeServiceImpl;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWViewFactoryForge;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallbackProvider;
 import com.espertech.esper.common.internal.view.core.*;
+import com.espertech.esper.common.internal.view.keepall.KeepAllViewForge;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewForge;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -94,6 +99,10 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         List<ScheduleHandleCallbackProvider> schedules = new ArrayList<>();
         ViewFactoryForgeUtil.determineViewSchedules(viewForges, schedules);
         verifyDataWindowViewFactoryChain(viewForges);
+        boolean columnar = AnnotationUtil.hasAnnotation(base.getStatementSpec().getAnnotations(), Columnar.class);
+        if (columnar) {
+            verifyColumnar(namedWindowType, viewForges);
+        }
         Set<String> optionalUniqueKeyProps = StreamJoinAnalysisResultCompileTime.getUniqueCandidateProperties(viewForges, base.getStatementSpec().getAnnotations());
         String[] uniqueKeyProArray = optionalUniqueKeyProps == null ? null : optionalUniqueKeyProps.toArray(new String[optionalUniqueKeyProps.size()]);
 
@@ -129,7 +138,7 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         SelectSubscriberDescriptor selectSubscriberDescriptor = resultSetProcessor.getSelectSubscriberDescriptor();
 
         StatementAgentInstanceFactoryCreateNWForge forge = new StatementAgentInstanceFactoryCreateNWForge(activator, createWindowDesc.getWindowName(), viewForges,
-                insertFromNamedWindow, insertFromFilter, compileResult.getAsEventType(), classNameRSP);
+                insertFromNamedWindow, insertFromFilter, compileResult.getAsEventType(), classNameRSP, columnar);
 
         // add named window
         boolean isBatchingDataWindow = determineBatchingDataWindow(viewForges);
@@ -173,6 +182,16 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         return false;
     }
 
+    private static void verifyColumnar(EventType namedWindowType, List<ViewFactoryForge> forges) throws ExprValidationException {
+        String annotation = "@" + Columnar.class.getSimpleName();
+        if (!(namedWindowType instanceof ObjectArrayEventType)) {
+            throw new ExprValidationException(annotation + " requires a named window of object-array event representation");
+        }
+        if (forges.size() != 1 || !(forges.get(0) instanceof KeepAllViewForge || forges.get(0) instanceof TimeWindowViewForge)) {
+            throw new ExprValidationException(annotation + " requires a named window that declares a single keep-all or time window");
+        }
+    }
+
     private void verifyDataWindowViewFactoryChain(List<ViewFactoryForge> forges) throws ExprValidationException {
         AtomicBoolean hasDataWindow = new AtomicBoolean();
         ViewForgeVisitor visitor = forge -> {
@@ -0,0 +1,107 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.client.annotation.EvictIdle;
+import com.espertech.esper.common.internal.collection.IntSeqKeyRoot;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackSchedule;
+import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the last activity per key of a keyed context that is not nested, for terminating idle context partitions
+ * and the least recently active context partitions beyond the maximum number of context partitions.
+ */
+public class ContextControllerKeyedEvictIdle {
+    private final ContextControllerKeyedImpl controller;
+    private final long afterTime;
+    private final int maxPartitions;
+    private final long scheduleSlot;
+    private final LinkedHashMap<Object, Long> lastActive = new LinkedHashMap<>(16, 0.75f, true);
+    private EPStatementHandleCallbackSchedule scheduleHandle;
+
+    public ContextControllerKeyedEvictIdle(ContextControllerKeyedImpl controller, EvictIdle evictIdle) {
+        this.controller = controller;
+        AgentInstanceContext agentInstanceContext = controller.getAgentInstanceContextCreate();
+        this.afterTime = evictIdle.after() <= 0 ? 0 : agentInstanceContext.getClasspathImportServiceRuntime().getTimeAbacus().deltaForSecondsNumber(evictIdle.after());
+        this.maxPartitions = evictIdle.maxPartitions();
+        this.scheduleSlot = agentInstanceContext.getScheduleBucket().allocateSlot();
+    }
+
+    public void active(Object key) {
+        lastActive.put(key, controller.getAgentInstanceContextCreate().getTimeProvider().getTime());
+    }
+
+    public void added(Object key) {
+        active(key);
+        if (maxPartitions > 0) {
+            while (lastActive.size() > maxPartitions) {
+                evict(lastActive.keySet().iterator().next());
+            }
+        }
+        if (afterTime > 0 && scheduleHandle == null) {
+            schedule(afterTime);
+        }
+    }
+
+    public void removed(Object key) {
+        lastActive.remove(key);
+    }
+
+    public int size() {
+        return lastActive.size();
+    }
+
+    public void destroy() {
+        lastActive.clear();
+        if (scheduleHandle != null) {
+            controller.getAgentInstanceContextCreate().getSchedulingService().remove(scheduleHandle, scheduleSlot);
+            scheduleHandle = null;
+        }
+    }
+
+    private void evictIdle() {
+        long now = controller.getAgentInstanceContextCreate().getTimeProvider().getTime();
+        Iterator<Map.Entry<Object, Long>> it = lastActive.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, Long> entry = it.next();
+            long idleUntil = entry.getValue() + afterTime;
+            if (idleUntil > now) {
+                schedule(idleUntil - now);
+                return;
+            }
+            it.remove();
+            controller.evict(IntSeqKeyRoot.INSTANCE, entry.getKey());
+            it = lastActive.entrySet().iterator();
+        }
+    }
+
+    private void evict(Object key) {
+        lastActive.remove(key);
+        controller.evict(IntSeqKeyRoot.INSTANCE, key);
+    }
+
+    private void schedule(long delta) {
+        AgentInstanceContext agentInstanceContext = controller.getAgentInstanceContextCreate();
+        ScheduleHandleCallback callback = new ScheduleHandleCallback() {
+            public void scheduledTrigger() {
+                scheduleHandle = null;
+                evictIdle();
+            }
+        };
+        scheduleHandle = new EPStatementHandleCallbackSchedule(agentInstanceContext.getEpStatementAgentInstanceHandle(), callback);
+        agentInstanceContext.getSchedulingService().add(delta, scheduleHandle, scheduleSlot);
+    }
+}
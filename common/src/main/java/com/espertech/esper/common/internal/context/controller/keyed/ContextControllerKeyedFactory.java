@@ -62,6 +62,23 @@ public class ContextControllerKeyedFactory extends ContextControllerFactoryBase
         return ContextControllerKeyedUtil.getAddendumFilters(getterKey, filterSpec, keyedSpec, includePartitionKey, optionalStatementDesc, statements, agentInstanceContextStatement);
     }
 
+    /**
+     * Returns the shared filters of the statements of the context, when the context is not nested,
+     * has no initiating or terminating condition and the runtime is configured for shared filters.
+     *
+     * @param agentInstanceContextCreate context of the create-context statement
+     * @return shared filters or null when statements register filters per context partition
+     */
+    public ContextControllerKeyedSharedFilters makeSharedFilters(AgentInstanceContext agentInstanceContextCreate) {
+        if (!agentInstanceContextCreate.getRuntimeSettingsService().getConfigurationRuntime().getExecution().isKeyedContextSharedFilters()) {
+            return null;
+        }
+        if (!factoryContext.isRoot() || !factoryContext.isLeaf() || keyedSpec.getOptionalInit() != null || keyedSpec.getOptionalTermination() != null) {
+            return null;
+        }
+        return new ContextControllerKeyedSharedFilters(keyedSpec);
+    }
+
     public void populateContextProperties(Map<String, Object> props, Object partitionKey) {
         if (!keyedSpec.isHasAsName()) {
             populateContextPropertiesAddKeyInfo(props, partitionKey);
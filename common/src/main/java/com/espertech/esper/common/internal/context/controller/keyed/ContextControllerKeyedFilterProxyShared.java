@@ -0,0 +1,39 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceFilterProxyImpl;
+import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.IdentityHashMap;
+import java.util.function.Function;
+
+public class ContextControllerKeyedFilterProxyShared extends AgentInstanceFilterProxyImpl {
+    private final ContextControllerKeyedSharedFilters sharedFilters;
+    private final Object getterKey;
+
+    public ContextControllerKeyedFilterProxyShared(Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator, ContextControllerKeyedSharedFilters sharedFilters, Object getterKey) {
+        super(generator);
+        this.sharedFilters = sharedFilters;
+        this.getterKey = getterKey;
+    }
+
+    public boolean addSharedFilter(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+        return sharedFilters.add(filterSpec, getterKey, filterHandle, agentInstanceContext);
+    }
+
+    public void removeSharedFilter(FilterSpecActivatable filterSpec, FilterHandle filterHandle) {
+        sharedFilters.remove(filterSpec, getterKey, filterHandle);
+    }
+}
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.controller.keyed;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.annotation.EvictIdle;
 import com.espertech.esper.common.internal.collection.IntSeqKey;
 import com.espertech.esper.common.internal.context.controller.condition.*;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFilterEntry;
@@ -20,6 +21,7 @@ import com.espertech.esper.common.internal.context.util.AgentInstance;
 import com.espertech.esper.common.internal.context.util.AgentInstanceTransferServices;
 import com.espertech.esper.common.internal.context.util.AgentInstanceUtil;
 import com.espertech.esper.common.internal.context.util.FilterFaultHandler;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.filterspec.MatchedEventMap;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 
@@ -31,10 +33,13 @@ import java.util.function.BiConsumer;
 public class ContextControllerKeyedImpl extends ContextControllerKeyed {
 
     protected final ContextControllerKeyedSvc keyedSvc;
+    protected final ContextControllerKeyedEvictIdle evictIdle;
 
     public ContextControllerKeyedImpl(ContextControllerKeyedFactory factory, ContextManagerRealization realization) {
         super(realization, factory);
         keyedSvc = ContextControllerKeyedUtil.getService(factory, realization);
+        EvictIdle evictIdleAnnotation = (EvictIdle) AnnotationUtil.findAnnotation(realization.getAgentInstanceContextCreate().getAnnotations(), EvictIdle.class);
+        evictIdle = evictIdleAnnotation == null || !factory.getFactoryEnv().isRoot() ? null : new ContextControllerKeyedEvictIdle(this, evictIdleAnnotation);
     }
 
     public void activate(IntSeqKey path, Object[] parentPartitionKeys, EventBean optionalTriggeringEvent, Map<String, Object> optionalTriggeringPattern) {
@@ -59,6 +64,10 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
             }
         }
 
+        if (evictIdle != null) {
+            evictIdle.destroy();
+        }
+
         Collection<Integer> subpaths = keyedSvc.deactivate(path);
         if (terminateChildContexts) {
             for (int subpathId : subpaths) {
@@ -74,6 +83,9 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
 
         Object getterKey = item.getGetter().get(theEvent);
         boolean exists = keyedSvc.keyHasSeen(controllerPath, getterKey);
+        if (exists && evictIdle != null) {
+            evictIdle.active(getterKey);
+        }
         if (exists || theEvent == lastTerminatingEvent) {  // if all-matches is more than one, the termination has also fired
             return;
         }
@@ -105,6 +117,9 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
         }
 
         keyedSvc.keyAdd(controllerPath, getterKey, subpathIdOrCPId, terminationCondition);
+        if (evictIdle != null) {
+            evictIdle.added(getterKey);
+        }
 
         // update the filter version for this handle
         long filterVersionAfterStart = realization.getAgentInstanceContextCreate().getFilterService().getFiltersVersion();
@@ -119,7 +134,31 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
         return keyedSvc.keyGetSubpathOrCPId(path, keyForLookup);
     }
 
+    /**
+     * Terminates the context partition for the key, for use when the context partition is idle.
+     *
+     * @param controllerPath path
+     * @param getterKey      key
+     */
+    public void evict(IntSeqKey controllerPath, Object getterKey) {
+        ContextControllerKeyedSvcEntry removed = keyedSvc.keyRemove(controllerPath, getterKey);
+        if (removed == null) {
+            return;
+        }
+        realization.contextPartitionTerminate(controllerPath, removed.getSubpathOrCPId(), this, null, false, null);
+        if (removed.getTerminationCondition() != null) {
+            removed.getTerminationCondition().deactivate();
+        }
+    }
+
+    public ContextControllerKeyedEvictIdle getEvictIdle() {
+        return evictIdle;
+    }
+
     public void destroy() {
+        if (evictIdle != null) {
+            evictIdle.destroy();
+        }
         keyedSvc.destroy();
     }
 
@@ -132,6 +171,9 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
                 if (removed == null) {
                     return;
                 }
+                if (evictIdle != null) {
+                    evictIdle.removed(getterKey);
+                }
                 // remember the terminating event, we don't want it to initiate a new partition
                 ContextControllerKeyedImpl.this.lastTerminatingEvent = optionalTriggeringEvent != null ? optionalTriggeringEvent : optionalTriggeringEventPattern;
                 realization.contextPartitionTerminate(conditionPath.removeFromEnd(), removed.getSubpathOrCPId(), ContextControllerKeyedImpl.this, optionalTriggeringPattern, false, null);
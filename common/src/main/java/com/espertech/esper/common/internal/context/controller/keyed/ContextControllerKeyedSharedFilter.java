@@ -0,0 +1,128 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.util.HashableMultiKey;
+import com.espertech.esper.common.client.util.MultiKey;
+import com.espertech.esper.common.internal.compile.multikey.MultiKeyPlanner;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleDispatch;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filter of a statement that all partitions of a keyed context share: the filter does not include the partition key
+ * and, for a matching event, dispatches to the filter handle of the partition for the key value of the event.
+ */
+public class ContextControllerKeyedSharedFilter implements FilterHandleDispatch {
+    private final static Object NULL_KEY = new Object();
+
+    private final int statementId;
+    private final ExprFilterSpecLookupable[] lookupables;
+    private final EventType eventType;
+    private final FilterValueSetParam[][] filterValues;
+    private final FilterService filterService;
+    private final Map<Object, FilterHandle> handles = new ConcurrentHashMap<>();
+
+    public ContextControllerKeyedSharedFilter(int statementId, ExprFilterSpecLookupable[] lookupables, EventType eventType, FilterValueSetParam[][] filterValues, FilterService filterService) {
+        this.statementId = statementId;
+        this.lookupables = lookupables;
+        this.eventType = eventType;
+        this.filterValues = filterValues;
+        this.filterService = filterService;
+    }
+
+    public void matchFound(EventBean theEvent, Collection<FilterHandle> matches) {
+        Object key;
+        if (lookupables.length == 1) {
+            key = toKey(lookupables[0].getGetter().get(theEvent));
+        } else {
+            Object[] keys = new Object[lookupables.length];
+            for (int i = 0; i < lookupables.length; i++) {
+                keys[i] = toKeyValue(lookupables[i].getGetter().get(theEvent));
+            }
+            key = new HashableMultiKey(keys);
+        }
+        FilterHandle handle = handles.get(key);
+        if (handle != null) {
+            matches.add(handle);
+        }
+    }
+
+    public int getStatementId() {
+        return statementId;
+    }
+
+    public int getAgentInstanceId() {
+        return -1;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public FilterValueSetParam[][] getFilterValues() {
+        return filterValues;
+    }
+
+    public FilterService getFilterService() {
+        return filterService;
+    }
+
+    /**
+     * Adds the filter handle of a partition.
+     *
+     * @param getterKey partition key
+     * @param handle    filter handle of the partition
+     * @return false when the key already has a filter handle
+     */
+    public boolean addHandle(Object getterKey, FilterHandle handle) {
+        return handles.putIfAbsent(toPartitionKey(getterKey), handle) == null;
+    }
+
+    public void removeHandle(Object getterKey, FilterHandle handle) {
+        handles.remove(toPartitionKey(getterKey), handle);
+    }
+
+    public boolean isEmpty() {
+        return handles.isEmpty();
+    }
+
+    private Object toPartitionKey(Object getterKey) {
+        if (lookupables.length == 1) {
+            return toKey(getterKey);
+        }
+        MultiKey multiKey = (MultiKey) getterKey;
+        Object[] keys = new Object[lookupables.length];
+        for (int i = 0; i < lookupables.length; i++) {
+            keys[i] = toKeyValue(multiKey.getKey(i));
+        }
+        return new HashableMultiKey(keys);
+    }
+
+    private static Object toKey(Object value) {
+        return value == null ? NULL_KEY : toKeyValue(value);
+    }
+
+    private static Object toKeyValue(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            return MultiKeyPlanner.toMultiKey(value);
+        }
+        return value;
+    }
+}
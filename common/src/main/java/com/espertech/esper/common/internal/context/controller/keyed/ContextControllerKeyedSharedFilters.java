@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shared filters of the statements of a single-level keyed context, one per statement filter.
+ * <p>
+ * A shared filter is registered with the filter service when the first partition of the statement starts and
+ * is removed when the last partition of the statement stops.
+ * A partition registers its own filter instead when its filter values, without the partition key, differ from those of the shared filter,
+ * such as when the filter refers to context properties.
+ * </p>
+ */
+public class ContextControllerKeyedSharedFilters {
+    private final ContextControllerDetailKeyed keyedSpec;
+    private final Map<FilterSpecActivatable, ContextControllerKeyedSharedFilter> filters = new IdentityHashMap<>();
+
+    public ContextControllerKeyedSharedFilters(ContextControllerDetailKeyed keyedSpec) {
+        this.keyedSpec = keyedSpec;
+    }
+
+    public synchronized boolean add(FilterSpecActivatable filterSpec, Object getterKey, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+        if (filterSpec.getFilterForEventType().getMetadata().getTypeClass() == EventTypeTypeClass.NAMED_WINDOW) {
+            return false;
+        }
+        ContextControllerDetailKeyedItem partitionItem = ContextControllerKeyedUtil.findPartitionItemForType(filterSpec.getFilterForEventType(), keyedSpec);
+        if (partitionItem == null) {
+            return false;
+        }
+
+        FilterValueSetParam[][] filterValues = ContextControllerKeyedUtil.getSharedFilterValues(filterSpec, partitionItem, agentInstanceContext);
+        ContextControllerKeyedSharedFilter shared = filters.get(filterSpec);
+        if (shared == null) {
+            shared = new ContextControllerKeyedSharedFilter(agentInstanceContext.getStatementId(), partitionItem.getLookupables(), filterSpec.getFilterForEventType(), filterValues, agentInstanceContext.getFilterService());
+            if (!shared.addHandle(getterKey, filterHandle)) {
+                return false;
+            }
+            shared.getFilterService().add(shared.getEventType(), filterValues, shared);
+            filters.put(filterSpec, shared);
+            return true;
+        }
+
+        if (shared.getFilterService() != agentInstanceContext.getFilterService() || !isSameValues(filterValues, shared.getFilterValues())) {
+            return false;
+        }
+        if (!shared.addHandle(getterKey, filterHandle)) {
+            return false;
+        }
+
+        // events that were evaluated before the handle was added must fault to see the new partition
+        shared.getFilterService().incrementFiltersVersion();
+        return true;
+    }
+
+    public synchronized void remove(FilterSpecActivatable filterSpec, Object getterKey, FilterHandle filterHandle) {
+        ContextControllerKeyedSharedFilter shared = filters.get(filterSpec);
+        if (shared == null) {
+            return;
+        }
+        shared.removeHandle(getterKey, filterHandle);
+        if (shared.isEmpty()) {
+            shared.getFilterService().remove(shared, shared.getEventType(), shared.getFilterValues());
+            filters.remove(filterSpec);
+        } else {
+            shared.getFilterService().incrementFiltersVersion();
+        }
+    }
+
+    private static boolean isSameValues(FilterValueSetParam[][] first, FilterValueSetParam[][] second) {
+        if (first == null || second == null) {
+            return first == second;
+        }
+        if (first.length != second.length) {
+            return false;
+        }
+        for (int i = 0; i < first.length; i++) {
+            if (first[i].length != second[i].length) {
+                return false;
+            }
+            for (int j = 0; j < first[i].length; j++) {
+                FilterValueSetParam one = first[i][j];
+                FilterValueSetParam two = second[i][j];
+                if (one.getFilterOperator() != two.getFilterOperator() ||
+                    !one.getLookupable().equals(two.getLookupable()) ||
+                    !Objects.deepEquals(one.getFilterForValue(), two.getFilterForValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
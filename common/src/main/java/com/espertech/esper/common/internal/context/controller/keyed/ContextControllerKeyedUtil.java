@@ -158,13 +158,7 @@ public class ContextControllerKeyedUtil {
                 }
             }
             if (foundPartition == null) {
-                for (ContextControllerDetailKeyedItem partitionItem : keyedSpec.getItems()) {
-                    boolean typeOrSubtype = EventTypeUtility.isTypeOrSubTypeOf(filtersSpec.getFilterForEventType(), partitionItem.getFilterSpecActivatable().getFilterForEventType());
-                    if (typeOrSubtype) {
-                        foundPartition = partitionItem;
-                        break;
-                    }
-                }
+                foundPartition = findPartitionItemForType(filtersSpec.getFilterForEventType(), keyedSpec);
             }
         } else {
             StatementAgentInstanceFactoryCreateNW factory = (StatementAgentInstanceFactoryCreateNW) optionalStatementDesc.getLightweight().getStatementContext().getStatementAIFactoryProvider().getFactory();
@@ -203,6 +197,29 @@ public class ContextControllerKeyedUtil {
         return addendum;
     }
 
+    /**
+     * Returns the filter values of a statement filter for a filter that all partitions of a keyed context share,
+     * i.e. the statement filter and the partition filter but without the partition key.
+     *
+     * @param filtersSpec          statement filter
+     * @param partitionItem        partition item for the statement filter
+     * @param agentInstanceContext agent instance context of the statement
+     * @return filter values
+     */
+    public static FilterValueSetParam[][] getSharedFilterValues(FilterSpecActivatable filtersSpec, ContextControllerDetailKeyedItem partitionItem, AgentInstanceContext agentInstanceContext) {
+        FilterValueSetParam[][] partitionFilters = partitionItem.getFilterSpecActivatable().getValueSet(null, null, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+        return filtersSpec.getValueSet(null, partitionFilters, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+    }
+
+    public static ContextControllerDetailKeyedItem findPartitionItemForType(EventType eventType, ContextControllerDetailKeyed keyedSpec) {
+        for (ContextControllerDetailKeyedItem partitionItem : keyedSpec.getItems()) {
+            if (EventTypeUtility.isTypeOrSubTypeOf(eventType, partitionItem.getFilterSpecActivatable().getFilterForEventType())) {
+                return partitionItem;
+            }
+        }
+        return null;
+    }
+
     private static String findNamedWindowDeclaredAsName(Map<Integer, ContextControllerStatementDesc> statements, String name) {
         for (Map.Entry<Integer, ContextControllerStatementDesc> stmtEntry : statements.entrySet()) {
             StatementContext ctx = stmtEntry.getValue().getLightweight().getStatementContext();
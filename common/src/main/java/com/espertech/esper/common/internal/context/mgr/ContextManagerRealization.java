@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.mgr;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.util.StatementType;
 import com.espertech.esper.common.client.context.*;
 import com.espertech.esper.common.internal.collection.IntSeqKey;
 import com.espertech.esper.common.internal.collection.IntSeqKeyRoot;
@@ -18,6 +19,9 @@ import com.espertech.esper.common.internal.context.controller.core.ContextContro
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactory;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactoryEnv;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerLifecycleCallback;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedFactory;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedFilterProxyShared;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedSharedFilters;
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.event.core.MappedEventBean;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
@@ -33,6 +37,7 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
     private final ContextManagerResident contextManager;
     private final AgentInstanceContext agentInstanceContextCreate;
     private final ContextController[] contextControllers;
+    private final ContextControllerKeyedSharedFilters keyedSharedFilters;
 
     public ContextManagerRealization(ContextManagerResident contextManager, AgentInstanceContext agentInstanceContextCreate) {
         this.contextManager = contextManager;
@@ -45,6 +50,12 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
             ContextControllerFactory contextControllerFactory = controllerFactories[i];
             contextControllers[i] = contextControllerFactory.create(this);
         }
+
+        if (controllerFactories.length == 1 && controllerFactories[0] instanceof ContextControllerKeyedFactory) {
+            keyedSharedFilters = ((ContextControllerKeyedFactory) controllerFactories[0]).makeSharedFilters(agentInstanceContextCreate);
+        } else {
+            keyedSharedFilters = null;
+        }
     }
 
     public ContextController[] getContextControllers() {
@@ -116,9 +127,7 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
         for (Map.Entry<Integer, ContextControllerStatementDesc> statementEntry : contextManager.getStatements().entrySet()) {
             ContextControllerStatementDesc statementDesc = statementEntry.getValue();
 
-            Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
-                ContextManagerUtil.computeAddendumForStatement(statementDesc, contextManager.getStatements(), contextManager.getContextDefinition().getControllerFactories(), allPartitionKeys, agentInstanceContext);
-            AgentInstanceFilterProxy proxy = new AgentInstanceFilterProxyImpl(generator);
+            AgentInstanceFilterProxy proxy = makeFilterProxy(statementDesc, allPartitionKeys);
 
             AgentInstance agentInstance = AgentInstanceUtil.startStatement(contextManager.getStatementContextCreate().getStatementContextRuntimeServices(), assignedContextId, statementDesc, contextBean, proxy);
             startedInstances.add(agentInstance);
@@ -186,9 +195,7 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
             MappedEventBean contextBean = ContextManagerUtil.buildContextProperties(cpid, partitionKeys, contextManager.getContextDefinition(), agentInstanceContextCreate.getStatementContext());
 
             // create filter proxies
-            Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
-                ContextManagerUtil.computeAddendumForStatement(statement, contextManager.getStatements(), contextManager.getContextDefinition().getControllerFactories(), partitionKeys, agentInstanceContext);
-            AgentInstanceFilterProxy proxy = new AgentInstanceFilterProxyImpl(generator);
+            AgentInstanceFilterProxy proxy = makeFilterProxy(statement, partitionKeys);
 
             // start
             AgentInstanceUtil.startStatement(contextManager.getStatementContextCreate().getStatementContextRuntimeServices(), cpid, statement, contextBean, proxy);
@@ -281,6 +288,15 @@ public class ContextManagerRealization implements ContextControllerLifecycleCall
         return false;
     }
 
+    private AgentInstanceFilterProxy makeFilterProxy(ContextControllerStatementDesc statementDesc, Object[] allPartitionKeys) {
+        Function<AgentInstanceContext, IdentityHashMap<FilterSpecActivatable, FilterValueSetParam[][]>> generator = agentInstanceContext ->
+            ContextManagerUtil.computeAddendumForStatement(statementDesc, contextManager.getStatements(), contextManager.getContextDefinition().getControllerFactories(), allPartitionKeys, agentInstanceContext);
+        if (keyedSharedFilters != null && statementDesc.getLightweight().getStatementContext().getStatementType() != StatementType.CREATE_WINDOW) {
+            return new ContextControllerKeyedFilterProxyShared(generator, keyedSharedFilters, allPartitionKeys[0]);
+        }
+        return new AgentInstanceFilterProxyImpl(generator);
+    }
+
     private Object[] addPartitionKey(int nestingLevel, Object[] parentPartitionKeys, Object partitionKey) {
         Object[] keysPerContext = new Object[nestingLevel];
         if (nestingLevel > 1) {
@@ -12,7 +12,29 @@ package com.espertech.esper.common.internal.context.util;
 
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 
 public interface AgentInstanceFilterProxy {
     FilterValueSetParam[][] getAddendumFilters(FilterSpecActivatable filterSpec, AgentInstanceContext agentInstanceContext);
+
+    /**
+     * Registers the filter handle of the agent instance with a filter that the agent instances of the statement share, if the context provides one.
+     *
+     * @param filterSpec           filter
+     * @param filterHandle         filter handle of the agent instance
+     * @param agentInstanceContext agent instance context
+     * @return true when registered, false when the agent instance must register its own filter
+     */
+    default boolean addSharedFilter(FilterSpecActivatable filterSpec, FilterHandle filterHandle, AgentInstanceContext agentInstanceContext) {
+        return false;
+    }
+
+    /**
+     * Removes the filter handle of the agent instance, previously registered with a shared filter.
+     *
+     * @param filterSpec   filter
+     * @param filterHandle filter handle of the agent instance
+     */
+    default void removeSharedFilter(FilterSpecActivatable filterSpec, FilterHandle filterHandle) {
+    }
 }
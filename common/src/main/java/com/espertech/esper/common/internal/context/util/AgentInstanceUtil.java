@@ -11,13 +11,22 @@
 package com.espertech.esper.common.internal.context.util;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.annotation.EvictIdle;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
 import com.espertech.esper.common.internal.context.aifactory.core.StatementAgentInstanceFactoryResult;
 import com.espertech.esper.common.internal.context.airegistry.AIRegistryUtil;
 import com.espertech.esper.common.internal.context.airegistry.StatementAIResourceRegistry;
 import com.espertech.esper.common.internal.context.controller.core.ContextController;
+import com.espertech.esper.common.internal.context.controller.core.ContextControllerFactory;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerDetailKeyed;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerDetailKeyedItem;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedFactory;
 import com.espertech.esper.common.internal.context.mgr.ContextControllerStatementDesc;
+import com.espertech.esper.common.internal.context.mgr.ContextManager;
+import com.espertech.esper.common.internal.context.mgr.ContextManagerResident;
 import com.espertech.esper.common.internal.context.mgr.ContextStatementEventEvaluator;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
 import com.espertech.esper.common.internal.epl.output.core.OutputProcessViewTerminable;
 import com.espertech.esper.common.internal.event.core.MappedEventBean;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
@@ -244,6 +253,74 @@ public class AgentInstanceUtil {
         return statementContext.getStatementAgentInstanceLockFactory().getStatementLock(statementContext.getStatementName(), statementContext.getAnnotations(), statementContext.isStatelessSelect(), statementContext.getStatementType());
     }
 
+    /**
+     * Returns the lock for an agent instance. Context partitions of a keyed segmented context do not lock
+     * when the lock factory elides such locks and inbound threading processes all events of a partition on one thread,
+     * see {@link #isKeyedContextPartitionedByAffinityKey(StatementContext, Map)}.
+     *
+     * @param statementContext statement context
+     * @param agentInstanceId  agent instance id or -1 when not a context partition
+     * @return lock
+     */
+    public static StatementAgentInstanceLock newLock(StatementContext statementContext, int agentInstanceId) {
+        Map<String, String> affinityKeys = statementContext.getStatementAgentInstanceLockFactory().getKeyedContextPartitionAffinityKeys();
+        if (agentInstanceId != -1 && affinityKeys != null && isKeyedContextPartitionedByAffinityKey(statementContext, affinityKeys)) {
+            return new StatementAgentInstanceLockNoLockImpl(statementContext.getStatementName());
+        }
+        return newLock(statementContext);
+    }
+
+    /**
+     * Returns true when only the inbound worker thread of a partition key can process a context partition of the statement.
+     * This is the case when:
+     * <ul>
+     *     <li>the context is a single keyed segmented context without termination condition and without idle eviction,</li>
+     *     <li>each partitioned event type has an inbound affinity key that is the single property the context partitions it by, and</li>
+     *     <li>the statement does not schedule.</li>
+     * </ul>
+     * Insert-into and routing of events of event types that have an affinity key are rejected by the runtime when lock elision is enabled.
+     *
+     * @param statementContext statement context
+     * @param affinityKeys     event type name and affinity key property expression
+     * @return indicator
+     */
+    public static boolean isKeyedContextPartitionedByAffinityKey(StatementContext statementContext, Map<String, String> affinityKeys) {
+        if (statementContext.getContextName() == null || statementContext.getContextRuntimeDescriptor() == null) {
+            return false;
+        }
+        if (statementContext.getStatementInformationals().getNumScheduleCallbacks() > 0) {
+            return false;
+        }
+        ContextManager contextManager = statementContext.getContextManagementService().getContextManager(statementContext.getContextRuntimeDescriptor().getContextDeploymentId(), statementContext.getContextName());
+        if (!(contextManager instanceof ContextManagerResident)) {
+            return false;
+        }
+        ContextControllerFactory[] factories = ((ContextManagerResident) contextManager).getContextDefinition().getControllerFactories();
+        if (factories.length != 1 || !(factories[0] instanceof ContextControllerKeyedFactory)) {
+            return false;
+        }
+        ContextControllerDetailKeyed keyedSpec = ((ContextControllerKeyedFactory) factories[0]).getKeyedSpec();
+        if (keyedSpec.getOptionalTermination() != null) {
+            return false;
+        }
+        StatementContext statementContextCreate = ((ContextManagerResident) contextManager).getStatementContextCreate();
+        if (statementContextCreate == null || AnnotationUtil.hasAnnotation(statementContextCreate.getAnnotations(), EvictIdle.class)) {
+            return false;
+        }
+        for (ContextControllerDetailKeyedItem item : keyedSpec.getItems()) {
+            ExprFilterSpecLookupable[] lookupables = item.getLookupables();
+            String eventTypeName = item.getFilterSpecActivatable().getFilterForEventType().getName();
+            if (lookupables.length != 1 || eventTypeName == null) {
+                return false;
+            }
+            String affinityKey = affinityKeys.get(eventTypeName);
+            if (affinityKey == null || !affinityKey.equals(lookupables[0].getExpression())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static class AgentInstanceFinalizedMgmtCallback implements AgentInstanceMgmtCallback {
         private final AgentInstanceMgmtCallback[] mgmtCallbackArray;
 
@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.context.util;
 import com.espertech.esper.common.client.util.StatementType;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 
 /**
  * Factory for the managed lock that provides statement resource protection.
@@ -28,4 +29,12 @@ public interface StatementAgentInstanceLockFactory {
      * @return lock
      */
     public StatementAgentInstanceLock getStatementLock(String statementName, Annotation[] annotations, boolean stateless, StatementType statementType);
+
+    /**
+     * Returns the inbound affinity keys when context partitions of keyed segmented contexts that partition by
+     * the affinity key do not lock, as inbound threading assigns events to worker threads by key.
+     *
+     * @return event type name and affinity key property expression, or null when not eliding locks
+     */
+    public Map<String, String> getKeyedContextPartitionAffinityKeys();
 }
@@ -11,10 +11,12 @@
 package com.espertech.esper.common.internal.context.util;
 
 import com.espertech.esper.common.client.annotation.NoLock;
+import com.espertech.esper.common.client.annotation.SingleWriter;
 import com.espertech.esper.common.client.util.StatementType;
 import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 
 /**
  * Provides statement-level locks.
@@ -22,20 +24,30 @@ import java.lang.annotation.Annotation;
 public class StatementAgentInstanceLockFactoryImpl implements StatementAgentInstanceLockFactory {
     private final boolean fairlocks;
     private final boolean disableLocking;
+    private final Map<String, String> keyedContextPartitionAffinityKeys;
 
     public StatementAgentInstanceLockFactoryImpl(boolean fairlocks, boolean disableLocking) {
+        this(fairlocks, disableLocking, null);
+    }
+
+    public StatementAgentInstanceLockFactoryImpl(boolean fairlocks, boolean disableLocking, Map<String, String> keyedContextPartitionAffinityKeys) {
         this.fairlocks = fairlocks;
         this.disableLocking = disableLocking;
+        this.keyedContextPartitionAffinityKeys = keyedContextPartitionAffinityKeys;
     }
 
     public StatementAgentInstanceLock getStatementLock(String statementName, Annotation[] annotations, boolean stateless, StatementType statementType) {
         if (statementType.isOnTriggerInfra()) {
             throw new UnsupportedOperationException("Operation not available for statement type " + statementType);
         }
-        boolean foundNoLock = AnnotationUtil.hasAnnotation(annotations, NoLock.class);
+        boolean foundNoLock = AnnotationUtil.hasAnnotation(annotations, NoLock.class) || AnnotationUtil.hasAnnotation(annotations, SingleWriter.class);
         if (disableLocking || foundNoLock || stateless) {
             return new StatementAgentInstanceLockNoLockImpl(statementName);
         }
         return new StatementAgentInstanceLockRW(fairlocks);
     }
+
+    public Map<String, String> getKeyedContextPartitionAffinityKeys() {
+        return keyedContextPartitionAffinityKeys;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionAgent;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggState;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+
+public class AggregationAgentQuantileSketch implements AggregationMultiFunctionAgent {
+
+    private ExprEvaluator valueEval;
+    private ExprEvaluator optionalFilterEval;
+
+    public void setValueEval(ExprEvaluator valueEval) {
+        this.valueEval = valueEval;
+    }
+
+    public void setOptionalFilterEval(ExprEvaluator optionalFilterEval) {
+        this.optionalFilterEval = optionalFilterEval;
+    }
+
+    public void applyEnter(EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext, AggregationRow row, int column) {
+        if (optionalFilterEval != null) {
+            Boolean pass = (Boolean) optionalFilterEval.evaluate(eventsPerStream, true, exprEvaluatorContext);
+            if (pass == null || !pass) {
+                return;
+            }
+        }
+        Object value = valueEval.evaluate(eventsPerStream, true, exprEvaluatorContext);
+        if (value == null) {
+            return;
+        }
+        QuantileSketchAggState state = (QuantileSketchAggState) row.getAccessState(column);
+        state.add(value);
+    }
+
+    public void applyLeave(EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext, AggregationRow row, int column) {
+    }
+}
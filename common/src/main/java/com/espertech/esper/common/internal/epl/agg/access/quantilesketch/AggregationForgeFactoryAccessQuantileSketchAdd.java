@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionStateKey;
+import com.espertech.esper.common.internal.epl.agg.access.core.AggregationAgentForge;
+import com.espertech.esper.common.internal.epl.agg.access.core.AggregationForgeFactoryAccessBase;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationAccessorForge;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationStateFactoryForge;
+import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionQuantileSketchNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.settings.ClasspathImportService;
+
+public class AggregationForgeFactoryAccessQuantileSketchAdd extends AggregationForgeFactoryAccessBase {
+    private final ExprAggMultiFunctionQuantileSketchNode parent;
+    private final ExprForge addEvaluator;
+
+    public AggregationForgeFactoryAccessQuantileSketchAdd(ExprAggMultiFunctionQuantileSketchNode parent, ExprForge addEvaluator) {
+        this.parent = parent;
+        this.addEvaluator = addEvaluator;
+    }
+
+    public Class getResultType() {
+        return null;
+    }
+
+    public AggregationMultiFunctionStateKey getAggregationStateKey(boolean isMatchRecognize) {
+        throw new UnsupportedOperationException("State key not available as always used with tables");
+    }
+
+    public AggregationStateFactoryForge getAggregationStateFactory(boolean isMatchRecognize) {
+        throw new UnsupportedOperationException("State factory not available for 'add' operation");
+    }
+
+    public AggregationAccessorForge getAccessorForge() {
+        return new AggregationAccessorForgeQuantileSketch();
+    }
+
+    public ExprAggregateNodeBase getAggregationExpression() {
+        return parent;
+    }
+
+    public AggregationAgentForge getAggregationStateAgent(ClasspathImportService classpathImportService, String statementName) {
+        return new AggregationAgentQuantileSketchForge(addEvaluator, parent.getOptionalFilter() == null ? null : parent.getOptionalFilter().getForge());
+    }
+
+    public AggregationPortableValidation getAggregationPortableValidation() {
+        return new AggregationPortableValidationQuantileSketch();
+    }
+
+    public ExprAggMultiFunctionQuantileSketchNode getParent() {
+        return parent;
+    }
+
+    public ExprForge getAddEvaluator() {
+        return addEvaluator;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionAggregationMethod;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationRow;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggMethod;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggState;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.Collection;
+
+public class AggregationMethodQuantileSketch implements AggregationMultiFunctionAggregationMethod {
+    private QuantileSketchAggMethod aggMethod;
+    private ExprEvaluator paramEval;
+
+    public void setAggMethod(QuantileSketchAggMethod aggMethod) {
+        this.aggMethod = aggMethod;
+    }
+
+    public void setParamEval(ExprEvaluator paramEval) {
+        this.paramEval = paramEval;
+    }
+
+    public Object getValue(int aggColNum, AggregationRow row, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
+        Object value = paramEval.evaluate(eventsPerStream, true, exprEvaluatorContext);
+        QuantileSketchAggState state = (QuantileSketchAggState) row.getAccessState(aggColNum);
+        if (aggMethod == QuantileSketchAggMethod.QUANTILE) {
+            return state.quantile(value);
+        }
+        return state.cdf(value);
+    }
+
+    public Collection getValueCollectionEvents(int aggColNum, AggregationRow row, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
+        return null;
+    }
+
+    public Collection getValueCollectionScalar(int aggColNum, AggregationRow row, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
+        return null;
+    }
+
+    public EventBean getValueEventBean(int aggColNum, AggregationRow row, EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.context.aifactory.core.SAIFFInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationMethodForge;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggMethod;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityCodegen;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+
+public class AggregationMethodQuantileSketchForge implements AggregationMethodForge {
+    private final QuantileSketchAggMethod aggMethod;
+    private final ExprNode paramEval;
+
+    public AggregationMethodQuantileSketchForge(QuantileSketchAggMethod aggMethod, ExprNode paramEval) {
+        this.aggMethod = aggMethod;
+        this.paramEval = paramEval;
+    }
+
+    public Class getResultType() {
+        return Double.class;
+    }
+
+    public CodegenExpression codegenCreateReader(CodegenMethodScope parent, SAIFFInitializeSymbol symbols, CodegenClassScope classScope) {
+        CodegenMethod method = parent.makeChild(AggregationMethodQuantileSketch.class, this.getClass(), classScope);
+        method.getBlock()
+                .declareVar(AggregationMethodQuantileSketch.class, "strat", newInstance(AggregationMethodQuantileSketch.class))
+                .exprDotMethod(ref("strat"), "setAggMethod", enumValue(QuantileSketchAggMethod.class, aggMethod.name()))
+                .exprDotMethod(ref("strat"), "setParamEval", ExprNodeUtilityCodegen.codegenEvaluator(paramEval.getForge(), method, this.getClass(), classScope))
+                .methodReturn(ref("strat"));
+        return localMethod(method);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionMethodDesc;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationValidationUtil;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggMethod;
+import com.espertech.esper.common.internal.epl.expression.core.*;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.newInstance;
+import static com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionQuantileSketchNode.MSG_NAME;
+
+public class AggregationPortableValidationQuantileSketch implements AggregationPortableValidation {
+
+    public void validateIntoTableCompatible(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationValidationUtil.validateAggregationType(this, tableExpression, intoTableAgg, intoExpression);
+    }
+
+    public CodegenExpression make(CodegenMethodScope parent, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        return newInstance(AggregationPortableValidationQuantileSketch.class);
+    }
+
+    public boolean isAggregationMethod(String name, ExprNode[] parameters, ExprValidationContext validationContext) {
+        return QuantileSketchAggMethod.fromNameMayMatch(name) != null;
+    }
+
+    public AggregationMultiFunctionMethodDesc validateAggregationMethod(ExprValidationContext validationContext, String aggMethodName, ExprNode[] params) throws ExprValidationException {
+        QuantileSketchAggMethod aggMethod = QuantileSketchAggMethod.fromNameMayMatch(aggMethodName);
+        if (params.length != 1) {
+            throw new ExprValidationException(getMessagePrefix(aggMethod) + "requires a single parameter expression");
+        }
+        ExprNodeUtilityValidate.getValidatedSubtree(ExprNodeOrigin.AGGPARAM, params, validationContext);
+        ExprNode param = params[0];
+        Class paramType = param.getForge().getEvaluationType();
+        if (!JavaClassHelper.isNumeric(paramType)) {
+            throw new ExprValidationException(getMessagePrefix(aggMethod) + "requires a numeric parameter expression but received " + JavaClassHelper.getClassNameFullyQualPretty(paramType));
+        }
+        if (aggMethod == QuantileSketchAggMethod.QUANTILE && param.getForge().getForgeConstantType().isCompileTimeConstant()) {
+            Object value = param.getForge().getExprEvaluator().evaluate(null, true, null);
+            if (value != null) {
+                double quantile = ((Number) value).doubleValue();
+                if (!(quantile >= 0 && quantile <= 1)) {
+                    throw new ExprValidationException(getMessagePrefix(aggMethod) + "requires a quantile between zero and one but received " + value);
+                }
+            }
+        }
+        return new AggregationMultiFunctionMethodDesc(new AggregationMethodQuantileSketchForge(aggMethod, param), null, null, null);
+    }
+
+    private String getMessagePrefix(QuantileSketchAggMethod aggMethod) {
+        return MSG_NAME + " aggregation method '" + aggMethod.getMethodName() + "' ";
+    }
+}
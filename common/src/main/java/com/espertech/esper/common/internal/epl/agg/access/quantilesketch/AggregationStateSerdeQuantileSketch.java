@@ -0,0 +1,80 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.access.quantilesketch;
+
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggState;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchSpec;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchState;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class AggregationStateSerdeQuantileSketch {
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param output out
+     * @param state  state
+     * @throws IOException when there is a write exception
+     */
+    public static void writeQuantileSketch(DataOutput output, QuantileSketchAggState state) throws IOException {
+        synchronized (state) {
+            writeState(output, state.getState());
+        }
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param input in
+     * @param spec  spec
+     * @return state
+     * @throws IOException when there is a read exception
+     */
+    public static QuantileSketchAggState readQuantileSketch(DataInput input, QuantileSketchSpec spec) throws IOException {
+        QuantileSketchAggState state = spec.makeAggState();
+        readState(input, state.getState());
+        return state;
+    }
+
+    public static void writeState(DataOutput output, QuantileSketchState state) throws IOException {
+        int count = state.getCentroidCount();
+        double[] means = state.getMeans();
+        double[] weights = state.getWeights();
+        output.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            output.writeDouble(means[i]);
+            output.writeDouble(weights[i]);
+        }
+        if (count > 0) {
+            output.writeDouble(state.getMin());
+            output.writeDouble(state.getMax());
+        }
+    }
+
+    public static void readState(DataInput input, QuantileSketchState state) throws IOException {
+        int count = input.readInt();
+        if (count == 0) {
+            return;
+        }
+        double[] means = new double[count];
+        double[] weights = new double[count];
+        for (int i = 0; i < count; i++) {
+            means[i] = input.readDouble();
+            weights[i] = input.readDouble();
+        }
+        double min = input.readDouble();
+        double max = input.readDouble();
+        state.restore(means, weights, count, min, max);
+    }
+}
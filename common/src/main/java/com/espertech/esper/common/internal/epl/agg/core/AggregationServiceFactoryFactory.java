@@ -80,6 +80,7 @@ public class AggregationServiceFactoryFactory {
                                                          boolean isUnidirectional,
                                                          boolean isFireAndForget,
                                                          boolean isOnSelect,
+                                                         boolean isGroupByOpenAddressing,
                                                          ClasspathImportServiceCompileTime classpathImportService,
                                                          StatementRawInfo raw,
                                                          SerdeCompileTimeResolver serdeResolver)
@@ -224,6 +225,7 @@ public class AggregationServiceFactoryFactory {
             }
         } else {
             AggGroupByDesc groupDesc = new AggGroupByDesc(rowStateDesc, isUnidirectional, isFireAndForget, isOnSelect, groupByNodes, groupByMultiKey);
+            groupDesc.setOpenAddressing(isGroupByOpenAddressing);
             boolean hasNoReclaim = HintEnum.DISABLE_RECLAIM_GROUP.getHint(annotations) != null;
             Hint reclaimGroupAged = HintEnum.RECLAIM_GROUP_AGED.getHint(annotations);
             Hint reclaimGroupFrequency = HintEnum.RECLAIM_GROUP_AGED.getHint(annotations);
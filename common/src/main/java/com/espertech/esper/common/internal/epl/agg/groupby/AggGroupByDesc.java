@@ -24,6 +24,7 @@ public class AggGroupByDesc {
 
     private boolean refcounted;
     private boolean reclaimAged;
+    private boolean openAddressing;
     private AggSvcGroupByReclaimAgedEvalFuncFactoryForge reclaimEvaluationFunctionMaxAge;
     private AggSvcGroupByReclaimAgedEvalFuncFactoryForge reclaimEvaluationFunctionFrequency;
 
@@ -60,6 +61,10 @@ public class AggGroupByDesc {
         return reclaimAged;
     }
 
+    public boolean isOpenAddressing() {
+        return openAddressing;
+    }
+
     public AggSvcGroupByReclaimAgedEvalFuncFactoryForge getReclaimEvaluationFunctionMaxAge() {
         return reclaimEvaluationFunctionMaxAge;
     }
@@ -80,6 +85,10 @@ public class AggGroupByDesc {
         this.reclaimAged = reclaimAged;
     }
 
+    public void setOpenAddressing(boolean openAddressing) {
+        this.openAddressing = openAddressing;
+    }
+
     public void setReclaimEvaluationFunctionMaxAge(AggSvcGroupByReclaimAgedEvalFuncFactoryForge reclaimEvaluationFunctionMaxAge) {
         this.reclaimEvaluationFunctionMaxAge = reclaimEvaluationFunctionMaxAge;
     }
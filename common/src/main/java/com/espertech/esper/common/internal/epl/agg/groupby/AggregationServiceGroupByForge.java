@@ -18,12 +18,15 @@ import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
 import com.espertech.esper.common.internal.bytecodemodel.core.CodegenNamedMethods;
 import com.espertech.esper.common.internal.bytecodemodel.core.CodegenTypedParam;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.*;
+import com.espertech.esper.common.internal.collection.OpenAddressingLongKeyMap;
+import com.espertech.esper.common.internal.collection.OpenAddressingMap;
 import com.espertech.esper.common.internal.context.module.EPStatementInitServices;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.agg.core.*;
 import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityQuery;
 import com.espertech.esper.common.internal.epl.expression.time.abacus.TimeAbacus;
 import com.espertech.esper.common.internal.epl.expression.time.abacus.TimeAbacusField;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -114,7 +117,7 @@ public class AggregationServiceGroupByForge implements AggregationServiceFactory
         explicitMembers.add(new CodegenTypedParam(Map.class, MEMBER_AGGREGATORSPERGROUP.getRef()));
         explicitMembers.add(new CodegenTypedParam(Object.class, MEMBER_CURRENTGROUPKEY.getRef()));
         explicitMembers.add(new CodegenTypedParam(classNames.getRowTop(), MEMBER_CURRENTROW.getRef()));
-        ctor.getBlock().assignRef(MEMBER_AGGREGATORSPERGROUP, newInstance(HashMap.class));
+        ctor.getBlock().assignRef(MEMBER_AGGREGATORSPERGROUP, makeRowStoreCodegen());
         if (aggGroupByDesc.isReclaimAged()) {
             AggSvcGroupByReclaimAgedImpl.ctorCodegenReclaim(ctor, explicitMembers, classScope, reclaimAge, reclaimFreq);
         }
@@ -250,6 +253,21 @@ public class AggregationServiceGroupByForge implements AggregationServiceFactory
         return aggGroupByDesc.isRefcounted() || aggGroupByDesc.isReclaimAged();
     }
 
+    private CodegenExpression makeRowStoreCodegen() {
+        if (!aggGroupByDesc.isOpenAddressing()) {
+            return newInstance(HashMap.class);
+        }
+        // a single integral group-by expression is keyed by its primitive value, other keys including multi-keys by their hash code
+        Class[] groupByTypes = ExprNodeUtilityQuery.getExprResultTypes(aggGroupByDesc.getGroupByNodes());
+        if (groupByTypes.length == 1) {
+            Class keyType = JavaClassHelper.getBoxedType(groupByTypes[0]);
+            if (OpenAddressingLongKeyMap.isSupportedKeyType(keyType)) {
+                return newInstance(OpenAddressingLongKeyMap.class, constant(keyType));
+            }
+        }
+        return newInstance(OpenAddressingMap.class);
+    }
+
     private CodegenMethod handleRemovedKeysCodegen(CodegenMethod scope, CodegenClassScope classScope) {
         CodegenMethod method = scope.makeChild(void.class, AggregationServiceGroupByForge.class, classScope);
         method.getBlock().ifCondition(not(exprDotMethod(MEMBER_REMOVEDKEYS, "isEmpty")))
@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.countdistinctapprox;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregationForgeFactoryBase;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethod;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprCountDistinctApproxAggNode;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMethodAggUtil;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+public class AggregationForgeFactoryCountDistinctApprox extends AggregationForgeFactoryBase {
+    protected final ExprCountDistinctApproxAggNode parent;
+    protected final Class countedValueType;
+    protected final int precision;
+    private AggregatorMethod aggregator;
+
+    public AggregationForgeFactoryCountDistinctApprox(ExprCountDistinctApproxAggNode parent, Class countedValueType, int precision) {
+        this.parent = parent;
+        this.countedValueType = countedValueType;
+        this.precision = precision;
+    }
+
+    public Class getResultType() {
+        return Long.class;
+    }
+
+    public void initMethodForge(int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope) {
+        aggregator = new AggregatorCountDistinctApprox(this, col, rowCtor, membersColumnized, classScope, parent.getOptionalFilter() != null, parent.getOptionalFilter());
+    }
+
+    public AggregatorMethod getAggregator() {
+        return aggregator;
+    }
+
+    public ExprAggregateNodeBase getAggregationExpression() {
+        return parent;
+    }
+
+    public ExprForge[] getMethodAggregationForge(boolean join, EventType[] typesPerStream) throws ExprValidationException {
+        // the precision is a constant, only the value and the filter are evaluated
+        ExprNode[] params = parent.getOptionalFilter() == null ?
+            new ExprNode[]{parent.getPositionalParams()[0]} :
+            new ExprNode[]{parent.getPositionalParams()[0], parent.getOptionalFilter()};
+        return ExprMethodAggUtil.getDefaultForges(params, join, typesPerStream);
+    }
+
+    public AggregationPortableValidation getAggregationPortableValidation() {
+        return new AggregationPortableValidationCountDistinctApprox(parent.getOptionalFilter() != null, countedValueType, precision);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.countdistinctapprox;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidationWFilterWInputType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+
+public class AggregationPortableValidationCountDistinctApprox extends AggregationPortableValidationWFilterWInputType {
+
+    private int precision;
+
+    public AggregationPortableValidationCountDistinctApprox(boolean hasFilter, Class inputValueType, int precision) {
+        super(false, hasFilter, inputValueType);
+        this.precision = precision;
+    }
+
+    public AggregationPortableValidationCountDistinctApprox() {
+    }
+
+    protected Class typeOf() {
+        return AggregationPortableValidationCountDistinctApprox.class;
+    }
+
+    protected void codegenInlineSetWFilterWInputType(CodegenExpressionRef ref, CodegenMethod method, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(ref, "setPrecision", constant(precision));
+    }
+
+    protected void validateIntoTableWFilterWInputType(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationPortableValidationCountDistinctApprox that = (AggregationPortableValidationCountDistinctApprox) intoTableAgg;
+        if (precision != that.precision) {
+            throw new ExprValidationException("The precision is " + precision + " and provided is " + that.precision);
+        }
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.countdistinctapprox;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionMember;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.approx.hyperloglog.HyperLogLogState;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRelational.CodegenRelational.LE;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.*;
+
+/**
+ * Approximate distinct count. As the estimator cannot remove values, values leaving remain counted
+ * until all values have left, at which point the estimator resets.
+ */
+public class AggregatorCountDistinctApprox extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryCountDistinctApprox factory;
+    private final CodegenExpressionMember state;
+    private final CodegenExpressionMember cnt;
+
+    public AggregatorCountDistinctApprox(AggregationForgeFactoryCountDistinctApprox factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, null, null, hasFilter, optionalFilter);
+        this.factory = factory;
+        state = membersColumnized.addMember(col, HyperLogLogState.class, "state");
+        cnt = membersColumnized.addMember(col, long.class, "cnt");
+        rowCtor.getBlock().assignRef(state, newInstance(HyperLogLogState.class, constant(factory.getPrecision())));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        String addMethod = "add";
+        if (valueType == int.class || valueType == long.class || valueType == short.class || valueType == byte.class) {
+            addMethod = "addLong";
+        } else if (valueType == double.class || valueType == float.class) {
+            addMethod = "addDouble";
+        }
+        method.getBlock().exprDotMethod(state, addMethod, value).increment(cnt);
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        applyLeave(method);
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(state, "add", value).increment(cnt);
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        applyLeave(method);
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(state, "clear").assignRef(cnt, constant(0));
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().methodReturn(exprDotMethod(state, "estimate"));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock()
+            .apply(writeLong(output, row, cnt))
+            .staticMethod(this.getClass(), "writeState", output, rowDotMember(row, state));
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock()
+            .apply(readLong(row, cnt, input))
+            .assignRef(rowDotMember(row, state), staticMethod(this.getClass(), "readState", input, constant(factory.getPrecision())));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param output out
+     * @param state  state
+     * @throws IOException io error
+     */
+    public static void writeState(DataOutput output, HyperLogLogState state) throws IOException {
+        state.write(output);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param input     input
+     * @param precision precision
+     * @return state
+     * @throws IOException io error
+     */
+    public static HyperLogLogState readState(DataInput input, int precision) throws IOException {
+        HyperLogLogState state = new HyperLogLogState(precision);
+        state.read(input);
+        return state;
+    }
+
+    private void applyLeave(CodegenMethod method) {
+        method.getBlock()
+            .decrement(cnt)
+            .ifCondition(relational(cnt, LE, constant(0)))
+            .assignRef(cnt, constant(0))
+            .exprDotMethod(state, "clear");
+    }
+}
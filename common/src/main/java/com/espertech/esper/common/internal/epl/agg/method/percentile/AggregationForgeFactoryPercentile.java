@@ -0,0 +1,78 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregationForgeFactoryBase;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethod;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMethodAggUtil;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprPercentileAggNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+
+public class AggregationForgeFactoryPercentile extends AggregationForgeFactoryBase {
+    protected final ExprPercentileAggNode parent;
+    protected final Class aggregatedValueType;
+    protected final DataInputOutputSerdeForge distinctSerde;
+    protected final double[] percents;
+    private AggregatorMethod aggregator;
+
+    public AggregationForgeFactoryPercentile(ExprPercentileAggNode parent, Class aggregatedValueType, DataInputOutputSerdeForge distinctSerde, double[] percents) {
+        this.parent = parent;
+        this.aggregatedValueType = aggregatedValueType;
+        this.distinctSerde = distinctSerde;
+        this.percents = percents;
+    }
+
+    public Class getResultType() {
+        return parent.isMultiple() ? Double[].class : Double.class;
+    }
+
+    public void initMethodForge(int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope) {
+        Class distinctType = !parent.isDistinct() ? null : aggregatedValueType;
+        aggregator = new AggregatorPercentile(this, col, rowCtor, membersColumnized, classScope, distinctType, distinctSerde, false, parent.getOptionalFilter());
+    }
+
+    public AggregatorMethod getAggregator() {
+        return aggregator;
+    }
+
+    public ExprAggregateNodeBase getAggregationExpression() {
+        return parent;
+    }
+
+    public ExprForge[] getMethodAggregationForge(boolean join, EventType[] typesPerStream) throws ExprValidationException {
+        // the percents are constants, only the value and the filter are evaluated
+        ExprNode[] params = parent.getOptionalFilter() == null ?
+            new ExprNode[]{parent.getPositionalParams()[0]} :
+            new ExprNode[]{parent.getPositionalParams()[0], parent.getOptionalFilter()};
+        return ExprMethodAggUtil.getDefaultForges(params, join, typesPerStream);
+    }
+
+    public AggregationPortableValidation getAggregationPortableValidation() {
+        return new AggregationPortableValidationPercentile(parent.isDistinct(), parent.getOptionalFilter() != null, aggregatedValueType, parent.isMultiple(), percents);
+    }
+
+    public ExprPercentileAggNode getParent() {
+        return parent;
+    }
+
+    public double[] getPercents() {
+        return percents;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidationWFilterWInputType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+import java.util.Arrays;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+
+public class AggregationPortableValidationPercentile extends AggregationPortableValidationWFilterWInputType {
+
+    private boolean multiple;
+    private double[] percents;
+
+    public AggregationPortableValidationPercentile(boolean distinct, boolean hasFilter, Class inputValueType, boolean multiple, double[] percents) {
+        super(distinct, hasFilter, inputValueType);
+        this.multiple = multiple;
+        this.percents = percents;
+    }
+
+    public AggregationPortableValidationPercentile() {
+    }
+
+    protected Class typeOf() {
+        return AggregationPortableValidationPercentile.class;
+    }
+
+    protected void codegenInlineSetWFilterWInputType(CodegenExpressionRef ref, CodegenMethod method, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        method.getBlock()
+            .exprDotMethod(ref, "setMultiple", constant(multiple))
+            .exprDotMethod(ref, "setPercents", constant(percents));
+    }
+
+    protected void validateIntoTableWFilterWInputType(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationPortableValidationPercentile that = (AggregationPortableValidationPercentile) intoTableAgg;
+        if (multiple != that.multiple || !Arrays.equals(percents, that.percents)) {
+            throw new ExprValidationException("The percentiles are " +
+                Arrays.toString(percents) +
+                " and provided are " +
+                Arrays.toString(that.percents));
+        }
+    }
+
+    public void setMultiple(boolean multiple) {
+        this.multiple = multiple;
+    }
+
+    public void setPercents(double[] percents) {
+        this.percents = percents;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionField;
+import com.espertech.esper.common.internal.collection.SortedDoubleTree;
+import com.espertech.esper.common.internal.epl.agg.method.median.AggregatorMedian;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.staticMethod;
+
+/**
+ * Aggregator for percentile and percentiles, sharing the sorted tree of values with the median aggregator.
+ */
+public class AggregatorPercentile extends AggregatorMedian {
+    private final AggregationForgeFactoryPercentile factory;
+
+    public AggregatorPercentile(AggregationForgeFactoryPercentile factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, DataInputOutputSerdeForge optionalDistinctSerde, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, optionalDistinctSerde, hasFilter, optionalFilter);
+        this.factory = factory;
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        double[] percents = factory.getPercents();
+        if (!factory.getParent().isMultiple()) {
+            method.getBlock().methodReturn(staticMethod(AggregatorPercentile.class, "percentileCompute", vector, constant(percents[0])));
+            return;
+        }
+        CodegenExpressionField percentsField = classScope.addFieldUnshared(true, double[].class, constant(percents));
+        method.getBlock().methodReturn(staticMethod(AggregatorPercentile.class, "percentilesCompute", vector, percentsField));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param vector  values
+     * @param percent percentile
+     * @return value or null when there are no values
+     */
+    public static Double percentileCompute(SortedDoubleTree vector, double percent) {
+        if (vector.size() == 0) {
+            return null;
+        }
+        return vector.getPercentile(percent);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param vector   values
+     * @param percents percentiles
+     * @return values, one for each percentile, or null when there are no values
+     */
+    public static Double[] percentilesCompute(SortedDoubleTree vector, double[] percents) {
+        if (vector.size() == 0) {
+            return null;
+        }
+        Double[] result = new Double[percents.length];
+        for (int i = 0; i < percents.length; i++) {
+            result[i] = vector.getPercentile(percents[i]);
+        }
+        return result;
+    }
+}
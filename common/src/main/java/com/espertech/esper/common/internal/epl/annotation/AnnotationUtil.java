@@ -441,6 +441,13 @@ public class AnnotationUtil {
             return newInstance(AnnotationHint.class, constant(hint.value()), constant(hint.applies()), constant(hint.model()));
         } else if (annotation instanceof NoLock) {
             return newInstance(AnnotationNoLock.class);
+        } else if (annotation instanceof SingleWriter) {
+            return newInstance(AnnotationSingleWriter.class);
+        } else if (annotation instanceof Columnar) {
+            return newInstance(AnnotationColumnar.class);
+        } else if (annotation instanceof EvictIdle) {
+            EvictIdle evictIdle = (EvictIdle) annotation;
+            return newInstance(AnnotationEvictIdle.class, constant(evictIdle.after()), constant(evictIdle.maxPartitions()), constant(evictIdle.policy()));
         } else if (annotation instanceof Audit) {
             Audit hint = (Audit) annotation;
             return newInstance(AnnotationAudit.class, constant(hint.value()));
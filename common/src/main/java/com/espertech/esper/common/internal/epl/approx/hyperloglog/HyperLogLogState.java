@@ -0,0 +1,380 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.hyperloglog;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog++ estimator of the number of distinct values, using 64-bit hashes.
+ * <p>
+ * Starts out with a sparse representation, a sorted array of register index and rank at a precision of 25 bits,
+ * which for small cardinalities takes little memory and is near-exact through linear counting.
+ * When the sparse representation would take more memory than the dense registers it converts to the dense representation,
+ * one byte per register at the configured precision, so memory is bounded at 2^precision bytes.
+ * <p>
+ * Estimates are computed without modifying state. States of the same precision are mergeable.
+ * Values cannot be removed.
+ */
+public class HyperLogLogState {
+    /**
+     * Smallest precision.
+     */
+    public final static int MIN_PRECISION = 4;
+
+    /**
+     * Largest precision.
+     */
+    public final static int MAX_PRECISION = 18;
+
+    /**
+     * Default precision, for a standard error of about 0.8 percent.
+     */
+    public final static int DEFAULT_PRECISION = 14;
+
+    private final static int SPARSE_PRECISION = 25;
+    private final static int SPARSE_RANK_BITS = 6;
+    private final static int SPARSE_RANK_MASK = (1 << SPARSE_RANK_BITS) - 1;
+    private final static double SPARSE_REGISTERS = 1 << SPARSE_PRECISION;
+    private final static int INITIAL_SPARSE_CAPACITY = 8;
+
+    private final int precision;
+    private final int registerCount;
+    private final int sparseLimit;
+
+    private int[] sparse;
+    private int sparseCount;
+
+    private byte[] registers;
+    private double inverseSum;
+    private int zeros;
+
+    /**
+     * Ctor.
+     *
+     * @param precision number of bits of the hash that select the register, between 4 and 18
+     */
+    public HyperLogLogState(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision " + precision + ", the precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.sparseLimit = registerCount / 4;
+        this.sparse = new int[INITIAL_SPARSE_CAPACITY];
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns true when using the sparse representation.
+     *
+     * @return sparse indicator
+     */
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value value, not null
+     */
+    public void add(Object value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Add an integral value, hashing same as the boxed value.
+     *
+     * @param value value
+     */
+    public void addLong(long value) {
+        addHash(hashLong(value));
+    }
+
+    /**
+     * Add a floating-point value, hashing same as the boxed value.
+     *
+     * @param value value
+     */
+    public void addDouble(double value) {
+        addHash(hashDouble(value));
+    }
+
+    /**
+     * Add a 64-bit hash value.
+     *
+     * @param hash hash
+     */
+    public void addHash(long hash) {
+        if (registers == null) {
+            int index = (int) (hash >>> (64 - SPARSE_PRECISION));
+            int rank = rank(hash << SPARSE_PRECISION, 64 - SPARSE_PRECISION);
+            addSparse(index << SPARSE_RANK_BITS | rank);
+        } else {
+            int index = (int) (hash >>> (64 - precision));
+            int rank = rank(hash << precision, 64 - precision);
+            setRegister(index, rank);
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values.
+     *
+     * @return estimate
+     */
+    public long estimate() {
+        if (registers == null) {
+            if (sparseCount == 0) {
+                return 0;
+            }
+            return Math.round(SPARSE_REGISTERS * Math.log(SPARSE_REGISTERS / (SPARSE_REGISTERS - sparseCount)));
+        }
+        double raw = alpha() * registerCount * registerCount / inverseSum;
+        if (raw <= 2.5 * registerCount && zeros > 0) {
+            return Math.round(registerCount * Math.log((double) registerCount / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    /**
+     * Adds the values of another state of the same precision to this state.
+     *
+     * @param other to add
+     */
+    public void merge(HyperLogLogState other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge a precision of " + other.precision + " into a precision of " + precision);
+        }
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseCount; i++) {
+                if (registers == null) {
+                    addSparse(other.sparse[i]);
+                } else {
+                    addSparseToDense(other.sparse[i]);
+                }
+            }
+            return;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        for (int i = 0; i < registerCount; i++) {
+            setRegister(i, other.registers[i]);
+        }
+    }
+
+    /**
+     * Clear out the state.
+     */
+    public void clear() {
+        sparse = new int[INITIAL_SPARSE_CAPACITY];
+        sparseCount = 0;
+        registers = null;
+        inverseSum = 0;
+        zeros = 0;
+    }
+
+    /**
+     * Write the state.
+     *
+     * @param output out
+     * @throws IOException when there is a write exception
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeBoolean(registers == null);
+        if (registers == null) {
+            output.writeInt(sparseCount);
+            for (int i = 0; i < sparseCount; i++) {
+                output.writeInt(sparse[i]);
+            }
+        } else {
+            output.write(registers);
+        }
+    }
+
+    /**
+     * Read state previously written by a state of the same precision, replacing the current state.
+     *
+     * @param input in
+     * @throws IOException when there is a read exception
+     */
+    public void read(DataInput input) throws IOException {
+        clear();
+        boolean isSparse = input.readBoolean();
+        if (isSparse) {
+            int count = input.readInt();
+            sparse = new int[Math.max(INITIAL_SPARSE_CAPACITY, count)];
+            for (int i = 0; i < count; i++) {
+                sparse[i] = input.readInt();
+            }
+            sparseCount = count;
+        } else {
+            registers = new byte[registerCount];
+            input.readFully(registers);
+            for (byte register : registers) {
+                inverseSum += inversePow2(register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            sparse = null;
+        }
+    }
+
+    /**
+     * Returns the 64-bit hash of a value. Integral numbers hash the same regardless of their type,
+     * and so do floating-point numbers.
+     *
+     * @param value value, not null
+     * @return hash
+     */
+    public static long hash(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return hashLong(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return hashDouble(((Number) value).doubleValue());
+        }
+        if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash = (hash ^ chars.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        return hashLong(value.hashCode());
+    }
+
+    /**
+     * Returns the 64-bit hash of an integral value.
+     *
+     * @param value value
+     * @return hash
+     */
+    public static long hashLong(long value) {
+        return mix(value * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * Returns the 64-bit hash of a floating-point value.
+     *
+     * @param value value
+     * @return hash
+     */
+    public static long hashDouble(double value) {
+        return hashLong(Double.doubleToLongBits(value == 0 ? 0d : value) ^ 0x5555555555555555L);
+    }
+
+    private void addSparse(int entry) {
+        int index = entry >>> SPARSE_RANK_BITS;
+        int low = 0;
+        int high = sparseCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = sparse[mid] >>> SPARSE_RANK_BITS;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                if ((sparse[mid] & SPARSE_RANK_MASK) < (entry & SPARSE_RANK_MASK)) {
+                    sparse[mid] = entry;
+                }
+                return;
+            }
+        }
+        if (sparseCount == sparseLimit) {
+            toDense();
+            addSparseToDense(entry);
+            return;
+        }
+        if (sparseCount == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, sparseLimit));
+        }
+        System.arraycopy(sparse, low, sparse, low + 1, sparseCount - low);
+        sparse[low] = entry;
+        sparseCount++;
+    }
+
+    private void toDense() {
+        registers = new byte[registerCount];
+        inverseSum = registerCount;
+        zeros = registerCount;
+        for (int i = 0; i < sparseCount; i++) {
+            addSparseToDense(sparse[i]);
+        }
+        sparse = null;
+        sparseCount = 0;
+    }
+
+    private void addSparseToDense(int entry) {
+        int sparseIndex = entry >>> SPARSE_RANK_BITS;
+        int extraBits = SPARSE_PRECISION - precision;
+        int index = sparseIndex >>> extraBits;
+        int extra = sparseIndex & ((1 << extraBits) - 1);
+        int rank;
+        if (extra != 0) {
+            rank = Integer.numberOfLeadingZeros(extra) - (32 - extraBits) + 1;
+        } else {
+            rank = extraBits + (entry & SPARSE_RANK_MASK);
+        }
+        setRegister(index, rank);
+    }
+
+    private void setRegister(int index, int rank) {
+        int current = registers[index];
+        if (rank <= current) {
+            return;
+        }
+        registers[index] = (byte) rank;
+        inverseSum += inversePow2(rank) - inversePow2(current);
+        if (current == 0) {
+            zeros--;
+        }
+    }
+
+    private double alpha() {
+        switch (registerCount) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / registerCount);
+        }
+    }
+
+    private static int rank(long remainingBits, int width) {
+        return Math.min(Long.numberOfLeadingZeros(remainingBits), width) + 1;
+    }
+
+    private static double inversePow2(int rank) {
+        return Double.longBitsToDouble((long) (1023 - rank) << 52);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
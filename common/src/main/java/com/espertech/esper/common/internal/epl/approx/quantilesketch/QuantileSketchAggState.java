@@ -0,0 +1,67 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.quantilesketch;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.hook.aggmultifunc.AggregationMultiFunctionState;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+
+public class QuantileSketchAggState implements AggregationMultiFunctionState {
+
+    protected final QuantileSketchState state;
+
+    public QuantileSketchAggState(QuantileSketchState state) {
+        this.state = state;
+    }
+
+    public void applyEnter(EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        throw new UnsupportedOperationException("values are added through the add method");
+    }
+
+    public void applyLeave(EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void add(Object value) {
+        if (value == null) {
+            return;
+        }
+        state.add(((Number) value).doubleValue());
+    }
+
+    // reading merges buffered values, and table readers may read concurrently
+    public synchronized Double quantile(Object quantile) {
+        if (quantile == null) {
+            return null;
+        }
+        double value = ((Number) quantile).doubleValue();
+        if (!(value >= 0 && value <= 1) || state.isEmpty()) {
+            return null;
+        }
+        return state.quantile(value);
+    }
+
+    public synchronized Double cdf(Object value) {
+        if (value == null || state.isEmpty()) {
+            return null;
+        }
+        double result = state.cdf(((Number) value).doubleValue());
+        return Double.isNaN(result) ? null : result;
+    }
+
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    public QuantileSketchState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.quantilesketch;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.newInstance;
+
+public class QuantileSketchSpec {
+
+    private double compression;
+
+    public QuantileSketchSpec(double compression) {
+        this.compression = compression;
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public void setCompression(double compression) {
+        this.compression = compression;
+    }
+
+    public QuantileSketchAggState makeAggState() {
+        return new QuantileSketchAggState(new QuantileSketchState(compression));
+    }
+
+    public CodegenExpression codegenMake(CodegenMethodScope parent, CodegenClassScope classScope) {
+        return newInstance(QuantileSketchSpec.class, constant(compression));
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.quantilesketch;
+
+/**
+ * Merging t-digest for estimating quantiles and cumulative distribution of a stream of double values.
+ * <p>
+ * Values are collected in a buffer that, when full, is merged into a sorted list of weighted centroids.
+ * The size of a centroid is limited by the arcsine scale function so that centroids near the tails hold few values,
+ * which keeps extreme quantiles such as the 99th percentile accurate.
+ * The number of centroids is bounded by the compression, therefore memory is bounded regardless of the number of values.
+ * <p>
+ * Digests are mergeable, i.e. adding one digest to another produces a digest of the combined values.
+ * Values cannot be removed. NaN values are ignored.
+ */
+public class QuantileSketchState {
+    private static final int BUFFER_FACTOR = 5;
+
+    private final double compression;
+    private final double normalizer;
+
+    private double[] means;
+    private double[] weights;
+    private int count;
+    private double totalWeight;
+
+    private double[] bufferMeans;
+    private double[] bufferWeights;
+    private int bufferCount;
+    private double bufferWeight;
+
+    private double[] mergeMeans;
+    private double[] mergeWeights;
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Ctor.
+     *
+     * @param compression the compression, larger values are more accurate and take more memory, at least one
+     */
+    public QuantileSketchState(double compression) {
+        if (!(compression >= 1)) {
+            throw new IllegalArgumentException("Invalid compression " + compression + ", the compression must be at least 1");
+        }
+        this.compression = compression;
+        this.normalizer = compression / (2 * Math.PI);
+        int capacity = (int) Math.ceil(compression) + 3;
+        means = new double[capacity];
+        weights = new double[capacity];
+        bufferMeans = new double[capacity * BUFFER_FACTOR];
+        bufferWeights = new double[capacity * BUFFER_FACTOR];
+        mergeMeans = new double[capacity];
+        mergeWeights = new double[capacity];
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value value to add
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Add a value with a given weight, i.e. as if the value was added the weight number of times.
+     *
+     * @param value  value to add
+     * @param weight positive weight
+     */
+    public void add(double value, double weight) {
+        if (Double.isNaN(value) || !(weight > 0)) {
+            return;
+        }
+        if (bufferCount == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferCount] = value;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        bufferWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all values of another digest to this digest. The other digest may have a different compression.
+     *
+     * @param other to add
+     */
+    public void add(QuantileSketchState other) {
+        other.compress();
+        if (other == this) {
+            // adding a digest to itself doubles every centroid, adding its own centroids would swap arrays while iterating
+            for (int i = 0; i < count; i++) {
+                weights[i] *= 2;
+            }
+            totalWeight *= 2;
+            return;
+        }
+        for (int i = 0; i < other.count; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.count > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Returns the total weight of values, which is the number of values when all weights are one.
+     *
+     * @return total weight
+     */
+    public double getTotalWeight() {
+        return totalWeight + bufferWeight;
+    }
+
+    /**
+     * Returns true when no values were added.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return count == 0 && bufferCount == 0;
+    }
+
+    /**
+     * Returns the estimated value at the given quantile.
+     *
+     * @param quantile the quantile, between zero and one
+     * @return value or NaN when no values were added
+     * @throws IllegalArgumentException if the quantile is not between zero and one
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Invalid quantile " + quantile + ", the quantile must be between zero and one");
+        }
+        compress();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (quantile == 0) {
+            return min;
+        }
+        if (quantile == 1) {
+            return max;
+        }
+        if (count == 1) {
+            return means[0];
+        }
+
+        // a centroid represents its values centered at the cumulative weight of preceding centroids plus half its own weight
+        double index = quantile * totalWeight;
+        double position = weights[0] / 2;
+        if (index < position) {
+            return min + (means[0] - min) * index / position;
+        }
+        for (int i = 0; i < count - 1; i++) {
+            double nextPosition = position + (weights[i] + weights[i + 1]) / 2;
+            if (index < nextPosition) {
+                return means[i] + (means[i + 1] - means[i]) * (index - position) / (nextPosition - position);
+            }
+            position = nextPosition;
+        }
+        double remaining = totalWeight - position;
+        return means[count - 1] + (max - means[count - 1]) * (index - position) / remaining;
+    }
+
+    /**
+     * Returns the estimated fraction of values that are less than or equal to the given value.
+     *
+     * @param value value
+     * @return fraction between zero and one or NaN when no values were added
+     */
+    public double cdf(double value) {
+        compress();
+        if (count == 0 || Double.isNaN(value)) {
+            return Double.NaN;
+        }
+        if (value < min) {
+            return 0;
+        }
+        if (value >= max) {
+            return 1;
+        }
+
+        double position = weights[0] / 2;
+        if (value < means[0]) {
+            return (value - min) / (means[0] - min) * position / totalWeight;
+        }
+        for (int i = 0; i < count - 1; i++) {
+            double nextPosition = position + (weights[i] + weights[i + 1]) / 2;
+            if (value < means[i + 1]) {
+                double fraction = (value - means[i]) / (means[i + 1] - means[i]);
+                return (position + fraction * (nextPosition - position)) / totalWeight;
+            }
+            position = nextPosition;
+        }
+        double fraction = (value - means[count - 1]) / (max - means[count - 1]);
+        return (position + fraction * (totalWeight - position)) / totalWeight;
+    }
+
+    /**
+     * Merges buffered values into the centroids.
+     */
+    public void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, bufferCount - 1);
+
+        double total = totalWeight + bufferWeight;
+        int merged = 0;
+        double weightSoFar = 0;
+        double weightLimit = total * quantileOfScale(scaleOfQuantile(0) + 1);
+        double currentMean = 0;
+        double currentWeight = 0;
+
+        int centroid = 0;
+        int buffered = 0;
+        while (centroid < count || buffered < bufferCount) {
+            double mean;
+            double weight;
+            if (buffered == bufferCount || (centroid < count && means[centroid] <= bufferMeans[buffered])) {
+                mean = means[centroid];
+                weight = weights[centroid];
+                centroid++;
+            } else {
+                mean = bufferMeans[buffered];
+                weight = bufferWeights[buffered];
+                buffered++;
+            }
+
+            if (currentWeight == 0) {
+                currentMean = mean;
+                currentWeight = weight;
+            } else if (weightSoFar + currentWeight + weight <= weightLimit || merged == mergeMeans.length - 1) {
+                currentWeight += weight;
+                currentMean += (mean - currentMean) * weight / currentWeight;
+            } else {
+                mergeMeans[merged] = currentMean;
+                mergeWeights[merged] = currentWeight;
+                merged++;
+                weightSoFar += currentWeight;
+                weightLimit = total * quantileOfScale(scaleOfQuantile(weightSoFar / total) + 1);
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        mergeMeans[merged] = currentMean;
+        mergeWeights[merged] = currentWeight;
+        merged++;
+
+        double[] swapMeans = means;
+        double[] swapWeights = weights;
+        means = mergeMeans;
+        weights = mergeWeights;
+        mergeMeans = swapMeans;
+        mergeWeights = swapWeights;
+        count = merged;
+        totalWeight = total;
+        bufferCount = 0;
+        bufferWeight = 0;
+    }
+
+    /**
+     * Returns the number of centroids after merging buffered values.
+     *
+     * @return centroid count
+     */
+    public int getCentroidCount() {
+        compress();
+        return count;
+    }
+
+    /**
+     * Returns the centroid means, valid up to the centroid count, after merging buffered values.
+     *
+     * @return means
+     */
+    public double[] getMeans() {
+        compress();
+        return means;
+    }
+
+    /**
+     * Returns the centroid weights, valid up to the centroid count, after merging buffered values.
+     *
+     * @return weights
+     */
+    public double[] getWeights() {
+        compress();
+        return weights;
+    }
+
+    /**
+     * Replaces the values of this digest with the provided centroids, such as when reading a digest previously written.
+     * Centroids beyond what this digest can hold are merged.
+     *
+     * @param centroidMeans   centroid means in ascending order
+     * @param centroidWeights centroid weights
+     * @param centroidCount   number of centroids
+     * @param minValue        smallest value
+     * @param maxValue        largest value
+     */
+    public void restore(double[] centroidMeans, double[] centroidWeights, int centroidCount, double minValue, double maxValue) {
+        count = 0;
+        totalWeight = 0;
+        bufferCount = 0;
+        bufferWeight = 0;
+        if (centroidCount <= means.length) {
+            System.arraycopy(centroidMeans, 0, means, 0, centroidCount);
+            System.arraycopy(centroidWeights, 0, weights, 0, centroidCount);
+            count = centroidCount;
+            for (int i = 0; i < centroidCount; i++) {
+                totalWeight += centroidWeights[i];
+            }
+        } else {
+            for (int i = 0; i < centroidCount; i++) {
+                add(centroidMeans[i], centroidWeights[i]);
+            }
+        }
+        min = minValue;
+        max = maxValue;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    private double scaleOfQuantile(double quantile) {
+        return normalizer * Math.asin(2 * Math.min(1, Math.max(0, quantile)) - 1);
+    }
+
+    private double quantileOfScale(double scale) {
+        double angle = scale / normalizer;
+        if (angle >= Math.PI / 2) {
+            return 1;
+        }
+        return (Math.sin(angle) + 1) / 2;
+    }
+
+    private static void sort(double[] keys, double[] values, int low, int high) {
+        while (high - low > 16) {
+            double pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            // recurse into the smaller part to bound the stack depth
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(keys, values, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(double[] keys, double[] values, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
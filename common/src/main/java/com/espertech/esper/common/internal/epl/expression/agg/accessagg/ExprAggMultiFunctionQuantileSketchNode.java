@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.accessagg;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.util.StatementType;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethodScope;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.compile.stage2.StatementRawInfo;
+import com.espertech.esper.common.internal.compile.stage3.StatementCompileTimeServices;
+import com.espertech.esper.common.internal.epl.agg.access.quantilesketch.AggregationForgeFactoryAccessQuantileSketchAdd;
+import com.espertech.esper.common.internal.epl.agg.access.quantilesketch.AggregationForgeFactoryAccessQuantileSketchState;
+import com.espertech.esper.common.internal.epl.agg.access.quantilesketch.AggregationStateQuantileSketchForge;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggType;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchSpec;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.*;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constantNull;
+
+/**
+ * Represents the quantile-sketch aggregate function, an approximate quantile digest that can be used with tables.
+ */
+public class ExprAggMultiFunctionQuantileSketchNode extends ExprAggregateNodeBase implements ExprAggMultiFunctionNode, ExprEnumerationEval {
+
+    private static final double DEFAULT_COMPRESSION = 100;
+
+    public static final String MSG_NAME = "Quantile-sketch";
+    private static final String NAME_COMPRESSION = "compression";
+
+    private final QuantileSketchAggType aggType;
+    private AggregationForgeFactory forgeFactory;
+
+    public ExprAggMultiFunctionQuantileSketchNode(boolean distinct, QuantileSketchAggType aggType) {
+        super(distinct);
+        this.aggType = aggType;
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        if (isDistinct()) {
+            throw new ExprValidationException(getMessagePrefix() + "is not supported with distinct");
+        }
+
+        // for declaration, validate the specification and return the state factory
+        if (aggType == QuantileSketchAggType.STATE) {
+            if (validationContext.getStatementRawInfo().getStatementType() != StatementType.CREATE_TABLE) {
+                throw new ExprValidationException(getMessagePrefix() + "can only be used in create-table statements");
+            }
+            QuantileSketchSpec specification = validateSpecification(validationContext);
+            AggregationStateQuantileSketchForge stateFactory = new AggregationStateQuantileSketchForge(this, specification);
+            forgeFactory = new AggregationForgeFactoryAccessQuantileSketchState(this, stateFactory);
+            return forgeFactory;
+        }
+
+        if (validationContext.getStatementRawInfo().getIntoTableName() == null) {
+            throw new ExprValidationException(getMessagePrefix() + "can only be used with into-table");
+        }
+        if (positionalParams.length != 1) {
+            throw new ExprValidationException(getMessagePrefix() + "requires a single parameter expression");
+        }
+        ExprNodeUtilityValidate.getValidatedSubtree(ExprNodeOrigin.AGGPARAM, this.getChildNodes(), validationContext);
+        ExprForge addEvaluator = getChildNodes()[0].getForge();
+        if (!JavaClassHelper.isNumeric(addEvaluator.getEvaluationType())) {
+            throw new ExprValidationException(getMessagePrefix() + "requires a numeric parameter expression but received " + JavaClassHelper.getClassNameFullyQualPretty(addEvaluator.getEvaluationType()));
+        }
+
+        forgeFactory = new AggregationForgeFactoryAccessQuantileSketchAdd(this, addEvaluator);
+        return forgeFactory;
+    }
+
+    public ExprEnumerationEval getExprEvaluatorEnumeration() {
+        return this;
+    }
+
+    public String getAggregationFunctionName() {
+        return aggType.getFuncName();
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return false;
+    }
+
+    public QuantileSketchAggType getAggType() {
+        return aggType;
+    }
+
+    public EventType getEventTypeCollection(StatementRawInfo statementRawInfo, StatementCompileTimeServices compileTimeServices) throws ExprValidationException {
+        return null;
+    }
+
+    public Collection<EventBean> evaluateGetROCollectionEvents(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return null;
+    }
+
+    public Class getComponentTypeCollection() throws ExprValidationException {
+        return null;
+    }
+
+    public Collection evaluateGetROCollectionScalar(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return null;
+    }
+
+    public CodegenExpression evaluateGetROCollectionScalarCodegen(CodegenMethodScope codegenMethodScope, ExprForgeCodegenSymbol exprSymbol, CodegenClassScope codegenClassScope) {
+        return null;
+    }
+
+    public CodegenExpression evaluateGetROCollectionEventsCodegen(CodegenMethodScope codegenMethodScope, ExprForgeCodegenSymbol exprSymbol, CodegenClassScope codegenClassScope) {
+        return constantNull();
+    }
+
+    public EventType getEventTypeSingle(StatementRawInfo statementRawInfo, StatementCompileTimeServices compileTimeServices) throws ExprValidationException {
+        return null;
+    }
+
+    public EventBean evaluateGetEventBean(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return null;
+    }
+
+    public CodegenExpression evaluateGetEventBeanCodegen(CodegenMethodScope codegenMethodScope, ExprForgeCodegenSymbol exprSymbol, CodegenClassScope codegenClassScope) {
+        return constantNull();
+    }
+
+    @Override
+    protected boolean isExprTextWildcardWhenNoParams() {
+        return false;
+    }
+
+    private QuantileSketchSpec validateSpecification(ExprValidationContext exprValidationContext) throws ExprValidationException {
+        final QuantileSketchSpec spec = new QuantileSketchSpec(DEFAULT_COMPRESSION);
+
+        // no parameters
+        if (this.getChildNodes().length == 0) {
+            return spec;
+        }
+
+        // check expected parameter type: a json object
+        if (this.getChildNodes().length > 1 || !(this.getChildNodes()[0] instanceof ExprConstantNode)) {
+            throw getDeclaredWrongParameterExpr();
+        }
+        ExprConstantNode constantNode = (ExprConstantNode) this.getChildNodes()[0];
+        Object value = constantNode.getConstantValue();
+        if (!(value instanceof Map)) {
+            throw getDeclaredWrongParameterExpr();
+        }
+
+        PopulateFieldWValueDescriptor[] descriptors = new PopulateFieldWValueDescriptor[]{
+            new PopulateFieldWValueDescriptor(NAME_COMPRESSION, Double.class, spec.getClass(), new PopulateFieldValueSetter() {
+                public void set(Object value) throws ExprValidationException {
+                    if (value != null) {
+                        double compression = (Double) value;
+                        if (!(compression >= 1)) {
+                            throw new ExprValidationException("Invalid compression " + compression + ", the compression must be at least 1");
+                        }
+                        spec.setCompression(compression);
+                    }
+                }
+            }, true),
+        };
+
+        // populate from json, validates incorrect names and coerces types
+        PopulateUtil.populateSpecCheckParameters(descriptors, (Map<String, Object>) value, spec, ExprNodeOrigin.AGGPARAM, exprValidationContext);
+
+        return spec;
+    }
+
+    public ExprValidationException getDeclaredWrongParameterExpr() throws ExprValidationException {
+        return new ExprValidationException(getMessagePrefix() + "expects either no parameter or a single json parameter object");
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+
+    public AggregationForgeFactory getAggregationForgeFactory() {
+        return forgeFactory;
+    }
+
+    private String getMessagePrefix() {
+        return MSG_NAME + " aggregation function '" + aggType.getFuncName() + "' ";
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.method;
+
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.countdistinctapprox.AggregationForgeFactoryCountDistinctApprox;
+import com.espertech.esper.common.internal.epl.approx.hyperloglog.HyperLogLogState;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityMake;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.epl.expression.core.ExprWildcard;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Represents the countDistinctApprox(...) aggregate function is an expression tree, an estimate of the number of distinct values
+ * that takes bounded memory.
+ */
+public class ExprCountDistinctApproxAggNode extends ExprAggregateNodeBase {
+
+    /**
+     * Ctor.
+     *
+     * @param distinct - flag indicating unique or non-unique value aggregation
+     */
+    public ExprCountDistinctApproxAggNode(boolean distinct) {
+        super(distinct);
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        String message = "The countDistinctApprox aggregation function requires an expression returning the values to count and an optional precision constant between " +
+            HyperLogLogState.MIN_PRECISION + " and " + HyperLogLogState.MAX_PRECISION;
+        if (isDistinct) {
+            throw new ExprValidationException("The countDistinctApprox aggregation function counts distinct values and does not allow distinct");
+        }
+        if (positionalParams.length == 0 || positionalParams.length > 2 || positionalParams[0] instanceof ExprWildcard) {
+            throw new ExprValidationException(message);
+        }
+
+        int precision = HyperLogLogState.DEFAULT_PRECISION;
+        if (positionalParams.length == 2) {
+            ExprNode param = positionalParams[1];
+            if (!param.getForge().getForgeConstantType().isCompileTimeConstant() || !JavaClassHelper.isNumericNonFP(param.getForge().getEvaluationType())) {
+                throw new ExprValidationException(message);
+            }
+            Number num = (Number) param.getForge().getExprEvaluator().evaluate(null, true, null);
+            if (num == null || num.intValue() < HyperLogLogState.MIN_PRECISION || num.intValue() > HyperLogLogState.MAX_PRECISION) {
+                throw new ExprValidationException(message);
+            }
+            precision = num.intValue();
+        }
+
+        if (optionalFilter != null) {
+            this.positionalParams = ExprNodeUtilityMake.addExpression(positionalParams, optionalFilter);
+        }
+
+        Class childType = JavaClassHelper.getBoxedType(positionalParams[0].getForge().getEvaluationType());
+        return new AggregationForgeFactoryCountDistinctApprox(this, childType, precision);
+    }
+
+    public String getAggregationFunctionName() {
+        return "countDistinctApprox";
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return node instanceof ExprCountDistinctApproxAggNode;
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+}
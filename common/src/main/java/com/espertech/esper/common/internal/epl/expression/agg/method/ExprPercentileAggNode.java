@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.method;
+
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.percentile.AggregationForgeFactoryPercentile;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityMake;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Represents the percentile(...) and percentiles(...) aggregate functions is an expression tree.
+ */
+public class ExprPercentileAggNode extends ExprAggregateNodeBase {
+    private final boolean multiple;
+
+    /**
+     * Ctor.
+     *
+     * @param distinct - flag indicating unique or non-unique value aggregation
+     * @param multiple - false for percentile returning a single value, true for percentiles returning an array of values
+     */
+    public ExprPercentileAggNode(boolean distinct, boolean multiple) {
+        super(distinct);
+        this.multiple = multiple;
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        String message = multiple ?
+            "The percentiles aggregation function requires an expression returning numeric values and one or more numeric percentile constants between zero and 100" :
+            "The percentile aggregation function requires two parameters, an expression returning numeric values and a numeric percentile constant between zero and 100";
+        if (multiple ? this.positionalParams.length < 2 : this.positionalParams.length != 2) {
+            throw new ExprValidationException(message);
+        }
+
+        Class childType = this.positionalParams[0].getForge().getEvaluationType();
+        if (!JavaClassHelper.isNumeric(childType)) {
+            throw new ExprValidationException("Implicit conversion from datatype '" +
+                (childType == null ? "null" : childType.getSimpleName()) +
+                "' to numeric is not allowed for aggregation function '" + getAggregationFunctionName() + "'");
+        }
+
+        double[] percents = new double[this.positionalParams.length - 1];
+        for (int i = 0; i < percents.length; i++) {
+            ExprNode param = this.positionalParams[i + 1];
+            if (!param.getForge().getForgeConstantType().isCompileTimeConstant() || !JavaClassHelper.isNumeric(param.getForge().getEvaluationType())) {
+                throw new ExprValidationException(message);
+            }
+            Number num = (Number) param.getForge().getExprEvaluator().evaluate(null, true, null);
+            if (num == null || !(num.doubleValue() >= 0 && num.doubleValue() <= 100)) {
+                throw new ExprValidationException(message);
+            }
+            percents[i] = num.doubleValue();
+        }
+
+        if (optionalFilter != null) {
+            this.positionalParams = ExprNodeUtilityMake.addExpression(positionalParams, optionalFilter);
+        }
+
+        DataInputOutputSerdeForge distinctSerde = isDistinct ? validationContext.getSerdeResolver().serdeForAggregationDistinct(childType, validationContext.getStatementRawInfo()) : null;
+        return new AggregationForgeFactoryPercentile(this, childType, distinctSerde, percents);
+    }
+
+    public String getAggregationFunctionName() {
+        return multiple ? "percentiles" : "percentile";
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return node instanceof ExprPercentileAggNode && ((ExprPercentileAggNode) node).multiple == multiple;
+    }
+
+    public boolean isMultiple() {
+        return multiple;
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+}
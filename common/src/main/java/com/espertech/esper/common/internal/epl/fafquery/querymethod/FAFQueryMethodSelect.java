@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.epl.fafquery.querymethod;
 import com.espertech.esper.common.client.EventPropertyValueGetter;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.context.util.StatementContextRuntimeServices;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
@@ -48,6 +49,7 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
     private Map<Integer, SubSelectFactory> subselects;
 
     private FAFQueryMethodSelectExec selectExec;
+    private int parallelThreshold;
 
     public void setAnnotations(Annotation[] annotations) {
         this.annotations = annotations;
@@ -139,15 +141,12 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
         if (!subselects.isEmpty()) {
             initializeSubselects(svc, annotations, subselects);
         }
+
+        parallelThreshold = svc.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getFireAndForgetParallelThreshold();
     }
 
     public EPPreparedQueryResult execute(AtomicBoolean serviceStatusProvider, FAFQueryMethodAssignerSetter assignerSetter, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService) {
-        if (!serviceStatusProvider.get()) {
-            throw FAFQueryMethodUtil.runtimeDestroyed();
-        }
-        if (contextPartitionSelectors != null && contextPartitionSelectors.length != processors.length) {
-            throw new IllegalArgumentException("The number of context partition selectors does not match the number of named windows or tables in the from-clause");
-        }
+        validateExecute(serviceStatusProvider, contextPartitionSelectors);
 
         try {
             return selectExec.execute(this, contextPartitionSelectors, assignerSetter, contextManagementService);
@@ -158,6 +157,41 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
         }
     }
 
+    /**
+     * Execute, providing result rows to the callback incrementally when the query allows,
+     * or providing all result rows in a single invocation otherwise.
+     *
+     * @param serviceStatusProvider     runtime status
+     * @param assignerSetter            assigner
+     * @param contextPartitionSelectors selectors or null
+     * @param contextManagementService  context management
+     * @param callback                  receives rows
+     */
+    public void executeStreaming(AtomicBoolean serviceStatusProvider, FAFQueryMethodAssignerSetter assignerSetter, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService, EPFireAndForgetQueryRowCallback callback) {
+        validateExecute(serviceStatusProvider, contextPartitionSelectors);
+
+        try {
+            if (selectExec instanceof FAFQueryMethodSelectExecStreaming && FAFQueryMethodSelectExecUtil.isStreamable(this)) {
+                ((FAFQueryMethodSelectExecStreaming) selectExec).executeStreaming(this, contextPartitionSelectors, assignerSetter, contextManagementService, callback);
+            } else {
+                FAFQueryMethodSelectExecUtil.deliver(selectExec.execute(this, contextPartitionSelectors, assignerSetter, contextManagementService), callback);
+            }
+        } finally {
+            if (hasTableAccess) {
+                processors[0].getStatementContext().getTableExprEvaluatorContext().releaseAcquiredLocks();
+            }
+        }
+    }
+
+    private void validateExecute(AtomicBoolean serviceStatusProvider, ContextPartitionSelector[] contextPartitionSelectors) {
+        if (!serviceStatusProvider.get()) {
+            throw FAFQueryMethodUtil.runtimeDestroyed();
+        }
+        if (contextPartitionSelectors != null && contextPartitionSelectors.length != processors.length) {
+            throw new IllegalArgumentException("The number of context partition selectors does not match the number of named windows or tables in the from-clause");
+        }
+    }
+
     public Annotation[] getAnnotations() {
         return annotations;
     }
@@ -206,6 +240,16 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
         return distinctKeyGetter;
     }
 
+    /**
+     * Returns the minimum number of context partitions for snapshot and filter of context partitions in parallel,
+     * or zero or less for not in parallel.
+     *
+     * @return threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
     public Map<Integer, SubSelectFactory> getSubselects() {
         return subselects;
     }
@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.epl.fafquery.querymethod;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetInstance;
@@ -23,7 +24,7 @@ import java.util.Collections;
 
 import static com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodSelectExecUtil.*;
 
-public class FAFQueryMethodSelectExecNoContextNoJoin implements FAFQueryMethodSelectExec {
+public class FAFQueryMethodSelectExecNoContextNoJoin implements FAFQueryMethodSelectExecStreaming {
     public static final FAFQueryMethodSelectExec INSTANCE = new FAFQueryMethodSelectExecNoContextNoJoin();
 
     private FAFQueryMethodSelectExecNoContextNoJoin() {
@@ -51,4 +52,18 @@ public class FAFQueryMethodSelectExecNoContextNoJoin implements FAFQueryMethodSe
 
         return processedNonJoin(resultSetProcessor, events, select.getDistinctKeyGetter());
     }
+
+    public void executeStreaming(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, FAFQueryMethodAssignerSetter assignerSetter, ContextManagementService contextManagementService, EPFireAndForgetQueryRowCallback callback) {
+        FireAndForgetProcessor processor = select.getProcessors()[0];
+        FireAndForgetInstance processorInstance = processor.getProcessorInstanceNoContext();
+        AgentInstanceContext agentInstanceContext = processorInstance == null ? null : processorInstance.getAgentInstanceContext();
+
+        // get RSP
+        ResultSetProcessor resultSetProcessor = processorWithAssign(select.getResultSetProcessorFactoryProvider(), agentInstanceContext, assignerSetter, select.getTableAccesses(), select.getSubselects());
+
+        if (processorInstance != null) {
+            Collection<EventBean> events = snapshot(select.getConsumerFilters()[0], processorInstance, select.getQueryGraph(), select.getAnnotations());
+            processedNonJoinStreaming(resultSetProcessor, events, select.getWhereClause(), agentInstanceContext, callback);
+        }
+    }
 }
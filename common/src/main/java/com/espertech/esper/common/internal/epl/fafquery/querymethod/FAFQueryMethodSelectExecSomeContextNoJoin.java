@@ -12,48 +12,134 @@ package com.espertech.esper.common.internal.epl.fafquery.querymethod;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityEvaluate;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetInstance;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetProcessor;
+import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetProcessorNamedWindow;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessor;
 
-import java.util.ArrayDeque;
-import java.util.Collection;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodSelectExecUtil.*;
 import static com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodUtil.agentInstanceIds;
 
-public class FAFQueryMethodSelectExecSomeContextNoJoin implements FAFQueryMethodSelectExec {
+/**
+ * Select execution for a single named window or table that has a context, without the query specifying the context.
+ * <p>
+ * Each context partition is snapshot and filtered by the where-clause in turn so that only the matching events
+ * of all context partitions are retained. When there are at least as many context partitions as the configured
+ * parallel threshold, context partitions of a named window are snapshot and filtered in parallel using the common fork-join pool.
+ * </p>
+ */
+public class FAFQueryMethodSelectExecSomeContextNoJoin implements FAFQueryMethodSelectExecStreaming {
     public static final FAFQueryMethodSelectExec INSTANCE = new FAFQueryMethodSelectExecSomeContextNoJoin();
 
+    private final static int PARALLEL_PARTITIONS_PER_TASK = 16;
+
     private FAFQueryMethodSelectExecSomeContextNoJoin() {
     }
 
     public EPPreparedQueryResult execute(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, FAFQueryMethodAssignerSetter assignerSetter, ContextManagementService contextManagementService) {
+        List<FireAndForgetInstance> instances = processorInstances(select, contextPartitionSelectors, contextManagementService);
+        AgentInstanceContext agentInstanceContext = instances.isEmpty() ? null : instances.get(instances.size() - 1).getAgentInstanceContext();
+
+        // get RSP
+        ResultSetProcessor resultSetProcessor = processorWithAssign(select.getResultSetProcessorFactoryProvider(), agentInstanceContext, assignerSetter, select.getTableAccesses(), select.getSubselects());
+
+        Collection<EventBean> events;
+        if (isParallel(select, instances.size())) {
+            events = ForkJoinPool.commonPool().invoke(new SnapshotTask(select, instances, 0, instances.size(), agentInstanceContext));
+        } else {
+            events = snapshotFiltered(select, instances, 0, instances.size(), agentInstanceContext);
+        }
+
+        return processedNonJoin(resultSetProcessor, events, select.getDistinctKeyGetter());
+    }
+
+    public void executeStreaming(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, FAFQueryMethodAssignerSetter assignerSetter, ContextManagementService contextManagementService, EPFireAndForgetQueryRowCallback callback) {
+        List<FireAndForgetInstance> instances = processorInstances(select, contextPartitionSelectors, contextManagementService);
+        AgentInstanceContext agentInstanceContext = instances.isEmpty() ? null : instances.get(instances.size() - 1).getAgentInstanceContext();
+
+        // get RSP
+        ResultSetProcessor resultSetProcessor = processorWithAssign(select.getResultSetProcessorFactoryProvider(), agentInstanceContext, assignerSetter, select.getTableAccesses(), select.getSubselects());
+
+        for (FireAndForgetInstance instance : instances) {
+            Collection<EventBean> snapshot = instance.snapshotBestEffort(select.getQueryGraph(), select.getAnnotations());
+            processedNonJoinStreaming(resultSetProcessor, snapshot, select.getWhereClause(), agentInstanceContext, callback);
+        }
+    }
+
+    private static List<FireAndForgetInstance> processorInstances(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService) {
         FireAndForgetProcessor processor = select.getProcessors()[0];
 
         ContextPartitionSelector singleSelector = contextPartitionSelectors != null && contextPartitionSelectors.length > 0 ? contextPartitionSelectors[0] : null;
         Collection<Integer> agentInstanceIds = agentInstanceIds(processor, singleSelector, contextManagementService);
 
-        Collection<EventBean> events = new ArrayDeque<>();
-        AgentInstanceContext agentInstanceContext = null;
+        List<FireAndForgetInstance> instances = new ArrayList<>(agentInstanceIds.size());
         for (int agentInstanceId : agentInstanceIds) {
             FireAndForgetInstance processorInstance = processor.getProcessorInstanceContextById(agentInstanceId);
             if (processorInstance != null) {
-                agentInstanceContext = processorInstance.getAgentInstanceContext();
-                Collection<EventBean> coll = processorInstance.snapshotBestEffort(select.getQueryGraph(), select.getAnnotations());
-                events.addAll(coll);
+                instances.add(processorInstance);
             }
         }
+        return instances;
+    }
 
-        // get RSP
-        ResultSetProcessor resultSetProcessor = processorWithAssign(select.getResultSetProcessorFactoryProvider(), agentInstanceContext, assignerSetter, select.getTableAccesses(), select.getSubselects());
+    private static boolean isParallel(FAFQueryMethodSelect select, int numInstances) {
+        // table snapshots and table access from subqueries and expressions track locks per thread
+        return select.getParallelThreshold() > 0 &&
+            numInstances >= select.getParallelThreshold() &&
+            numInstances > 1 &&
+            select.getProcessors()[0] instanceof FireAndForgetProcessorNamedWindow &&
+            !select.isHasTableAccess() &&
+            select.getSubselects().isEmpty();
+    }
 
-        if (select.getWhereClause() != null) {
-            events = filtered(events, select.getWhereClause(), agentInstanceContext);
+    private static ArrayDeque<EventBean> snapshotFiltered(FAFQueryMethodSelect select, List<FireAndForgetInstance> instances, int from, int to, AgentInstanceContext agentInstanceContext) {
+        ExprEvaluator whereClause = select.getWhereClause();
+        ArrayDeque<EventBean> events = new ArrayDeque<>();
+        for (int i = from; i < to; i++) {
+            Collection<EventBean> snapshot = instances.get(i).snapshotBestEffort(select.getQueryGraph(), select.getAnnotations());
+            if (whereClause == null) {
+                events.addAll(snapshot);
+            } else {
+                ExprNodeUtilityEvaluate.applyFilterExpressionIterable(snapshot.iterator(), whereClause, agentInstanceContext, events);
+            }
         }
+        return events;
+    }
 
-        return processedNonJoin(resultSetProcessor, events, select.getDistinctKeyGetter());
+    private static class SnapshotTask extends RecursiveTask<ArrayDeque<EventBean>> {
+        private final FAFQueryMethodSelect select;
+        private final List<FireAndForgetInstance> instances;
+        private final int from;
+        private final int to;
+        private final AgentInstanceContext agentInstanceContext;
+
+        SnapshotTask(FAFQueryMethodSelect select, List<FireAndForgetInstance> instances, int from, int to, AgentInstanceContext agentInstanceContext) {
+            this.select = select;
+            this.instances = instances;
+            this.from = from;
+            this.to = to;
+            this.agentInstanceContext = agentInstanceContext;
+        }
+
+        protected ArrayDeque<EventBean> compute() {
+            if (to - from <= PARALLEL_PARTITIONS_PER_TASK) {
+                return snapshotFiltered(select, instances, from, to, agentInstanceContext);
+            }
+            int middle = (from + to) >>> 1;
+            SnapshotTask right = new SnapshotTask(select, instances, middle, to, agentInstanceContext);
+            right.fork();
+            ArrayDeque<EventBean> events = new SnapshotTask(select, instances, from, middle, agentInstanceContext).compute();
+            events.addAll(right.join());
+            return events;
+        }
     }
 }
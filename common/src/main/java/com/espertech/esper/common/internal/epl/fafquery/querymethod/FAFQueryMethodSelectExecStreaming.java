@@ -0,0 +1,23 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.fafquery.querymethod;
+
+import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
+
+/**
+ * Select execution that can provide result rows incrementally, for use when the result set processor
+ * produces the rows of each event independently of other events.
+ */
+public interface FAFQueryMethodSelectExecStreaming extends FAFQueryMethodSelectExec {
+    void executeStreaming(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, FAFQueryMethodAssignerSetter assignerSetter, ContextManagementService contextManagementService, EPFireAndForgetQueryRowCallback callback);
+}
@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.epl.fafquery.querymethod;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.collection.UniformPair;
 import com.espertech.esper.common.internal.context.aifactory.core.StatementAgentInstanceFactoryUtil;
@@ -20,11 +21,13 @@ import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.context.util.AgentInstanceMgmtCallback;
 import com.espertech.esper.common.internal.epl.agg.core.AggregationService;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityEvaluate;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetInstance;
 import com.espertech.esper.common.internal.epl.join.querygraph.QueryGraph;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessor;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorFactoryProvider;
+import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorType;
 import com.espertech.esper.common.internal.epl.subselect.SubSelectFactory;
 import com.espertech.esper.common.internal.epl.subselect.SubSelectFactoryResult;
 import com.espertech.esper.common.internal.epl.subselect.SubSelectHelperStart;
@@ -37,6 +40,7 @@ import java.lang.annotation.Annotation;
 import java.util.*;
 
 public class FAFQueryMethodSelectExecUtil {
+    private final static int STREAMING_CHUNK_SIZE = 1024;
 
     static Collection<EventBean> snapshot(ExprEvaluator filter, FireAndForgetInstance processorInstance, QueryGraph queryGraph, Annotation[] annotations) {
         Collection<EventBean> coll = processorInstance.snapshotBestEffort(queryGraph, annotations);
@@ -82,4 +86,75 @@ public class FAFQueryMethodSelectExecUtil {
 
         return new EPPreparedQueryResult(resultSetProcessor.getResultEventType(), distinct);
     }
+
+    /**
+     * Returns true when the result rows of a non-join select do not depend on other rows,
+     * i.e. there is no aggregation, grouping, order-by, row limit or distinct,
+     * so that the result set processor can process rows in chunks.
+     *
+     * @param select select
+     * @return streaming indicator
+     */
+    static boolean isStreamable(FAFQueryMethodSelect select) {
+        ResultSetProcessorFactoryProvider provider = select.getResultSetProcessorFactoryProvider();
+        ResultSetProcessorType type = provider.getResultSetProcessorType();
+        return (type == ResultSetProcessorType.HANDTHROUGH || type == ResultSetProcessorType.UNAGGREGATED_UNGROUPED) &&
+            provider.getOrderByProcessorFactory() == null &&
+            select.getDistinctKeyGetter() == null;
+    }
+
+    /**
+     * Processes the events of a snapshot in chunks, applying the filter and providing result rows of each chunk to the callback.
+     *
+     * @param resultSetProcessor   result set processor that is streamable
+     * @param snapshot             events
+     * @param filter               filter or null
+     * @param exprEvaluatorContext evaluation context
+     * @param callback             receives rows
+     */
+    static void processedNonJoinStreaming(ResultSetProcessor resultSetProcessor, Collection<EventBean> snapshot, ExprEvaluator filter, ExprEvaluatorContext exprEvaluatorContext, EPFireAndForgetQueryRowCallback callback) {
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        EventBean[] eventsPerStream = new EventBean[1];
+        EventBean[] chunk = new EventBean[Math.min(snapshot.size(), STREAMING_CHUNK_SIZE)];
+        int count = 0;
+        for (EventBean event : snapshot) {
+            if (filter != null) {
+                eventsPerStream[0] = event;
+                Object result = filter.evaluate(eventsPerStream, true, exprEvaluatorContext);
+                if ((result == null) || (!((Boolean) result))) {
+                    continue;
+                }
+            }
+            chunk[count++] = event;
+            if (count == chunk.length) {
+                processedChunk(resultSetProcessor, chunk, callback);
+                chunk = new EventBean[chunk.length];
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            processedChunk(resultSetProcessor, Arrays.copyOf(chunk, count), callback);
+        }
+    }
+
+    /**
+     * Provides the rows of a query result to the callback unless there are no rows.
+     *
+     * @param result   result
+     * @param callback receives rows
+     */
+    public static void deliver(EPPreparedQueryResult result, EPFireAndForgetQueryRowCallback callback) {
+        if (result.getResult() != null && result.getResult().length > 0) {
+            callback.rows(result.getEventType(), result.getResult());
+        }
+    }
+
+    private static void processedChunk(ResultSetProcessor resultSetProcessor, EventBean[] rows, EPFireAndForgetQueryRowCallback callback) {
+        UniformPair<EventBean[]> results = resultSetProcessor.processViewResult(rows, null, true);
+        if (results != null && results.getFirst() != null && results.getFirst().length > 0) {
+            callback.rows(resultSetProcessor.getResultEventType(), results.getFirst());
+        }
+    }
 }
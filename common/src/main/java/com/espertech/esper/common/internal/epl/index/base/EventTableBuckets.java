@@ -0,0 +1,226 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.base;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.*;
+
+/**
+ * Helpers for the events of a single index key, kept without allocating a set per key.
+ * <p>
+ * A bucket is the event itself when there is one event, a small array of events in insertion order when
+ * there are a few events, and a linked hash set when there are many events. An empty bucket is null.
+ */
+public class EventTableBuckets {
+    /**
+     * Largest number of events that are kept in an array.
+     */
+    public final static int MAX_ARRAY_BUCKET = 8;
+
+    /**
+     * Add an event to a bucket. Same event instance is not added twice.
+     *
+     * @param bucket   bucket or null for an empty bucket
+     * @param theEvent to add
+     * @return bucket, which is a new instance when the representation changed
+     */
+    public static Object add(Object bucket, EventBean theEvent) {
+        if (bucket == null) {
+            return theEvent;
+        }
+        if (bucket instanceof EventBean) {
+            if (bucket == theEvent) {
+                return bucket;
+            }
+            EventBean[] events = new EventBean[4];
+            events[0] = (EventBean) bucket;
+            events[1] = theEvent;
+            return events;
+        }
+        if (bucket instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) bucket;
+            int count = count(events);
+            for (int i = 0; i < count; i++) {
+                if (events[i] == theEvent) {
+                    return bucket;
+                }
+            }
+            if (count < events.length) {
+                events[count] = theEvent;
+                return bucket;
+            }
+            if (count < MAX_ARRAY_BUCKET) {
+                EventBean[] grown = Arrays.copyOf(events, MAX_ARRAY_BUCKET);
+                grown[count] = theEvent;
+                return grown;
+            }
+            Set<EventBean> set = new LinkedHashSet<>();
+            Collections.addAll(set, events);
+            set.add(theEvent);
+            return set;
+        }
+        ((Set<EventBean>) bucket).add(theEvent);
+        return bucket;
+    }
+
+    /**
+     * Remove an event from a bucket. Removing an event that the bucket does not hold is not an error.
+     *
+     * @param bucket   bucket, not null
+     * @param theEvent to remove
+     * @return bucket, which is a new instance when the representation changed, or null when the bucket became empty
+     */
+    public static Object remove(Object bucket, EventBean theEvent) {
+        if (bucket instanceof EventBean) {
+            return bucket == theEvent ? null : bucket;
+        }
+        if (bucket instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) bucket;
+            int count = count(events);
+            for (int i = 0; i < count; i++) {
+                if (events[i] == theEvent) {
+                    if (count == 2) {
+                        return events[1 - i];
+                    }
+                    System.arraycopy(events, i + 1, events, i, count - i - 1);
+                    events[count - 1] = null;
+                    return bucket;
+                }
+            }
+            return bucket;
+        }
+        Set<EventBean> events = (Set<EventBean>) bucket;
+        events.remove(theEvent);
+        return events.isEmpty() ? null : bucket;
+    }
+
+    /**
+     * Returns a set view of a bucket.
+     *
+     * @param bucket bucket, not null
+     * @return set
+     */
+    public static Set<EventBean> toSet(Object bucket) {
+        if (bucket instanceof EventBean) {
+            return Collections.singleton((EventBean) bucket);
+        }
+        if (bucket instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) bucket;
+            return new ArrayBucketSet(events, count(events));
+        }
+        return (Set<EventBean>) bucket;
+    }
+
+    /**
+     * Adds the events of a bucket to a collection.
+     *
+     * @param bucket bucket, not null
+     * @param target to add to
+     */
+    public static void addTo(Object bucket, Collection<EventBean> target) {
+        if (bucket instanceof EventBean) {
+            target.add((EventBean) bucket);
+        } else if (bucket instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) bucket;
+            int count = count(events);
+            for (int i = 0; i < count; i++) {
+                target.add(events[i]);
+            }
+        } else {
+            target.addAll((Set<EventBean>) bucket);
+        }
+    }
+
+    /**
+     * Returns an iterator over the events of the buckets.
+     *
+     * @param buckets bucket iterator, with no null buckets
+     * @return event iterator
+     */
+    public static Iterator<EventBean> iterator(Iterator<Object> buckets) {
+        return new BucketEventIterator(buckets);
+    }
+
+    private static int count(EventBean[] events) {
+        int count = events.length;
+        while (events[count - 1] == null) {
+            count--;
+        }
+        return count;
+    }
+
+    private static class ArrayBucketSet extends AbstractSet<EventBean> {
+        private final EventBean[] events;
+        private final int count;
+
+        ArrayBucketSet(EventBean[] events, int count) {
+            this.events = events;
+            this.count = count;
+        }
+
+        public Iterator<EventBean> iterator() {
+            return new Iterator<EventBean>() {
+                private int index;
+
+                public boolean hasNext() {
+                    return index < count;
+                }
+
+                public EventBean next() {
+                    if (index >= count) {
+                        throw new NoSuchElementException();
+                    }
+                    return events[index++];
+                }
+            };
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public boolean contains(Object o) {
+            for (int i = 0; i < count; i++) {
+                if (events[i] == o) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class BucketEventIterator implements Iterator<EventBean> {
+        private final Iterator<Object> buckets;
+        private Iterator<EventBean> current;
+
+        BucketEventIterator(Iterator<Object> buckets) {
+            this.buckets = buckets;
+        }
+
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (!buckets.hasNext()) {
+                    return false;
+                }
+                current = toSet(buckets.next()).iterator();
+            }
+            return true;
+        }
+
+        public EventBean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
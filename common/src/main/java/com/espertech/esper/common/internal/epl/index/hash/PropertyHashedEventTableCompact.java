@@ -0,0 +1,136 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.index.base.EventTableBuckets;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-unique hash index that does not allocate a set per key, see {@link EventTableBuckets} for the representation of the
+ * events of a key. Lookups return a set view of the events of the key.
+ * <p>
+ * Subclasses hold primitive keys in open-addressing tables and use the map of this class for any other key.
+ */
+public class PropertyHashedEventTableCompact extends PropertyHashedEventTable {
+    protected final Map<Object, Object> propertyIndex;
+
+    public PropertyHashedEventTableCompact(PropertyHashedEventTableFactory factory) {
+        super(factory);
+        propertyIndex = new HashMap<>();
+    }
+
+    public Set<EventBean> lookup(Object key) {
+        Object bucket = getBucket(key);
+        if (bucket == null) {
+            return null;
+        }
+        return EventTableBuckets.toSet(bucket);
+    }
+
+    public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        Object bucket = getBucket(key);
+        Object updated = EventTableBuckets.add(bucket, theEvent);
+        if (updated != bucket) {
+            putBucket(key, updated);
+        }
+    }
+
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getKey(theEvent);
+        Object bucket = getBucket(key);
+        if (bucket == null) {
+            return;
+        }
+        Object updated = EventTableBuckets.remove(bucket, theEvent);
+        if (updated == null) {
+            removeBucket(key);
+        } else if (updated != bucket) {
+            putBucket(key, updated);
+        }
+    }
+
+    public boolean isEmpty() {
+        return getNumKeys() == 0;
+    }
+
+    public Iterator<EventBean> iterator() {
+        return EventTableBuckets.iterator(bucketIterator());
+    }
+
+    public void clear() {
+        propertyIndex.clear();
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public Integer getNumberOfEvents() {
+        return null;
+    }
+
+    public int getNumKeys() {
+        return propertyIndex.size();
+    }
+
+    public Object getIndex() {
+        return propertyIndex;
+    }
+
+    public Class getProviderClass() {
+        return PropertyHashedEventTable.class;
+    }
+
+    /**
+     * Returns the bucket for the key.
+     *
+     * @param key key, may be null
+     * @return bucket or null when there are no events for the key
+     */
+    protected Object getBucket(Object key) {
+        return propertyIndex.get(key);
+    }
+
+    /**
+     * Puts the bucket for the key.
+     *
+     * @param key    key, may be null
+     * @param bucket bucket
+     */
+    protected void putBucket(Object key, Object bucket) {
+        propertyIndex.put(key, bucket);
+    }
+
+    /**
+     * Removes the bucket of the key.
+     *
+     * @param key key, may be null
+     */
+    protected void removeBucket(Object key) {
+        propertyIndex.remove(key);
+    }
+
+    /**
+     * Returns an iterator over all buckets.
+     *
+     * @return bucket iterator
+     */
+    protected Iterator<Object> bucketIterator() {
+        return propertyIndex.values().iterator();
+    }
+}
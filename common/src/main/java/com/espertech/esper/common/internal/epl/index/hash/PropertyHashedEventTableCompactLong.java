@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.internal.collection.LongObjectHashMap;
+import com.espertech.esper.common.internal.collection.SuperIterator;
+
+import java.util.Iterator;
+
+/**
+ * Non-unique hash index for a single key of type long, keeping buckets in an open-addressing table keyed by primitive long.
+ * Null keys and keys of any other type use the map of the superclass.
+ */
+public class PropertyHashedEventTableCompactLong extends PropertyHashedEventTableCompact {
+    private final LongObjectHashMap<Object> primitiveIndex;
+
+    public PropertyHashedEventTableCompactLong(PropertyHashedEventTableFactory factory) {
+        super(factory);
+        primitiveIndex = new LongObjectHashMap<>();
+    }
+
+    protected Object getBucket(Object key) {
+        if (key instanceof Long) {
+            return primitiveIndex.get(((Long) key).longValue());
+        }
+        return super.getBucket(key);
+    }
+
+    protected void putBucket(Object key, Object bucket) {
+        if (key instanceof Long) {
+            primitiveIndex.put(((Long) key).longValue(), bucket);
+        } else {
+            super.putBucket(key, bucket);
+        }
+    }
+
+    protected void removeBucket(Object key) {
+        if (key instanceof Long) {
+            primitiveIndex.remove(((Long) key).longValue());
+        } else {
+            super.removeBucket(key);
+        }
+    }
+
+    protected Iterator<Object> bucketIterator() {
+        return new SuperIterator<>(primitiveIndex.valueIterator(), super.bucketIterator());
+    }
+
+    public void clear() {
+        primitiveIndex.clear();
+        super.clear();
+    }
+
+    public int getNumKeys() {
+        return primitiveIndex.size() + super.getNumKeys();
+    }
+
+    public Object getIndex() {
+        return primitiveIndex;
+    }
+}
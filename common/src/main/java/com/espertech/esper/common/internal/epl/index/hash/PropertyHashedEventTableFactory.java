@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.epl.index.base.EventTableFactory;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 import java.util.Arrays;
 
@@ -27,14 +28,31 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     protected final String optionalIndexName;
     protected final EventPropertyValueGetter propertyGetter;
     protected final MultiKeyFromObjectArray multiKeyTransform;
+    protected final Class[] keyTypes;
 
     public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform) {
+        this(streamNum, propertyNames, unique, optionalIndexName, propertyGetter, multiKeyTransform, null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param streamNum         stream number
+     * @param propertyNames     indexed properties
+     * @param unique            unique indicator
+     * @param optionalIndexName index name or null
+     * @param propertyGetter    key getter
+     * @param multiKeyTransform fire-and-forget key transform or null
+     * @param keyTypes          key types when known, for non-unique indexes that do not allocate a set per key, or null
+     */
+    public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform, Class[] keyTypes) {
         this.streamNum = streamNum;
         this.propertyNames = propertyNames;
         this.unique = unique;
         this.optionalIndexName = optionalIndexName;
         this.propertyGetter = propertyGetter;
         this.multiKeyTransform = multiKeyTransform;
+        this.keyTypes = keyTypes;
 
         if (propertyGetter == null) {
             throw new IllegalArgumentException("Property-getter is null");
@@ -44,17 +62,34 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     public EventTable[] makeEventTables(AgentInstanceContext agentInstanceContext, Integer subqueryNumber) {
         if (unique) {
             return new EventTable[]{new PropertyHashedEventTableUnique(this)};
-        } else {
-            return new EventTable[]{new PropertyHashedEventTableUnadorned(this)};
         }
+        Class tableClass = getEventTableClass();
+        if (tableClass == PropertyHashedEventTableCompactLong.class) {
+            return new EventTable[]{new PropertyHashedEventTableCompactLong(this)};
+        } else if (tableClass == PropertyHashedEventTableCompactInt.class) {
+            return new EventTable[]{new PropertyHashedEventTableCompactInt(this)};
+        } else if (tableClass == PropertyHashedEventTableCompact.class) {
+            return new EventTable[]{new PropertyHashedEventTableCompact(this)};
+        }
+        return new EventTable[]{new PropertyHashedEventTableUnadorned(this)};
     }
 
     public Class getEventTableClass() {
         if (unique) {
             return PropertyHashedEventTableUnique.class;
-        } else {
+        }
+        if (keyTypes == null) {
             return PropertyHashedEventTableUnadorned.class;
         }
+        if (keyTypes.length == 1) {
+            Class boxed = JavaClassHelper.getBoxedType(keyTypes[0]);
+            if (boxed == Long.class) {
+                return PropertyHashedEventTableCompactLong.class;
+            } else if (boxed == Integer.class) {
+                return PropertyHashedEventTableCompactInt.class;
+            }
+        }
+        return PropertyHashedEventTableCompact.class;
     }
 
     public String toQueryPlan() {
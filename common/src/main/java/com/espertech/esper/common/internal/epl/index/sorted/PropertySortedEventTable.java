@@ -16,11 +16,11 @@ import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
 import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValue;
 
-import java.util.*;
+import java.util.Collection;
+import java.util.Set;
 
 /**
- * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
- * with Object keys that store the property values.
+ * Index that organizes events by the event property values into a single sortable non-nested index.
  */
 public abstract class PropertySortedEventTable implements EventTable {
     protected final PropertySortedEventTableFactory factory;
@@ -118,68 +118,6 @@ public abstract class PropertySortedEventTable implements EventTable {
         return null;
     }
 
-    protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
-            return null;
-        }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
-        }
-        Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        return result;
-    }
-
-    protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
-            return null;
-        }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
-        }
-        Deque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        return result;
-    }
-
-    protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
-            return normalizeCollection(submapTwo);
-        }
-        if (submapTwo.size() == 0) {
-            return normalizeCollection(submapOne);
-        }
-        ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        return result;
-    }
-
-    protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
-            return normalize(submapTwo);
-        }
-        if (submapTwo.size() == 0) {
-            return normalize(submapOne);
-        }
-        Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
-        }
-        return result;
-    }
-
     public String toQueryPlan() {
         return this.getClass().getSimpleName() +
                 " streamNum=" + factory.getOrganization().getStreamNum();
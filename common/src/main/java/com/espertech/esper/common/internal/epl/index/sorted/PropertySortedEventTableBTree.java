@@ -0,0 +1,629 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.SuperIterator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.index.base.EventTableBuckets;
+import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValue;
+import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueEquals;
+import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueRange;
+import com.espertech.esper.common.internal.epl.join.querygraph.QueryGraphRangeEnum;
+import com.espertech.esper.common.internal.filterspec.Range;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.*;
+
+/**
+ * Sorted index that organizes events by the event property value into a B+tree.
+ * <p>
+ * Nodes keep their keys in an array and leaves are linked in key order, so that a range lookup descends once and then
+ * reads consecutive keys without navigable-map views. Subclasses provide the key array, such as a primitive long or double
+ * array for numeric keys. The events of a key are kept as described by {@link EventTableBuckets}.
+ * <p>
+ * Leaves and internal nodes that become empty are removed and neighbouring nodes that together fit into one node are merged.
+ */
+public abstract class PropertySortedEventTableBTree extends PropertySortedEventTable {
+    /**
+     * Largest number of keys of a leaf and of children of an internal node.
+     */
+    protected final static int NODE_CAPACITY = 64;
+
+    private final static int MERGE_THRESHOLD = NODE_CAPACITY / 4;
+
+    protected final Set<EventBean> nullKeyedValues;
+
+    private final Object splitKey;
+    private Node root;
+    private Node firstLeaf;
+    private int numKeys;
+
+    /**
+     * Returns a new key array.
+     *
+     * @param capacity capacity
+     * @return key array
+     */
+    protected abstract Object newKeys(int capacity);
+
+    /**
+     * Search the key array, same as {@link Arrays#binarySearch(long[], int, int, long)}.
+     *
+     * @param keys  key array
+     * @param count number of keys
+     * @param key   key, coerced, not null
+     * @return index of the key, or (-(insertion point) - 1)
+     */
+    protected abstract int search(Object keys, int count, Object key);
+
+    /**
+     * Compare the key at an index to a key.
+     *
+     * @param keys  key array
+     * @param index index
+     * @param key   key, coerced, not null
+     * @return negative, zero or positive when the key at the index is less, equal or greater
+     */
+    protected abstract int compare(Object keys, int index, Object key);
+
+    /**
+     * Compare two keys.
+     *
+     * @param first  key, coerced, not null
+     * @param second key, coerced, not null
+     * @return negative, zero or positive when the first key is less, equal or greater
+     */
+    protected abstract int compareKeys(Object first, Object second);
+
+    /**
+     * Set a key.
+     *
+     * @param keys  key array
+     * @param index index
+     * @param key   key, coerced, not null
+     */
+    protected abstract void setKey(Object keys, int index, Object key);
+
+    /**
+     * Release keys that are no longer used, for key arrays that hold references.
+     *
+     * @param keys key array
+     * @param from start index, inclusive
+     * @param to   end index, exclusive
+     */
+    protected void clearKeys(Object keys, int from, int to) {
+    }
+
+    public PropertySortedEventTableBTree(PropertySortedEventTableFactory factory) {
+        super(factory);
+        nullKeyedValues = new LinkedHashSet<>();
+        splitKey = newKeys(1);
+        root = newLeaf();
+        firstLeaf = root;
+    }
+
+    protected Object coerce(Object value) {
+        if (value != null && !value.getClass().equals(factory.valueType)) {
+            if (value instanceof Number) {
+                return JavaClassHelper.coerceBoxed((Number) value, factory.valueType);
+            }
+        }
+        return value;
+    }
+
+    public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = coerce(getIndexedValue(theEvent));
+        if (key == null) {
+            nullKeyedValues.add(theEvent);
+            return;
+        }
+        Node right = insert(root, key, theEvent);
+        if (right != null) {
+            Node newRoot = newInternal();
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            System.arraycopy(splitKey, 0, newRoot.keys, 0, 1);
+            newRoot.count = 2;
+            root = newRoot;
+        }
+    }
+
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        Object key = getIndexedValue(theEvent);
+        if (key == null) {
+            nullKeyedValues.remove(theEvent);
+            return;
+        }
+        key = coerce(key);
+        delete(root, key, theEvent);
+        while (root.children != null && root.count == 1) {
+            root = root.children[0];
+        }
+        if (root.children != null && root.count == 0) {
+            root = newLeaf();
+            firstLeaf = root;
+        }
+    }
+
+    public Set<EventBean> lookupRange(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        Collector collector = new Collector(true);
+        if (!collectRange(coerce(keyStart), includeStart, coerce(keyEnd), includeEnd, allowRangeReversal, collector)) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) collector.result();
+    }
+
+    public Collection<EventBean> lookupRangeColl(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptyList();
+        }
+        Collector collector = new Collector(false);
+        if (!collectRange(coerce(keyStart), includeStart, coerce(keyEnd), includeEnd, allowRangeReversal, collector)) {
+            return Collections.emptyList();
+        }
+        return collector.result();
+    }
+
+    public Set<EventBean> lookupRangeInverted(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        Collector collector = new Collector(true);
+        scan(null, false, coerce(keyStart), !includeStart, collector);
+        scan(coerce(keyEnd), !includeEnd, null, false, collector);
+        return (Set<EventBean>) collector.result();
+    }
+
+    public Collection<EventBean> lookupRangeInvertedColl(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        Collector collector = new Collector(false);
+        scan(null, false, coerce(keyStart), !includeStart, collector);
+        scan(coerce(keyEnd), !includeEnd, null, false, collector);
+        return collector.result();
+    }
+
+    public Set<EventBean> lookupLess(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scan(null, false, coerce(keyStart), false, new Collector(true)).result();
+    }
+
+    public Collection<EventBean> lookupLessThenColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scan(null, false, coerce(keyStart), false, new Collector(false)).result();
+    }
+
+    public Set<EventBean> lookupLessEqual(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scan(null, false, coerce(keyStart), true, new Collector(true)).result();
+    }
+
+    public Collection<EventBean> lookupLessEqualColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scan(null, false, coerce(keyStart), true, new Collector(false)).result();
+    }
+
+    public Set<EventBean> lookupGreaterEqual(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scan(coerce(keyStart), true, null, false, new Collector(true)).result();
+    }
+
+    public Collection<EventBean> lookupGreaterEqualColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scan(coerce(keyStart), true, null, false, new Collector(false)).result();
+    }
+
+    public Set<EventBean> lookupGreater(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scan(coerce(keyStart), false, null, false, new Collector(true)).result();
+    }
+
+    public Collection<EventBean> lookupGreaterColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scan(coerce(keyStart), false, null, false, new Collector(false)).result();
+    }
+
+    /**
+     * Returns the events for the key.
+     *
+     * @param key key
+     * @return events or null if none found
+     */
+    public Set<EventBean> lookupEquals(Object key) {
+        if (key == null) {
+            return null;
+        }
+        key = coerce(key);
+        Node node = root;
+        while (node.children != null) {
+            node = node.children[childIndex(node, key)];
+        }
+        int index = search(node.keys, node.count, key);
+        return index < 0 ? null : EventTableBuckets.toSet(node.buckets[index]);
+    }
+
+    public Set<EventBean> lookupConstants(RangeIndexLookupValue lookupValueBase) {
+        if (lookupValueBase instanceof RangeIndexLookupValueEquals) {
+            RangeIndexLookupValueEquals equals = (RangeIndexLookupValueEquals) lookupValueBase;
+            return lookupEquals(equals.getValue());
+        }
+
+        RangeIndexLookupValueRange lookupValue = (RangeIndexLookupValueRange) lookupValueBase;
+        QueryGraphRangeEnum operator = lookupValue.getOperator();
+        if (operator.isRange()) {
+            Range range = (Range) lookupValue.getValue();
+            if (operator.isRangeInverted()) {
+                return lookupRangeInverted(range.getLowEndpoint(), operator.isIncludeStart(), range.getHighEndpoint(), operator.isIncludeEnd());
+            }
+            return lookupRange(range.getLowEndpoint(), operator.isIncludeStart(), range.getHighEndpoint(), operator.isIncludeEnd(), lookupValue.isAllowRangeReverse());
+        } else if (operator == QueryGraphRangeEnum.GREATER) {
+            return lookupGreater(lookupValue.getValue());
+        } else if (operator == QueryGraphRangeEnum.GREATER_OR_EQUAL) {
+            return lookupGreaterEqual(lookupValue.getValue());
+        } else if (operator == QueryGraphRangeEnum.LESS) {
+            return lookupLess(lookupValue.getValue());
+        } else if (operator == QueryGraphRangeEnum.LESS_OR_EQUAL) {
+            return lookupLessEqual(lookupValue.getValue());
+        } else {
+            throw new IllegalArgumentException("Unrecognized operator '" + operator + "'");
+        }
+    }
+
+    public Integer getNumberOfEvents() {
+        return null;
+    }
+
+    public int getNumKeys() {
+        return numKeys;
+    }
+
+    public Object getIndex() {
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return numKeys == 0;
+    }
+
+    public Iterator<EventBean> iterator() {
+        Iterator<EventBean> keyed = EventTableBuckets.iterator(new LeafBucketIterator(firstLeaf));
+        if (nullKeyedValues.isEmpty()) {
+            return keyed;
+        }
+        return new SuperIterator<>(keyed, nullKeyedValues.iterator());
+    }
+
+    public void clear() {
+        root = newLeaf();
+        firstLeaf = root;
+        numKeys = 0;
+        nullKeyedValues.clear();
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public Class getProviderClass() {
+        return PropertySortedEventTable.class;
+    }
+
+    private boolean collectRange(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal, Collector collector) {
+        if (compareKeys(keyStart, keyEnd) > 0) {
+            if (!allowRangeReversal) {
+                return false;
+            }
+            scan(keyEnd, includeStart, keyStart, includeEnd, collector);
+            return true;
+        }
+        scan(keyStart, includeStart, keyEnd, includeEnd, collector);
+        return true;
+    }
+
+    /**
+     * Provides the buckets of the keys between the start and end, in key order, to the collector.
+     *
+     * @param keyStart     start key or null to start at the smallest key
+     * @param includeStart start inclusive
+     * @param keyEnd       end key or null to end at the largest key
+     * @param includeEnd   end inclusive
+     * @param collector    collector
+     * @return collector
+     */
+    private Collector scan(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, Collector collector) {
+        Node leaf;
+        int index;
+        if (keyStart == null) {
+            leaf = firstLeaf;
+            index = 0;
+        } else {
+            leaf = root;
+            while (leaf.children != null) {
+                leaf = leaf.children[childIndex(leaf, keyStart)];
+            }
+            index = search(leaf.keys, leaf.count, keyStart);
+            if (index >= 0) {
+                index = includeStart ? index : index + 1;
+            } else {
+                index = -index - 1;
+            }
+        }
+        while (leaf != null) {
+            for (; index < leaf.count; index++) {
+                if (keyEnd != null) {
+                    int compared = compare(leaf.keys, index, keyEnd);
+                    if (compared > 0 || (compared == 0 && !includeEnd)) {
+                        return collector;
+                    }
+                }
+                collector.add(leaf.buckets[index]);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+        return collector;
+    }
+
+    private int childIndex(Node node, Object key) {
+        int index = search(node.keys, node.count - 1, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Node insert(Node node, Object key, EventBean theEvent) {
+        if (node.children == null) {
+            int index = search(node.keys, node.count, key);
+            if (index >= 0) {
+                node.buckets[index] = EventTableBuckets.add(node.buckets[index], theEvent);
+                return null;
+            }
+            index = -index - 1;
+            System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+            System.arraycopy(node.buckets, index, node.buckets, index + 1, node.count - index);
+            setKey(node.keys, index, key);
+            node.buckets[index] = theEvent;
+            node.count++;
+            numKeys++;
+            return node.count > NODE_CAPACITY ? splitLeaf(node) : null;
+        }
+
+        int index = childIndex(node, key);
+        Node right = insert(node.children[index], key, theEvent);
+        if (right == null) {
+            return null;
+        }
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.count - 1 - index);
+        System.arraycopy(splitKey, 0, node.keys, index, 1);
+        System.arraycopy(node.children, index + 1, node.children, index + 2, node.count - index - 1);
+        node.children[index + 1] = right;
+        node.count++;
+        return node.count > NODE_CAPACITY ? splitInternal(node) : null;
+    }
+
+    private Node splitLeaf(Node leaf) {
+        Node right = newLeaf();
+        int keep = leaf.count / 2;
+        int move = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, move);
+        System.arraycopy(leaf.buckets, keep, right.buckets, 0, move);
+        Arrays.fill(leaf.buckets, keep, leaf.count, null);
+        clearKeys(leaf.keys, keep, leaf.count);
+        leaf.count = keep;
+        right.count = move;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+        System.arraycopy(right.keys, 0, splitKey, 0, 1);
+        return right;
+    }
+
+    private Node splitInternal(Node node) {
+        Node right = newInternal();
+        int keep = node.count / 2;
+        int move = node.count - keep;
+        System.arraycopy(node.children, keep, right.children, 0, move);
+        Arrays.fill(node.children, keep, node.count, null);
+        System.arraycopy(node.keys, keep, right.keys, 0, move - 1);
+        System.arraycopy(node.keys, keep - 1, splitKey, 0, 1);
+        clearKeys(node.keys, keep - 1, node.count - 1);
+        node.count = keep;
+        right.count = move;
+        return right;
+    }
+
+    private void delete(Node node, Object key, EventBean theEvent) {
+        if (node.children == null) {
+            int index = search(node.keys, node.count, key);
+            if (index < 0) {
+                return;
+            }
+            Object bucket = EventTableBuckets.remove(node.buckets[index], theEvent);
+            if (bucket != null) {
+                node.buckets[index] = bucket;
+                return;
+            }
+            System.arraycopy(node.keys, index + 1, node.keys, index, node.count - index - 1);
+            System.arraycopy(node.buckets, index + 1, node.buckets, index, node.count - index - 1);
+            node.count--;
+            node.buckets[node.count] = null;
+            clearKeys(node.keys, node.count, node.count + 1);
+            numKeys--;
+            return;
+        }
+
+        int index = childIndex(node, key);
+        Node child = node.children[index];
+        delete(child, key, theEvent);
+        if (child.count == 0) {
+            if (child.children == null) {
+                unlink(child);
+            }
+            removeChild(node, index);
+        } else if (child.count < MERGE_THRESHOLD && node.count > 1) {
+            int left = index == node.count - 1 ? index - 1 : index;
+            if (node.children[left].count + node.children[left + 1].count <= NODE_CAPACITY) {
+                merge(node, left);
+            }
+        }
+    }
+
+    private void merge(Node parent, int leftIndex) {
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+        if (left.children == null) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            System.arraycopy(right.buckets, 0, left.buckets, left.count, right.count);
+            left.count += right.count;
+            unlink(right);
+        } else {
+            // the separator of the two nodes in the parent becomes the separator of the moved children
+            System.arraycopy(parent.keys, leftIndex, left.keys, left.count - 1, 1);
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+            System.arraycopy(right.children, 0, left.children, left.count, right.count);
+            left.count += right.count;
+        }
+        removeChild(parent, leftIndex + 1);
+    }
+
+    private void removeChild(Node node, int index) {
+        // the separator left of the child goes, or the separator right of it for the first child
+        int separator = index == 0 ? 0 : index - 1;
+        if (node.count > 1) {
+            System.arraycopy(node.keys, separator + 1, node.keys, separator, node.count - 2 - separator);
+        }
+        System.arraycopy(node.children, index + 1, node.children, index, node.count - index - 1);
+        node.count--;
+        node.children[node.count] = null;
+        if (node.count > 0) {
+            clearKeys(node.keys, node.count - 1, node.count);
+        }
+    }
+
+    private void unlink(Node leaf) {
+        if (leaf.prev != null) {
+            leaf.prev.next = leaf.next;
+        } else {
+            firstLeaf = leaf.next;
+        }
+        if (leaf.next != null) {
+            leaf.next.prev = leaf.prev;
+        }
+    }
+
+    private Node newLeaf() {
+        Node leaf = new Node();
+        leaf.keys = newKeys(NODE_CAPACITY + 1);
+        leaf.buckets = new Object[NODE_CAPACITY + 1];
+        return leaf;
+    }
+
+    private Node newInternal() {
+        Node node = new Node();
+        node.keys = newKeys(NODE_CAPACITY);
+        node.children = new Node[NODE_CAPACITY + 1];
+        return node;
+    }
+
+    /**
+     * A leaf has keys and buckets and a count of keys. An internal node has children and a count of children,
+     * and keys that separate the children, with the key at index i being the smallest key of the child at index i + 1.
+     */
+    private static final class Node {
+        private Object keys;
+        private int count;
+        private Object[] buckets;
+        private Node[] children;
+        private Node next;
+        private Node prev;
+    }
+
+    private static final class Collector {
+        private final boolean isSet;
+        private Object first;
+        private Collection<EventBean> result;
+
+        Collector(boolean isSet) {
+            this.isSet = isSet;
+        }
+
+        void add(Object bucket) {
+            if (first == null) {
+                first = bucket;
+                return;
+            }
+            if (result == null) {
+                result = isSet ? new LinkedHashSet<>() : new ArrayDeque<>();
+                EventTableBuckets.addTo(first, result);
+            }
+            EventTableBuckets.addTo(bucket, result);
+        }
+
+        Collection<EventBean> result() {
+            if (result != null) {
+                return result;
+            }
+            return first == null ? null : EventTableBuckets.toSet(first);
+        }
+    }
+
+    private static final class LeafBucketIterator implements Iterator<Object> {
+        private Node leaf;
+        private int index;
+
+        LeafBucketIterator(Node leaf) {
+            this.leaf = leaf;
+            skipEmpty();
+        }
+
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        public Object next() {
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            Object bucket = leaf.buckets[index++];
+            skipEmpty();
+            return bucket;
+        }
+
+        private void skipEmpty() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+}
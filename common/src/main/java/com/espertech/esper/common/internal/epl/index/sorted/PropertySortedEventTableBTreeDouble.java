@@ -0,0 +1,44 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import java.util.Arrays;
+
+/**
+ * B+tree sorted index for floating-point keys, keeping keys in primitive double arrays.
+ * Keys are ordered the same as {@link Double#compareTo(Double)}.
+ */
+public class PropertySortedEventTableBTreeDouble extends PropertySortedEventTableBTree {
+
+    public PropertySortedEventTableBTreeDouble(PropertySortedEventTableFactory factory) {
+        super(factory);
+    }
+
+    protected Object newKeys(int capacity) {
+        return new double[capacity];
+    }
+
+    protected int search(Object keys, int count, Object key) {
+        return Arrays.binarySearch((double[]) keys, 0, count, ((Number) key).doubleValue());
+    }
+
+    protected int compare(Object keys, int index, Object key) {
+        return Double.compare(((double[]) keys)[index], ((Number) key).doubleValue());
+    }
+
+    protected int compareKeys(Object first, Object second) {
+        return Double.compare(((Number) first).doubleValue(), ((Number) second).doubleValue());
+    }
+
+    protected void setKey(Object keys, int index, Object key) {
+        ((double[]) keys)[index] = ((Number) key).doubleValue();
+    }
+}
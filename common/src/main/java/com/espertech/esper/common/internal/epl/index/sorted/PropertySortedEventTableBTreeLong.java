@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import java.util.Arrays;
+
+/**
+ * B+tree sorted index for integral keys, keeping keys in primitive long arrays.
+ */
+public class PropertySortedEventTableBTreeLong extends PropertySortedEventTableBTree {
+
+    public PropertySortedEventTableBTreeLong(PropertySortedEventTableFactory factory) {
+        super(factory);
+    }
+
+    protected Object newKeys(int capacity) {
+        return new long[capacity];
+    }
+
+    protected int search(Object keys, int count, Object key) {
+        return Arrays.binarySearch((long[]) keys, 0, count, ((Number) key).longValue());
+    }
+
+    protected int compare(Object keys, int index, Object key) {
+        return Long.compare(((long[]) keys)[index], ((Number) key).longValue());
+    }
+
+    protected int compareKeys(Object first, Object second) {
+        return Long.compare(((Number) first).longValue(), ((Number) second).longValue());
+    }
+
+    protected void setKey(Object keys, int index, Object key) {
+        ((long[]) keys)[index] = ((Number) key).longValue();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import java.util.Arrays;
+
+/**
+ * B+tree sorted index for keys that are comparable, keeping keys in object arrays.
+ */
+public class PropertySortedEventTableBTreeObject extends PropertySortedEventTableBTree {
+
+    public PropertySortedEventTableBTreeObject(PropertySortedEventTableFactory factory) {
+        super(factory);
+    }
+
+    protected Object newKeys(int capacity) {
+        return new Object[capacity];
+    }
+
+    protected int search(Object keys, int count, Object key) {
+        return Arrays.binarySearch((Object[]) keys, 0, count, key);
+    }
+
+    protected int compare(Object keys, int index, Object key) {
+        return ((Comparable) ((Object[]) keys)[index]).compareTo(key);
+    }
+
+    protected int compareKeys(Object first, Object second) {
+        return ((Comparable) first).compareTo(second);
+    }
+
+    protected void setKey(Object keys, int index, Object key) {
+        ((Object[]) keys)[index] = key;
+    }
+
+    protected void clearKeys(Object keys, int from, int to) {
+        Arrays.fill((Object[]) keys, from, to, null);
+    }
+}
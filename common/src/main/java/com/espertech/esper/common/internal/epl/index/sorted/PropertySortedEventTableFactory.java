@@ -16,10 +16,11 @@ import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.epl.index.base.EventTableFactory;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization;
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 /**
- * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
- * with Object keys that store the property values.
+ * Index that organizes events by the event property values into a single B+tree sortable non-nested index,
+ * with primitive keys for integral and floating-point property values.
  */
 public class PropertySortedEventTableFactory implements EventTableFactory {
     protected final int streamNum;
@@ -35,7 +36,13 @@ public class PropertySortedEventTableFactory implements EventTableFactory {
     }
 
     public EventTable[] makeEventTables(AgentInstanceContext agentInstanceContext, Integer subqueryNumber) {
-        return new EventTable[]{new PropertySortedEventTableImpl(this)};
+        Class boxed = JavaClassHelper.getBoxedType(valueType);
+        if (boxed == Long.class || boxed == Integer.class || boxed == Short.class || boxed == Byte.class) {
+            return new EventTable[]{new PropertySortedEventTableBTreeLong(this)};
+        } else if (boxed == Double.class || boxed == Float.class) {
+            return new EventTable[]{new PropertySortedEventTableBTreeDouble(this)};
+        }
+        return new EventTable[]{new PropertySortedEventTableBTreeObject(this)};
     }
 
     public Class getEventTableClass() {
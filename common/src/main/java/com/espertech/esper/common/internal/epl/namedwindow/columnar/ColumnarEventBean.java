@@ -0,0 +1,115 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.columnar;
+
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.core.EventBeanSPI;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+/**
+ * Object-array event that is a row of a {@link ColumnarEventStore}.
+ * <p>
+ * The underlying array is materialized from the columns when first read by {@link #getUnderlying()} or {@link #getProperties()},
+ * and the chunk keeps the most recently materialized row so that consecutive reads, such as by compiled getters, materialize once.
+ * The returned array is shared with other readers of the row and must not be modified.
+ * Reading a single simple property by name does not materialize the row.
+ * <p>
+ * When the event is removed from the named window the store detaches it, i.e. the event keeps its own values,
+ * so that the chunk can release the row. Setting the property values also detaches the event from the store.
+ */
+public class ColumnarEventBean implements EventBeanSPI, ObjectArrayBackedEventBean {
+    private final ColumnarEventChunk chunk;
+    private final int row;
+    private final ObjectArrayEventType eventType;
+    private volatile Object[] detached;
+
+    /**
+     * Ctor.
+     *
+     * @param chunk     chunk holding the row
+     * @param row       row
+     * @param eventType event type
+     */
+    public ColumnarEventBean(ColumnarEventChunk chunk, int row, ObjectArrayEventType eventType) {
+        this.chunk = chunk;
+        this.row = row;
+        this.eventType = eventType;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public Object[] getProperties() {
+        Object[] values = detached;
+        if (values != null) {
+            return values;
+        }
+        values = chunk.read(row);
+        // the row is only released from the chunk after the event is detached
+        return values != null ? values : detached;
+    }
+
+    public void setPropertyValues(Object[] objects) {
+        this.detached = objects;
+    }
+
+    public void setUnderlying(Object underlying) {
+        setPropertyValues((Object[]) underlying);
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        Object[] values = detached;
+        if (values == null) {
+            Integer index = eventType.getPropertiesIndexes().get(property);
+            if (index != null) {
+                Object value = chunk.read(row, index);
+                if (value != ColumnarEventChunk.REMOVED) {
+                    return value;
+                }
+            }
+        }
+        EventPropertyGetter getter = eventType.getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = eventType.getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    ColumnarEventChunk getChunk() {
+        return chunk;
+    }
+
+    int getRow() {
+        return row;
+    }
+
+    void detach() {
+        if (detached == null) {
+            detached = chunk.read(row);
+        }
+    }
+}
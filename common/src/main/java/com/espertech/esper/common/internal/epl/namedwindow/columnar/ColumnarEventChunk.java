@@ -0,0 +1,310 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static com.espertech.esper.common.internal.epl.namedwindow.columnar.ColumnarEventStore.*;
+
+/**
+ * Fixed number of rows of a {@link ColumnarEventStore}.
+ * <p>
+ * Boolean, character and numeric values are kept off-heap in a direct buffer.
+ * A per-column bitmap marks rows whose value is not in the buffer, i.e. null values and values
+ * that are not of the column type, and such values other than null are kept in an on-heap overflow array.
+ * <p>
+ * Rows are written once by a single thread. Removed rows are marked by the store and, once at most a quarter of the
+ * rows remain, the remaining rows are copied to smaller storage that replaces the storage of the chunk. Storage is never
+ * modified after it is replaced, so that readers on other threads continue to read from the storage they obtained.
+ * <p>
+ * The chunk keeps the most recently materialized row so that consecutive reads of the same event materialize it once.
+ */
+public class ColumnarEventChunk {
+    /**
+     * Returned by {@link #read(int, int)} for a removed row that is no longer in storage.
+     */
+    final static Object REMOVED = new Object();
+
+    private final ColumnarEventStore store;
+    private final long[] removed = new long[CHUNK_ROWS >>> 6];
+    private volatile Rows rows;
+    private Materialized last;
+    private int count;
+    private int live;
+
+    ColumnarEventChunk(ColumnarEventStore store) {
+        this.store = store;
+        this.rows = new Rows(store, CHUNK_ROWS, null);
+    }
+
+    boolean isFull() {
+        return count == CHUNK_ROWS;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return rows
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of rows not removed.
+     *
+     * @return rows
+     */
+    public int getLive() {
+        return live;
+    }
+
+    /**
+     * Returns the number of rows that the storage can hold, which is less than the number of rows after compaction.
+     *
+     * @return rows
+     */
+    public int getCapacity() {
+        return rows.capacity;
+    }
+
+    ColumnarEventStore getStore() {
+        return store;
+    }
+
+    int append(Object[] values) {
+        int row = count;
+        Rows storage = rows;
+        int numProperties = store.getNumProperties();
+        for (int i = 0; i < numProperties; i++) {
+            storage.write(row, i, i < values.length ? values[i] : null);
+        }
+        count++;
+        live++;
+        return row;
+    }
+
+    /**
+     * Returns the values of a row. The array is shared by readers of the row and must not be modified.
+     *
+     * @param row row
+     * @return values or null when the row is removed and no longer in storage
+     */
+    public Object[] read(int row) {
+        Materialized materialized = last;
+        if (materialized != null && materialized.row == row) {
+            return materialized.values;
+        }
+        Rows storage = rows;
+        int slot = storage.slotOf(row);
+        if (slot < 0) {
+            return null;
+        }
+        Object[] values = new Object[store.getNumProperties()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = storage.read(slot, i);
+        }
+        last = new Materialized(row, values);
+        return values;
+    }
+
+    /**
+     * Returns the value of a property of a row.
+     *
+     * @param row           row
+     * @param propertyIndex property index
+     * @return value or {@link #REMOVED} when the row is removed and no longer in storage
+     */
+    public Object read(int row, int propertyIndex) {
+        Materialized materialized = last;
+        if (materialized != null && materialized.row == row) {
+            return materialized.values[propertyIndex];
+        }
+        Rows storage = rows;
+        int slot = storage.slotOf(row);
+        return slot < 0 ? REMOVED : storage.read(slot, propertyIndex);
+    }
+
+    /**
+     * Marks a row as removed.
+     *
+     * @param row row
+     * @return false when the row was already removed
+     */
+    boolean remove(int row) {
+        long bit = 1L << row;
+        if ((removed[row >>> 6] & bit) != 0) {
+            return false;
+        }
+        removed[row >>> 6] |= bit;
+        live--;
+        return true;
+    }
+
+    /**
+     * Copies the remaining rows to smaller storage when at most a quarter of the rows of the storage remain.
+     * Releases the storage when no row remains.
+     */
+    void compactIfSparse() {
+        Rows storage = rows;
+        if (live * 4 > storage.capacity) {
+            return;
+        }
+        short[] slots = new short[live];
+        int index = 0;
+        for (int row = 0; row < count; row++) {
+            if ((removed[row >>> 6] & (1L << row)) == 0) {
+                slots[index++] = (short) row;
+            }
+        }
+        Rows compacted = new Rows(store, live, slots);
+        int numProperties = store.getNumProperties();
+        for (int slot = 0; slot < slots.length; slot++) {
+            int from = storage.slotOf(slots[slot]);
+            for (int i = 0; i < numProperties; i++) {
+                compacted.write(slot, i, storage.read(from, i));
+            }
+        }
+        last = null;
+        rows = compacted;
+    }
+
+    private static class Materialized {
+        private final int row;
+        private final Object[] values;
+
+        Materialized(int row, Object[] values) {
+            this.row = row;
+            this.values = values;
+        }
+    }
+
+    private static class Rows {
+        private final ColumnarEventStore store;
+        private final int capacity;
+        private final short[] slots;
+        private final ByteBuffer fixed;
+        private final int[] fixedOffsets;
+        private final long[][] absent;
+        private final Object[][] overflow;
+        private final Object[][] objects;
+
+        /**
+         * Ctor.
+         *
+         * @param store store
+         * @param size  number of rows
+         * @param slots ascending rows that the storage holds, or null when the storage holds all rows
+         */
+        Rows(ColumnarEventStore store, int size, short[] slots) {
+            this.store = store;
+            this.slots = slots;
+            // keep the capacity a multiple of eight rows, so that all values are aligned
+            this.capacity = (size + 7) & ~7;
+            int numFixed = store.getFixedTypes().length;
+            this.fixed = numFixed == 0 || capacity == 0 ? null : ByteBuffer.allocateDirect(store.getFixedBytes() / CHUNK_ROWS * capacity).order(ByteOrder.nativeOrder());
+            this.fixedOffsets = new int[numFixed];
+            for (int i = 0; i < numFixed; i++) {
+                fixedOffsets[i] = store.getFixedOffsets()[i] / CHUNK_ROWS * capacity;
+            }
+            this.absent = new long[numFixed][(capacity + 63) >>> 6];
+            this.overflow = new Object[numFixed][];
+            this.objects = new Object[store.getNumObjectColumns()][capacity];
+        }
+
+        int slotOf(int row) {
+            if (slots == null) {
+                return row;
+            }
+            int slot = Arrays.binarySearch(slots, (short) row);
+            return slot < 0 ? -1 : slot;
+        }
+
+        Object read(int slot, int propertyIndex) {
+            int kind = store.getKinds()[propertyIndex];
+            int column = store.getColumns()[propertyIndex];
+            if (kind == KIND_OBJECT) {
+                return objects[column][slot];
+            }
+            if ((absent[column][slot >>> 6] & (1L << slot)) != 0) {
+                Object[] values = overflow[column];
+                return values == null ? null : values[slot];
+            }
+            int offset = fixedOffsets[column];
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    return fixed.get(offset + slot) != 0;
+                case KIND_BYTE:
+                    return fixed.get(offset + slot);
+                case KIND_SHORT:
+                    return fixed.getShort(offset + slot * 2);
+                case KIND_CHAR:
+                    return fixed.getChar(offset + slot * 2);
+                case KIND_INT:
+                    return fixed.getInt(offset + slot * 4);
+                case KIND_LONG:
+                    return fixed.getLong(offset + slot * 8);
+                case KIND_FLOAT:
+                    return fixed.getFloat(offset + slot * 4);
+                default:
+                    return fixed.getDouble(offset + slot * 8);
+            }
+        }
+
+        void write(int slot, int propertyIndex, Object value) {
+            int kind = store.getKinds()[propertyIndex];
+            int column = store.getColumns()[propertyIndex];
+            if (kind == KIND_OBJECT) {
+                objects[column][slot] = value;
+                return;
+            }
+            if (value == null || value.getClass() != store.getFixedTypes()[column]) {
+                absent[column][slot >>> 6] |= 1L << slot;
+                if (value != null) {
+                    if (overflow[column] == null) {
+                        overflow[column] = new Object[capacity];
+                    }
+                    overflow[column][slot] = value;
+                }
+                return;
+            }
+            int offset = fixedOffsets[column];
+            switch (kind) {
+                case KIND_BOOLEAN:
+                    fixed.put(offset + slot, (Boolean) value ? (byte) 1 : (byte) 0);
+                    break;
+                case KIND_BYTE:
+                    fixed.put(offset + slot, (Byte) value);
+                    break;
+                case KIND_SHORT:
+                    fixed.putShort(offset + slot * 2, (Short) value);
+                    break;
+                case KIND_CHAR:
+                    fixed.putChar(offset + slot * 2, (Character) value);
+                    break;
+                case KIND_INT:
+                    fixed.putInt(offset + slot * 4, (Integer) value);
+                    break;
+                case KIND_LONG:
+                    fixed.putLong(offset + slot * 8, (Long) value);
+                    break;
+                case KIND_FLOAT:
+                    fixed.putFloat(offset + slot * 4, (Float) value);
+                    break;
+                default:
+                    fixed.putDouble(offset + slot * 8, (Double) value);
+                    break;
+            }
+        }
+    }
+}
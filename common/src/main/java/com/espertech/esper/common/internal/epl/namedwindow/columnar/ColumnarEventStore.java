@@ -0,0 +1,250 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.columnar;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.util.Map;
+
+/**
+ * Column-by-column storage for the events of a named window of object-array event type.
+ * <p>
+ * Rows are appended to chunks of a fixed number of rows. A chunk keeps the boolean, character and numeric
+ * columns in one direct (off-heap) buffer, one region per column, and keeps all other columns in
+ * an object array per column.
+ * Each stored row is represented by a {@link ColumnarEventBean} that reads its values from the chunk.
+ * <p>
+ * Rows are never overwritten. Events that leave the named window are detached, i.e. keep their own values,
+ * so that they remain valid and safe to read from other threads.
+ * A chunk other than the chunk receiving new rows copies its remaining rows to smaller storage once
+ * at most a quarter of the rows of its storage remain, and releases its storage when no row remains.
+ * Therefore the storage retained for a chunk is at most four times the storage of its remaining rows,
+ * for example a keep-all named window that deletes every other event retains the full storage of each chunk.
+ * <p>
+ * Not thread-safe, the named window lock serializes appending.
+ */
+public class ColumnarEventStore {
+    /**
+     * Number of rows per chunk.
+     */
+    public final static int CHUNK_ROWS = 1024;
+
+    final static int KIND_OBJECT = 0;
+    final static int KIND_BOOLEAN = 1;
+    final static int KIND_BYTE = 2;
+    final static int KIND_SHORT = 3;
+    final static int KIND_CHAR = 4;
+    final static int KIND_INT = 5;
+    final static int KIND_LONG = 6;
+    final static int KIND_FLOAT = 7;
+    final static int KIND_DOUBLE = 8;
+
+    private final ObjectArrayEventType eventType;
+    private final int numProperties;
+    private final int[] kinds;
+    private final int[] columns;
+    private final Class[] fixedTypes;
+    private final int[] fixedOffsets;
+    private final int fixedBytes;
+    private final int numObjectColumns;
+
+    private ColumnarEventChunk current;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType named window event type
+     */
+    public ColumnarEventStore(ObjectArrayEventType eventType) {
+        this.eventType = eventType;
+        Map<String, Integer> indexes = eventType.getPropertiesIndexes();
+        int max = -1;
+        for (Integer index : indexes.values()) {
+            max = Math.max(max, index);
+        }
+        numProperties = max + 1;
+        kinds = new int[numProperties];
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            kinds[entry.getValue()] = kindOf(eventType.getPropertyType(entry.getKey()));
+        }
+
+        columns = new int[numProperties];
+        int numFixed = 0;
+        int numObject = 0;
+        for (int i = 0; i < numProperties; i++) {
+            columns[i] = kinds[i] == KIND_OBJECT ? numObject++ : numFixed++;
+        }
+        numObjectColumns = numObject;
+
+        // each column region is a multiple of eight bytes as the number of rows is, so that all values are aligned
+        fixedTypes = new Class[numFixed];
+        fixedOffsets = new int[numFixed];
+        int offset = 0;
+        for (int i = 0; i < numProperties; i++) {
+            if (kinds[i] != KIND_OBJECT) {
+                fixedTypes[columns[i]] = boxedTypeOf(kinds[i]);
+                fixedOffsets[columns[i]] = offset;
+                offset += widthOf(kinds[i]) * CHUNK_ROWS;
+            }
+        }
+        fixedBytes = offset;
+    }
+
+    /**
+     * Appends the events and returns the columnar events that represent the rows.
+     *
+     * @param events events of the named window type
+     * @return columnar events, in the same order
+     */
+    public EventBean[] add(EventBean[] events) {
+        EventBean[] result = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            result[i] = add(events[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Appends an event and returns the columnar event that represents the row.
+     * Returns the same event when it is already a columnar event.
+     *
+     * @param event event of the named window type
+     * @return columnar event
+     */
+    public EventBean add(EventBean event) {
+        if (event instanceof ColumnarEventBean) {
+            return event;
+        }
+        Object[] values = event instanceof ObjectArrayBackedEventBean ? ((ObjectArrayBackedEventBean) event).getProperties() : (Object[]) event.getUnderlying();
+        if (current == null || current.isFull()) {
+            current = new ColumnarEventChunk(this);
+        }
+        int row = current.append(values);
+        return new ColumnarEventBean(current, row, eventType);
+    }
+
+    /**
+     * Marks the rows of the events removed, detaches the events and compacts chunks that have few remaining rows.
+     * Ignores events that are not rows of this store and events already removed.
+     *
+     * @param events events removed from the named window
+     */
+    public void remove(EventBean[] events) {
+        for (EventBean event : events) {
+            if (!(event instanceof ColumnarEventBean)) {
+                continue;
+            }
+            ColumnarEventBean columnar = (ColumnarEventBean) event;
+            ColumnarEventChunk chunk = columnar.getChunk();
+            if (chunk.getStore() != this || !chunk.remove(columnar.getRow())) {
+                continue;
+            }
+            columnar.detach();
+            if (chunk != current) {
+                chunk.compactIfSparse();
+            }
+        }
+    }
+
+    public ObjectArrayEventType getEventType() {
+        return eventType;
+    }
+
+    int getNumProperties() {
+        return numProperties;
+    }
+
+    int[] getKinds() {
+        return kinds;
+    }
+
+    int[] getColumns() {
+        return columns;
+    }
+
+    Class[] getFixedTypes() {
+        return fixedTypes;
+    }
+
+    int[] getFixedOffsets() {
+        return fixedOffsets;
+    }
+
+    int getFixedBytes() {
+        return fixedBytes;
+    }
+
+    int getNumObjectColumns() {
+        return numObjectColumns;
+    }
+
+    private static int kindOf(Class type) {
+        Class boxed = JavaClassHelper.getBoxedType(type);
+        if (boxed == Boolean.class) {
+            return KIND_BOOLEAN;
+        } else if (boxed == Byte.class) {
+            return KIND_BYTE;
+        } else if (boxed == Short.class) {
+            return KIND_SHORT;
+        } else if (boxed == Character.class) {
+            return KIND_CHAR;
+        } else if (boxed == Integer.class) {
+            return KIND_INT;
+        } else if (boxed == Long.class) {
+            return KIND_LONG;
+        } else if (boxed == Float.class) {
+            return KIND_FLOAT;
+        } else if (boxed == Double.class) {
+            return KIND_DOUBLE;
+        }
+        return KIND_OBJECT;
+    }
+
+    private static Class boxedTypeOf(int kind) {
+        switch (kind) {
+            case KIND_BOOLEAN:
+                return Boolean.class;
+            case KIND_BYTE:
+                return Byte.class;
+            case KIND_SHORT:
+                return Short.class;
+            case KIND_CHAR:
+                return Character.class;
+            case KIND_INT:
+                return Integer.class;
+            case KIND_LONG:
+                return Long.class;
+            case KIND_FLOAT:
+                return Float.class;
+            default:
+                return Double.class;
+        }
+    }
+
+    private static int widthOf(int kind) {
+        switch (kind) {
+            case KIND_BOOLEAN:
+            case KIND_BYTE:
+                return 1;
+            case KIND_SHORT:
+            case KIND_CHAR:
+                return 2;
+            case KIND_INT:
+            case KIND_FLOAT:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 public abstract class NamedWindowConsumerLatch {
+    private final String windowName;
     private final NamedWindowDeltaData deltaData;
     private final Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo;
 
@@ -25,11 +26,16 @@ public abstract class NamedWindowConsumerLatch {
 
     public abstract NamedWindowConsumerLatch getEarlier();
 
-    public NamedWindowConsumerLatch(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
+    public NamedWindowConsumerLatch(String windowName, NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
+        this.windowName = windowName;
         this.deltaData = deltaData;
         this.dispatchTo = dispatchTo;
     }
 
+    public String getWindowName() {
+        return windowName;
+    }
+
     public NamedWindowDeltaData getDeltaData() {
         return deltaData;
     }
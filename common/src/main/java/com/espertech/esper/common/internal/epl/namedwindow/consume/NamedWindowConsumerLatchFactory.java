@@ -78,7 +78,7 @@ public class NamedWindowConsumerLatchFactory {
                 currentLatchWait = nextLatch;
                 return nextLatch;
             }
-            return new NamedWindowConsumerLatchNone(delta, consumers);
+            return new NamedWindowConsumerLatchNone(name, delta, consumers);
         }
     }
 
@@ -20,8 +20,8 @@ import java.util.Map;
  * a named window delta result and consumable by another statement.
  */
 public class NamedWindowConsumerLatchNone extends NamedWindowConsumerLatch {
-    public NamedWindowConsumerLatchNone(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
-        super(deltaData, dispatchTo);
+    public NamedWindowConsumerLatchNone(String windowName, NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
+        super(windowName, deltaData, dispatchTo);
     }
 
     public void await() {
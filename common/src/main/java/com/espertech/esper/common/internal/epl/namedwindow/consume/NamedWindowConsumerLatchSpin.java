@@ -31,13 +31,13 @@ public class NamedWindowConsumerLatchSpin extends NamedWindowConsumerLatch {
     private volatile boolean isCompleted;
 
     public NamedWindowConsumerLatchSpin(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchSpin earlier) {
-        super(deltaData, dispatchTo);
+        super(factory.getName(), deltaData, dispatchTo);
         this.factory = factory;
         this.earlier = earlier;
     }
 
     public NamedWindowConsumerLatchSpin(NamedWindowConsumerLatchFactory factory) {
-        super(null, null);
+        super(factory.getName(), null, null);
         this.factory = factory;
         isCompleted = true;
         earlier = null;
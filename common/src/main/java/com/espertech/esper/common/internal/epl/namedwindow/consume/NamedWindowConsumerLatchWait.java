@@ -33,13 +33,13 @@ public class NamedWindowConsumerLatchWait extends NamedWindowConsumerLatch {
     private volatile boolean isCompleted;
 
     public NamedWindowConsumerLatchWait(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchWait earlier) {
-        super(deltaData, dispatchTo);
+        super(factory.getName(), deltaData, dispatchTo);
         this.factory = factory;
         this.earlier = earlier;
     }
 
     public NamedWindowConsumerLatchWait(NamedWindowConsumerLatchFactory factory) {
-        super(null, null);
+        super(factory.getName(), null, null);
         this.factory = factory;
         isCompleted = true;
         earlier = null;
@@ -37,6 +37,23 @@ public interface NamedWindowDispatchService {
      */
     boolean dispatch();
 
+    /**
+     * Dispatch events of the insert and remove stream of named windows to consumers, allowing consumers to be
+     * processed by dispatch threads when the runtime is configured with named window consumer dispatch threads.
+     *
+     * @param workerCompletion run by a dispatch thread after it processed consumers, for delivering the results of consumers
+     *                         to listeners and for working off events routed by consumers
+     * @return send events to consuming statements
+     */
+    boolean dispatch(Runnable workerCompletion);
+
+    /**
+     * Returns indicator whether the current thread has named window results waiting to be dispatched to consumers.
+     *
+     * @return indicator
+     */
+    boolean isDispatchWaiting();
+
     /**
      * Destroy service.
      */
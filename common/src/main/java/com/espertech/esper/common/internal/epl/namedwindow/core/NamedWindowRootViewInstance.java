@@ -25,6 +25,7 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexM
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexMetadataEntry;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepository;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepositoryEntry;
+import com.espertech.esper.common.internal.epl.namedwindow.columnar.ColumnarEventStore;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWView;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
@@ -47,6 +48,7 @@ public class NamedWindowRootViewInstance extends ViewSupport {
     private final EventTableIndexRepository indexRepository;
 
     private Iterable<EventBean> dataWindowContents;
+    private ColumnarEventStore columnarStore;
 
     public NamedWindowRootViewInstance(NamedWindowRootView rootView, AgentInstanceContext agentInstanceContext, EventTableIndexMetadata eventTableIndexMetadata) {
         this.rootView = rootView;
@@ -82,6 +84,20 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         this.dataWindowContents = dataWindowContents;
     }
 
+    public ColumnarEventStore getColumnarStore() {
+        return columnarStore;
+    }
+
+    /**
+     * Sets the columnar store, for named windows that keep their events column-by-column.
+     * New events are appended to the store and the data window holds the columnar events instead.
+     *
+     * @param columnarStore store
+     */
+    public void setColumnarStore(ColumnarEventStore columnarStore) {
+        this.columnarStore = columnarStore;
+    }
+
     /**
      * Called by tail view to indicate that the data window view exired events that must be removed from index tables.
      *
@@ -91,6 +107,9 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         for (EventTable table : indexRepository.getTables()) {
             table.remove(oldData, agentInstanceContext);
         }
+        if (columnarStore != null) {
+            columnarStore.remove(oldData);
+        }
     }
 
     /**
@@ -106,6 +125,10 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     // Called by deletion strategy and also the insert-into for new events only
     public void update(EventBean[] newData, EventBean[] oldData) {
+        if (columnarStore != null && newData != null) {
+            newData = columnarStore.add(newData);
+        }
+
         // Update indexes for fast deletion, if there are any
         if (rootView.isChildBatching()) {
             for (EventTable table : indexRepository.getTables()) {
@@ -0,0 +1,155 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.pattern.filter;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.AgentInstanceTransferServices;
+import com.espertech.esper.common.internal.filterspec.FilterAddendumUtil;
+import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
+import com.espertech.esper.common.internal.filterspec.FilterSpecParam;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filterspec.MatchedEventMap;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleDispatch;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Filter shared by the active state nodes of a pattern filter that compares for equality to a property of a prior tagged event,
+ * such as {@code b=B(key=a.key)}. The filter does not include the equality and, for a matching event, dispatches
+ * to the filter handles of the state nodes that wait for the property value of the event.
+ * <p>
+ * State nodes are added and removed under the statement lock. Matching may take place concurrently.
+ */
+public class EvalFilterCorrelatedIndex implements FilterHandleDispatch {
+    private final EvalFilterNode evalFilterNode;
+    private final FilterSpecParam correlatedParam;
+    private final FilterSpecParam[][] sharedParams;
+    private final Map<Object, List<FilterHandle>> handles = new ConcurrentHashMap<>();
+    private int count;
+    private FilterService filterService;
+    private FilterValueSetParam[][] filterValues;
+
+    public EvalFilterCorrelatedIndex(EvalFilterNode evalFilterNode) {
+        this.evalFilterNode = evalFilterNode;
+        FilterSpecParam[] path = evalFilterNode.getFactoryNode().getFilterSpec().getParameters()[0];
+        int correlatedParamIndex = evalFilterNode.getFactoryNode().getCorrelatedParamIndex();
+        this.correlatedParam = path[correlatedParamIndex];
+        FilterSpecParam[] shared = new FilterSpecParam[path.length - 1];
+        System.arraycopy(path, 0, shared, 0, correlatedParamIndex);
+        System.arraycopy(path, correlatedParamIndex + 1, shared, correlatedParamIndex, path.length - correlatedParamIndex - 1);
+        this.sharedParams = new FilterSpecParam[][]{shared};
+    }
+
+    /**
+     * Adds the filter handle of a state node.
+     *
+     * @param beginState matched events of the state node
+     * @param handle     filter handle of the state node
+     * @return key of the state node, or null when the state node cannot match
+     */
+    public Object add(MatchedEventMap beginState, FilterHandle handle) {
+        AgentInstanceContext agentInstanceContext = evalFilterNode.getContext().getAgentInstanceContext();
+        Object key = correlatedParam.getFilterValue(beginState, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+        if (key == null) {  // null cannot match, not even null
+            return null;
+        }
+        handles.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(handle);
+        count++;
+
+        if (filterService == null) {
+            filterService = evalFilterNode.getContext().getFilterService();
+            filterValues = FilterSpecActivatable.evaluateValueSet(sharedParams, beginState, agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
+            if (evalFilterNode.getAddendumFilters() != null) {
+                filterValues = FilterAddendumUtil.multiplyAddendum(evalFilterNode.getAddendumFilters(), filterValues);
+            }
+            filterService.add(getEventType(), filterValues, this);
+        } else {
+            filterService.incrementFiltersVersion();
+        }
+        agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementFilterVersion().setStmtFilterVersion(filterService.getFiltersVersion());
+        return key;
+    }
+
+    /**
+     * Removes the filter handle of a state node.
+     *
+     * @param key    key of the state node
+     * @param handle filter handle of the state node
+     */
+    public void remove(Object key, FilterHandle handle) {
+        if (key == null) {
+            return;
+        }
+        List<FilterHandle> list = handles.get(key);
+        if (list == null || !list.remove(handle)) {
+            return;
+        }
+        if (list.isEmpty()) {
+            handles.remove(key);
+        }
+        count--;
+
+        FilterService service = filterService;
+        if (count == 0) {
+            service.remove(this, getEventType(), filterValues);
+            filterService = null;
+            filterValues = null;
+        } else {
+            service.incrementFiltersVersion();
+        }
+        evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle().getStatementFilterVersion().setStmtFilterVersion(service.getFiltersVersion());
+    }
+
+    /**
+     * Moves the filter to the target filter service, if not already moved.
+     *
+     * @param services transfer services
+     */
+    public void transfer(AgentInstanceTransferServices services) {
+        if (filterService == null || filterService == services.getTargetFilterService()) {
+            return;
+        }
+        filterService.remove(this, getEventType(), filterValues);
+        filterService = services.getTargetFilterService();
+        filterService.add(getEventType(), filterValues, this);
+    }
+
+    public void matchFound(EventBean theEvent, Collection<FilterHandle> matches) {
+        Object value = correlatedParam.getLookupable().getGetter().get(theEvent);
+        if (value == null) {
+            return;
+        }
+        List<FilterHandle> list = handles.get(value);
+        if (list != null) {
+            matches.addAll(list);
+        }
+    }
+
+    public int getStatementId() {
+        return evalFilterNode.getContext().getAgentInstanceContext().getStatementId();
+    }
+
+    public int getAgentInstanceId() {
+        return evalFilterNode.getContext().getAgentInstanceContext().getAgentInstanceId();
+    }
+
+    private EventType getEventType() {
+        return evalFilterNode.getFactoryNode().getFilterSpec().getFilterForEventType();
+    }
+}
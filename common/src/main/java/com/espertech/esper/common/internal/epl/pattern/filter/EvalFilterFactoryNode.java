@@ -24,6 +24,7 @@ public class EvalFilterFactoryNode extends EvalFactoryNodeBase {
     private String eventAsName;
     private Integer consumptionLevel;
     private int eventAsTagNumber;
+    private int correlatedParamIndex = -1;
 
     public void setFilterSpec(FilterSpecActivatable filterSpec) {
         this.filterSpec = filterSpec;
@@ -41,6 +42,10 @@ public class EvalFilterFactoryNode extends EvalFactoryNodeBase {
         this.eventAsTagNumber = eventAsTagNumber;
     }
 
+    public void setCorrelatedParamIndex(int correlatedParamIndex) {
+        this.correlatedParamIndex = correlatedParamIndex;
+    }
+
     public EvalNode makeEvalNode(PatternAgentInstanceContext agentInstanceContext, EvalNode parentNode) {
         return new EvalFilterNode(agentInstanceContext, this);
     }
@@ -61,6 +66,16 @@ public class EvalFilterFactoryNode extends EvalFactoryNodeBase {
         return eventAsTagNumber;
     }
 
+    /**
+     * Returns the index of the filter parameter that compares for equality to a property of a prior tagged event,
+     * or -1 if the filter is not eligible for sharing one filter among state nodes.
+     *
+     * @return index
+     */
+    public int getCorrelatedParamIndex() {
+        return correlatedParamIndex;
+    }
+
     public boolean isStateful() {
         return false;
     }
@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.context.aifactory.core.SAIFFInitializ
 import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityPrint;
 import com.espertech.esper.common.internal.epl.pattern.core.EvalForgeNodeBase;
 import com.espertech.esper.common.internal.epl.pattern.core.PatternExpressionPrecedenceEnum;
+import com.espertech.esper.common.internal.filterspec.*;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallbackProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -160,12 +161,39 @@ public class EvalFilterForgeNode extends EvalForgeNodeBase {
                 .exprDotMethod(ref("node"), "setFilterSpec", localMethod(filterSpec.makeCodegen(method, symbols, classScope)))
                 .exprDotMethod(ref("node"), "setEventAsName", constant(eventAsName))
                 .exprDotMethod(ref("node"), "setConsumptionLevel", constant(consumptionLevel))
-                .exprDotMethod(ref("node"), "setEventAsTagNumber", constant(eventAsTagNumber));
+                .exprDotMethod(ref("node"), "setEventAsTagNumber", constant(eventAsTagNumber))
+                .exprDotMethod(ref("node"), "setCorrelatedParamIndex", constant(getCorrelatedParamIndex(filterSpec)));
     }
 
     public void collectSelfFilterAndSchedule(List<FilterSpecCompiled> filters, List<ScheduleHandleCallbackProvider> schedules) {
         filters.add(filterSpec);
     }
 
+    /**
+     * Returns the index of the filter parameter that compares for equality to a property of a prior tagged event,
+     * for a filter that has a single path and whose other parameters do not depend on prior tagged events, or -1 if none.
+     *
+     * @param filterSpec filter
+     * @return index or -1
+     */
+    protected static int getCorrelatedParamIndex(FilterSpecCompiled filterSpec) {
+        FilterSpecParamForge[][] parameters = filterSpec.getParameters();
+        if (parameters.length != 1) {
+            return -1;
+        }
+        int index = -1;
+        for (int i = 0; i < parameters[0].length; i++) {
+            FilterSpecParamForge param = parameters[0][i];
+            if (index == -1 && param instanceof FilterSpecParamEventPropForge && param.getFilterOperator() == FilterOperator.EQUAL) {
+                index = i;
+            } else if (!(param instanceof FilterSpecParamConstantForge) &&
+                !(param instanceof FilterSpecParamContextPropForge) &&
+                !(param instanceof FilterSpecParamDeployTimeConstParamForge)) {
+                return -1;
+            }
+        }
+        return index;
+    }
+
     private static final Logger log = LoggerFactory.getLogger(EvalFilterForgeNode.class);
 }
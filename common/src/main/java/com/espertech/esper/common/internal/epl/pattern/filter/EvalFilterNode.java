@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 public class EvalFilterNode extends EvalNodeBase {
     protected final EvalFilterFactoryNode factoryNode;
     private final FilterValueSetParam[][] addendumFilters;
+    private final EvalFilterCorrelatedIndex correlatedIndex;
 
     public EvalFilterNode(PatternAgentInstanceContext context, EvalFilterFactoryNode factoryNode) {
         super(context);
@@ -43,6 +44,13 @@ public class EvalFilterNode extends EvalNodeBase {
             }
         }
         this.addendumFilters = addendum;
+
+        if (factoryNode.getCorrelatedParamIndex() != -1 && context.getConsumptionHandler() == null &&
+            context.getAgentInstanceContext().getRuntimeSettingsService().getConfigurationRuntime().getPatterns().isCorrelatedFilterIndex()) {
+            this.correlatedIndex = new EvalFilterCorrelatedIndex(this);
+        } else {
+            this.correlatedIndex = null;
+        }
     }
 
     public EvalFilterFactoryNode getFactoryNode() {
@@ -53,6 +61,15 @@ public class EvalFilterNode extends EvalNodeBase {
         return addendumFilters;
     }
 
+    /**
+     * Returns the filter shared by the state nodes, or null if each state node registers its own filter.
+     *
+     * @return shared filter
+     */
+    public EvalFilterCorrelatedIndex getCorrelatedIndex() {
+        return correlatedIndex;
+    }
+
     public EvalStateNode newState(Evaluator parentNode) {
         if (getContext().getConsumptionHandler() != null) {
             return new EvalFilterStateNodeConsumeImpl(parentNode, this);
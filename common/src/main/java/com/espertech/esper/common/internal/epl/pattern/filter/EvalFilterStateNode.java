@@ -33,6 +33,7 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
     protected boolean isStarted;
     protected EPStatementHandleCallbackFilter handle;
     protected MatchedEventMap beginState;
+    protected Object correlatedKey;
 
     /**
      * Constructor.
@@ -65,8 +66,14 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
         // Start the filter
         isStarted = true;
 
-        FilterService filterService = evalFilterNode.getContext().getFilterService();
         handle = new EPStatementHandleCallbackFilter(evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle(), this);
+        if (evalFilterNode.getCorrelatedIndex() != null) {
+            correlatedKey = evalFilterNode.getCorrelatedIndex().add(beginState, handle);
+            agentInstanceContext.getInstrumentationProvider().aPatternFilterStart();
+            return;
+        }
+
+        FilterService filterService = evalFilterNode.getContext().getFilterService();
         FilterSpecActivatable filterSpec = evalFilterNode.getFactoryNode().getFilterSpec();
         FilterValueSetParam[][] filterValues = filterSpec.getValueSet(beginState, evalFilterNode.getAddendumFilters(), agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
         filterService.add(filterSpec.getFilterForEventType(), filterValues, handle);
@@ -185,6 +192,15 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
     }
 
     private void stopFiltering() {
+        if (evalFilterNode.getCorrelatedIndex() != null) {
+            if (handle != null) {
+                evalFilterNode.getCorrelatedIndex().remove(correlatedKey, handle);
+            }
+            handle = null;
+            correlatedKey = null;
+            isStarted = false;
+            return;
+        }
         AgentInstanceContext agentInstanceContext = evalFilterNode.getContext().getAgentInstanceContext();
         FilterSpecActivatable filterSpec = evalFilterNode.getFactoryNode().getFilterSpec();
         FilterValueSetParam[][] filterValues = filterSpec.getValueSet(beginState, evalFilterNode.getAddendumFilters(), agentInstanceContext, agentInstanceContext.getStatementContextFilterEvalEnv());
@@ -203,6 +219,10 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
         if (handle == null) {
             return;
         }
+        if (evalFilterNode.getCorrelatedIndex() != null) {
+            evalFilterNode.getCorrelatedIndex().transfer(services);
+            return;
+        }
         FilterSpecActivatable filterSpec = evalFilterNode.getFactoryNode().getFilterSpec();
         FilterValueSetParam[][] filterValues = filterSpec.getValueSet(beginState, evalFilterNode.getAddendumFilters(), services.getAgentInstanceContext(), services.getAgentInstanceContext().getStatementContextFilterEvalEnv());
         services.getAgentInstanceContext().getFilterService().remove(handle, filterSpec.getFilterForEventType(), filterValues);
@@ -331,7 +331,7 @@ public class ResultSetProcessorFactoryFactory {
             spec.getWhereClause(), spec.getHavingClause(),
             typeService.getEventTypes(), groupByRollupDesc,
             spec.getContextName(), spec.getIntoTableSpec(), services.getTableCompileTimeResolver(),
-            isUnidirectional, isFireAndForget, isOnSelect,
+            isUnidirectional, isFireAndForget, isOnSelect, services.getConfiguration().getCompiler().getExecution().isEnabledGroupByOpenAddressing(),
             services.getClasspathImportServiceCompileTime(), statementRawInfo, services.getSerdeResolver());
         additionalForgeables.addAll(aggregationServiceForgeDesc.getAdditionalForgeables());
 
@@ -449,7 +449,7 @@ public class RowRecogNFAViewPlanUtil {
                     false, base.getStatementRawInfo().getAnnotations(),
                     services.getVariableCompileTimeResolver(), true, null, null,
                     typesPerStream, null, base.getContextName(), null, services.getTableCompileTimeResolver(),
-                    false, true, false, services.getClasspathImportServiceCompileTime(), base.getStatementRawInfo(), services.getSerdeResolver());
+                    false, true, false, false, services.getClasspathImportServiceCompileTime(), base.getStatementRawInfo(), services.getSerdeResolver());
             aggServices[entry.getKey()] = desc;
         }
 
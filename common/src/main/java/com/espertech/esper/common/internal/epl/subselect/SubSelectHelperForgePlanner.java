@@ -379,7 +379,7 @@ public class SubSelectHelperForgePlanner {
                 Collections.emptyList(), groupByExpressions, groupByMultikeyPlan == null ? null : groupByMultikeyPlan.getClassRef(), aggExpressionNodesHaving, Collections.emptyList(),
                 groupKeyExpressions, hasGroupBy, annotations, services.getVariableCompileTimeResolver(), true, subselectSpec.getRaw().getWhereClause(), subselectSpec.getRaw().getHavingClause(),
                 subselectTypeService.getEventTypes(), null, subselectSpec.getRaw().getOptionalContextName(), null, null, false, services.isFireAndForget(), false,
-                services.getClasspathImportServiceCompileTime(), statement.getStatementRawInfo(), services.getSerdeResolver());
+                services.getConfiguration().getCompiler().getExecution().isEnabledGroupByOpenAddressing(), services.getClasspathImportServiceCompileTime(), statement.getStatementRawInfo(), services.getSerdeResolver());
             additionalForgeables.addAll(aggregationServiceForgeDesc.getAdditionalForgeables());
 
             // assign select-clause
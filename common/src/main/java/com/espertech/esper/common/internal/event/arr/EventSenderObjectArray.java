@@ -17,6 +17,8 @@ import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 
+import java.util.Collection;
+
 /**
  * Event sender for map-backed events.
  * <p>
@@ -44,12 +46,7 @@ public class EventSenderObjectArray implements EventSender {
     }
 
     public void sendEvent(Object theEvent) {
-        if (!(theEvent.getClass().isArray())) {
-            throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
-        }
-
-        Object[] arr = (Object[]) theEvent;
-        EventBean objectArrayEvent = eventBeanTypedEventFactory.adapterForTypedObjectArray(arr, objectArrayEventType);
+        EventBean objectArrayEvent = getEventBean(theEvent);
 
         if (threadingService.isInboundThreading()) {
             threadingService.submitInbound(objectArrayEvent, runtimeEventSender);
@@ -58,12 +55,31 @@ public class EventSenderObjectArray implements EventSender {
         }
     }
 
+    public void sendEventBatch(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = getEventBean(theEvent);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
+        EventBean objectArrayEvent = getEventBean(theEvent);
+        runtimeEventSender.routeEventBean(objectArrayEvent);
+    }
+
+    private EventBean getEventBean(Object theEvent) {
         if (!(theEvent.getClass().isArray())) {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
         }
-        Object[] arr = (Object[]) theEvent;
-        EventBean objectArrayEvent = eventBeanTypedEventFactory.adapterForTypedObjectArray(arr, objectArrayEventType);
-        runtimeEventSender.routeEventBean(objectArrayEvent);
+        return eventBeanTypedEventFactory.adapterForTypedObjectArray((Object[]) theEvent, objectArrayEventType);
     }
 }
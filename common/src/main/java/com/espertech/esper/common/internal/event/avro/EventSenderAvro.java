@@ -17,6 +17,8 @@ import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 
+import java.util.Collection;
+
 /**
  * Event sender for avro-backed events.
  * <p>
@@ -53,6 +55,22 @@ public class EventSenderAvro implements EventSender {
         }
     }
 
+    public void sendEventBatch(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = eventBeanTypedEventFactory.adapterForTypedAvro(theEvent, eventType);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
         EventBean eventBean = eventBeanTypedEventFactory.adapterForTypedAvro(theEvent, eventType);
         runtimeEventSender.routeEventBean(eventBean);
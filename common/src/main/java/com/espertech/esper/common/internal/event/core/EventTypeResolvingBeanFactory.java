@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.event.core;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public interface EventTypeResolvingBeanFactory {
@@ -27,4 +28,8 @@ public interface EventTypeResolvingBeanFactory {
     EventBean adapterForAvro(Object avroGenericDataDotRecord, String eventTypeName);
 
     EventBean adapterForJson(String json, String eventTypeName);
+
+    EventBean adapterForJson(byte[] json, int offset, int length, String eventTypeName);
+
+    EventBean adapterForJson(ByteBuffer json, String eventTypeName);
 }
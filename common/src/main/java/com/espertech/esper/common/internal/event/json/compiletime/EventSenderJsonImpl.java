@@ -18,10 +18,14 @@ import com.espertech.esper.common.internal.event.json.core.JsonEventType;
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
 /**
  * Event sender for json-backed events.
  * <p>
- * Allows sending only event objects of type string, does not check contents. Any other event object generates an error.
+ * Allows sending only event objects of type string, UTF-8 encoded byte array or byte buffer or the underlying type, does not check contents.
+ * Any other event object generates an error.
  */
 public class EventSenderJsonImpl implements EventSenderJson {
     private final EPRuntimeEventProcessWrapped runtimeEventSender;
@@ -55,6 +59,22 @@ public class EventSenderJsonImpl implements EventSenderJson {
         }
     }
 
+    public void sendEventBatch(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = eventBeanTypedEventFactory.adapterForTypedJson(getUnderlying(theEvent), eventType);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
         EventBean eventBean = eventBeanTypedEventFactory.adapterForTypedJson(getUnderlying(theEvent), eventType);
         runtimeEventSender.routeEventBean(eventBean);
@@ -64,9 +84,22 @@ public class EventSenderJsonImpl implements EventSenderJson {
         return eventType.parse(json);
     }
 
+    public Object parse(byte[] json, int offset, int length) {
+        return eventType.parse(json, offset, length);
+    }
+
+    public Object parse(ByteBuffer json) {
+        return eventType.parse(json);
+    }
+
     private Object getUnderlying(Object theEvent) {
         if (theEvent instanceof String) {
             return eventType.parse((String) theEvent);
+        } else if (theEvent instanceof byte[]) {
+            byte[] bytes = (byte[]) theEvent;
+            return eventType.parse(bytes, 0, bytes.length);
+        } else if (theEvent instanceof ByteBuffer) {
+            return eventType.parse((ByteBuffer) theEvent);
         } else if (theEvent == null || !(theEvent.getClass() == eventType.getUnderlyingType())) {
             throw new EPException("Unexpected event object of type '" + (theEvent == null ? "(null)" : theEvent.getClass().getName()) + "', expected a Json-formatted string-type value");
         }
@@ -133,6 +133,24 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
         }
         endObjectValueMethod.getBlock().methodReturn(constantFalse());
 
+        // skipObjectValue
+        CodegenMethod skipObjectValueMethod = CodegenMethod.makeParentNode(boolean.class, this.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope)
+            .addParam(String.class, "name");
+        if (desc.isDynamic()) {
+            skipObjectValueMethod.getBlock().methodReturn(constantFalse());
+        } else {
+            if (desc.getOptionalSupertype() != null) {
+                skipObjectValueMethod.getBlock()
+                    .ifCondition(not(exprDotMethod(ref("super"), "skipObjectValue", ref("name")))).blockReturn(constantFalse());
+            }
+            for (String property : desc.getPropertiesThisType().keySet()) {
+                skipObjectValueMethod.getBlock()
+                    .ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
+                    .blockReturn(constantFalse());
+            }
+            skipObjectValueMethod.getBlock().methodReturn(constantTrue());
+        }
+
         // make get-bean method
         CodegenMethod getResultMethod = CodegenMethod.makeParentNode(underlyingClassName, this.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope);
         getResultMethod.getBlock().methodReturn(ref("bean"));
@@ -142,6 +160,7 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
         CodegenStackGenerator.recursiveBuildStack(startObjectMethod, "startObject", methods);
         CodegenStackGenerator.recursiveBuildStack(startArrayMethod, "startArray", methods);
         CodegenStackGenerator.recursiveBuildStack(endObjectValueMethod, "endObjectValue", methods);
+        CodegenStackGenerator.recursiveBuildStack(skipObjectValueMethod, "skipObjectValue", methods);
         CodegenStackGenerator.recursiveBuildStack(getResultMethod, "getResult", methods);
 
         CodegenClass clazz = new CodegenClass(classType, className, classScope, members, ctor, methods, Collections.emptyList());
@@ -13,7 +13,6 @@ package com.espertech.esper.common.internal.event.json.core;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventPropertyDescriptor;
 import com.espertech.esper.common.client.EventType;
-import com.espertech.esper.common.client.json.minimaljson.JsonParser;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
 import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
@@ -22,7 +21,6 @@ import com.espertech.esper.common.internal.event.core.*;
 import com.espertech.esper.common.internal.event.json.compiletime.JsonUnderlyingField;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateFactory;
-import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.writer.*;
 import com.espertech.esper.common.internal.event.property.IndexedProperty;
 import com.espertech.esper.common.internal.event.property.MappedProperty;
@@ -30,6 +28,7 @@ import com.espertech.esper.common.internal.event.property.Property;
 import com.espertech.esper.common.internal.event.property.PropertyParser;
 import com.espertech.esper.common.internal.util.JavaClassHelper;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -37,6 +36,11 @@ import java.util.*;
  */
 public class JsonEventType extends BaseNestableEventType {
     private final JsonEventTypeDetail detail;
+    private final ThreadLocal<JsonEventTypeParserState> parserStates = new ThreadLocal<JsonEventTypeParserState>() {
+        protected synchronized JsonEventTypeParserState initialValue() {
+            return new JsonEventTypeParserState();
+        }
+    };
 
     private Class delegateType;
     private JsonDelegateFactory delegateFactory;
@@ -169,18 +173,71 @@ public class JsonEventType extends BaseNestableEventType {
     }
 
     public Object parse(String json) {
+        JsonEventTypeParserState state = acquireParserState();
+        try {
+            JsonDelegateBase delegate = state.start(delegateFactory);
+            state.getParser().parse(json);
+            return delegate.getResult();
+        } catch (EPException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        } finally {
+            state.release();
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON from a slice of a byte array, without first converting to a string.
+     *
+     * @param json   array holding the document
+     * @param offset offset of the document
+     * @param length length in bytes of the document
+     * @return underlying
+     */
+    public Object parse(byte[] json, int offset, int length) {
+        JsonEventTypeParserState state = acquireParserState();
+        try {
+            JsonDelegateBase delegate = state.start(delegateFactory);
+            state.getParser().parse(json, offset, length);
+            return delegate.getResult();
+        } catch (EPException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        } finally {
+            state.release();
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON from the remaining bytes of a byte buffer, without first converting to a string.
+     * Does not change the position of the buffer.
+     *
+     * @param json buffer holding the document
+     * @return underlying
+     */
+    public Object parse(ByteBuffer json) {
+        JsonEventTypeParserState state = acquireParserState();
         try {
-            JsonHandlerDelegator handler = new JsonHandlerDelegator();
-            JsonDelegateBase delegate = delegateFactory.make(handler, null);
-            handler.setDelegate(delegate);
-            JsonParser parser = new JsonParser(handler);
-            parser.parse(json);
+            JsonDelegateBase delegate = state.start(delegateFactory);
+            state.getParser().parse(json);
             return delegate.getResult();
         } catch (EPException ex) {
             throw ex;
         } catch (RuntimeException ex) {
             throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        } finally {
+            state.release();
+        }
+    }
+
+    private JsonEventTypeParserState acquireParserState() {
+        JsonEventTypeParserState state = parserStates.get();
+        if (state.isInUse()) {
+            return new JsonEventTypeParserState();
         }
+        return state;
     }
 
     public JsonEventTypeDetail getDetail() {
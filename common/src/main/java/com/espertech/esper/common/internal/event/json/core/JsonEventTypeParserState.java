@@ -0,0 +1,60 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.core;
+
+import com.espertech.esper.common.client.json.minimaljson.JsonParser;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateFactory;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
+
+/**
+ * Thread-confined parser and handler for parsing Json documents into underlying objects,
+ * reused for the documents parsed by the same thread, so that only the delegates and the underlying are allocated per document.
+ */
+public class JsonEventTypeParserState {
+    private final JsonHandlerDelegator handler;
+    private final JsonParser parser;
+    private boolean inUse;
+
+    public JsonEventTypeParserState() {
+        this.handler = new JsonHandlerDelegator();
+        this.parser = new JsonParser(handler);
+    }
+
+    /**
+     * Marks the state in-use and returns the top delegate for the document to parse.
+     *
+     * @param delegateFactory factory of the event type
+     * @return top delegate
+     */
+    public JsonDelegateBase start(JsonDelegateFactory delegateFactory) {
+        inUse = true;
+        JsonDelegateBase delegate = delegateFactory.make(handler, null);
+        handler.setDelegate(delegate);
+        return delegate;
+    }
+
+    /**
+     * Releases the state after parsing completed or failed.
+     */
+    public void release() {
+        handler.setDelegate(null);
+        inUse = false;
+    }
+
+    public boolean isInUse() {
+        return inUse;
+    }
+
+    public JsonParser getParser() {
+        return parser;
+    }
+}
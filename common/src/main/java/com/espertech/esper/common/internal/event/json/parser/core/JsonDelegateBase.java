@@ -31,6 +31,17 @@ public abstract class JsonDelegateBase {
     public void endArrayValue(String name) {
     }
 
+    /**
+     * Returns true when the value of the member is not used and the parser may skip it without materializing the value.
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param name member name
+     * @return skip indicator
+     */
+    public boolean skipObjectValue(String name) {
+        return false;
+    }
+
     public abstract Object getResult();
 
     public JsonDelegateBase(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
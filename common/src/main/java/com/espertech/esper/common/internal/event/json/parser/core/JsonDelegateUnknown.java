@@ -23,6 +23,10 @@ public class JsonDelegateUnknown extends JsonDelegateBase {
         return new JsonDelegateUnknown(baseHandler, this);
     }
 
+    public boolean skipObjectValue(String name) {
+        return true;
+    }
+
     public boolean endObjectValue(String name) {
         return false;
     }
@@ -18,12 +18,17 @@ public class JsonHandlerDelegator extends JsonHandler<Object, Object> {
 
     public void setDelegate(JsonDelegateBase top) {
         this.currentDelegate = top;
+        this.currentName = null;
     }
 
     public void startObjectValue(Object object, String name) {
         this.currentName = name;
     }
 
+    public boolean skipObjectValue(Object object, String name) {
+        return currentDelegate.skipObjectValue(name);
+    }
+
     public Object startObject() {
         if (currentName != null) {
             currentDelegate.valueType = JsonValueType.OBJECT;
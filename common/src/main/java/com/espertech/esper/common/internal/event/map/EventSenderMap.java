@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -46,12 +47,7 @@ public class EventSenderMap implements EventSender {
     }
 
     public void sendEvent(Object theEvent) {
-        if (!(theEvent instanceof Map)) {
-            throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
-        }
-
-        Map<String, Object> map = (Map<String, Object>) theEvent;
-        EventBean mapEvent = eventBeanTypedEventFactory.adapterForTypedMap(map, mapEventType);
+        EventBean mapEvent = getEventBean(theEvent);
 
         if (threadingService.isInboundThreading()) {
             threadingService.submitInbound(mapEvent, runtimeEventSender);
@@ -60,12 +56,31 @@ public class EventSenderMap implements EventSender {
         }
     }
 
+    public void sendEventBatch(Collection<?> events) {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = getEventBean(theEvent);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) {
+        EventBean mapEvent = getEventBean(theEvent);
+        runtimeEventSender.routeEventBean(mapEvent);
+    }
+
+    private EventBean getEventBean(Object theEvent) {
         if (!(theEvent instanceof Map)) {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
         }
-        Map<String, Object> map = (Map<String, Object>) theEvent;
-        EventBean mapEvent = eventBeanTypedEventFactory.adapterForTypedMap(map, mapEventType);
-        runtimeEventSender.routeEventBean(mapEvent);
+        return eventBeanTypedEventFactory.adapterForTypedMap((Map<String, Object>) theEvent, mapEventType);
     }
 }
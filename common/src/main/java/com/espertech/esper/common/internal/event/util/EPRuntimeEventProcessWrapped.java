@@ -23,6 +23,13 @@ public interface EPRuntimeEventProcessWrapped {
      */
     public void processWrappedEvent(EventBean eventBean);
 
+    /**
+     * Equivalent to processing each event in turn, for use to process known events as a batch.
+     *
+     * @param eventBeans are the event objects wrapped by event beans providing the event metadata
+     */
+    public void processWrappedEventBatch(EventBean[] eventBeans);
+
     /**
      * For processing a routed event.
      *
@@ -20,6 +20,8 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import java.util.Collection;
+
 /**
  * Event sender for XML DOM-backed events.
  * <p>
@@ -53,11 +55,40 @@ public class EventSenderXMLDOM implements EventSender {
         sendEvent(theEvent, false);
     }
 
+    public void sendEventBatch(Collection<?> events) throws EPException {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = getEventBean(theEvent);
+        }
+
+        if (threadingService.isInboundThreading()) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(eventBean, runtimeEventSender);
+            }
+        } else {
+            runtimeEventSender.processWrappedEventBatch(eventBeans);
+        }
+    }
+
     public void routeEvent(Object theEvent) throws EPException {
         sendEvent(theEvent, true);
     }
 
     private void sendEvent(Object node, boolean isRoute) throws EPException {
+        EventBean theEvent = getEventBean(node);
+        if (isRoute) {
+            runtimeEventSender.routeEventBean(theEvent);
+        } else {
+            if (threadingService.isInboundThreading()) {
+                threadingService.submitInbound(theEvent, runtimeEventSender);
+            } else {
+                runtimeEventSender.processWrappedEvent(theEvent);
+            }
+        }
+    }
+
+    private EventBean getEventBean(Object node) throws EPException {
         Node namedNode;
         if (node instanceof Document) {
             namedNode = ((Document) node).getDocumentElement();
@@ -78,15 +109,6 @@ public class EventSenderXMLDOM implements EventSender {
             }
         }
 
-        EventBean theEvent = eventBeanTypedEventFactory.adapterForTypedDOM(namedNode, baseXMLEventType);
-        if (isRoute) {
-            runtimeEventSender.routeEventBean(theEvent);
-        } else {
-            if (threadingService.isInboundThreading()) {
-                threadingService.submitInbound(theEvent, runtimeEventSender);
-            } else {
-                runtimeEventSender.processWrappedEvent(theEvent);
-            }
-        }
+        return eventBeanTypedEventFactory.adapterForTypedDOM(namedNode, baseXMLEventType);
     }
 }
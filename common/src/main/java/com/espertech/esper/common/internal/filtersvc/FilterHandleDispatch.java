@@ -0,0 +1,29 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.filtersvc;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.Collection;
+
+/**
+ * Filter handle that, when its filter matches an event, provides the handles that the event dispatches to
+ * instead of being a match itself.
+ */
+public interface FilterHandleDispatch extends FilterHandle {
+    /**
+     * Adds the handles that the matching event dispatches to, if any.
+     *
+     * @param theEvent event that matched the filter
+     * @param matches  to add handles to
+     */
+    void matchFound(EventBean theEvent, Collection<FilterHandle> matches);
+}
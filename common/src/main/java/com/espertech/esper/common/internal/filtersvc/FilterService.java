@@ -91,6 +91,12 @@ public interface FilterService {
      */
     public long getFiltersVersion();
 
+    /**
+     * Increments the filter version, for use when the handles that a registered filter dispatches to change
+     * without a filter being added or removed.
+     */
+    public void incrementFiltersVersion();
+
     void removeType(EventType type);
 
     public void acquireWriteLock();
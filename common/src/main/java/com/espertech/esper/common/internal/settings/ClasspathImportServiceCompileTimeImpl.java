@@ -15,8 +15,10 @@ import com.espertech.esper.common.client.hook.aggfunc.AggregationFunctionForge;
 import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.epl.agg.access.linear.AggregationAccessorLinearType;
 import com.espertech.esper.common.internal.epl.approx.countminsketch.CountMinSketchAggType;
+import com.espertech.esper.common.internal.epl.approx.quantilesketch.QuantileSketchAggType;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionCountMinSketchNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionLinearAccessNode;
+import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionQuantileSketchNode;
 import com.espertech.esper.common.internal.epl.expression.agg.accessagg.ExprAggMultiFunctionSortedMinMaxByNode;
 import com.espertech.esper.common.internal.epl.expression.agg.method.*;
 import com.espertech.esper.common.internal.epl.expression.core.ExprCurrentEvaluationContextNode;
@@ -220,6 +222,15 @@ public class ClasspathImportServiceCompileTimeImpl extends ClasspathImportServic
         if (nameLowerCase.equals("nth")) {
             return new ExprNthAggNode(isDistinct);
         }
+        if (nameLowerCase.equals("percentile")) {
+            return new ExprPercentileAggNode(isDistinct, false);
+        }
+        if (nameLowerCase.equals("percentiles")) {
+            return new ExprPercentileAggNode(isDistinct, true);
+        }
+        if (nameLowerCase.equals("countdistinctapprox")) {
+            return new ExprCountDistinctApproxAggNode(isDistinct);
+        }
         if (nameLowerCase.equals("leaving")) {
             return new ExprLeavingAggNode(isDistinct);
         }
@@ -242,6 +253,10 @@ public class ClasspathImportServiceCompileTimeImpl extends ClasspathImportServic
         if (cmsType != null) {
             return new ExprAggMultiFunctionCountMinSketchNode(isDistinct, cmsType);
         }
+        QuantileSketchAggType quantileSketchType = QuantileSketchAggType.fromNameMayMatch(nameLowerCase);
+        if (quantileSketchType != null) {
+            return new ExprAggMultiFunctionQuantileSketchNode(isDistinct, quantileSketchType);
+        }
         return null;
     }
 
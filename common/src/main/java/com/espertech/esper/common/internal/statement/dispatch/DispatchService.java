@@ -31,6 +31,10 @@ public class DispatchService {
         dispatchFromQueue(dispatchStateThreadLocal.get());
     }
 
+    public boolean isDispatchWaiting() {
+        return !dispatchStateThreadLocal.get().isEmpty();
+    }
+
     public void addExternal(Dispatchable dispatchable) {
         ArrayDeque<Dispatchable> dispatchQueue = dispatchStateThreadLocal.get();
         addToQueue(dispatchable, dispatchQueue);
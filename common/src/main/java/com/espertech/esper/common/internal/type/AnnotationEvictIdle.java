@@ -0,0 +1,47 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.type;
+
+import com.espertech.esper.common.client.annotation.EvictIdle;
+
+import java.lang.annotation.Annotation;
+
+public class AnnotationEvictIdle implements EvictIdle {
+    private final int after;
+    private final int maxPartitions;
+    private final String policy;
+
+    public AnnotationEvictIdle(int after, int maxPartitions, String policy) {
+        this.after = after;
+        this.maxPartitions = maxPartitions;
+        this.policy = policy;
+    }
+
+    public int after() {
+        return after;
+    }
+
+    public int maxPartitions() {
+        return maxPartitions;
+    }
+
+    public String policy() {
+        return policy;
+    }
+
+    public Class<? extends Annotation> annotationType() {
+        return EvictIdle.class;
+    }
+
+    public String toString() {
+        return "@EvictIdle(after=" + after + ", maxPartitions=" + maxPartitions + ", policy=" + policy + ")";
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.type;
+
+import com.espertech.esper.common.client.annotation.SingleWriter;
+
+import java.lang.annotation.Annotation;
+
+public class AnnotationSingleWriter implements SingleWriter {
+    public Class<? extends Annotation> annotationType() {
+        return SingleWriter.class;
+    }
+}
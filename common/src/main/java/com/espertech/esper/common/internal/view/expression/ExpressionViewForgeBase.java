@@ -108,7 +108,7 @@ public abstract class ExpressionViewForgeBase extends ViewFactoryForgeBase imple
                 aggregationServiceForgeDesc = AggregationServiceFactoryFactory.getService(Collections.emptyList(), Collections.emptyMap(),
                         Collections.emptyList(), null, null, aggregateNodes, Collections.emptyList(), Collections.emptyList(), false,
                         viewForgeEnv.getAnnotations(), viewForgeEnv.getVariableCompileTimeResolver(), false, null, null,
-                        streamTypeService.getEventTypes(), null, viewForgeEnv.getContextName(), null, null, false, false, false,
+                        streamTypeService.getEventTypes(), null, viewForgeEnv.getContextName(), null, null, false, false, false, false,
                         viewForgeEnv.getClasspathImportServiceCompileTime(), viewForgeEnv.getStatementRawInfo(), viewForgeEnv.getSerdeResolver());
             } catch (ExprValidationException ex) {
                 throw new ViewParameterException(ex.getMessage(), ex);
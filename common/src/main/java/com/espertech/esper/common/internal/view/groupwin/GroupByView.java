@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.view.groupwin;
 import com.espertech.esper.common.internal.view.core.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.ViewDataVisitableContainer;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewSharedExpiry;
 
 public interface GroupByView extends View, ViewDataVisitableContainer {
     GroupByViewFactory getViewFactory();
@@ -20,4 +21,11 @@ public interface GroupByView extends View, ViewDataVisitableContainer {
     AgentInstanceViewFactoryChainContext getAgentInstanceContext();
 
     MergeView getMergeView();
+
+    /**
+     * Returns the expiry schedule that the time windows of all groups share, allocating it when first requested.
+     *
+     * @return shared expiry schedule
+     */
+    TimeWindowViewSharedExpiry getTimeWindowSharedExpiry();
 }
@@ -21,6 +21,7 @@ import com.espertech.esper.common.internal.view.core.AgentInstanceViewFactoryCha
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.ViewDataVisitorContained;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewSharedExpiry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +52,7 @@ public class GroupByViewImpl extends ViewSupport implements GroupByView, AgentIn
 
     protected final Map<Object, View> subViewPerKey = new HashMap<>();
     private final HashMap<View, Pair<Object, Object>> groupedEvents = new HashMap<>();
+    private TimeWindowViewSharedExpiry timeWindowSharedExpiry;
 
     /**
      * Constructor.
@@ -156,10 +158,20 @@ public class GroupByViewImpl extends ViewSupport implements GroupByView, AgentIn
         return agentInstanceContext;
     }
 
+    public TimeWindowViewSharedExpiry getTimeWindowSharedExpiry() {
+        if (timeWindowSharedExpiry == null) {
+            timeWindowSharedExpiry = new TimeWindowViewSharedExpiry(agentInstanceContext.getAgentInstanceContext());
+        }
+        return timeWindowSharedExpiry;
+    }
+
     public void stop(AgentInstanceStopServices services) {
         for (Map.Entry<Object, View> entry : subViewPerKey.entrySet()) {
             GroupByViewUtil.removeSubview(entry.getValue(), services);
         }
+        if (timeWindowSharedExpiry != null) {
+            timeWindowSharedExpiry.stop();
+        }
     }
 
     private void handleEvent(EventBean theEvent, boolean isNew) {
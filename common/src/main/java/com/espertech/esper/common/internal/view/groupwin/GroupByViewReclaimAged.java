@@ -21,6 +21,7 @@ import com.espertech.esper.common.internal.view.core.AgentInstanceViewFactoryCha
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.ViewDataVisitorContained;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewSharedExpiry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +36,7 @@ public class GroupByViewReclaimAged extends ViewSupport implements GroupByView,
     protected final Map<Object, GroupByViewAgedEntry> subViewPerKey = new HashMap<>();
     private final HashMap<GroupByViewAgedEntry, Pair<Object, Object>> groupedEvents = new HashMap<GroupByViewAgedEntry, Pair<Object, Object>>();
     private Long nextSweepTime = null;
+    private TimeWindowViewSharedExpiry timeWindowSharedExpiry;
 
     public GroupByViewReclaimAged(GroupByViewFactory groupByViewFactory, AgentInstanceViewFactoryChainContext agentInstanceContext) {
         this.groupByViewFactory = groupByViewFactory;
@@ -169,10 +171,20 @@ public class GroupByViewReclaimAged extends ViewSupport implements GroupByView,
         }
     }
 
+    public TimeWindowViewSharedExpiry getTimeWindowSharedExpiry() {
+        if (timeWindowSharedExpiry == null) {
+            timeWindowSharedExpiry = new TimeWindowViewSharedExpiry(agentInstanceContext.getAgentInstanceContext());
+        }
+        return timeWindowSharedExpiry;
+    }
+
     public void stop(AgentInstanceStopServices services) {
         for (Map.Entry<Object, GroupByViewAgedEntry> entry : subViewPerKey.entrySet()) {
             GroupByViewUtil.removeSubview(entry.getValue().getSubview(), services);
         }
+        if (timeWindowSharedExpiry != null) {
+            timeWindowSharedExpiry.stop();
+        }
     }
 
     private void sweep(long currentTime) {
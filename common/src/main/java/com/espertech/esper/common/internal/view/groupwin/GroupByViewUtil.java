@@ -15,6 +15,7 @@ import com.espertech.esper.common.internal.context.util.AgentInstanceStopService
 import com.espertech.esper.common.internal.view.core.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.common.internal.view.core.View;
 import com.espertech.esper.common.internal.view.core.ViewFactory;
+import com.espertech.esper.common.internal.view.timewin.TimeWindowViewFactory;
 
 public class GroupByViewUtil {
     protected static View makeSubView(GroupByView view, Object groupKey) {
@@ -22,11 +23,11 @@ public class GroupByViewUtil {
         MergeView mergeView = view.getMergeView();
 
         ViewFactory[] factories = view.getViewFactory().getGroupeds();
-        View first = factories[0].makeView(agentInstanceContext);
+        View first = makeView(factories[0], view, agentInstanceContext);
         first.setParent(view);
         View currentParent = first;
         for (int i = 1; i < factories.length; i++) {
-            View next = factories[i].makeView(agentInstanceContext);
+            View next = makeView(factories[i], view, agentInstanceContext);
             next.setParent(currentParent);
             currentParent.setChild(next);
             currentParent = next;
@@ -47,6 +48,14 @@ public class GroupByViewUtil {
         return first;
     }
 
+    private static View makeView(ViewFactory factory, GroupByView view, AgentInstanceViewFactoryChainContext agentInstanceContext) {
+        // time windows of all groups share one expiry schedule
+        if (factory instanceof TimeWindowViewFactory) {
+            return ((TimeWindowViewFactory) factory).makeView(agentInstanceContext, view.getTimeWindowSharedExpiry());
+        }
+        return factory.makeView(agentInstanceContext);
+    }
+
     public static void removeSubview(View view, AgentInstanceStopServices services) {
         view.setParent(null);
         if (view instanceof AgentInstanceMgmtCallback) {
@@ -40,23 +40,40 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Agent
     private final ViewUpdatedCollection viewUpdatedCollection;
     private final AgentInstanceContext agentInstanceContext;
     private final EPStatementHandleCallbackSchedule handle;
-    private final long scheduleSlot;
+    protected final long scheduleSlot;
     private final TimePeriodProvide timePeriodProvide;
+    private final TimeWindowViewSharedExpiry sharedExpiry;
+    protected long sharedExpiryTime = -1;
 
     public TimeWindowView(AgentInstanceViewFactoryChainContext agentInstanceContext, TimeWindowViewFactory timeWindowViewFactory, ViewUpdatedCollection viewUpdatedCollection, TimePeriodProvide timePeriodProvide) {
+        this(agentInstanceContext, timeWindowViewFactory, viewUpdatedCollection, timePeriodProvide, null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param agentInstanceContext  context
+     * @param timeWindowViewFactory factory
+     * @param viewUpdatedCollection optional collection for previous and prior
+     * @param timePeriodProvide     time period
+     * @param sharedExpiry          expiry schedule shared with the time windows of other groups, or null to use own schedule handle
+     */
+    public TimeWindowView(AgentInstanceViewFactoryChainContext agentInstanceContext, TimeWindowViewFactory timeWindowViewFactory, ViewUpdatedCollection viewUpdatedCollection, TimePeriodProvide timePeriodProvide, TimeWindowViewSharedExpiry sharedExpiry) {
         this.agentInstanceContext = agentInstanceContext.getAgentInstanceContext();
         this.timeWindowViewFactory = timeWindowViewFactory;
         this.viewUpdatedCollection = viewUpdatedCollection;
         this.timeWindow = new TimeWindow(agentInstanceContext.isRemoveStream());
         this.scheduleSlot = agentInstanceContext.getStatementContext().getScheduleBucket().allocateSlot();
         this.timePeriodProvide = timePeriodProvide;
+        this.sharedExpiry = sharedExpiry;
 
+        if (sharedExpiry != null) {
+            this.handle = null;
+            return;
+        }
         ScheduleHandleCallback callback = new ScheduleHandleCallback() {
             public void scheduledTrigger() {
-                agentInstanceContext.getAuditProvider().scheduleFire(TimeWindowView.this.agentInstanceContext, ScheduleObjectType.view, timeWindowViewFactory.getViewName());
-                agentInstanceContext.getInstrumentationProvider().qViewScheduledEval(timeWindowViewFactory);
-                TimeWindowView.this.expire();
-                agentInstanceContext.getInstrumentationProvider().aViewScheduledEval();
+                scheduledExpire();
             }
         };
         this.handle = new EPStatementHandleCallbackSchedule(agentInstanceContext.getEpStatementAgentInstanceHandle(), callback);
@@ -113,6 +130,16 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Agent
         agentInstanceContext.getInstrumentationProvider().aViewProcessIRStream();
     }
 
+    /**
+     * Expires events from the window when the scheduled time arrives.
+     */
+    protected void scheduledExpire() {
+        agentInstanceContext.getAuditProvider().scheduleFire(agentInstanceContext, ScheduleObjectType.view, timeWindowViewFactory.getViewName());
+        agentInstanceContext.getInstrumentationProvider().qViewScheduledEval(timeWindowViewFactory);
+        expire();
+        agentInstanceContext.getInstrumentationProvider().aViewScheduledEval();
+    }
+
     /**
      * This method removes (expires) objects from the window and schedules a new callback for the
      * time when the next oldest message would expire from the window.
@@ -159,6 +186,10 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Agent
     }
 
     private void scheduleCallback(long timeAfterCurrentTime) {
+        if (sharedExpiry != null) {
+            sharedExpiry.add(this, timeAfterCurrentTime);
+            return;
+        }
         agentInstanceContext.getAuditProvider().scheduleAdd(timeAfterCurrentTime, agentInstanceContext, handle, ScheduleObjectType.view, timeWindowViewFactory.getViewName());
         agentInstanceContext.getStatementContext().getSchedulingService().add(timeAfterCurrentTime, handle, scheduleSlot);
     }
@@ -181,6 +212,10 @@ public class TimeWindowView extends ViewSupport implements DataWindowView, Agent
     }
 
     public void stop(AgentInstanceStopServices services) {
+        if (sharedExpiry != null) {
+            sharedExpiry.remove(this);
+            return;
+        }
         if (handle != null) {
             agentInstanceContext.getAuditProvider().scheduleRemove(agentInstanceContext, handle, ScheduleObjectType.view, timeWindowViewFactory.getViewName());
             agentInstanceContext.getStatementContext().getSchedulingService().remove(handle, scheduleSlot);
@@ -47,9 +47,20 @@ public class TimeWindowViewFactory implements DataWindowViewFactory, DataWindowV
     }
 
     public View makeView(AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext) {
+        return makeView(agentInstanceViewFactoryContext, null);
+    }
+
+    /**
+     * Make a time window view that, when provided a shared expiry schedule, does not register its own schedule handle.
+     *
+     * @param agentInstanceViewFactoryContext context
+     * @param sharedExpiry                    expiry schedule shared with the time windows of other groups, or null
+     * @return view
+     */
+    public View makeView(AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext, TimeWindowViewSharedExpiry sharedExpiry) {
         TimePeriodProvide timePeriodProvide = timePeriodCompute.getNonVariableProvide(agentInstanceViewFactoryContext.getAgentInstanceContext());
         ViewUpdatedCollection randomAccess = agentInstanceViewFactoryContext.getStatementContext().getViewServicePreviousFactory().getOptPreviousExprRandomAccess(agentInstanceViewFactoryContext);
-        return new TimeWindowView(agentInstanceViewFactoryContext, this, randomAccess, timePeriodProvide);
+        return new TimeWindowView(agentInstanceViewFactoryContext, this, randomAccess, timePeriodProvide, sharedExpiry);
     }
 
     public int getScheduleCallbackId() {
@@ -0,0 +1,146 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.view.timewin;
+
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackSchedule;
+import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.schedule.ScheduleObjectType;
+import com.espertech.esper.common.internal.view.core.ViewEnum;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Expiry schedule that the time windows of all groups of a grouped data window share.
+ * <p>
+ * The time windows are kept in the order of their next expiry time and schedule slot, and a single schedule handle
+ * fires the expiry of all time windows that are due, in the same order that separate schedule handles would fire.
+ */
+public class TimeWindowViewSharedExpiry {
+    private final static Comparator<TimeWindowView> COMPARATOR = new Comparator<TimeWindowView>() {
+        public int compare(TimeWindowView o1, TimeWindowView o2) {
+            int compared = Long.compare(o1.sharedExpiryTime, o2.sharedExpiryTime);
+            return compared != 0 ? compared : Long.compare(o1.scheduleSlot, o2.scheduleSlot);
+        }
+    };
+
+    private final AgentInstanceContext agentInstanceContext;
+    private final EPStatementHandleCallbackSchedule handle;
+    private final TreeSet<TimeWindowView> queue = new TreeSet<>(COMPARATOR);
+    private long scheduledTime = -1;
+    private long scheduledSlot;
+    private boolean expiring;
+
+    public TimeWindowViewSharedExpiry(AgentInstanceContext agentInstanceContext) {
+        this.agentInstanceContext = agentInstanceContext;
+        ScheduleHandleCallback callback = new ScheduleHandleCallback() {
+            public void scheduledTrigger() {
+                scheduledTime = -1;
+                expire();
+            }
+        };
+        this.handle = new EPStatementHandleCallbackSchedule(agentInstanceContext.getEpStatementAgentInstanceHandle(), callback);
+    }
+
+    /**
+     * Schedule the expiry of a time window.
+     *
+     * @param view                 time window
+     * @param timeAfterCurrentTime delta to the expiry time
+     */
+    public void add(TimeWindowView view, long timeAfterCurrentTime) {
+        if (view.sharedExpiryTime != -1) {
+            queue.remove(view);
+        }
+        view.sharedExpiryTime = agentInstanceContext.getSchedulingService().getTime() + timeAfterCurrentTime;
+        queue.add(view);
+        if (!expiring) {
+            reschedule();
+        }
+    }
+
+    /**
+     * Remove any scheduled expiry of a time window.
+     *
+     * @param view time window
+     */
+    public void remove(TimeWindowView view) {
+        if (view.sharedExpiryTime == -1) {
+            return;
+        }
+        queue.remove(view);
+        view.sharedExpiryTime = -1;
+        if (!expiring) {
+            reschedule();
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public void stop() {
+        for (TimeWindowView view : queue) {
+            view.sharedExpiryTime = -1;
+        }
+        queue.clear();
+        unschedule();
+    }
+
+    private void expire() {
+        long current = agentInstanceContext.getSchedulingService().getTime();
+        List<TimeWindowView> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.first().sharedExpiryTime <= current) {
+            TimeWindowView view = queue.pollFirst();
+            view.sharedExpiryTime = -1;
+            due.add(view);
+        }
+
+        expiring = true;
+        try {
+            for (TimeWindowView view : due) {
+                view.scheduledExpire();
+            }
+        } finally {
+            expiring = false;
+        }
+        reschedule();
+    }
+
+    private void reschedule() {
+        if (queue.isEmpty()) {
+            unschedule();
+            return;
+        }
+        TimeWindowView first = queue.first();
+        if (scheduledTime == first.sharedExpiryTime && scheduledSlot == first.scheduleSlot) {
+            return;
+        }
+        unschedule();
+        long timeAfterCurrentTime = first.sharedExpiryTime - agentInstanceContext.getSchedulingService().getTime();
+        agentInstanceContext.getAuditProvider().scheduleAdd(timeAfterCurrentTime, agentInstanceContext, handle, ScheduleObjectType.view, ViewEnum.TIME_WINDOW.getName());
+        agentInstanceContext.getSchedulingService().add(timeAfterCurrentTime, handle, first.scheduleSlot);
+        scheduledTime = first.sharedExpiryTime;
+        scheduledSlot = first.scheduleSlot;
+    }
+
+    private void unschedule() {
+        if (scheduledTime == -1) {
+            return;
+        }
+        agentInstanceContext.getAuditProvider().scheduleRemove(agentInstanceContext, handle, ScheduleObjectType.view, ViewEnum.TIME_WINDOW.getName());
+        agentInstanceContext.getSchedulingService().remove(handle, scheduledSlot);
+        scheduledTime = -1;
+    }
+}
@@ -62,6 +62,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(compiler.getLogging().isEnableCode());
         assertEquals(16, compiler.getExecution().getFilterServiceMaxFilterWidth());
         assertTrue(compiler.getExecution().isEnabledDeclaredExprValueCache());
+        assertFalse(compiler.getExecution().isEnabledGroupByOpenAddressing());
         ConfigurationCompilerByteCode byteCode = compiler.getByteCode();
         assertFalse(byteCode.isIncludeComments());
         assertFalse(byteCode.isIncludeDebugSymbols());
@@ -82,6 +83,7 @@ public class TestConfigurationParser extends TestCase {
         assertNull(byteCode.getThreadPoolCompilerCapacity());
         assertEquals(16*1024, byteCode.getMaxMethodsPerClass());
         assertTrue(byteCode.isAllowInlinedClass());
+        assertNull(byteCode.getCompileCacheDirectory());
         assertEquals(StreamSelector.ISTREAM_ONLY, compiler.getStreamSelection().getDefaultStreamSelector());
         assertFalse(compiler.getLanguage().isSortUsingCollator());
         assertFalse(compiler.getExpression().isIntegerDivision());
@@ -116,6 +118,10 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(2, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(2, runtime.getThreading().getThreadPoolTimerExecNumThreads());
         assertNull(runtime.getThreading().getThreadPoolInboundCapacity());
+        assertTrue(runtime.getThreading().getThreadPoolInboundAffinityKeys().isEmpty());
+        assertFalse(runtime.getThreading().isThreadPoolInboundAffinityLockElision());
+        assertFalse(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolRouteExecVirtualThreads());
         assertNull(runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolRouteExecCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
@@ -124,19 +130,25 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(Long.MAX_VALUE, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(Locking.SPIN, runtime.getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(0, runtime.getThreading().getNamedWindowConsumerDispatchNumThreads());
         assertFalse(runtime.getLogging().isEnableExecutionDebug());
         assertTrue(runtime.getLogging().isEnableTimerDebug());
         assertNull(runtime.getLogging().getAuditPattern());
         assertEquals(15000, runtime.getVariables().getMsecVersionRelease());
         assertNull(runtime.getPatterns().getMaxSubexpressions());
         assertTrue(runtime.getPatterns().isMaxSubexpressionPreventStart());
+        assertFalse(runtime.getPatterns().isCorrelatedFilterIndex());
         assertNull(runtime.getMatchRecognize().getMaxStates());
         assertTrue(runtime.getMatchRecognize().isMaxStatesPreventStart());
         assertEquals(TimeSourceType.MILLI, runtime.getTimeSource().getTimeSourceType());
         assertFalse(runtime.getExecution().isPrioritized());
         assertFalse(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READMOSTLY, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.SORTED, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(1, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(1, runtime.getExecution().getBatchDispatchSize());
+        assertEquals(0, runtime.getExecution().getFireAndForgetParallelThreshold());
+        assertFalse(runtime.getExecution().isKeyedContextSharedFilters());
         assertTrue(runtime.getExpression().isSelfSubselectPreeval());
         assertEquals(TimeZone.getDefault(), runtime.getExpression().getTimeZone());
         assertNull(runtime.getExceptionHandling().getHandlerFactories());
@@ -499,10 +511,12 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(4321, (int) byteCode.getThreadPoolCompilerCapacity());
         assertEquals(5555, byteCode.getMaxMethodsPerClass());
         assertFalse(byteCode.isAllowInlinedClass());
+        assertEquals("/tmp/compilecache", byteCode.getCompileCacheDirectory());
         assertEquals(StreamSelector.RSTREAM_ISTREAM_BOTH, compiler.getStreamSelection().getDefaultStreamSelector());
 
         assertEquals(100, compiler.getExecution().getFilterServiceMaxFilterWidth());
         assertFalse(compiler.getExecution().isEnabledDeclaredExprValueCache());
+        assertTrue(compiler.getExecution().isEnabledGroupByOpenAddressing());
 
         assertTrue(compiler.getLanguage().isSortUsingCollator());
 
@@ -538,6 +552,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(4000, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(Locking.SUSPEND, runtime.getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(5, runtime.getThreading().getNamedWindowConsumerDispatchNumThreads());
 
         assertFalse(runtime.getThreading().isListenerDispatchPreserveOrder());
         assertEquals(2000, runtime.getThreading().getListenerDispatchTimeout());
@@ -551,6 +566,10 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(3, runtime.getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(4, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(1000, (int) runtime.getThreading().getThreadPoolInboundCapacity());
+        assertEquals(Collections.singletonMap("MyAccountEvent", "accountId"), runtime.getThreading().getThreadPoolInboundAffinityKeys());
+        assertTrue(runtime.getThreading().isThreadPoolInboundAffinityLockElision());
+        assertTrue(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolRouteExecVirtualThreads());
         assertEquals(1500, (int) runtime.getThreading().getThreadPoolOutboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) runtime.getThreading().getThreadPoolRouteExecCapacity());
@@ -564,6 +583,7 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(30000, runtime.getVariables().getMsecVersionRelease());
         assertEquals(3L, (long) runtime.getPatterns().getMaxSubexpressions());
         assertFalse(runtime.getPatterns().isMaxSubexpressionPreventStart());
+        assertTrue(runtime.getPatterns().isCorrelatedFilterIndex());
         assertEquals(3L, (long) runtime.getMatchRecognize().getMaxStates());
         assertFalse(runtime.getMatchRecognize().isMaxStatesPreventStart());
 
@@ -588,7 +608,11 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getExecution().isFairlock());
         assertTrue(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READWRITE, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.TIMINGWHEEL, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(101, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(500, runtime.getExecution().getBatchDispatchSize());
+        assertEquals(64, runtime.getExecution().getFireAndForgetParallelThreshold());
+        assertTrue(runtime.getExecution().isKeyedContextSharedFilters());
 
         ConfigurationRuntimeMetricsReporting metrics = runtime.getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
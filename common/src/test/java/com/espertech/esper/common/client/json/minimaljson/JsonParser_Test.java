@@ -57,6 +57,8 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static com.espertech.esper.common.client.json.minimaljson.Json.parse;
 import static com.espertech.esper.common.client.json.minimaljson.MinimalJsonSupportUtil.assertException;
@@ -764,6 +766,93 @@ public class JsonParser_Test {
         assertParseException(5, "Unexpected character", "falsex");
     }
 
+    @Test
+    public void parse_bytes_sameAsString() {
+        StringBuilder builder = new StringBuilder("{\"a\":[\"x\\u00e9\\n\", 1.5e3, true, null, {}]");
+        for (int i = 0; i < 400; i++) {
+            builder.append(",\"k").append(i).append("\":\"\u00e9\u20ac\ud83d\ude00 ").append(i).append('"');
+        }
+        String json = builder.append('}').toString();
+        parser.parse(json);
+        String expected = handler.getLog();
+
+        byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[utf8.length + 7];
+        System.arraycopy(utf8, 0, padded, 3, utf8.length);
+        for (int i = 0; i < 3; i++) {
+            handler = new TestHandler();
+            parser = new JsonParser(handler);
+            if (i == 0) {
+                parser.parse(padded, 3, utf8.length);
+            } else {
+                ByteBuffer buffer = i == 1 ? ByteBuffer.allocate(padded.length) : ByteBuffer.allocateDirect(padded.length);
+                buffer.put(padded);
+                buffer.position(3);
+                buffer.limit(3 + utf8.length);
+                parser.parse(buffer);
+                assertEquals(3, buffer.position());
+            }
+            assertEquals(expected, handler.getLog());
+        }
+    }
+
+    @Test
+    public void parse_bytes_malformedReplaced() {
+        parser.parse(new byte[]{'"', 'a', (byte) 0xc3, 'x', (byte) 0xff, (byte) 0xed, (byte) 0xa0, (byte) 0x80, '"'}, 0, 9);
+        assertEquals(join("startString 0", "endString a\ufffdx\ufffd\ufffd\ufffd\ufffd 9"), handler.getLog());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void parse_bytes_rejectsOutOfBounds() {
+        parser.parse(new byte[4], 2, 3);
+    }
+
+    @Test
+    public void parse_reusedAfterError() {
+        assertParseException(5, "Unexpected end of input", "[[[[[");
+        handler.log.setLength(0);
+        parser.parse("[2]".getBytes(StandardCharsets.UTF_8), 0, 3);
+        assertEquals(join("startArray 0",
+            "startArrayValue a6 1",
+            "startNumber 1",
+            "endNumber 2 2",
+            "endArrayValue a6 2",
+            "endArray a6 3"),
+            handler.getLog());
+    }
+
+    @Test
+    public void skipObjectValue() {
+        handler = new TestHandler() {
+            @Override
+            public boolean skipObjectValue(Object object, String name) {
+                return name.startsWith("skip");
+            }
+        };
+        parser = new JsonParser(handler);
+        parser.parse("{\"skip1\":{\"a\":[1,-2.5e-3,\"\\u0041\\\"\",{}],\"b\":null},\"skip2\":[true,false],\"c\":3}");
+
+        assertEquals(join("startObject 0",
+            "startObjectName o1 1",
+            "endObjectName o1 skip1 8",
+            "startObjectValue o1 skip1 9",
+            "startObjectName o1 50",
+            "endObjectName o1 skip2 57",
+            "startObjectValue o1 skip2 58",
+            "startObjectName o1 71",
+            "endObjectName o1 c 74",
+            "startObjectValue o1 c 75",
+            "startNumber 75",
+            "endNumber 3 76",
+            "endObjectValue o1 c 76",
+            "endObject o1 77"),
+            handler.getLog());
+
+        assertParseException(10, "Expected valid escape sequence", "{\"skip\":\"\\x\"}");
+        assertParseException(11, "Expected ',' or ']'", "{\"skip\":[1 2]}");
+        assertParseException(9, "Expected name", "{\"skip\":{1:2}}");
+    }
+
     private void assertParseException(int offset, String message, final String json) {
         ParseException exception = assertException(ParseException.class, new Runnable() {
             public void run() {
@@ -0,0 +1,76 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class TestIntObjectHashMap extends TestCase {
+    private IntObjectHashMap<String> map;
+
+    public void setUp() {
+        map = new IntObjectHashMap<String>();
+    }
+
+    public void testPutGetRemove() {
+        assertNull(map.get(1));
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertNull(map.put(Integer.MIN_VALUE, "min"));
+        assertNull(map.put(0, "zero"));
+        assertEquals(3, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertEquals("zero", map.get(0));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+        assertFalse(map.valueIterator().hasNext());
+    }
+
+    public void testCompareHashMapRandom() {
+        Random random = new Random(1234);
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            // keys that are multiples of 1024 collide in the low bits
+            int key = (int) ((random.nextInt(1000) - 500) * (random.nextBoolean() ? 1 : 1024));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+            int probe = (int) ((random.nextInt(1000) - 500) * (random.nextBoolean() ? 1 : 1024));
+            assertEquals(expected.get(probe), map.get(probe));
+        }
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Set<String> values = new HashSet<>();
+        for (Iterator<String> it = map.valueIterator(); it.hasNext(); ) {
+            assertTrue(values.add(it.next()));
+        }
+        assertEquals(new HashSet<>(expected.values()), values);
+    }
+}
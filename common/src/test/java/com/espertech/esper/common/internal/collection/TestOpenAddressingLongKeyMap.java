@@ -0,0 +1,89 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestOpenAddressingLongKeyMap extends TestCase {
+
+    public void testPutGetRemove() {
+        OpenAddressingLongKeyMap map = new OpenAddressingLongKeyMap(Long.class);
+        assertNull(map.get(1L));
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertNull(map.put(null, "null"));
+        assertEquals(3, map.size());
+
+        assertEquals("b", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("null", map.remove(null));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(Long.MIN_VALUE));
+    }
+
+    public void testKeyType() {
+        assertTrue(OpenAddressingLongKeyMap.isSupportedKeyType(Integer.class));
+        assertTrue(OpenAddressingLongKeyMap.isSupportedKeyType(Byte.class));
+        assertFalse(OpenAddressingLongKeyMap.isSupportedKeyType(int.class));
+        assertFalse(OpenAddressingLongKeyMap.isSupportedKeyType(Double.class));
+        assertFalse(OpenAddressingLongKeyMap.isSupportedKeyType(null));
+        try {
+            new OpenAddressingLongKeyMap(String.class);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+
+        OpenAddressingLongKeyMap map = new OpenAddressingLongKeyMap(Short.class);
+        map.put((short) -5, "a");
+        Object key = map.keySet().iterator().next();
+        assertEquals(Short.class, key.getClass());
+        assertEquals((short) -5, key);
+    }
+
+    public void testCompareHashMapRandom() {
+        Random random = new Random(4321);
+        OpenAddressingLongKeyMap map = new OpenAddressingLongKeyMap(Integer.class);
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            Integer key = randomKey(random);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+            Integer probe = randomKey(random);
+            assertEquals(expected.get(probe), map.get(probe));
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.keySet(), map.keySet());
+    }
+
+    private static Integer randomKey(Random random) {
+        int value = random.nextInt(1000) - 500;
+        if (value == 0) {
+            return null;
+        }
+        // keys that are multiples of 1024 collide in the low bits
+        return value * (random.nextBoolean() ? 1 : 1024);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.util.HashableMultiKey;
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestOpenAddressingMap extends TestCase {
+    private OpenAddressingMap map;
+
+    public void setUp() {
+        map = new OpenAddressingMap();
+    }
+
+    public void testPutGetRemove() {
+        assertNull(map.get("a"));
+        assertNull(map.put("a", 1));
+        assertEquals(1, map.put("a", 2));
+        assertEquals(2, map.get("a"));
+        assertNull(map.put(null, 3));
+        assertNull(map.put(new HashableMultiKey(new Object[]{"a", 1}), 4));
+        assertEquals(3, map.size());
+        assertEquals(4, map.get(new HashableMultiKey(new Object[]{"a", 1})));
+        assertEquals(3, map.get(null));
+        assertTrue(map.containsKey(null));
+
+        assertEquals(2, map.remove("a"));
+        assertNull(map.remove("a"));
+        assertEquals(3, map.remove(null));
+        assertNull(map.get(null));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    public void testNullValue() {
+        try {
+            map.put("a", null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testCompareHashMapRandom() {
+        Random random = new Random(1234);
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            Object key = randomKey(random);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+            Object probe = randomKey(random);
+            assertEquals(expected.get(probe), map.get(probe));
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected.size(), map.entrySet().size());
+    }
+
+    private static Object randomKey(Random random) {
+        int value = random.nextInt(1000);
+        if (value == 0) {
+            return null;
+        }
+        // keys that are multiples of 1024 collide in the low bits
+        return new HashableMultiKey(new Object[]{value % 7, value * (random.nextBoolean() ? 1 : 1024)});
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestSingleWriterLongHashMap extends TestCase {
+    private SingleWriterLongHashMap<String> map;
+
+    public void setUp() {
+        map = new SingleWriterLongHashMap<String>();
+    }
+
+    public void testPutGetRemove() {
+        assertNull(map.get(1));
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertNull(map.put(0, "zero"));
+        assertEquals(3, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("zero", map.get(0));
+        assertEquals(2, map.size());
+
+        assertNull(map.put(1, "c"));
+        assertEquals("c", map.get(1));
+        assertEquals(3, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+    }
+
+    public void testCompareHashMapRandom() {
+        Random random = new Random(4321);
+        Map<Long, String> expected = new HashMap<Long, String>();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.size(), map.size());
+        }
+
+        Map<Long, String> iterated = new HashMap<Long, String>();
+        map.forEach((value, key) -> iterated.put(key, value));
+        assertEquals(expected, iterated);
+
+        for (Long key : expected.keySet().toArray(new Long[0])) {
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class TestSortedDoubleTree extends TestCase {
+    private SortedDoubleTree tree;
+
+    public void setUp() {
+        tree = new SortedDoubleTree();
+    }
+
+    public void testAddRemove() {
+        assertEquals(0, tree.size());
+
+        tree.add(10);
+        tree.add(0);
+        tree.add(5);
+        tree.add(Double.NaN);
+        compare(new double[]{0, 5, 10});
+
+        tree.add(10);
+        tree.add(1);
+        tree.add(5.5);
+        compare(new double[]{0, 1, 5, 5.5, 10, 10});
+
+        tree.remove(10);
+        tree.remove(3);
+        tree.remove(Double.NaN);
+        compare(new double[]{0, 1, 5, 5.5, 10});
+        assertTrue(tree.contains(10));
+        assertFalse(tree.contains(3));
+
+        tree.remove(0);
+        tree.remove(10);
+        compare(new double[]{1, 5, 5.5});
+
+        tree.clear();
+        compare(new double[0]);
+        tree.add(-1);
+        compare(new double[]{-1});
+
+        try {
+            tree.getValue(1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+
+    public void testPercentile() {
+        assertTrue(Double.isNaN(tree.getPercentile(50)));
+
+        tree.add(7);
+        assertEquals(7d, tree.getPercentile(0));
+        assertEquals(7d, tree.getPercentile(50));
+        assertEquals(7d, tree.getPercentile(100));
+
+        for (double value : new double[]{1, 3, 5}) {
+            tree.add(value);
+        }
+        assertEquals(1d, tree.getPercentile(0));
+        assertEquals(4d, tree.getPercentile(50));
+        assertEquals(7d, tree.getPercentile(100));
+        assertEquals(1.6, tree.getPercentile(10), 1e-9);
+        assertEquals(6.7, tree.getPercentile(95), 1e-9);
+    }
+
+    public void testCompareVectorRandom() {
+        Random random = new Random(9876);
+        SortedDoubleVector vector = new SortedDoubleVector();
+        for (int step = 0; step < 20000; step++) {
+            double value = random.nextInt(500) / 4d;
+            if (random.nextInt(5) < 3) {
+                tree.add(value);
+                vector.add(value);
+            } else {
+                tree.remove(value);
+                vector.remove(value);
+            }
+            assertEquals(vector.size(), tree.size());
+            if (step % 100 == 0) {
+                double[] values = tree.toArray();
+                for (int i = 0; i < vector.size(); i++) {
+                    assertEquals(vector.getValue(i), values[i]);
+                    assertEquals(vector.getValue(i), tree.getValue(i));
+                }
+            }
+        }
+    }
+
+    private void compare(double[] expected) {
+        assertEquals(expected.length, tree.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], tree.getValue(i));
+        }
+        double[] values = tree.toArray();
+        assertEquals(expected.length, values.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], values[i]);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.hyperloglog;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class TestHyperLogLogState extends TestCase {
+
+    public void testSmallCardinalitySparse() {
+        HyperLogLogState state = new HyperLogLogState(HyperLogLogState.DEFAULT_PRECISION);
+        assertEquals(0, state.estimate());
+        for (int repeat = 0; repeat < 3; repeat++) {
+            for (int i = 0; i < 1000; i++) {
+                state.add("E" + i);
+            }
+        }
+        assertTrue(state.isSparse());
+        assertEquals(1000, state.estimate());
+
+        state.clear();
+        assertEquals(0, state.estimate());
+    }
+
+    public void testLargeCardinalityDense() {
+        for (int precision : new int[]{10, 14}) {
+            HyperLogLogState state = new HyperLogLogState(precision);
+            int count = 1000000;
+            for (int i = 0; i < count; i++) {
+                state.addLong(i);
+            }
+            assertFalse(state.isSparse());
+            double tolerance = precision == 10 ? 0.1 : 0.02;
+            assertEquals(count, state.estimate(), count * tolerance);
+        }
+    }
+
+    public void testMerge() {
+        // sparse into sparse, sparse into dense, dense into sparse and dense into dense
+        int[][] sizes = {{100, 200}, {50000, 300}, {300, 50000}, {50000, 80000}};
+        for (int[] size : sizes) {
+            HyperLogLogState one = new HyperLogLogState(12);
+            HyperLogLogState two = new HyperLogLogState(12);
+            HyperLogLogState all = new HyperLogLogState(12);
+            for (int i = 0; i < size[0]; i++) {
+                one.addLong(i);
+                all.addLong(i);
+            }
+            for (int i = 0; i < size[1]; i++) {
+                two.addLong(i + size[0] / 2);
+                all.addLong(i + size[0] / 2);
+            }
+            one.merge(two);
+            assertEquals(all.estimate(), one.estimate(), all.estimate() * 0.01);
+        }
+
+        try {
+            new HyperLogLogState(12).merge(new HyperLogLogState(13));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testSerde() throws IOException {
+        for (int count : new int[]{0, 10, 100000}) {
+            HyperLogLogState state = new HyperLogLogState(11);
+            for (int i = 0; i < count; i++) {
+                state.add("E" + i);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            state.write(new DataOutputStream(bytes));
+
+            HyperLogLogState read = new HyperLogLogState(11);
+            read.add("X");
+            read.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(state.isSparse(), read.isSparse());
+            assertEquals(state.estimate(), read.estimate());
+
+            read.add("other");
+            state.add("other");
+            assertEquals(state.estimate(), read.estimate());
+        }
+    }
+
+    public void testHashConsistentAcrossTypes() {
+        assertEquals(HyperLogLogState.hash(10), HyperLogLogState.hash(10L));
+        assertEquals(HyperLogLogState.hash((short) 10), HyperLogLogState.hashLong(10));
+        assertEquals(HyperLogLogState.hash(1.5d), HyperLogLogState.hash(1.5f));
+        assertEquals(HyperLogLogState.hash(0d), HyperLogLogState.hash(-0d));
+        assertEquals(HyperLogLogState.hash("abc"), HyperLogLogState.hash(new StringBuilder("abc")));
+        assertFalse(HyperLogLogState.hash(1) == HyperLogLogState.hash(1d));
+
+        try {
+            new HyperLogLogState(3);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+}
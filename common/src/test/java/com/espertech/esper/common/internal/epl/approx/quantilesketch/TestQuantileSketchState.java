@@ -0,0 +1,161 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.quantilesketch;
+
+import com.espertech.esper.common.internal.epl.agg.access.quantilesketch.AggregationStateSerdeQuantileSketch;
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestQuantileSketchState extends TestCase {
+
+    public void testSmall() {
+        QuantileSketchState state = new QuantileSketchState(100);
+        assertTrue(state.isEmpty());
+        assertTrue(Double.isNaN(state.quantile(0.5)));
+        assertTrue(Double.isNaN(state.cdf(1)));
+
+        for (int i = 1; i <= 5; i++) {
+            state.add(i);
+        }
+        state.add(Double.NaN);
+        assertEquals(5d, state.getTotalWeight());
+        assertEquals(1d, state.quantile(0));
+        assertEquals(3d, state.quantile(0.5));
+        assertEquals(5d, state.quantile(1));
+        assertEquals(0d, state.cdf(0.5));
+        assertEquals(0.5d, state.cdf(3), 1e-9);
+        assertEquals(1d, state.cdf(5));
+
+        try {
+            state.quantile(1.5);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public void testAccuracyAndBoundedSize() {
+        Random random = new Random(1234);
+        double[] values = new double[100000];
+        QuantileSketchState state = new QuantileSketchState(100);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 10 + 100;
+            state.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertTrue(state.getCentroidCount() <= 103);
+        assertEquals(values[0], state.quantile(0));
+        assertEquals(values[values.length - 1], state.quantile(1));
+        for (double quantile : new double[]{0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999}) {
+            double estimate = state.quantile(quantile);
+            double rank = rankOf(values, estimate);
+            assertEquals("quantile " + quantile, quantile, rank, tolerance(quantile));
+            assertEquals("cdf " + quantile, quantile, state.cdf(values[(int) (quantile * values.length)]), tolerance(quantile));
+        }
+    }
+
+    public void testMerge() {
+        Random random = new Random(4321);
+        double[] values = new double[50000];
+        QuantileSketchState merged = new QuantileSketchState(100);
+        for (int part = 0; part < 5; part++) {
+            QuantileSketchState state = new QuantileSketchState(100);
+            for (int i = 0; i < 10000; i++) {
+                double value = random.nextDouble() * 1000;
+                values[part * 10000 + i] = value;
+                state.add(value);
+            }
+            merged.add(state);
+        }
+        Arrays.sort(values);
+
+        assertEquals(50000d, merged.getTotalWeight(), 1e-6);
+        assertEquals(values[0], merged.getMin());
+        assertEquals(values[values.length - 1], merged.getMax());
+        for (double quantile : new double[]{0.01, 0.5, 0.99}) {
+            assertEquals(quantile, rankOf(values, merged.quantile(quantile)), tolerance(quantile));
+        }
+    }
+
+    public void testMergeSelf() {
+        Random random = new Random(1234);
+        double[] values = new double[10000];
+        QuantileSketchState state = new QuantileSketchState(100);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            state.add(values[i]);
+        }
+        Arrays.sort(values);
+        double median = state.quantile(0.5);
+        int centroids = state.getCentroidCount();
+
+        state.add(state);
+        assertEquals(20000d, state.getTotalWeight(), 1e-6);
+        assertEquals(centroids, state.getCentroidCount());
+        assertEquals(values[0], state.getMin());
+        assertEquals(values[values.length - 1], state.getMax());
+        assertEquals(median, state.quantile(0.5), 1e-9);
+        for (double quantile : new double[]{0.01, 0.5, 0.99}) {
+            assertEquals(quantile, rankOf(values, state.quantile(quantile)), tolerance(quantile));
+        }
+
+        // buffered values are part of the doubled digest
+        state.add(5000);
+        state.add(state);
+        assertEquals(40002d, state.getTotalWeight(), 1e-6);
+        assertEquals(5000d, state.getMax());
+    }
+
+    public void testSerde() throws IOException {
+        QuantileSketchSpec spec = new QuantileSketchSpec(50);
+        QuantileSketchAggState state = spec.makeAggState();
+        Random random = new Random(99);
+        for (int i = 0; i < 20000; i++) {
+            state.add(random.nextInt(500));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AggregationStateSerdeQuantileSketch.writeQuantileSketch(new DataOutputStream(bytes), state);
+        QuantileSketchAggState read = AggregationStateSerdeQuantileSketch.readQuantileSketch(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), spec);
+
+        assertEquals(state.getState().getTotalWeight(), read.getState().getTotalWeight());
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            assertEquals(state.quantile(quantile), read.quantile(quantile));
+        }
+        assertEquals(state.cdf(250), read.cdf(250));
+        assertNull(read.quantile(null));
+        assertNull(read.quantile(2));
+
+        QuantileSketchAggState empty = spec.makeAggState();
+        bytes.reset();
+        AggregationStateSerdeQuantileSketch.writeQuantileSketch(new DataOutputStream(bytes), empty);
+        read = AggregationStateSerdeQuantileSketch.readQuantileSketch(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), spec);
+        assertTrue(read.getState().isEmpty());
+        assertNull(read.quantile(0.5));
+        assertNull(read.cdf(1));
+    }
+
+    private static double tolerance(double quantile) {
+        return Math.max(0.0005, quantile * (1 - quantile) * 0.02);
+    }
+
+    private static double rankOf(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index / (double) sorted.length;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertyHashedEventTableCompact extends TestCase {
+
+    public void testTableClass() {
+        assertEquals(PropertyHashedEventTableCompactLong.class, makeFactory("longBoxed", Long.class).makeEventTables(null, null)[0].getClass());
+        assertEquals(PropertyHashedEventTableCompactInt.class, makeFactory("intPrimitive", int.class).makeEventTables(null, null)[0].getClass());
+        assertEquals(PropertyHashedEventTableCompact.class, makeFactory("theString", String.class).makeEventTables(null, null)[0].getClass());
+        assertEquals(PropertyHashedEventTableUnadorned.class, makeFactory("theString", null).makeEventTables(null, null)[0].getClass());
+    }
+
+    public void testBuckets() {
+        PropertyHashedEventTable table = (PropertyHashedEventTable) makeFactory("intPrimitive", Integer.class).makeEventTables(null, null)[0];
+        EventBean[] events = new EventBean[12];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, 1));
+        }
+
+        table.add(events[0], null);
+        assertEquals(Collections.singleton(events[0]), table.lookup(1));
+        table.add(events[0], null);
+        assertEquals(1, table.lookup(1).size());
+
+        for (int i = 1; i < events.length; i++) {
+            table.add(events[i], null);
+            assertEquals(Arrays.asList(events).subList(0, i + 1), new ArrayList<>(table.lookup(1)));
+        }
+        for (int i = events.length - 1; i > 0; i--) {
+            table.remove(events[i], null);
+            assertEquals(Arrays.asList(events).subList(0, i), new ArrayList<>(table.lookup(1)));
+        }
+        table.remove(events[0], null);
+        assertNull(table.lookup(1));
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+
+    public void testCompareUnadornedRandom() {
+        Random random = new Random(9876);
+        for (String property : new String[]{"intPrimitive", "intBoxed", "longBoxed", "theString"}) {
+            Class type = SupportEventBeanFactory.createObject(new SupportBean()).getEventType().getPropertyType(property);
+            PropertyHashedEventTable compact = (PropertyHashedEventTable) makeFactory(property, type).makeEventTables(null, null)[0];
+            PropertyHashedEventTable unadorned = (PropertyHashedEventTable) makeFactory(property, null).makeEventTables(null, null)[0];
+            assertTrue(compact instanceof PropertyHashedEventTableCompact);
+
+            List<EventBean> live = new ArrayList<>();
+            for (int step = 0; step < 20000; step++) {
+                if (!live.isEmpty() && random.nextInt(5) < 2) {
+                    EventBean event = live.remove(random.nextInt(live.size()));
+                    compact.remove(event, null);
+                    unadorned.remove(event, null);
+                } else {
+                    // skewed keys so that some keys have a single event and some have many
+                    int key = random.nextBoolean() ? random.nextInt(500) : random.nextInt(3);
+                    SupportBean bean = new SupportBean("K" + key, key);
+                    bean.setIntBoxed(key % 7 == 0 ? null : key);
+                    bean.setLongBoxed((long) key << 20);
+                    EventBean event = SupportEventBeanFactory.createObject(bean);
+                    live.add(event);
+                    compact.add(event, null);
+                    unadorned.add(event, null);
+                }
+
+                Object probe = compact.getKey(live.isEmpty() ? SupportEventBeanFactory.createObject(new SupportBean()) : live.get(random.nextInt(live.size())));
+                assertEquals(toList(unadorned.lookup(probe)), toList(compact.lookup(probe)));
+                assertEquals(unadorned.getNumKeys(), compact.getNumKeys());
+            }
+
+            Set<EventBean> iterated = new HashSet<>();
+            for (Iterator<EventBean> it = compact.iterator(); it.hasNext(); ) {
+                assertTrue(iterated.add(it.next()));
+            }
+            assertEquals(new HashSet<>(live), iterated);
+
+            compact.clear();
+            assertTrue(compact.isEmpty());
+            assertEquals(0, compact.getNumKeys());
+        }
+    }
+
+    private static List<EventBean> toList(Set<EventBean> events) {
+        return events == null ? null : new ArrayList<>(events);
+    }
+
+    private static PropertyHashedEventTableFactory makeFactory(String property, Class type) {
+        EventPropertyValueGetter getter = SupportEventBeanFactory.createObject(new SupportBean()).getEventType().getGetter(property);
+        return new PropertyHashedEventTableFactory(0, new String[]{property}, false, null, getter, null, type == null ? null : new Class[]{type});
+    }
+}
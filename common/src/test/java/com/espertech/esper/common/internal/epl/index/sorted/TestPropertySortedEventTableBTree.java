@@ -0,0 +1,153 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueEquals;
+import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueRange;
+import com.espertech.esper.common.internal.epl.join.querygraph.QueryGraphRangeEnum;
+import com.espertech.esper.common.internal.filterspec.DoubleRange;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertySortedEventTableBTree extends TestCase {
+
+    public void testTableClass() {
+        assertEquals(PropertySortedEventTableBTreeLong.class, makeTable("intPrimitive", int.class).getClass());
+        assertEquals(PropertySortedEventTableBTreeLong.class, makeTable("longBoxed", Long.class).getClass());
+        assertEquals(PropertySortedEventTableBTreeDouble.class, makeTable("doublePrimitive", double.class).getClass());
+        assertEquals(PropertySortedEventTableBTreeObject.class, makeTable("theString", String.class).getClass());
+    }
+
+    public void testLookup() {
+        PropertySortedEventTable table = makeTable("intPrimitive", Integer.class);
+        EventBean[] events = new EventBean[5];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, i * 10));
+            table.add(events[i], null);
+        }
+        EventBean duplicate = SupportEventBeanFactory.createObject(new SupportBean("D", 20));
+        table.add(duplicate, null);
+
+        assertEquals(Arrays.asList(events[2], duplicate), toList(table.lookupConstants(new RangeIndexLookupValueEquals(20))));
+        assertEquals(Arrays.asList(events[1], events[2], duplicate, events[3]), toList(table.lookupRange(10, true, 30, true, false)));
+        assertEquals(Arrays.asList(events[2], duplicate), toList(table.lookupRange(10, false, 30, false, false)));
+        assertEquals(Collections.emptySet(), table.lookupRange(30, true, 10, true, false));
+        assertEquals(Arrays.asList(events[1], events[2], duplicate, events[3]), toList(table.lookupRange(30, true, 10, true, true)));
+        assertEquals(Arrays.asList(events[0], events[4]), toList(table.lookupConstants(new RangeIndexLookupValueRange(new DoubleRange(10d, 30d), QueryGraphRangeEnum.NOT_RANGE_CLOSED, false))));
+        assertEquals(Arrays.asList(events[3], events[4]), toList(table.lookupGreater(20L)));
+        assertNull(table.lookupGreater(40));
+        assertEquals(Collections.emptySet(), table.lookupGreater(null));
+        assertEquals(5, table.getNumKeys());
+
+        table.remove(events[2], null);
+        table.remove(duplicate, null);
+        assertNull(table.lookupConstants(new RangeIndexLookupValueEquals(20)));
+        assertEquals(4, table.getNumKeys());
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+
+    public void testCompareTreeMapRandom() {
+        Random random = new Random(2468);
+        for (String property : new String[]{"intPrimitive", "doublePrimitive", "theString"}) {
+            Class type = SupportEventBeanFactory.createObject(new SupportBean()).getEventType().getPropertyType(property);
+            PropertySortedEventTable table = makeTable(property, type);
+            TreeMap<Object, Set<EventBean>> expected = new TreeMap<>();
+            List<EventBean> live = new ArrayList<>();
+
+            for (int step = 0; step < 30000; step++) {
+                // grow well beyond a single node, then shrink back to exercise merging and removal of nodes
+                boolean removing = step % 10000 > 6000;
+                if (!live.isEmpty() && (removing ? random.nextInt(10) < 7 : random.nextInt(10) < 3)) {
+                    EventBean event = live.remove(random.nextInt(live.size()));
+                    Object key = event.get(property);
+                    table.remove(event, null);
+                    Set<EventBean> events = expected.get(key);
+                    events.remove(event);
+                    if (events.isEmpty()) {
+                        expected.remove(key);
+                    }
+                } else {
+                    int value = random.nextInt(5000);
+                    SupportBean bean = new SupportBean("K" + (10000 + value), value);
+                    bean.setDoublePrimitive(value / 4d);
+                    EventBean event = SupportEventBeanFactory.createObject(bean);
+                    live.add(event);
+                    table.add(event, null);
+                    expected.computeIfAbsent(event.get(property), k -> new LinkedHashSet<>()).add(event);
+                }
+                assertEquals(expected.size(), table.getNumKeys());
+
+                if (step % 7 == 0) {
+                    Object first = key(property, random.nextInt(5200) - 100);
+                    Object second = key(property, random.nextInt(5200) - 100);
+                    boolean includeStart = random.nextBoolean();
+                    boolean includeEnd = random.nextBoolean();
+                    Object low = compare(first, second) <= 0 ? first : second;
+                    Object high = low == first ? second : first;
+                    assertEquals(flatten(expected.subMap(low, includeStart, high, includeEnd)), toList(table.lookupRange(low, includeStart, high, includeEnd, false)));
+                    assertEquals(flatten(expected.subMap(low, includeStart, high, includeEnd)), toList(table.lookupRangeColl(high, includeStart, low, includeEnd, true)));
+                    List<EventBean> inverted = flatten(expected.headMap(low, !includeStart));
+                    inverted.addAll(flatten(expected.tailMap(high, !includeEnd)));
+                    assertEquals(inverted, toList(table.lookupRangeInvertedColl(low, includeStart, high, includeEnd)));
+                    assertEquals(flatten(expected.headMap(first, false)), toList(table.lookupLess(first)));
+                    assertEquals(flatten(expected.headMap(first, true)), toList(table.lookupLessEqualColl(first)));
+                    assertEquals(flatten(expected.tailMap(first, true)), toList(table.lookupGreaterEqual(first)));
+                    assertEquals(flatten(expected.tailMap(first, false)), toList(table.lookupGreaterColl(first)));
+                }
+            }
+
+            List<EventBean> iterated = new ArrayList<>();
+            table.iterator().forEachRemaining(iterated::add);
+            assertEquals(flatten(expected), iterated);
+        }
+    }
+
+    private static Object key(String property, int value) {
+        switch (property) {
+            case "intPrimitive":
+                return value;
+            case "doublePrimitive":
+                return value / 4d;
+            default:
+                return "K" + (10000 + value);
+        }
+    }
+
+    private static int compare(Object first, Object second) {
+        return ((Comparable) first).compareTo(second);
+    }
+
+    private static List<EventBean> flatten(SortedMap<Object, Set<EventBean>> map) {
+        List<EventBean> result = new ArrayList<>();
+        for (Set<EventBean> events : map.values()) {
+            result.addAll(events);
+        }
+        return result;
+    }
+
+    private static List<EventBean> toList(Collection<EventBean> events) {
+        return events == null ? Collections.emptyList() : new ArrayList<>(events);
+    }
+
+    private static PropertySortedEventTable makeTable(String property, Class type) {
+        EventPropertyValueGetter getter = SupportEventBeanFactory.createObject(new SupportBean()).getEventType().getGetter(property);
+        PropertySortedEventTableFactory factory = new PropertySortedEventTableFactory(0, property, getter, JavaClassHelper.getBoxedType(type));
+        return (PropertySortedEventTable) factory.makeEventTables(null, null)[0];
+    }
+}
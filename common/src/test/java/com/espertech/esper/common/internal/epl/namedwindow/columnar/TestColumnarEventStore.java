@@ -0,0 +1,136 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.columnar;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.meta.EventTypeApplicationType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.meta.EventTypeTypeClass;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestColumnarEventStore extends TestCase {
+    private ObjectArrayEventType eventType;
+    private ColumnarEventStore store;
+
+    public void setUp() {
+        Map<String, Object> types = new LinkedHashMap<>();
+        types.put("theString", String.class);
+        types.put("intPrimitive", int.class);
+        types.put("longBoxed", Long.class);
+        types.put("doubleBoxed", Double.class);
+        types.put("boolPrimitive", boolean.class);
+        types.put("byteBoxed", Byte.class);
+        types.put("shortBoxed", Short.class);
+        types.put("charPrimitive", char.class);
+        types.put("floatBoxed", Float.class);
+        types.put("numberObject", Number.class);
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        eventType = new ObjectArrayEventType(metadata, types, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+        store = new ColumnarEventStore(eventType);
+    }
+
+    public void testReadWrite() {
+        Object[] values = new Object[]{"E1", 10, 100L, 1.5d, true, (byte) 2, (short) 3, 'x', 2.5f, 7};
+        EventBean event = store.add(new ObjectArrayEventBean(values, eventType));
+        assertTrue(event instanceof ColumnarEventBean);
+        assertSame(eventType, event.getEventType());
+        assertTrue(Arrays.equals(values, (Object[]) event.getUnderlying()));
+        assertSame(event.getUnderlying(), event.getUnderlying());
+        assertEquals(100L, event.get("longBoxed"));
+        assertEquals('x', event.get("charPrimitive"));
+        assertSame(event, store.add(event));
+
+        Object[] nulls = new Object[]{null, 0, null, null, false, null, null, 'a', null, null};
+        event = store.add(new ObjectArrayEventBean(nulls, eventType));
+        assertTrue(Arrays.equals(nulls, (Object[]) event.getUnderlying()));
+        assertNull(event.get("doubleBoxed"));
+
+        // a value not of the column type is kept as-is
+        Object[] mismatched = new Object[]{"E2", 1, 5, 2d, true, (byte) 1, (short) 1, 'a', 1f, 5.5d};
+        event = store.add(new ObjectArrayEventBean(mismatched, eventType));
+        assertTrue(Arrays.equals(mismatched, (Object[]) event.getUnderlying()));
+        assertEquals(5, event.get("longBoxed"));
+
+        ((ColumnarEventBean) event).setPropertyValues(values);
+        assertSame(values, event.getUnderlying());
+        assertEquals("E1", event.get("theString"));
+    }
+
+    public void testManyChunks() {
+        Random random = new Random(1234);
+        int count = ColumnarEventStore.CHUNK_ROWS * 3 + 17;
+        Object[][] expected = new Object[count][];
+        EventBean[] input = new EventBean[count];
+        for (int i = 0; i < count; i++) {
+            boolean isNull = random.nextInt(5) == 0;
+            expected[i] = new Object[]{"E" + i, i, isNull ? null : random.nextLong(), isNull ? null : random.nextDouble(), random.nextBoolean(),
+                isNull ? null : (byte) random.nextInt(), isNull ? null : (short) random.nextInt(), (char) random.nextInt(Character.MAX_VALUE),
+                isNull ? null : random.nextFloat(), random.nextInt(3) == 0 ? null : random.nextInt()};
+            input[i] = new ObjectArrayEventBean(expected[i], eventType);
+        }
+        EventBean[] events = store.add(input);
+        assertEquals(count, events.length);
+        for (int i = 0; i < count; i++) {
+            assertTrue(Arrays.equals(expected[i], (Object[]) events[i].getUnderlying()));
+            assertEquals(i, events[i].get("intPrimitive"));
+        }
+    }
+
+    public void testRemoveCompact() {
+        int count = ColumnarEventStore.CHUNK_ROWS * 2 + 10;
+        EventBean[] events = new EventBean[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = store.add(new ObjectArrayEventBean(makeValues(i), eventType));
+        }
+        ColumnarEventChunk first = ((ColumnarEventBean) events[0]).getChunk();
+        ColumnarEventChunk last = ((ColumnarEventBean) events[count - 1]).getChunk();
+
+        // remove all but every fifth event, the chunk compacts once a quarter of the rows remain
+        for (int i = 0; i < count; i++) {
+            if (i % 5 != 0) {
+                store.remove(new EventBean[]{events[i]});
+            }
+        }
+        store.remove(new EventBean[]{events[1]});
+        assertEquals(205, first.getLive());
+        assertEquals(256, first.getCapacity());
+        assertEquals(2, last.getLive());
+        assertEquals(ColumnarEventStore.CHUNK_ROWS, last.getCapacity());
+        for (int i = 0; i < count; i++) {
+            assertTrue(Arrays.equals(makeValues(i), (Object[]) events[i].getUnderlying()));
+            assertEquals(i, events[i].get("intPrimitive"));
+        }
+
+        // removing all events releases the storage
+        store.remove(events);
+        assertEquals(0, first.getLive());
+        assertEquals(0, first.getCapacity());
+        for (int i = 0; i < count; i++) {
+            assertTrue(Arrays.equals(makeValues(i), (Object[]) events[i].getUnderlying()));
+            assertEquals("E" + i, events[i].get("theString"));
+        }
+    }
+
+    private static Object[] makeValues(int i) {
+        return new Object[]{"E" + i, i, (long) i * 3, i % 5 == 0 ? null : i * 1.5d, i % 2 == 0, (byte) i, (short) i, (char) ('a' + i % 26), (float) i, i % 3 == 0 ? null : (Number) i};
+    }
+}
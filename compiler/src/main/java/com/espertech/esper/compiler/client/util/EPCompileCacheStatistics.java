@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.client.util;
+
+/**
+ * Hit and miss counts of the compile cache.
+ */
+public class EPCompileCacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long uncacheable;
+
+    /**
+     * Ctor.
+     *
+     * @param hits        number of compiles that returned a compiled module from the cache
+     * @param misses      number of compiles that compiled the module and kept it in the cache
+     * @param uncacheable number of compiles that could not use the cache
+     */
+    public EPCompileCacheStatistics(long hits, long misses, long uncacheable) {
+        this.hits = hits;
+        this.misses = misses;
+        this.uncacheable = uncacheable;
+    }
+
+    /**
+     * Returns the number of compiles that returned a compiled module from the cache.
+     *
+     * @return hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of compiles that compiled the module and kept it in the cache.
+     *
+     * @return misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of compiles that could not use the cache, such as when compiling against a runtime path
+     * or with compiler options.
+     *
+     * @return uncacheable count
+     */
+    public long getUncacheable() {
+        return uncacheable;
+    }
+
+    public String toString() {
+        return "EPCompileCacheStatistics{" +
+            "hits=" + hits +
+            ", misses=" + misses +
+            ", uncacheable=" + uncacheable +
+            '}';
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.client.util;
+
+import com.espertech.esper.compiler.internal.util.CompilerCache;
+
+/**
+ * Utilities for the compile cache that the compiler uses when the compile cache directory is configured,
+ * see {@link com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerByteCode#setCompileCacheDirectory(String)}.
+ */
+public class EPCompileCacheUtil {
+    /**
+     * Returns the hit and miss counts of the compile cache of the directory, counting since the process started or statistics were reset.
+     *
+     * @param directory compile cache directory
+     * @return statistics
+     */
+    public static EPCompileCacheStatistics getStatistics(String directory) {
+        CompilerCache cache = CompilerCache.getCache(directory);
+        return new EPCompileCacheStatistics(cache.getHits(), cache.getMisses(), cache.getUncacheable());
+    }
+
+    /**
+     * Resets the hit and miss counts of the compile cache of the directory.
+     *
+     * @param directory compile cache directory
+     */
+    public static void resetStatistics(String directory) {
+        CompilerCache.getCache(directory).resetStatistics();
+    }
+
+    /**
+     * Removes all compiled modules from the compile cache directory, such as when classes on the classpath changed.
+     *
+     * @param directory compile cache directory
+     */
+    public static void clear(String directory) {
+        CompilerCache.getCache(directory).clear();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.CompilerOptions;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.util.EPCompiledIOUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compile cache that keeps compiled modules in a directory, one jar file per module, named by the hash of
+ * the module text, the configuration, the compiled modules of the path and the compiler version.
+ * <p>
+ * A change to any of these results in a different name, so outdated entries are never returned.
+ * Compiling against a runtime path, with compiler options or with transient configuration is not cacheable
+ * as the compiler cannot hash these.
+ */
+public class CompilerCache {
+    private final static Logger log = LoggerFactory.getLogger(CompilerCache.class);
+    private final static String FILE_SUFFIX = ".jar";
+    private final static Map<String, CompilerCache> CACHES = new ConcurrentHashMap<>();
+
+    private final File directory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong uncacheable = new AtomicLong();
+
+    private CompilerCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache for the directory configured, or null when none is configured.
+     *
+     * @param configuration configuration
+     * @return cache or null
+     */
+    public static CompilerCache getCache(Configuration configuration) {
+        String directory = configuration.getCompiler().getByteCode().getCompileCacheDirectory();
+        if (directory == null) {
+            return null;
+        }
+        return getCache(directory);
+    }
+
+    /**
+     * Returns the cache for the directory.
+     *
+     * @param directory directory
+     * @return cache
+     */
+    public static CompilerCache getCache(String directory) {
+        File file = new File(directory).getAbsoluteFile();
+        return CACHES.computeIfAbsent(file.getPath(), path -> new CompilerCache(file));
+    }
+
+    /**
+     * Returns the compiled module from the cache or compiles and keeps the compiled module.
+     *
+     * @param moduleKey   text that identifies the module and all module-level information that goes into the compiled output
+     * @param arguments   compiler arguments
+     * @param compilation compiles the module
+     * @return compiled module
+     * @throws EPCompileException when compilation failed
+     */
+    public EPCompiled compile(String moduleKey, CompilerArguments arguments, Compilation compilation) throws EPCompileException {
+        String key = moduleKey == null ? null : computeKey(moduleKey, arguments);
+        if (key == null) {
+            uncacheable.incrementAndGet();
+            return compilation.compile();
+        }
+
+        File file = new File(directory, key + FILE_SUFFIX);
+        if (file.exists()) {
+            try {
+                EPCompiled compiled = EPCompiledIOUtil.read(file);
+                hits.incrementAndGet();
+                return compiled;
+            } catch (IOException ex) {
+                log.warn("Failed to read compile cache file '" + file + "', compiling: " + ex.getMessage(), ex);
+            }
+        }
+
+        misses.incrementAndGet();
+        EPCompiled compiled = compilation.compile();
+        store(compiled, file);
+        return compiled;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getUncacheable() {
+        return uncacheable.get();
+    }
+
+    /**
+     * Resets hit, miss and uncacheable counts.
+     */
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        uncacheable.set(0);
+    }
+
+    /**
+     * Removes all compiled modules from the directory.
+     */
+    public void clear() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                log.warn("Failed to delete compile cache file '" + file + "'");
+            }
+        }
+    }
+
+    private void store(EPCompiled compiled, File file) {
+        // write to a temporary file and move so that concurrent compilers and readers never see a partial file
+        File temp = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            temp = File.createTempFile("compile", ".tmp", directory);
+            EPCompiledIOUtil.write(compiled, temp);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Failed to write compile cache file '" + file + "': " + ex.getMessage(), ex);
+            if (temp != null && !temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+
+    private static String computeKey(String moduleKey, CompilerArguments arguments) {
+        if (!arguments.getPath().getCompilerPathables().isEmpty() || hasOptions(arguments.getOptions())) {
+            return null;
+        }
+        Map<String, Object> transients = arguments.getConfiguration().getCommon().getTransientConfiguration();
+        if (transients != null && !transients.isEmpty()) {
+            return null;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            return null;
+        }
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(new OutputStream() {
+            public void write(int b) {
+            }
+
+            public void write(byte[] b, int off, int len) {
+            }
+        }, digest))) {
+            output.writeUTF(CompilerVersion.COMPILER_VERSION);
+            writeString(moduleKey, output);
+
+            ObjectOutputStream configuration = new ObjectOutputStream(output);
+            configuration.writeObject(arguments.getConfiguration());
+            configuration.flush();
+
+            List<EPCompiled> path = arguments.getPath().getCompileds();
+            output.writeInt(path.size());
+            for (EPCompiled compiled : path) {
+                compiled.getManifest().write(output);
+                Map<String, byte[]> classes = new TreeMap<>(compiled.getClasses());
+                output.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeInt(entry.getValue().length);
+                    output.write(entry.getValue());
+                }
+            }
+        } catch (IOException ex) {
+            // such as configuration holding a value that is not serializable
+            return null;
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void writeString(String value, DataOutputStream output) throws IOException {
+        // writeUTF is limited to 64k
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static boolean hasOptions(CompilerOptions options) {
+        if (options == null) {
+            return false;
+        }
+        return options.getAccessModifierContext() != null ||
+            options.getAccessModifierEventType() != null ||
+            options.getAccessModifierExpression() != null ||
+            options.getAccessModifierNamedWindow() != null ||
+            options.getAccessModifierScript() != null ||
+            options.getAccessModifierTable() != null ||
+            options.getAccessModifierVariable() != null ||
+            options.getBusModifierEventType() != null ||
+            options.getStatementUserObject() != null ||
+            options.getStatementName() != null ||
+            options.getModuleName() != null ||
+            options.getModuleUses() != null;
+    }
+
+    /**
+     * Compiles a module.
+     */
+    public interface Compilation {
+        /**
+         * Compile.
+         *
+         * @return compiled module
+         * @throws EPCompileException when compilation failed
+         */
+        EPCompiled compile() throws EPCompileException;
+    }
+}
@@ -67,6 +67,15 @@ public class EPCompilerImpl implements EPCompilerSPI {
             arguments = new CompilerArguments(new Configuration());
         }
 
+        CompilerCache cache = CompilerCache.getCache(arguments.getConfiguration());
+        if (cache != null) {
+            CompilerArguments args = arguments;
+            return cache.compile("epl\n" + epl, arguments, () -> compileEPL(epl, args));
+        }
+        return compileEPL(epl, arguments);
+    }
+
+    private EPCompiled compileEPL(String epl, CompilerArguments arguments) throws EPCompileException {
         try {
             Module module = EPLModuleUtil.parseInternal(epl, null);
             List<Compilable> compilables = new ArrayList<>();
@@ -126,6 +135,15 @@ public class EPCompilerImpl implements EPCompilerSPI {
             arguments = new CompilerArguments(new Configuration());
         }
 
+        CompilerCache cache = CompilerCache.getCache(arguments.getConfiguration());
+        if (cache != null) {
+            CompilerArguments args = arguments;
+            return cache.compile(moduleCacheKey(module), arguments, () -> compileModule(module, args));
+        }
+        return compileModule(module, arguments);
+    }
+
+    private EPCompiled compileModule(Module module, CompilerArguments arguments) throws EPCompileException {
         // determine module name
         String moduleName = determineModuleName(arguments.getOptions(), module);
         Set<String> moduleUses = determineModuleUses(moduleName, arguments.getOptions(), module);
@@ -265,6 +283,28 @@ public class EPCompilerImpl implements EPCompilerSPI {
         return values == null || values.isEmpty() ? null : values.toArray(new String[0]);
     }
 
+    private String moduleCacheKey(Module module) {
+        // a module with statement object models or a user object is not cacheable
+        if (module.getModuleUserObjectCompileTime() != null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder("module\n");
+        key.append(module.getName()).append('\n')
+            .append(module.getUri()).append('\n')
+            .append(module.getArchiveName()).append('\n')
+            .append(module.getUses()).append('\n')
+            .append(module.getImports()).append('\n')
+            .append(module.getModuleText()).append('\n');
+        for (ModuleItem item : module.getItems()) {
+            if (item.getModel() != null) {
+                return null;
+            }
+            key.append(item.isCommentOnly()).append(' ').append(item.getLineNumber()).append('\n')
+                .append(item.getExpression()).append('\n');
+        }
+        return key.toString();
+    }
+
     private void addModuleImports(Set<String> imports, ModuleCompileTimeServices compileTimeServices) throws EPCompileException {
         if (imports != null) {
             for (String imported : imports) {
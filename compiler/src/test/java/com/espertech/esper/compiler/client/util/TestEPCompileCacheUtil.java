@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.client.util;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompiler;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class TestEPCompileCacheUtil extends TestCase {
+    private EPCompiler compiler;
+    private File directory;
+
+    public void setUp() throws Exception {
+        compiler = EPCompilerProvider.getCompiler();
+        directory = Files.createTempDirectory("compilecache").toFile();
+    }
+
+    public void tearDown() {
+        EPCompileCacheUtil.clear(directory.getPath());
+        directory.delete();
+    }
+
+    public void testHitMiss() throws Exception {
+        String epl = "@public create window MyWindow#keepall as SupportBean;\n";
+        EPCompiled first = compiler.compile(epl, makeArgs());
+        assertStatistics(0, 1, 0);
+
+        EPCompiled second = compiler.compile(epl, makeArgs());
+        assertStatistics(1, 1, 0);
+        assertEquals(first.getClasses().keySet(), second.getClasses().keySet());
+        for (String name : first.getClasses().keySet()) {
+            assertTrue(Arrays.equals(first.getClasses().get(name), second.getClasses().get(name)));
+        }
+        assertEquals(first.getManifest().getModuleProviderClassName(), second.getManifest().getModuleProviderClassName());
+
+        // different text
+        compiler.compile(epl + "select * from SupportBean;\n", makeArgs());
+        assertStatistics(1, 2, 0);
+
+        // different configuration
+        CompilerArguments args = makeArgs();
+        args.getConfiguration().getCompiler().getByteCode().setAttachEPL(false);
+        compiler.compile(epl, args);
+        assertStatistics(1, 3, 0);
+
+        // module with the same statement
+        compiler.compile(compiler.parseModule(epl), makeArgs());
+        compiler.compile(compiler.parseModule(epl), makeArgs());
+        assertStatistics(2, 4, 0);
+
+        EPCompileCacheUtil.clear(directory.getPath());
+        compiler.compile(epl, makeArgs());
+        assertStatistics(2, 5, 0);
+    }
+
+    public void testPathDependency() throws Exception {
+        String eplDependent = "select * from MyWindow";
+        EPCompiled windowOne = compiler.compile("@public create window MyWindow#keepall as SupportBean", makeArgs());
+        EPCompiled windowTwo = compiler.compile("@public create window MyWindow#lastevent as SupportBean", makeArgs());
+
+        CompilerArguments args = makeArgs();
+        args.getPath().add(windowOne);
+        compiler.compile(eplDependent, args);
+        compiler.compile(eplDependent, args);
+        assertStatistics(1, 3, 0);
+
+        // changed path object
+        args = makeArgs();
+        args.getPath().add(windowTwo);
+        compiler.compile(eplDependent, args);
+        assertStatistics(1, 4, 0);
+    }
+
+    public void testUncacheable() throws Exception {
+        CompilerArguments args = makeArgs();
+        args.getOptions().setStatementName(env -> "s0");
+        compiler.compile("select * from SupportBean", args);
+        compiler.compile("select * from SupportBean", args);
+        assertStatistics(0, 0, 2);
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    private CompilerArguments makeArgs() {
+        Configuration configuration = new Configuration();
+        configuration.getCommon().addEventType(SupportBean.class);
+        configuration.getCompiler().getByteCode().setCompileCacheDirectory(directory.getPath());
+        return new CompilerArguments(configuration);
+    }
+
+    private void assertStatistics(long hits, long misses, long uncacheable) {
+        EPCompileCacheStatistics statistics = EPCompileCacheUtil.getStatistics(directory.getPath());
+        assertEquals(hits, statistics.getHits());
+        assertEquals(misses, statistics.getMisses());
+        assertEquals(uncacheable, statistics.getUncacheable());
+    }
+}
@@ -103,6 +103,11 @@ public class ConfigurationSocketAdapterParser {
         String stream = getOptionalAttribute(node, "stream");
         String propertyOrder = getOptionalAttribute(node, "propertyOrder");
         String unescapeStr = getOptionalAttribute(node, "unescape");
+        String nioStr = getOptionalAttribute(node, "nio");
+        String nioThreads = getOptionalAttribute(node, "nioThreads");
+        String bufferSize = getOptionalAttribute(node, "bufferSize");
+        String maxFrameSize = getOptionalAttribute(node, "maxFrameSize");
+        String frameDecoderFactory = getOptionalAttribute(node, "frameDecoderFactory");
 
         SocketConfig socketConfig = new SocketConfig();
         socketConfig.setPort(Integer.parseInt(port));
@@ -116,6 +121,19 @@ public class ConfigurationSocketAdapterParser {
         if (unescapeStr != null) {
             socketConfig.setUnescape(Boolean.parseBoolean(unescapeStr));
         }
+        if (nioStr != null) {
+            socketConfig.setNio(Boolean.parseBoolean(nioStr));
+        }
+        if (nioThreads != null) {
+            socketConfig.setNioThreads(Integer.parseInt(nioThreads));
+        }
+        if (bufferSize != null) {
+            socketConfig.setBufferSize(Integer.parseInt(bufferSize));
+        }
+        if (maxFrameSize != null) {
+            socketConfig.setMaxFrameSize(Integer.parseInt(maxFrameSize));
+        }
+        socketConfig.setFrameDecoderFactory(frameDecoderFactory);
 
         configuration.getSockets().put(name, socketConfig);
     }
@@ -18,6 +18,11 @@ public class SocketConfig {
     private String propertyOrder;
     private String stream;
     private boolean unescape;
+    private boolean nio;
+    private Integer nioThreads;
+    private Integer bufferSize;
+    private Integer maxFrameSize;
+    private String frameDecoderFactory;
 
     public SocketConfig() {
     }
@@ -77,4 +82,81 @@ public class SocketConfig {
     public void setUnescape(boolean unescape) {
         this.unescape = unescape;
     }
+
+    /**
+     * Returns true for the non-blocking server that serves connections from a small fixed number of event-loop threads,
+     * instead of a thread per connection. Binary data always uses the non-blocking server.
+     *
+     * @return indicator
+     */
+    public boolean isNio() {
+        return nio;
+    }
+
+    public void setNio(boolean nio) {
+        this.nio = nio;
+    }
+
+    /**
+     * Returns the number of event-loop threads of the non-blocking server, or null for the default.
+     *
+     * @return thread count
+     */
+    public Integer getNioThreads() {
+        return nioThreads;
+    }
+
+    public void setNioThreads(Integer nioThreads) {
+        this.nioThreads = nioThreads;
+    }
+
+    /**
+     * Returns the initial size in bytes of the direct receive buffer of each connection of the non-blocking server, or null for the default.
+     *
+     * @return buffer size
+     */
+    public Integer getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(Integer bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns the size in bytes of the largest frame that the non-blocking server accepts, or null for the default.
+     * The receive buffer grows as needed up to this size.
+     *
+     * @return maximum frame size
+     */
+    public Integer getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    public void setMaxFrameSize(Integer maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Returns the class name of a {@link com.espertech.esperio.socket.core.SocketFrameDecoderFactory} providing the framing
+     * for the non-blocking server, or null for the framing of the data type.
+     *
+     * @return class name
+     */
+    public String getFrameDecoderFactory() {
+        return frameDecoderFactory;
+    }
+
+    public void setFrameDecoderFactory(String frameDecoderFactory) {
+        this.frameDecoderFactory = frameDecoderFactory;
+    }
+
+    /**
+     * Returns true when the non-blocking server serves this socket.
+     *
+     * @return indicator
+     */
+    public boolean isNioMode() {
+        return nio || dataType == DataType.BINARY;
+    }
 }
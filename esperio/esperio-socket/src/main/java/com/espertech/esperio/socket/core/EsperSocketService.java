@@ -28,6 +28,7 @@ public class EsperSocketService {
     private ServerSocket serverSocket;
     private EsperSocketServiceRunnable runnable;
     private Thread socketThread;
+    private EsperSocketServiceNIO nioService;
 
     public EsperSocketService(String serviceName, SocketConfig serviceConfig) {
         this.serviceName = serviceName;
@@ -40,6 +41,12 @@ public class EsperSocketService {
 
     public void start(String serviceName, EPRuntimeSPI runtime) throws IOException {
 
+        if (serviceConfig.isNioMode()) {
+            nioService = new EsperSocketServiceNIO(serviceName, serviceConfig, runtime);
+            nioService.start();
+            return;
+        }
+
         if (serviceConfig.getHostname() != null) {
             InetAddress inetAddress = InetAddress.getByName(serviceConfig.getHostname());
             int backlog = serviceConfig.getBacklog() == null ? 2 : serviceConfig.getBacklog();
@@ -62,6 +69,11 @@ public class EsperSocketService {
     }
 
     public void destroy() {
+        if (nioService != null) {
+            nioService.destroy();
+            return;
+        }
+
         log.info("Closing existing workers for service '" + this.getServiceName() + "'");
         runnable.destroy();
 
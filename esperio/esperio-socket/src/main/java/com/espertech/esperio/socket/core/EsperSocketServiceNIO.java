@@ -0,0 +1,147 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.configuration.ConfigurationException;
+import com.espertech.esper.common.internal.util.ClassInstantiationException;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking socket server that serves all connections from a fixed number of event-loop threads.
+ */
+public class EsperSocketServiceNIO {
+    private final static Logger log = LoggerFactory.getLogger(EsperSocketServiceNIO.class);
+
+    private final static int DEFAULT_NIO_THREADS = 2;
+    private final static int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private final static int DEFAULT_MAX_FRAME_SIZE = 1024 * 1024;
+
+    private final String serviceName;
+    private final SocketConfig serviceConfig;
+    private final EPRuntimeSPI runtime;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private SocketFrameDecoderFactory decoderFactory;
+    private SocketEventTargetResolver resolver;
+    private ServerSocketChannel serverChannel;
+    private NIOEventLoop[] loops;
+    private Thread[] threads;
+
+    public EsperSocketServiceNIO(String serviceName, SocketConfig serviceConfig, EPRuntimeSPI runtime) {
+        this.serviceName = serviceName;
+        this.serviceConfig = serviceConfig;
+        this.runtime = runtime;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void start() throws IOException {
+        decoderFactory = makeDecoderFactory();
+        resolver = new SocketEventTargetResolverRuntime(runtime);
+
+        // validate the configuration before accepting connections
+        decoderFactory.make(serviceName, serviceConfig, resolver);
+
+        int numThreads = serviceConfig.getNioThreads() == null ? DEFAULT_NIO_THREADS : serviceConfig.getNioThreads();
+        if (numThreads < 1) {
+            throw new ConfigurationException("Invalid number of event-loop threads " + numThreads + " for socket named '" + serviceName + "'");
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        InetSocketAddress address = serviceConfig.getHostname() == null ?
+            new InetSocketAddress(serviceConfig.getPort()) :
+            new InetSocketAddress(InetAddress.getByName(serviceConfig.getHostname()), serviceConfig.getPort());
+        int backlog = serviceConfig.getBacklog() == null ? 0 : serviceConfig.getBacklog();
+        serverChannel.bind(address, backlog);
+        log.info("Esper socket adapter accepting connections on port " + serviceConfig.getPort() + " with " + numThreads + " event-loop threads for socket named '" + serviceName + "' expecting data type " + serviceConfig.getDataType());
+
+        ThreadingService threadingService = runtime.getServicesContext().getThreadingService();
+        BlockingQueue<Runnable> inboundQueue = threadingService.isInboundThreading() ? threadingService.getInboundQueue() : null;
+
+        loops = new NIOEventLoop[numThreads];
+        threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            loops[i] = new NIOEventLoop(this, inboundQueue);
+        }
+        loops[0].registerAccept(serverChannel);
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Thread(loops[i], "com.espertech.esperio.socket-" + serviceName + "-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    public void destroy() {
+        log.info("Stopping event-loop threads for service '" + serviceName + "'");
+        if (loops != null) {
+            for (NIOEventLoop loop : loops) {
+                loop.shutdown();
+            }
+            for (Thread thread : threads) {
+                try {
+                    thread.join(10000);
+                } catch (InterruptedException e) {
+                    log.debug("Interrupted", e);
+                }
+            }
+        }
+
+        log.info("Closing server channel for service '" + serviceName + "' and port " + serviceConfig.getPort());
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            log.debug("Error closing server channel: " + e.getMessage(), e);
+        }
+    }
+
+    protected NIOEventLoop nextLoop() {
+        return loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+    }
+
+    protected NIOConnection makeConnection(SocketChannel channel) {
+        SocketFrameDecoder decoder = decoderFactory.make(serviceName, serviceConfig, resolver);
+        int bufferSize = serviceConfig.getBufferSize() == null ? DEFAULT_BUFFER_SIZE : serviceConfig.getBufferSize();
+        int maxFrameSize = serviceConfig.getMaxFrameSize() == null ? DEFAULT_MAX_FRAME_SIZE : serviceConfig.getMaxFrameSize();
+        return new NIOConnection(serviceName, channel, decoder, bufferSize, maxFrameSize);
+    }
+
+    private SocketFrameDecoderFactory makeDecoderFactory() {
+        if (serviceConfig.getFrameDecoderFactory() == null) {
+            if (serviceConfig.getDataType() == null || serviceConfig.getDataType() == DataType.OBJECT || serviceConfig.getDataType() == DataType.JSON) {
+                throw new ConfigurationException("Data type " + (serviceConfig.getDataType() == null ? DataType.OBJECT : serviceConfig.getDataType()) + " is not supported by the non-blocking socket server for socket named '" + serviceName + "'");
+            }
+            return SocketFrameDecoderFactoryDefault.INSTANCE;
+        }
+        try {
+            return (SocketFrameDecoderFactory) JavaClassHelper.instantiate(SocketFrameDecoderFactory.class, serviceConfig.getFrameDecoderFactory(), runtime.getServicesContext().getClassForNameProvider());
+        } catch (ClassInstantiationException ex) {
+            throw new ConfigurationException("Failed to instantiate frame decoder factory for socket named '" + serviceName + "': " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A connection of the non-blocking socket server, decoding received bytes from a direct buffer.
+ */
+public class NIOConnection {
+    private final static Logger log = LoggerFactory.getLogger(NIOConnection.class);
+
+    private final String serviceName;
+    private final SocketChannel channel;
+    private final SocketFrameDecoder decoder;
+    private final SocketEventBatcher batcher;
+    private final int maxFrameSize;
+    private ByteBuffer buffer;
+
+    public NIOConnection(String serviceName, SocketChannel channel, SocketFrameDecoder decoder, int bufferSize, int maxFrameSize) {
+        this.serviceName = serviceName;
+        this.channel = channel;
+        this.decoder = decoder;
+        this.batcher = new SocketEventBatcher(256);
+        this.maxFrameSize = maxFrameSize;
+        this.buffer = ByteBuffer.allocateDirect(Math.min(bufferSize, maxFrameSize));
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Read available bytes and send the events of all complete frames.
+     *
+     * @return false when the peer closed the connection
+     * @throws IOException          when the read failed
+     * @throws SocketFrameException when a frame cannot be decoded
+     */
+    public boolean read() throws IOException, SocketFrameException {
+        int numRead = channel.read(buffer);
+        if (numRead == -1) {
+            return false;
+        }
+        if (numRead == 0) {
+            return true;
+        }
+
+        buffer.flip();
+        int required;
+        try {
+            required = decoder.decode(buffer, batcher);
+        } finally {
+            buffer.compact();
+            flush();
+        }
+
+        if (required > buffer.capacity() || !buffer.hasRemaining()) {
+            grow(required);
+        }
+        return true;
+    }
+
+    private void flush() {
+        try {
+            batcher.flush();
+        } catch (Throwable t) {
+            log.error("Unexpected exception encountered sending events service '" + serviceName + "' :" + t.getMessage(), t);
+        }
+    }
+
+    private void grow(int required) throws SocketFrameException {
+        int capacity = Math.min(Math.max(required, buffer.capacity() * 2), maxFrameSize);
+        if (required > maxFrameSize || capacity <= buffer.capacity()) {
+            throw new SocketFrameException("Frame exceeds the maximum frame size of " + maxFrameSize + " bytes");
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Event-loop thread of the non-blocking socket server, serving any number of connections through a selector.
+ * <p>
+ * When the runtime uses inbound threading and its inbound queue is full the loop stops reading from its connections
+ * until the queue has capacity, so that producers are slowed down by TCP flow control.
+ * </p>
+ */
+public class NIOEventLoop implements Runnable {
+    private final static Logger log = LoggerFactory.getLogger(NIOEventLoop.class);
+    private final static long BACKPRESSURE_CHECK_MSEC = 10;
+
+    private final EsperSocketServiceNIO service;
+    private final Selector selector;
+    private final BlockingQueue<Runnable> inboundQueue;
+    private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean shutdown;
+    private boolean paused;
+
+    public NIOEventLoop(EsperSocketServiceNIO service, BlockingQueue<Runnable> inboundQueue) throws IOException {
+        this.service = service;
+        this.selector = Selector.open();
+        this.inboundQueue = inboundQueue;
+    }
+
+    /**
+     * Register the server channel for accepting connections.
+     *
+     * @param serverChannel server channel
+     * @throws ClosedChannelException if the channel is closed
+     */
+    public void registerAccept(ServerSocketChannel serverChannel) throws ClosedChannelException {
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Hand a new connection to this loop, may be called by any thread.
+     *
+     * @param channel connection
+     */
+    public void add(SocketChannel channel) {
+        pending.add(channel);
+        selector.wakeup();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        selector.wakeup();
+    }
+
+    public void run() {
+        try {
+            while (!shutdown) {
+                registerPending();
+                applyBackpressure();
+                selector.select(paused ? BACKPRESSURE_CHECK_MSEC : 0);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept((ServerSocketChannel) key.channel());
+                    } else if (key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            if (!shutdown) {
+                log.error("I/O error in event loop for service '" + service.getServiceName() + "' : " + ex.getMessage(), ex);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof NIOConnection) {
+                    close(key);
+                }
+            }
+            for (SocketChannel channel : pending) {
+                closeQuietly(channel);
+            }
+            try {
+                selector.close();
+            } catch (IOException ex) {
+                log.debug("Error closing selector: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void accept(ServerSocketChannel serverChannel) {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                log.info("Incoming connection service '" + service.getServiceName() + "' from " + channel.socket().getInetAddress());
+                service.nextLoop().add(channel);
+            }
+        } catch (IOException ex) {
+            if (!shutdown) {
+                log.error("I/O error accepting connection for service '" + service.getServiceName() + "' : " + ex.getMessage());
+            }
+        }
+    }
+
+    private void read(SelectionKey key) {
+        NIOConnection connection = (NIOConnection) key.attachment();
+        try {
+            if (!connection.read()) {
+                log.debug("EOF received from connection");
+                close(key);
+            }
+        } catch (SocketFrameException ex) {
+            log.error("Invalid frame received for service '" + service.getServiceName() + "', closing connection: " + ex.getMessage());
+            close(key);
+        } catch (IOException ex) {
+            if (!shutdown) {
+                log.error("I/O error: " + ex.getMessage(), ex);
+            }
+            close(key);
+        }
+    }
+
+    private void registerPending() {
+        SocketChannel channel;
+        while ((channel = pending.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                NIOConnection connection = service.makeConnection(channel);
+                channel.register(selector, paused ? 0 : SelectionKey.OP_READ, connection);
+            } catch (Throwable t) {
+                log.error("Error registering connection for service '" + service.getServiceName() + "' : " + t.getMessage(), t);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void applyBackpressure() {
+        if (inboundQueue == null) {
+            return;
+        }
+        boolean full = inboundQueue.remainingCapacity() == 0;
+        if (full == paused) {
+            return;
+        }
+        paused = full;
+        if (log.isDebugEnabled()) {
+            log.debug((paused ? "Pausing" : "Resuming") + " reading for service '" + service.getServiceName() + "' as the inbound queue is " + (paused ? "full" : "available"));
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof NIOConnection) {
+                key.interestOps(paused ? 0 : SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignore) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects consecutive events for the same target and sends them as a batch, preserving the order of events across targets.
+ */
+public class SocketEventBatcher {
+    private final int batchSize;
+    private final List<Object[]> events;
+    private SocketEventTarget target;
+
+    /**
+     * Ctor.
+     *
+     * @param batchSize maximum number of events per batch
+     */
+    public SocketEventBatcher(int batchSize) {
+        this.batchSize = batchSize;
+        this.events = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Add an event.
+     *
+     * @param eventTarget target
+     * @param values      object-array event in the property order of the target
+     */
+    public void add(SocketEventTarget eventTarget, Object[] values) {
+        if (eventTarget != target) {
+            flush();
+            target = eventTarget;
+        }
+        events.add(values);
+        if (events.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Send collected events.
+     */
+    public void flush() {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            if (events.size() == 1) {
+                target.getEventSender().sendEvent(events.get(0));
+            } else {
+                target.getEventSender().sendEventBatch(events);
+            }
+        } finally {
+            events.clear();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.internal.event.core.EventBeanManufacturer;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+
+import java.util.Collection;
+
+/**
+ * Event sender for event types other than object-array types, that manufactures events from object-array values
+ * in the order of the writable properties.
+ */
+public class SocketEventSenderManufactured implements EventSender {
+    private final EventBeanManufacturer manufacturer;
+    private final EPRuntimeEventProcessWrapped runtimeEventSender;
+
+    public SocketEventSenderManufactured(EventBeanManufacturer manufacturer, EPRuntimeEventProcessWrapped runtimeEventSender) {
+        this.manufacturer = manufacturer;
+        this.runtimeEventSender = runtimeEventSender;
+    }
+
+    public void sendEvent(Object theEvent) throws EPException {
+        runtimeEventSender.processWrappedEvent(manufacturer.make((Object[]) theEvent));
+    }
+
+    public void sendEventBatch(Collection<?> events) throws EPException {
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            eventBeans[count++] = manufacturer.make((Object[]) theEvent);
+        }
+        runtimeEventSender.processWrappedEventBatch(eventBeans);
+    }
+
+    public void routeEvent(Object theEvent) throws EPException {
+        runtimeEventSender.routeEventBean(manufacturer.make((Object[]) theEvent));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.internal.util.SimpleTypeParser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An event type that the socket adapter decodes object-array events into, in the property order of the target.
+ */
+public class SocketEventTarget {
+    private final String eventTypeName;
+    private final String[] propertyNames;
+    private final Class[] propertyTypes;
+    private final SimpleTypeParser[] parsers;
+    private final EventSender eventSender;
+    private final Map<String, Integer> propertyIndexes;
+
+    /**
+     * Ctor.
+     *
+     * @param eventTypeName event type name
+     * @param propertyNames property names in object-array order
+     * @param propertyTypes property types in object-array order
+     * @param parsers       parsers for text values, with null entries for properties that cannot be parsed from text
+     * @param eventSender   sender accepting object-array events in the property order
+     */
+    public SocketEventTarget(String eventTypeName, String[] propertyNames, Class[] propertyTypes, SimpleTypeParser[] parsers, EventSender eventSender) {
+        this.eventTypeName = eventTypeName;
+        this.propertyNames = propertyNames;
+        this.propertyTypes = propertyTypes;
+        this.parsers = parsers;
+        this.eventSender = eventSender;
+        this.propertyIndexes = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            propertyIndexes.put(propertyNames[i], i);
+        }
+    }
+
+    public String getEventTypeName() {
+        return eventTypeName;
+    }
+
+    public String[] getPropertyNames() {
+        return propertyNames;
+    }
+
+    public Class[] getPropertyTypes() {
+        return propertyTypes;
+    }
+
+    public SimpleTypeParser[] getParsers() {
+        return parsers;
+    }
+
+    public EventSender getEventSender() {
+        return eventSender;
+    }
+
+    /**
+     * Returns the object-array index of a property.
+     *
+     * @param propertyName property name
+     * @return index or -1 when not a property of the target
+     */
+    public int getPropertyIndex(String propertyName) {
+        Integer index = propertyIndexes.get(propertyName);
+        return index == null ? -1 : index;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+/**
+ * Resolves event type names to event targets.
+ */
+public interface SocketEventTargetResolver {
+    /**
+     * Returns the target for the event type name.
+     *
+     * @param eventTypeName event type name
+     * @return target or null if the event type cannot be sent to
+     */
+    SocketEventTarget resolve(String eventTypeName);
+}
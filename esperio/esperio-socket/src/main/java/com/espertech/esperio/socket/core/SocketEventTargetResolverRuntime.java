@@ -0,0 +1,72 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.util.SimpleTypeParser;
+import com.espertech.esper.common.internal.util.SimpleTypeParserFactory;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves bus event types of the runtime. Object-array event types receive events through their event sender
+ * and other event types through an event bean manufacturer.
+ */
+public class SocketEventTargetResolverRuntime implements SocketEventTargetResolver {
+    private final EPRuntimeSPI runtime;
+    private final Map<String, SocketEventTarget> targets = new ConcurrentHashMap<>();
+
+    public SocketEventTargetResolverRuntime(EPRuntimeSPI runtime) {
+        this.runtime = runtime;
+    }
+
+    public SocketEventTarget resolve(String eventTypeName) {
+        SocketEventTarget target = targets.get(eventTypeName);
+        if (target != null) {
+            return target;
+        }
+        target = makeTarget(eventTypeName);
+        if (target != null) {
+            targets.put(eventTypeName, target);
+        }
+        return target;
+    }
+
+    private SocketEventTarget makeTarget(String eventTypeName) {
+        EventType eventType = runtime.getServicesContext().getEventTypeRepositoryBus().getNameToTypeMap().get(eventTypeName);
+        if (!(eventType instanceof ObjectArrayEventType)) {
+            WriterCacheEntry entry = WriterCacheEntry.make(runtime, eventTypeName);
+            if (entry == null) {
+                return null;
+            }
+            String[] propertyNames = new String[entry.getWritableProperties().length];
+            Class[] propertyTypes = new Class[propertyNames.length];
+            for (int i = 0; i < propertyNames.length; i++) {
+                propertyNames[i] = entry.getWritableProperties()[i].getPropertyName();
+                propertyTypes[i] = entry.getWritableProperties()[i].getType();
+            }
+            SocketEventSenderManufactured sender = new SocketEventSenderManufactured(entry.getEventBeanManufacturer(), runtime.getEventServiceSPI());
+            return new SocketEventTarget(eventTypeName, propertyNames, propertyTypes, entry.getParsers(), sender);
+        }
+
+        String[] propertyNames = eventType.getPropertyNames();
+        Class[] propertyTypes = new Class[propertyNames.length];
+        SimpleTypeParser[] parsers = new SimpleTypeParser[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            propertyTypes[i] = eventType.getPropertyType(propertyNames[i]);
+            parsers[i] = propertyTypes[i] == null ? null : SimpleTypeParserFactory.getParser(propertyTypes[i]);
+        }
+        return new SocketEventTarget(eventTypeName, propertyNames, propertyTypes, parsers, runtime.getEventService().getEventSender(eventTypeName));
+    }
+}
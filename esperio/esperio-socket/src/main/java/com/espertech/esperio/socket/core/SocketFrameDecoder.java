@@ -0,0 +1,30 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes frames received by the non-blocking socket server into events. A decoder is used by a single connection only.
+ */
+public interface SocketFrameDecoder {
+    /**
+     * Decode all complete frames in the buffer and hand the events to the batcher.
+     * The buffer is in read mode and upon return its position is after the last complete frame decoded,
+     * so that the remaining bytes of a partial frame are retained for the next read.
+     *
+     * @param buffer  received bytes
+     * @param batcher receives decoded events
+     * @return the number of bytes required to decode the next frame, or zero when not known
+     * @throws SocketFrameException when a frame cannot be decoded
+     */
+    int decode(ByteBuffer buffer, SocketEventBatcher batcher) throws SocketFrameException;
+}
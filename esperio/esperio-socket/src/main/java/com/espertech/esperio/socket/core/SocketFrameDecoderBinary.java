@@ -0,0 +1,220 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Decodes length-prefixed binary frames into object-array events.
+ * <p>
+ * A frame is a 4-byte big-endian length of the remainder of the frame, followed by the event type name as a 2-byte length
+ * and UTF-8 bytes, followed by a value for each property of the event type in the order of its property names
+ * (for event types other than object-array types, for each writable property).
+ * Each value is a 1-byte indicator that is zero for a null value, followed by the value unless null:
+ * </p>
+ * <ul>
+ * <li>int, long, short, byte, double, float and char values as per {@link ByteBuffer}, boolean values as one byte that is non-zero for true</li>
+ * <li>String values as a 4-byte length and UTF-8 bytes</li>
+ * <li>values of other property types must be null</li>
+ * </ul>
+ */
+public class SocketFrameDecoderBinary implements SocketFrameDecoder {
+    private final static Logger log = LoggerFactory.getLogger(SocketFrameDecoderBinary.class);
+
+    private final static int LENGTH_SIZE = 4;
+    private final static byte TYPE_UNSUPPORTED = 0;
+    private final static byte TYPE_INT = 1;
+    private final static byte TYPE_LONG = 2;
+    private final static byte TYPE_SHORT = 3;
+    private final static byte TYPE_BYTE = 4;
+    private final static byte TYPE_DOUBLE = 5;
+    private final static byte TYPE_FLOAT = 6;
+    private final static byte TYPE_BOOLEAN = 7;
+    private final static byte TYPE_CHAR = 8;
+    private final static byte TYPE_STRING = 9;
+
+    private final SocketEventTargetResolver resolver;
+    private final Map<SocketEventTarget, byte[]> typeCodes = new IdentityHashMap<>();
+    private byte[] scratch = new byte[64];
+    private byte[] lastName = new byte[0];
+    private SocketEventTarget lastTarget;
+    private byte[] lastTypeCodes;
+
+    public SocketFrameDecoderBinary(SocketEventTargetResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    public int decode(ByteBuffer buffer, SocketEventBatcher batcher) throws SocketFrameException {
+        while (true) {
+            if (buffer.remaining() < LENGTH_SIZE) {
+                return LENGTH_SIZE;
+            }
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < 2) {
+                throw new SocketFrameException("Invalid frame length " + length);
+            }
+            if (buffer.remaining() - LENGTH_SIZE < length) {
+                return LENGTH_SIZE + length;
+            }
+            int end = start + LENGTH_SIZE + length;
+            buffer.position(start + LENGTH_SIZE);
+
+            if (!readTarget(buffer, end)) {
+                buffer.position(end);
+                continue;
+            }
+            Object[] values = readValues(buffer, end);
+            if (buffer.position() != end) {
+                throw new SocketFrameException("Frame for event type '" + lastTarget.getEventTypeName() + "' has " + (end - buffer.position()) + " unread bytes");
+            }
+            batcher.add(lastTarget, values);
+        }
+    }
+
+    private boolean readTarget(ByteBuffer buffer, int end) throws SocketFrameException {
+        int nameLength = buffer.getShort() & 0xffff;
+        require(buffer, end, nameLength);
+        if (lastTarget != null && matchesLastName(buffer, nameLength)) {
+            buffer.position(buffer.position() + nameLength);
+            return true;
+        }
+
+        byte[] name = new byte[nameLength];
+        buffer.get(name);
+        String eventTypeName = new String(name, StandardCharsets.UTF_8);
+        SocketEventTarget target = resolver.resolve(eventTypeName);
+        if (target == null) {
+            log.warn("Event type by name '" + eventTypeName + "' not found or not writable, discarding frame");
+            return false;
+        }
+        byte[] codes = typeCodes.get(target);
+        if (codes == null) {
+            codes = new byte[target.getPropertyTypes().length];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = typeCode(target.getPropertyTypes()[i]);
+            }
+            typeCodes.put(target, codes);
+        }
+        lastName = name;
+        lastTarget = target;
+        lastTypeCodes = codes;
+        return true;
+    }
+
+    private Object[] readValues(ByteBuffer buffer, int end) throws SocketFrameException {
+        Object[] values = new Object[lastTypeCodes.length];
+        for (int i = 0; i < values.length; i++) {
+            require(buffer, end, 1);
+            if (buffer.get() == 0) {
+                continue;
+            }
+            switch (lastTypeCodes[i]) {
+                case TYPE_INT:
+                    require(buffer, end, 4);
+                    values[i] = buffer.getInt();
+                    break;
+                case TYPE_LONG:
+                    require(buffer, end, 8);
+                    values[i] = buffer.getLong();
+                    break;
+                case TYPE_SHORT:
+                    require(buffer, end, 2);
+                    values[i] = buffer.getShort();
+                    break;
+                case TYPE_BYTE:
+                    require(buffer, end, 1);
+                    values[i] = buffer.get();
+                    break;
+                case TYPE_DOUBLE:
+                    require(buffer, end, 8);
+                    values[i] = buffer.getDouble();
+                    break;
+                case TYPE_FLOAT:
+                    require(buffer, end, 4);
+                    values[i] = buffer.getFloat();
+                    break;
+                case TYPE_BOOLEAN:
+                    require(buffer, end, 1);
+                    values[i] = buffer.get() != 0;
+                    break;
+                case TYPE_CHAR:
+                    require(buffer, end, 2);
+                    values[i] = buffer.getChar();
+                    break;
+                case TYPE_STRING:
+                    require(buffer, end, 4);
+                    int length = buffer.getInt();
+                    if (length < 0) {
+                        throw new SocketFrameException("Invalid string length " + length + " for property '" + lastTarget.getPropertyNames()[i] + "'");
+                    }
+                    require(buffer, end, length);
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    buffer.get(scratch, 0, length);
+                    values[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                    break;
+                default:
+                    throw new SocketFrameException("Property '" + lastTarget.getPropertyNames()[i] + "' of event type '" + lastTarget.getEventTypeName() + "' cannot be decoded from binary, the value must be null");
+            }
+        }
+        return values;
+    }
+
+    private boolean matchesLastName(ByteBuffer buffer, int nameLength) {
+        if (nameLength != lastName.length) {
+            return false;
+        }
+        int position = buffer.position();
+        for (int i = 0; i < nameLength; i++) {
+            if (buffer.get(position + i) != lastName[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void require(ByteBuffer buffer, int end, int numBytes) throws SocketFrameException {
+        if (end - buffer.position() < numBytes) {
+            throw new SocketFrameException("Frame is shorter than its content");
+        }
+    }
+
+    private static byte typeCode(Class type) {
+        if (type == int.class || type == Integer.class) {
+            return TYPE_INT;
+        } else if (type == long.class || type == Long.class) {
+            return TYPE_LONG;
+        } else if (type == short.class || type == Short.class) {
+            return TYPE_SHORT;
+        } else if (type == byte.class || type == Byte.class) {
+            return TYPE_BYTE;
+        } else if (type == double.class || type == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (type == float.class || type == Float.class) {
+            return TYPE_FLOAT;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return TYPE_BOOLEAN;
+        } else if (type == char.class || type == Character.class) {
+            return TYPE_CHAR;
+        } else if (type == String.class) {
+            return TYPE_STRING;
+        }
+        return TYPE_UNSUPPORTED;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.internal.util.SimpleTypeParser;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes newline-terminated comma-separated lines into object-array events, splitting values on the received bytes.
+ * Lines are either "name=value" pairs that include a "stream" pair providing the event type name,
+ * or values in the configured property order for the configured stream.
+ */
+public class SocketFrameDecoderCSV implements SocketFrameDecoder {
+    private final static Logger log = LoggerFactory.getLogger(SocketFrameDecoderCSV.class);
+
+    private final String serviceName;
+    private final SocketConfig socketConfig;
+    private final SocketEventTargetResolver resolver;
+    private final boolean propertyOrdered;
+    private final String[] propertyOrder;
+    private final List<String> names = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private byte[] line = new byte[256];
+
+    private SocketEventTarget orderedTarget;
+    private int[] orderedIndexes;
+
+    public SocketFrameDecoderCSV(String serviceName, SocketConfig socketConfig, SocketEventTargetResolver resolver) {
+        this.serviceName = serviceName;
+        this.socketConfig = socketConfig;
+        this.resolver = resolver;
+        this.propertyOrdered = socketConfig.getDataType() == DataType.PROPERTY_ORDERED_CSV;
+        if (propertyOrdered) {
+            if (socketConfig.getStream() == null || socketConfig.getStream().length() == 0) {
+                throw new IllegalArgumentException("Invalid null or empty value provided for required 'stream' parameter");
+            }
+            if (socketConfig.getPropertyOrder() == null || socketConfig.getPropertyOrder().length() == 0) {
+                throw new IllegalArgumentException("Invalid null or empty value provided for required 'propertyOrder' parameter");
+            }
+            propertyOrder = socketConfig.getPropertyOrder().split(",");
+            for (int i = 0; i < propertyOrder.length; i++) {
+                propertyOrder[i] = propertyOrder[i].trim();
+            }
+        } else {
+            propertyOrder = null;
+        }
+    }
+
+    public int decode(ByteBuffer buffer, SocketEventBatcher batcher) throws SocketFrameException {
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int newline = -1;
+            for (int i = start; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            if (newline == -1) {
+                return buffer.remaining() + 1;
+            }
+
+            int length = newline - start;
+            if (length > 0 && buffer.get(newline - 1) == '\r') {
+                length--;
+            }
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            buffer.get(line, 0, length);
+            buffer.position(newline + 1);
+            if (length == 0) {
+                continue;
+            }
+
+            splitLine(length);
+            SocketEventTarget target;
+            if (propertyOrdered) {
+                target = getOrderedTarget();
+            } else {
+                String stream = findStream();
+                if (stream == null) {
+                    log.warn("Expected value for 'stream' not found in line provided to adapter service '" + serviceName + "'");
+                    continue;
+                }
+                target = resolver.resolve(stream);
+            }
+            if (target == null) {
+                continue;
+            }
+            Object[] values;
+            try {
+                values = propertyOrdered ? parseOrdered(target) : parseNamed(target);
+            } catch (Throwable t) {
+                log.error("Unexpected exception encountered parsing event " + new String(line, 0, length, StandardCharsets.UTF_8) + " service '" + serviceName + "' :" + t.getMessage(), t);
+                continue;
+            }
+            batcher.add(target, values);
+        }
+        return 0;
+    }
+
+    private void splitLine(int length) {
+        names.clear();
+        texts.clear();
+        int start = 0;
+        while (true) {
+            int end = start;
+            // comma and equals-sign bytes cannot be part of a multibyte UTF-8 character
+            while (end < length && line[end] != ',') {
+                end++;
+            }
+            if (propertyOrdered) {
+                texts.add(text(start, end - start));
+            } else {
+                int equals = start;
+                while (equals < end && line[equals] != '=') {
+                    equals++;
+                }
+                if (equals < end) {
+                    names.add(new String(line, start, equals - start, StandardCharsets.UTF_8));
+                    texts.add(text(equals + 1, end - equals - 1));
+                }
+            }
+            if (end >= length) {
+                break;
+            }
+            start = end + 1;
+        }
+    }
+
+    private String text(int offset, int length) {
+        String value = new String(line, offset, length, StandardCharsets.UTF_8);
+        return socketConfig.isUnescape() ? UnescapeUtil.unescapeJavaString(value) : value;
+    }
+
+    private String findStream() {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equals("stream")) {
+                return texts.get(i);
+            }
+        }
+        return null;
+    }
+
+    private SocketEventTarget getOrderedTarget() {
+        SocketEventTarget target = resolver.resolve(socketConfig.getStream());
+        if (target != orderedTarget) {
+            orderedTarget = target;
+            if (target != null) {
+                orderedIndexes = new int[propertyOrder.length];
+                for (int i = 0; i < propertyOrder.length; i++) {
+                    orderedIndexes[i] = target.getPropertyIndex(propertyOrder[i]);
+                }
+            }
+        }
+        return target;
+    }
+
+    private Object[] parseOrdered(SocketEventTarget target) {
+        Object[] values = new Object[target.getPropertyNames().length];
+        int count = Math.min(texts.size(), orderedIndexes.length);
+        for (int i = 0; i < count; i++) {
+            parse(target, orderedIndexes[i], texts.get(i), values);
+        }
+        return values;
+    }
+
+    private Object[] parseNamed(SocketEventTarget target) {
+        Object[] values = new Object[target.getPropertyNames().length];
+        for (int i = 0; i < names.size(); i++) {
+            parse(target, target.getPropertyIndex(names.get(i)), texts.get(i), values);
+        }
+        return values;
+    }
+
+    private static void parse(SocketEventTarget target, int index, String text, Object[] values) {
+        if (index == -1) {
+            return;
+        }
+        SimpleTypeParser parser = target.getParsers()[index];
+        if (parser != null) {
+            values[index] = parser.parse(text);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esperio.socket.config.SocketConfig;
+
+/**
+ * Factory for frame decoders, for use with the non-blocking socket server. Implementations must have a public no-arg constructor.
+ */
+public interface SocketFrameDecoderFactory {
+    /**
+     * Make a decoder for a new connection.
+     *
+     * @param serviceName  socket service name
+     * @param socketConfig socket configuration
+     * @param resolver     for resolving event type names
+     * @return decoder
+     */
+    SocketFrameDecoder make(String serviceName, SocketConfig socketConfig, SocketEventTargetResolver resolver);
+}
@@ -0,0 +1,33 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.configuration.ConfigurationException;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+
+/**
+ * Makes the decoder for the configured data type.
+ */
+public class SocketFrameDecoderFactoryDefault implements SocketFrameDecoderFactory {
+    public final static SocketFrameDecoderFactoryDefault INSTANCE = new SocketFrameDecoderFactoryDefault();
+
+    public SocketFrameDecoder make(String serviceName, SocketConfig socketConfig, SocketEventTargetResolver resolver) {
+        DataType dataType = socketConfig.getDataType();
+        if (dataType == DataType.BINARY) {
+            return new SocketFrameDecoderBinary(resolver);
+        }
+        if (dataType == DataType.CSV || dataType == DataType.PROPERTY_ORDERED_CSV) {
+            return new SocketFrameDecoderCSV(serviceName, socketConfig, resolver);
+        }
+        throw new ConfigurationException("Data type " + dataType + " is not supported by the non-blocking socket server for socket named '" + serviceName + "'");
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+/**
+ * Indicates a frame that cannot be decoded, after which the connection is out of sync and is closed.
+ */
+public class SocketFrameException extends Exception {
+    private static final long serialVersionUID = -3271447468017683916L;
+
+    public SocketFrameException(String message) {
+        super(message);
+    }
+}
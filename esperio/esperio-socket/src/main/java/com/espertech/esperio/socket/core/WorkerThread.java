@@ -11,10 +11,6 @@
 package com.espertech.esperio.socket.core;
 
 import com.espertech.esper.common.client.EventBean;
-import com.espertech.esper.common.client.EventType;
-import com.espertech.esper.common.internal.event.core.*;
-import com.espertech.esper.common.internal.util.SimpleTypeParser;
-import com.espertech.esper.common.internal.util.SimpleTypeParserFactory;
 import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
 import com.espertech.esperio.socket.config.DataType;
 import com.espertech.esperio.socket.config.SocketConfig;
@@ -23,7 +19,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.Socket;
-import java.util.*;
+import java.util.HashMap;
+import java.util.Map;
 
 public class WorkerThread extends Thread {
 
@@ -165,7 +162,7 @@ public class WorkerThread extends Thread {
 
             WriterCacheEntry cacheEntry = streamCache.get(eventTypeName);
             if (cacheEntry == null) {
-                cacheEntry = makeCacheEntry(eventTypeName);
+                cacheEntry = WriterCacheEntry.make(runtime, eventTypeName);
                 streamCache.put(eventTypeName, cacheEntry);
             }
 
@@ -211,48 +208,4 @@ public class WorkerThread extends Thread {
             log.error("Unexpected exception encountered sending event " + input + " service '" + serviceName + "' :" + t.getMessage(), t);
         }
     }
-
-    private WriterCacheEntry makeCacheEntry(String eventTypeName) {
-
-        EventType eventType = runtime.getServicesContext().getEventTypeRepositoryBus().getNameToTypeMap().get(eventTypeName);
-        if (eventType == null) {
-            log.info("Event type by name '" + eventTypeName + "' not found.");
-            return null;
-        }
-
-        if (!(eventType instanceof EventTypeSPI)) {
-            log.info("Event type by name '" + eventTypeName + "' is not writable.");
-            return null;
-        }
-
-        EventTypeSPI eventTypeSPI = (EventTypeSPI) eventType;
-
-        Set<WriteablePropertyDescriptor> writablesSet = EventTypeUtility.getWriteableProperties(eventTypeSPI, false, false);
-        List<WriteablePropertyDescriptor> writablePropertiesList = new ArrayList<WriteablePropertyDescriptor>();
-        List<SimpleTypeParser> parserList = new ArrayList<SimpleTypeParser>();
-
-        for (WriteablePropertyDescriptor writableDesc : writablesSet) {
-            SimpleTypeParser parser = SimpleTypeParserFactory.getParser(writableDesc.getType());
-            if (parser == null) {
-                log.debug("No parser found for type '" + writableDesc.getType() + "'");
-                continue;
-            }
-
-            writablePropertiesList.add(writableDesc);
-            parserList.add(parser);
-        }
-
-        WriteablePropertyDescriptor[] writableProperties = writablePropertiesList.toArray(new WriteablePropertyDescriptor[writablePropertiesList.size()]);
-        SimpleTypeParser[] parsers = parserList.toArray(new SimpleTypeParser[parserList.size()]);
-
-        EventBeanManufacturer eventBeanManufacturer;
-        try {
-            eventBeanManufacturer = EventTypeUtility.getManufacturer(eventType, writableProperties, runtime.getServicesContext().getClasspathImportServiceRuntime(), false, runtime.getServicesContext().getEventTypeAvroHandler()).getManufacturer(runtime.getServicesContext().getEventBeanTypedEventFactory());
-        } catch (EventBeanManufactureException e) {
-            log.info("Unable to create manufacturer for event type: " + e.getMessage(), e);
-            return null;
-        }
-
-        return new WriterCacheEntry(eventBeanManufacturer, writableProperties, parsers);
-    }
 }
@@ -10,11 +10,23 @@
  */
 package com.espertech.esperio.socket.core;
 
-import com.espertech.esper.common.internal.event.core.EventBeanManufacturer;
-import com.espertech.esper.common.internal.event.core.WriteablePropertyDescriptor;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.event.core.*;
 import com.espertech.esper.common.internal.util.SimpleTypeParser;
+import com.espertech.esper.common.internal.util.SimpleTypeParserFactory;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 
 public class WriterCacheEntry {
+    private final static Logger log = LoggerFactory.getLogger(WriterCacheEntry.class);
+
     private final EventBeanManufacturer eventBeanManufacturer;
     private final WriteablePropertyDescriptor[] writableProperties;
     private final SimpleTypeParser[] parsers;
@@ -36,4 +48,63 @@ public class WriterCacheEntry {
     public SimpleTypeParser[] getParsers() {
         return parsers;
     }
+
+    /**
+     * Make an entry for writing events of the given event type.
+     *
+     * @param runtime       runtime
+     * @param eventTypeName event type name
+     * @return entry or null if the event type is not found or not writable
+     */
+    public static WriterCacheEntry make(EPRuntimeSPI runtime, String eventTypeName) {
+
+        EventType eventType = runtime.getServicesContext().getEventTypeRepositoryBus().getNameToTypeMap().get(eventTypeName);
+        if (eventType == null) {
+            log.info("Event type by name '" + eventTypeName + "' not found.");
+            return null;
+        }
+
+        if (!(eventType instanceof EventTypeSPI)) {
+            log.info("Event type by name '" + eventTypeName + "' is not writable.");
+            return null;
+        }
+
+        EventTypeSPI eventTypeSPI = (EventTypeSPI) eventType;
+
+        Set<WriteablePropertyDescriptor> writablesSet = EventTypeUtility.getWriteableProperties(eventTypeSPI, false, false);
+        List<WriteablePropertyDescriptor> writablePropertiesList = new ArrayList<WriteablePropertyDescriptor>();
+        List<SimpleTypeParser> parserList = new ArrayList<SimpleTypeParser>();
+
+        // order writable properties by the property order of the event type, for a predictable order of values
+        List<String> propertyNames = Arrays.asList(eventType.getPropertyNames());
+        List<WriteablePropertyDescriptor> writablesSorted = new ArrayList<WriteablePropertyDescriptor>(writablesSet);
+        writablesSorted.sort(Comparator.comparingInt((WriteablePropertyDescriptor desc) -> {
+            int index = propertyNames.indexOf(desc.getPropertyName());
+            return index == -1 ? Integer.MAX_VALUE : index;
+        }).thenComparing(WriteablePropertyDescriptor::getPropertyName));
+
+        for (WriteablePropertyDescriptor writableDesc : writablesSorted) {
+            SimpleTypeParser parser = SimpleTypeParserFactory.getParser(writableDesc.getType());
+            if (parser == null) {
+                log.debug("No parser found for type '" + writableDesc.getType() + "'");
+                continue;
+            }
+
+            writablePropertiesList.add(writableDesc);
+            parserList.add(parser);
+        }
+
+        WriteablePropertyDescriptor[] writableProperties = writablePropertiesList.toArray(new WriteablePropertyDescriptor[writablePropertiesList.size()]);
+        SimpleTypeParser[] parsers = parserList.toArray(new SimpleTypeParser[parserList.size()]);
+
+        EventBeanManufacturer eventBeanManufacturer;
+        try {
+            eventBeanManufacturer = EventTypeUtility.getManufacturer(eventType, writableProperties, runtime.getServicesContext().getClasspathImportServiceRuntime(), false, runtime.getServicesContext().getEventTypeAvroHandler()).getManufacturer(runtime.getServicesContext().getEventBeanTypedEventFactory());
+        } catch (EventBeanManufactureException e) {
+            log.info("Unable to create manufacturer for event type: " + e.getMessage(), e);
+            return null;
+        }
+
+        return new WriterCacheEntry(eventBeanManufacturer, writableProperties, parsers);
+    }
 }
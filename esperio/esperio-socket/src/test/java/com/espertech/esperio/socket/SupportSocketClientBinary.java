@@ -0,0 +1,64 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+public class SupportSocketClientBinary {
+    private final Socket socket;
+    private final OutputStream out;
+
+    public SupportSocketClientBinary(int port) throws IOException {
+        socket = new Socket("localhost", port);
+        out = socket.getOutputStream();
+    }
+
+    public void send(String eventTypeName, Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream body = new DataOutputStream(bytes);
+        byte[] name = eventTypeName.getBytes(StandardCharsets.UTF_8);
+        body.writeShort(name.length);
+        body.write(name);
+        for (Object value : values) {
+            body.writeBoolean(value != null);
+            if (value instanceof String) {
+                byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+                body.writeInt(text.length);
+                body.write(text);
+            } else if (value instanceof Integer) {
+                body.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                body.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                body.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                body.writeBoolean((Boolean) value);
+            } else if (value != null) {
+                throw new UnsupportedOperationException("Unsupported value " + value);
+            }
+        }
+
+        DataOutputStream frame = new DataOutputStream(out);
+        frame.writeInt(bytes.size());
+        bytes.writeTo(frame);
+        frame.flush();
+    }
+
+    public void close() throws IOException {
+        out.close();
+        socket.close();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket;
+
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.scopetest.SupportUpdateListener;
+import com.espertech.esperio.socket.config.ConfigurationSocketAdapter;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+import junit.framework.TestCase;
+
+import static com.espertech.esperio.socket.SupportCompileUtil.compileDeploy;
+
+public class TestSocketAdapterNIO extends TestCase {
+    public static String newline = System.getProperty("line.separator");
+    private SupportUpdateListener listener;
+
+    public void setUp() throws Exception {
+        listener = new SupportUpdateListener();
+    }
+
+    public void testBinary() throws Exception {
+        int port = 6802;
+        SocketConfig socket = new SocketConfig();
+        socket.setDataType(DataType.BINARY);
+        socket.setPort(port);
+        socket.setNioThreads(2);
+        socket.setBufferSize(16);
+
+        Configuration configuration = new Configuration();
+        configuration.getCommon().addEventType("MyOAEvent", "id,value,amount".split(","), new Object[]{String.class, int.class, Double.class});
+        EsperIOSocketAdapter adapter = startAdapter(socket, configuration);
+        EPRuntime runtime = EPRuntimeProvider.getExistingRuntime(this.getClass().getSimpleName());
+
+        EPStatement stmtOA = compileDeploy(runtime, "select * from MyOAEvent").getStatements()[0];
+        stmtOA.addListener(listener);
+
+        SupportSocketClientBinary clientOne = new SupportSocketClientBinary(port);
+        SupportSocketClientBinary clientTwo = new SupportSocketClientBinary(port);
+
+        clientOne.send("MyOAEvent", "E1", 10, 1.5d);
+        clientTwo.send("MyOAEvent", "a longer identifier than the buffer", 20, null);
+        clientOne.send("Unknown", 1);
+        clientOne.send("MyOAEvent", "E3", 30, 3d);
+        Thread.sleep(200);
+
+        String[] fields = "id,value,amount".split(",");
+        EPAssertionUtil.assertPropsPerRowAnyOrder(listener.getNewDataListFlattened(), fields,
+            new Object[][]{{"E1", 10, 1.5d}, {"a longer identifier than the buffer", 20, null}, {"E3", 30, 3d}});
+
+        clientOne.close();
+        clientTwo.close();
+        adapter.destroy();
+        runtime.destroy();
+    }
+
+    public void testCSV() throws Exception {
+        int port = 6803;
+        SocketConfig socket = new SocketConfig();
+        socket.setDataType(DataType.CSV);
+        socket.setPort(port);
+        socket.setNio(true);
+
+        Configuration configuration = new Configuration();
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        EsperIOSocketAdapter adapter = startAdapter(socket, configuration);
+        EPRuntime runtime = EPRuntimeProvider.getExistingRuntime(this.getClass().getSimpleName());
+
+        EPStatement stmt = compileDeploy(runtime, "select * from SupportBean").getStatements()[0];
+        stmt.addListener(listener);
+
+        String[] fields = "stringProp,intProp".split(",");
+        SupportSocketClientCSV client = new SupportSocketClientCSV(port);
+        client.send("stream=SupportBean,stringProp=E1,intProp=10" + newline);
+        client.send("stream=SupportBean,intProp=20,string");
+        client.send("Prop=E2" + newline);
+        Thread.sleep(200);
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), fields, new Object[][]{{"E1", 10}, {"E2", 20}});
+
+        client.close();
+        adapter.destroy();
+        runtime.destroy();
+    }
+
+    private EsperIOSocketAdapter startAdapter(SocketConfig socket, Configuration configuration) {
+        ConfigurationSocketAdapter adapterConfig = new ConfigurationSocketAdapter();
+        adapterConfig.getSockets().put("SocketService", socket);
+        String runtimeURI = this.getClass().getSimpleName();
+        EPRuntimeProvider.getRuntime(runtimeURI, configuration);
+        EsperIOSocketAdapter adapter = new EsperIOSocketAdapter(adapterConfig, runtimeURI);
+        adapter.start();
+        return adapter;
+    }
+}
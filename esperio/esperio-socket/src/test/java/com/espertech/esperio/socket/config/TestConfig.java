@@ -32,7 +32,7 @@ public class TestConfig extends TestCase {
     }
 
     protected static void assertFileConfig(ConfigurationSocketAdapter config) throws Exception {
-        assertEquals(3, config.getSockets().size());
+        assertEquals(4, config.getSockets().size());
 
         SocketConfig socket = config.getSockets().get("mysocketOne");
         assertEquals(7100, socket.getPort());
@@ -50,5 +50,15 @@ public class TestConfig extends TestCase {
         assertEquals(DataType.PROPERTY_ORDERED_CSV, socket.getDataType());
         assertEquals("MyEventType", socket.getStream());
         assertEquals("field1,field2", socket.getPropertyOrder());
+        assertFalse(socket.isNioMode());
+
+        socket = config.getSockets().get("mysocketFour");
+        assertEquals(DataType.BINARY, socket.getDataType());
+        assertTrue(socket.isNioMode());
+        assertFalse(socket.isNio());
+        assertEquals(2, (int) socket.getNioThreads());
+        assertEquals(32768, (int) socket.getBufferSize());
+        assertEquals(65536, (int) socket.getMaxFrameSize());
+        assertNull(socket.getFrameDecoderFactory());
     }
 }
@@ -0,0 +1,215 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esperio.socket.core;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.internal.util.SimpleTypeParser;
+import com.espertech.esper.common.internal.util.SimpleTypeParserFactory;
+import com.espertech.esperio.socket.config.DataType;
+import com.espertech.esperio.socket.config.SocketConfig;
+import junit.framework.TestCase;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class TestSocketFrameDecoder extends TestCase {
+    private List<String> received;
+    private int numBatches;
+    private Map<String, SocketEventTarget> targets;
+    private SocketEventTargetResolver resolver;
+    private SocketEventBatcher batcher;
+
+    public void setUp() {
+        received = new ArrayList<>();
+        targets = new HashMap<>();
+        targets.put("A", makeTarget("A", new String[]{"id", "value", "flag"}, new Class[]{String.class, int.class, Boolean.class}));
+        targets.put("B", makeTarget("B", new String[]{"amount", "count", "other"}, new Class[]{double.class, Long.class, Object.class}));
+        resolver = targets::get;
+        batcher = new SocketEventBatcher(2);
+    }
+
+    public void testBinary() throws Exception {
+        SocketFrameDecoderBinary decoder = new SocketFrameDecoderBinary(resolver);
+        ByteBuffer frames = ByteBuffer.allocate(1024);
+        writeFrameA(frames, "E1", 10, true);
+        writeFrameA(frames, null, 11, null);
+        writeFrameB(frames, 1.5d, 100L);
+        writeFrameA(frames, "été", -1, false);
+        frames.flip();
+
+        // feed one byte at a time, retaining partial frames
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        while (frames.hasRemaining()) {
+            buffer.put(frames.get());
+            buffer.flip();
+            int required = decoder.decode(buffer, batcher);
+            assertTrue(required > buffer.remaining());
+            buffer.compact();
+        }
+        batcher.flush();
+        assertEquals(0, buffer.position());
+        assertEquals(Arrays.asList("A[E1, 10, true]", "A[null, 11, null]", "B[1.5, 100, null]", "A[été, -1, false]"), received);
+
+        // unknown event types are skipped
+        received.clear();
+        buffer.clear();
+        writeFrame(buffer, "C", new byte[]{1, 2, 3});
+        writeFrameB(buffer, 2d, null);
+        buffer.flip();
+        assertEquals(4, decoder.decode(buffer, batcher));
+        batcher.flush();
+        assertEquals(Collections.singletonList("B[2.0, null, null]"), received);
+
+        // the length of a frame that does not fit is returned
+        buffer.clear();
+        buffer.putInt(5000).put((byte) 0);
+        buffer.flip();
+        assertEquals(5004, decoder.decode(buffer, batcher));
+        assertEquals(0, buffer.position());
+    }
+
+    public void testBinaryInvalid() {
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        writeFrame(buffer, "A", new byte[]{1, 0, 0, 0, 2, 'E', '1'});
+        tryInvalid(buffer, "Frame is shorter than its content");
+
+        buffer = ByteBuffer.allocate(100);
+        writeFrame(buffer, "A", new byte[]{0, 0, 0, 0});
+        tryInvalid(buffer, "Frame for event type 'A' has 1 unread bytes");
+
+        buffer = ByteBuffer.allocate(100);
+        writeFrame(buffer, "B", new byte[]{0, 0, 1, 0});
+        tryInvalid(buffer, "Property 'other' of event type 'B' cannot be decoded from binary, the value must be null");
+
+        buffer = ByteBuffer.allocate(100);
+        buffer.putInt(1).put((byte) 0);
+        tryInvalid(buffer, "Invalid frame length 1");
+    }
+
+    public void testCSV() throws Exception {
+        SocketConfig config = new SocketConfig();
+        config.setDataType(DataType.CSV);
+        SocketFrameDecoderCSV decoder = new SocketFrameDecoderCSV("svc", config, resolver);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.put("stream=A,id=E1,value=10,flag=true\nvalue=20,stream=A\r\nid=E3,value=x,stream=A\nid=E4\n\nstream=B,amount=1.5,count=3,other=1\nstream=A,id=é".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        int required = decoder.decode(buffer, batcher);
+        assertEquals(buffer.remaining() + 1, required);
+        batcher.flush();
+        assertEquals(Arrays.asList("A[E1, 10, true]", "A[null, 20, null]", "B[1.5, 3, null]"), received);
+
+        received.clear();
+        buffer.compact();
+        buffer.put("\n".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        assertEquals(0, decoder.decode(buffer, batcher));
+        batcher.flush();
+        assertEquals(Collections.singletonList("A[é, null, null]"), received);
+    }
+
+    public void testCSVPropertyOrdered() throws Exception {
+        SocketConfig config = new SocketConfig();
+        config.setDataType(DataType.PROPERTY_ORDERED_CSV);
+        config.setStream("A");
+        config.setPropertyOrder("value, id, unknown");
+        config.setUnescape(true);
+        SocketFrameDecoderCSV decoder = new SocketFrameDecoderCSV("svc", config, resolver);
+
+        ByteBuffer buffer = ByteBuffer.wrap("1,E1\n2,E\t2,x,y\n3\n".getBytes(StandardCharsets.UTF_8));
+        decoder.decode(buffer, batcher);
+        batcher.flush();
+        assertEquals(Arrays.asList("A[E1, 1, null]", "A[E\t2, 2, null]", "A[null, 3, null]"), received);
+    }
+
+    public void testBatcherPreservesOrder() {
+        batcher = new SocketEventBatcher(3);
+        SocketEventTarget a = targets.get("A");
+        SocketEventTarget b = targets.get("B");
+        batcher.add(a, new Object[]{"E1", 1, null});
+        batcher.add(a, new Object[]{"E2", 2, null});
+        batcher.add(b, new Object[]{1d, 1L, null});
+        batcher.add(a, new Object[]{"E3", 3, null});
+        batcher.flush();
+        assertEquals(Arrays.asList("A[E1, 1, null]", "A[E2, 2, null]", "B[1.0, 1, null]", "A[E3, 3, null]"), received);
+        assertEquals(1, numBatches);
+    }
+
+    private void tryInvalid(ByteBuffer buffer, String message) {
+        buffer.flip();
+        try {
+            new SocketFrameDecoderBinary(resolver).decode(buffer, batcher);
+            fail();
+        } catch (SocketFrameException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private static void writeFrameA(ByteBuffer buffer, String id, int value, Boolean flag) {
+        ByteBuffer body = ByteBuffer.allocate(100);
+        if (id == null) {
+            body.put((byte) 0);
+        } else {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            body.put((byte) 1).putInt(bytes.length).put(bytes);
+        }
+        body.put((byte) 1).putInt(value);
+        if (flag == null) {
+            body.put((byte) 0);
+        } else {
+            body.put((byte) 1).put((byte) (flag ? 1 : 0));
+        }
+        writeFrame(buffer, "A", Arrays.copyOf(body.array(), body.position()));
+    }
+
+    private static void writeFrameB(ByteBuffer buffer, double amount, Long count) {
+        ByteBuffer body = ByteBuffer.allocate(100);
+        body.put((byte) 1).putDouble(amount);
+        if (count == null) {
+            body.put((byte) 0);
+        } else {
+            body.put((byte) 1).putLong(count);
+        }
+        body.put((byte) 0);
+        writeFrame(buffer, "B", Arrays.copyOf(body.array(), body.position()));
+    }
+
+    private static void writeFrame(ByteBuffer buffer, String eventTypeName, byte[] body) {
+        byte[] name = eventTypeName.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(2 + name.length + body.length).putShort((short) name.length).put(name).put(body);
+    }
+
+    private SocketEventTarget makeTarget(String name, String[] propertyNames, Class[] propertyTypes) {
+        SimpleTypeParser[] parsers = new SimpleTypeParser[propertyTypes.length];
+        for (int i = 0; i < propertyTypes.length; i++) {
+            parsers[i] = SimpleTypeParserFactory.getParser(propertyTypes[i]);
+        }
+        EventSender sender = new EventSender() {
+            public void sendEvent(Object theEvent) throws EPException {
+                received.add(name + Arrays.toString((Object[]) theEvent));
+            }
+
+            public void sendEventBatch(Collection<?> events) throws EPException {
+                numBatches++;
+                for (Object event : events) {
+                    sendEvent(event);
+                }
+            }
+
+            public void routeEvent(Object theEvent) throws EPException {
+                throw new UnsupportedOperationException();
+            }
+        };
+        return new SocketEventTarget(name, propertyNames, propertyTypes, parsers, sender);
+    }
+}
@@ -23,7 +23,9 @@ import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -33,6 +35,7 @@ public class ClientDeployRollout {
         execs.add(new ClientDeployRolloutFourInterdepModulesWStmtId());
         execs.add(new ClientDeployRolloutTwoInterdepModules());
         execs.add(new ClientDeployRolloutInvalid());
+        execs.add(new ClientDeployRolloutParallelClassLoading());
         return execs;
     }
 
@@ -164,6 +167,82 @@ public class ClientDeployRollout {
         }
     }
 
+    private static class ClientDeployRolloutParallelClassLoading implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            EPCompiled base = env.compile("@name('basevar') @public create constant variable int basevar = 1");
+            List<EPCompiled> compileds = new ArrayList<>();
+            compileds.add(base);
+            for (int i = 0; i < 10; i++) {
+                compileds.add(env.compile("@name('s" + i + "') select basevar, " + i + " as num from SupportBean(intPrimitive = " + i + ")", new RegressionPath().add(base)));
+            }
+            RolloutOptions options = new RolloutOptions().setClassLoadingThreads(4);
+
+            env.rollout(Arrays.asList(toRolloutItems(compileds.toArray(new EPCompiled[0]))), options);
+            int firstStatementId = ((EPStatementSPI) env.statement("basevar")).getStatementId();
+            for (int i = 0; i < 10; i++) {
+                env.addListener("s" + i);
+                assertEquals(firstStatementId + i + 1, ((EPStatementSPI) env.statement("s" + i)).getStatementId());
+            }
+
+            env.milestone(0);
+
+            for (int i = 0; i < 10; i++) {
+                env.sendEventBean(new SupportBean("E", i));
+                EPAssertionUtil.assertProps(env.listener("s" + i).assertOneGetNewAndReset(), "basevar,num".split(","), new Object[]{1, i});
+            }
+
+            env.undeployAll();
+
+            // classes are loaded by the class loading threads and not by the calling thread
+            Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+            DeploymentOptions recording = new DeploymentOptions().setDeploymentClassLoaderOption(ctx -> new ThreadRecordingClassLoader(ctx.getRuntimeParentClassLoader(), threadNames));
+            List<EPDeploymentRolloutCompiled> items = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                items.add(new EPDeploymentRolloutCompiled(env.compile("@name('r" + i + "') select " + i + " as num from SupportBean"), recording));
+            }
+            env.rollout(items, options);
+            boolean loadedByClassLoadingThread = false;
+            for (String threadName : threadNames.toArray(new String[0])) {
+                loadedByClassLoadingThread |= threadName.startsWith("com.espertech.esper.RolloutClassLoading-");
+            }
+            assertTrue(loadedByClassLoadingThread);
+            env.undeployAll();
+
+            // a failing item is reported by its rollout number and nothing is deployed
+            EPCompiled selectSB = env.compile("@name('s0') select * from SupportBean");
+            EPCompiled selectBase = env.compile("@name('s0') select basevar from SupportBean", new RegressionPath().add(base));
+            try {
+                env.runtime().getDeploymentService().rollout(Arrays.asList(toRolloutItems(selectSB, selectSB, selectBase, selectSB)), options);
+                fail();
+            } catch (EPDeployException ex) {
+                assertEquals(2, ex.getRolloutItemNumber());
+                SupportMessageAssertUtil.assertMessage(ex.getMessage(), "A precondition is not satisfied: Required dependency variable 'basevar' cannot be found");
+            }
+            assertEquals(0, env.deployment().getDeployments().length);
+
+            try {
+                new RolloutOptions().setClassLoadingThreads(0);
+                fail();
+            } catch (IllegalArgumentException ex) {
+                assertEquals("Invalid number of class loading threads 0, the number of threads must be at least 1", ex.getMessage());
+            }
+        }
+    }
+
+    private static class ThreadRecordingClassLoader extends ClassLoader {
+        private final Set<String> threadNames;
+
+        ThreadRecordingClassLoader(ClassLoader parent, Set<String> threadNames) {
+            super(parent);
+            this.threadNames = threadNames;
+        }
+
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            threadNames.add(Thread.currentThread().getName());
+            return super.loadClass(name, resolve);
+        }
+    }
+
     private static EPDeploymentRolloutCompiled[] toRolloutItems(EPCompiled... compileds) {
         EPDeploymentRolloutCompiled[] items = new EPDeploymentRolloutCompiled[compileds.length];
         for (int i = 0; i < compileds.length; i++) {
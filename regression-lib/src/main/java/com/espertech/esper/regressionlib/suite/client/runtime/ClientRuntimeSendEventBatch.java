@@ -0,0 +1,199 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventSender;
+import com.espertech.esper.common.client.json.minimaljson.JsonObject;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClientRuntimeSendEventBatch {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSendEventBatchInsertIntoOrder());
+        execs.add(new ClientRuntimeSendEventBatchNamedWindow());
+        execs.add(new ClientRuntimeSendEventBatchPreprocessing());
+        execs.add(new ClientRuntimeSendEventBatchUnderlyingTypes());
+        execs.add(new ClientRuntimeSendEventBatchEventSender());
+        return execs;
+    }
+
+    private static class ClientRuntimeSendEventBatchInsertIntoOrder implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "insert into MyStream select theString, intPrimitive from SupportBean;\n" +
+                    "@name('stream') select theString, intPrimitive from MyStream;\n" +
+                    "@name('bean') select theString, intPrimitive from SupportBean;\n";
+            env.compileDeploy(epl);
+            List<String> received = new ArrayList<>();
+            for (String name : new String[]{"stream", "bean"}) {
+                env.statement(name).addListener(new RecordingListener(received));
+            }
+
+            List<SupportBean> events = Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3));
+            for (SupportBean event : events) {
+                env.sendEventBean(event);
+            }
+            List<String> expected = new ArrayList<>(received);
+            received.clear();
+
+            env.eventService().sendEventBeanBatch(events, "SupportBean");
+            assertEquals(expected, received);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchNamedWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "create window MyWindow#keepall as SupportBean;\n" +
+                    "insert into MyWindow select * from SupportBean;\n" +
+                    "@name('consumer') select theString, intPrimitive from MyWindow;\n" +
+                    "@name('subquery') select theString, (select count(*) from MyWindow) as intPrimitive from SupportBean;\n";
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy(epl, path);
+            List<String> received = new ArrayList<>();
+            env.statement("consumer").addListener(new RecordingListener(received));
+            env.statement("subquery").addListener(new RecordingListener(received));
+
+            List<SupportBean> events = Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3));
+            for (SupportBean event : events) {
+                env.sendEventBean(event);
+            }
+            List<String> expected = new ArrayList<>(received);
+            received.clear();
+
+            env.compileExecuteFAF("delete from MyWindow", path);
+            env.eventService().sendEventBeanBatch(events, "SupportBean");
+            assertEquals(expected, received);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchPreprocessing implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "update istream SupportBean set intPrimitive = intPrimitive * 10 where theString != 'E2';\n" +
+                    "insert into MyStream select theString, intPrimitive from SupportBean;\n" +
+                    "@name('stream') select theString, intPrimitive from MyStream;\n" +
+                    "@name('bean') select theString, intPrimitive from SupportBean;\n";
+            env.compileDeploy(epl);
+            List<String> received = new ArrayList<>();
+            for (String name : new String[]{"stream", "bean"}) {
+                env.statement(name).addListener(new RecordingListener(received));
+            }
+
+            for (int i = 1; i <= 3; i++) {
+                env.sendEventBean(new SupportBean("E" + i, i));
+            }
+            List<String> expected = new ArrayList<>(received);
+            assertTrue(expected.contains("bean:E1,10"));
+            assertTrue(expected.contains("bean:E2,2"));
+            received.clear();
+
+            env.eventService().sendEventBeanBatch(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3)), "SupportBean");
+            assertEquals(expected, received);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchUnderlyingTypes implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "@name('map') select ident from " + ClientRuntimeListener.MAP_TYPENAME + ";\n" +
+                    "@name('oa') select ident from " + ClientRuntimeListener.OA_TYPENAME + ";\n" +
+                    "@public @buseventtype create json schema JsonEvent(ident string);\n" +
+                    "@name('json') select ident from JsonEvent;\n";
+            env.compileDeploy(epl).addListener("map").addListener("oa").addListener("json");
+
+            List<Map<String, Object>> maps = new ArrayList<>();
+            List<Object[]> arrays = new ArrayList<>();
+            List<String> jsons = new ArrayList<>();
+            for (String ident : new String[]{"A", "B", "C"}) {
+                maps.add(Collections.singletonMap("ident", ident));
+                arrays.add(new Object[]{ident});
+                jsons.add(new JsonObject().add("ident", ident).toString());
+            }
+            env.eventService().sendEventMapBatch(maps, ClientRuntimeListener.MAP_TYPENAME);
+            env.eventService().sendEventObjectArrayBatch(arrays, ClientRuntimeListener.OA_TYPENAME);
+            env.eventService().sendEventJsonBatch(jsons, "JsonEvent");
+
+            for (String name : new String[]{"map", "oa", "json"}) {
+                assertEquals(3, env.listener(name).getNewDataList().size());
+                assertEquals("A", env.listener(name).getNewDataList().get(0)[0].get("ident"));
+                assertEquals("C", env.listener(name).getNewDataList().get(2)[0].get("ident"));
+                env.listener(name).reset();
+            }
+
+            env.eventService().sendEventMapBatch(Collections.emptyList(), ClientRuntimeListener.MAP_TYPENAME);
+            assertEquals(0, env.listener("map").getNewDataList().size());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventBatchEventSender implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select theString, intPrimitive from SupportBean").addListener("s0");
+
+            EventSender sender = env.eventService().getEventSender("SupportBean");
+            sender.sendEventBatch(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2)));
+            assertEquals(2, env.listener("s0").getNewDataList().size());
+            assertEquals("E2", env.listener("s0").getNewDataList().get(1)[0].get("theString"));
+            env.listener("s0").reset();
+
+            // an application-provided sender that implements only sendEvent and routeEvent gets the default batch method
+            EventSender delegating = new EventSender() {
+                public void sendEvent(Object theEvent) {
+                    sender.sendEvent(theEvent);
+                }
+
+                public void routeEvent(Object theEvent) {
+                    sender.routeEvent(theEvent);
+                }
+            };
+            delegating.sendEventBatch(Arrays.asList(new SupportBean("E3", 3), new SupportBean("E4", 4)));
+            assertEquals(2, env.listener("s0").getNewDataList().size());
+            assertEquals("E4", env.listener("s0").getNewDataList().get(1)[0].get("theString"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class RecordingListener implements UpdateListener {
+        private final List<String> received;
+
+        RecordingListener(List<String> received) {
+            this.received = received;
+        }
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                received.add(statement.getName() + ":" + event.get("theString") + "," + event.get("intPrimitive"));
+            }
+        }
+    }
+}
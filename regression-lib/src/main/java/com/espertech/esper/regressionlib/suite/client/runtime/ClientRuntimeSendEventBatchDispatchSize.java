@@ -0,0 +1,65 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClientRuntimeSendEventBatchDispatchSize implements RegressionExecutionWithConfigure {
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getExecution().setBatchDispatchSize(2);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        env.compileDeploy("@name('s0') select theString from SupportBean").addListener("s0");
+
+        List<SupportBean> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(new SupportBean("E" + i, i));
+        }
+
+        // results of every two events are delivered in one listener invocation, the remainder at the end of the batch
+        env.eventService().sendEventBeanBatch(events, "SupportBean");
+        assertInvocations(env, 0, new int[]{2, 2, 1});
+
+        env.eventService().getEventSender("SupportBean").sendEventBatch(events.subList(0, 3));
+        assertInvocations(env, 0, new int[]{2, 1});
+
+        // events sent one by one are still dispatched one by one
+        env.sendEventBean(new SupportBean("E5", 5));
+        assertInvocations(env, 5, new int[]{1});
+
+        env.undeployAll();
+    }
+
+    private static void assertInvocations(RegressionEnvironment env, int firstIndex, int[] sizes) {
+        List<EventBean[]> received = env.listener("s0").getNewDataList();
+        assertEquals(sizes.length, received.size());
+        int count = firstIndex;
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals(sizes[i], received.get(i).length);
+            for (int j = 0; j < sizes[i]; j++) {
+                assertEquals("E" + count++, received.get(i)[j].get("theString"));
+            }
+        }
+        env.listener("s0").reset();
+    }
+}
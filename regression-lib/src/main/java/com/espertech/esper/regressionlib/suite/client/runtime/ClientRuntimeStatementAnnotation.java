@@ -14,10 +14,12 @@ import com.espertech.esper.common.client.annotation.*;
 import com.espertech.esper.common.client.soda.EPStatementFormatter;
 import com.espertech.esper.common.client.soda.EPStatementObjectModel;
 import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportEnum;
 import com.espertech.esper.compiler.client.*;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
 import com.espertech.esper.regressionlib.support.client.*;
 import com.espertech.esper.runtime.client.EPStatement;
 import junit.framework.TestCase;
@@ -31,6 +33,7 @@ import java.util.List;
 import static com.espertech.esper.common.client.scopetest.EPAssertionUtil.toObjectArray;
 import static com.espertech.esper.common.client.scopetest.ScopeTestHelper.assertTrue;
 import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidDeploy;
 import static com.espertech.esper.regressionlib.support.client.AnnotationAssertUtil.sortAlpha;
 import static junit.framework.TestCase.*;
 
@@ -46,6 +49,7 @@ public class ClientRuntimeStatementAnnotation {
         execs.add(new ClientRuntimeStatementAnnotationInvalid());
         execs.add(new ClientRuntimeStatementAnnotationSpecificImport());
         execs.add(new ClientRuntimeStatementAnnotationRecursive());
+        execs.add(new ClientRuntimeStatementAnnotationSingleWriter());
         return execs;
     }
 
@@ -315,6 +319,33 @@ public class ClientRuntimeStatementAnnotation {
         }
     }
 
+    public static class ClientRuntimeStatementAnnotationSingleWriter implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') @SingleWriter select theString, count(*) as cnt from SupportBean#length(2) group by theString").addListener("s0");
+            assertEquals(1, AnnotationUtil.findAnnotations(env.statement("s0").getAnnotations(), SingleWriter.class).size());
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            assertEquals(1L, env.listener("s0").assertOneGetNewAndReset().get("cnt"));
+            env.sendEventBean(new SupportBean("E1", 2));
+            assertEquals(2L, env.listener("s0").assertOneGetNewAndReset().get("cnt"));
+
+            env.undeployAll();
+
+            RegressionPath path = new RegressionPath();
+            tryInvalidDeploy(env, path, "@name('window') @SingleWriter create window MyWindow#keepall as SupportBean",
+                "Statement 'window' is annotated with @SingleWriter but the statement manages a named window or table that other statements share");
+
+            tryInvalidDeploy(env, path, "@name('schedule') @SingleWriter select count(*) from SupportBean#time(10)",
+                "Statement 'schedule' is annotated with @SingleWriter but the statement schedules");
+
+            env.compileDeploy("create table MyTable(total sum(int))", path);
+            tryInvalidDeploy(env, path, "@name('table') @SingleWriter select MyTable.total from SupportBean",
+                "Statement 'table' is annotated with @SingleWriter but the statement accesses a table that other statements share");
+
+            env.undeployAll();
+        }
+    }
+
     public static class ClientRuntimeStatementAnnotationSpecificImport implements RegressionExecution {
         @MyAnnotationValueEnum(supportEnum = SupportEnum.ENUM_VALUE_1)
         public void run(RegressionEnvironment env) {
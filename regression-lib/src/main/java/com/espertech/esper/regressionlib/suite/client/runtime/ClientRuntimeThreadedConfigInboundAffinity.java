@@ -0,0 +1,123 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.InboundAffinityExecutor;
+import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidDeploy;
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigInboundAffinity implements RegressionExecutionWithConfigure {
+    private static final int NUM_KEYS = 10;
+    private static final int NUM_EVENTS_PER_KEY = 200;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setThreadPoolInbound(true);
+        configuration.getRuntime().getThreading().setThreadPoolInboundNumThreads(4);
+        configuration.getRuntime().getThreading().addThreadPoolInboundAffinityKey("SupportBean", "theString");
+        configuration.getRuntime().getThreading().setThreadPoolInboundAffinityLockElision(true);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        String epl = "create context PerKey partition by theString from SupportBean;\n" +
+            "@name('s0') context PerKey select theString, intPrimitive, count(*) as cnt from SupportBean;\n" +
+            "@name('sw') @SingleWriter context PerKey select count(*) as cnt from SupportBean;\n";
+        env.compileDeploy(epl);
+        OrderRecordingListener listener = new OrderRecordingListener();
+        env.statement("s0").addListener(listener);
+
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int key = 0; key < NUM_KEYS; key++) {
+                env.sendEventBean(new SupportBean("K" + key, i));
+            }
+        }
+
+        int total = NUM_KEYS * NUM_EVENTS_PER_KEY;
+        for (int i = 0; i < 100 && listener.getCount() < total; i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        assertEquals(total, listener.getCount());
+
+        // events of the same key are processed in order and counted by their context partition
+        assertEquals(NUM_KEYS, listener.getReceived().size());
+        for (List<long[]> received : listener.getReceived().values()) {
+            assertEquals(NUM_EVENTS_PER_KEY, received.size());
+            for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+                assertEquals(i, received.get(i)[0]);
+                assertEquals(i + 1, received.get(i)[1]);
+            }
+        }
+
+        ThreadingService threadingService = ((EPRuntimeSPI) env.runtime()).getServicesContext().getThreadingService();
+        assertNull(threadingService.getInboundQueue());
+        InboundAffinityExecutor executor = threadingService.getInboundAffinityExecutor();
+        assertNotNull(executor);
+        assertEquals(4, executor.getNumQueues());
+        long processed = 0;
+        for (int i = 0; i < executor.getNumQueues(); i++) {
+            assertEquals(0, executor.getQueueDepth(i));
+            assertEquals(executor.getSubmittedCount(i), executor.getProcessedCount(i));
+            processed += executor.getProcessedCount(i);
+        }
+        assertEquals(total, processed);
+
+        // insert-into an event type that has an affinity key is not supported with lock elision
+        tryInvalidDeploy(env, env.compile("@name('ins') insert into SupportBean select * from SupportBean"),
+            "Statement 'ins' inserts into event type 'SupportBean' that has an inbound affinity key, which is not supported when affinity lock elision is enabled");
+
+        // single-writer statements must be in a context that partitions by the affinity key
+        tryInvalidDeploy(env, env.compile("@name('swi') @SingleWriter select count(*) as cnt from SupportBean"),
+            "Statement 'swi' is annotated with @SingleWriter but inbound threading is enabled with multiple threads and the statement is not in a keyed context that partitions by the inbound affinity keys with affinity lock elision enabled");
+
+        env.undeployAll();
+    }
+
+    private static class OrderRecordingListener implements UpdateListener {
+        private final Map<String, List<long[]>> received = new ConcurrentHashMap<>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                List<long[]> values = received.computeIfAbsent((String) event.get("theString"), key -> Collections.synchronizedList(new ArrayList<>()));
+                values.add(new long[]{(Integer) event.get("intPrimitive"), (Long) event.get("cnt")});
+                count.incrementAndGet();
+            }
+        }
+
+        Map<String, List<long[]>> getReceived() {
+            return received;
+        }
+
+        int getCount() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.context;
+
+import com.espertech.esper.common.client.context.ContextPartitionSelectorAll;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+
+public class ContextKeySegmentedEvictIdle {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ContextKeySegmentedEvictIdleMaxPartitions());
+        execs.add(new ContextKeySegmentedEvictIdleAfter());
+        execs.add(new ContextKeySegmentedEvictIdleInvalid());
+        return execs;
+    }
+
+    private static class ContextKeySegmentedEvictIdleMaxPartitions implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@name('ctx') @EvictIdle(maxPartitions=2, policy='DROP') create context SegmentedByString partition by theString from SupportBean", path);
+            env.compileDeploy("@name('s0') context SegmentedByString select theString as c0, sum(intPrimitive) as c1 from SupportBean", path).addListener("s0");
+
+            sendAssert(env, "E1", 1, 1);
+            sendAssert(env, "E2", 2, 2);
+            sendAssert(env, "E1", 10, 11);
+            assertPartitionCount(env, 2);
+
+            // E2 is the least recently active
+            sendAssert(env, "E3", 3, 3);
+            assertPartitionCount(env, 2);
+            sendAssert(env, "E1", 100, 111);
+
+            // E2 starts over
+            sendAssert(env, "E2", 20, 20);
+            assertPartitionCount(env, 2);
+
+            // E3 was evicted when E2 came back
+            sendAssert(env, "E3", 30, 30);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ContextKeySegmentedEvictIdleAfter implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@name('ctx') @EvictIdle(after=10) create context SegmentedByString partition by theString from SupportBean", path);
+            env.compileDeploy("@name('s0') context SegmentedByString select theString as c0, sum(intPrimitive) as c1 from SupportBean", path).addListener("s0");
+
+            sendAssert(env, "E1", 1, 1);
+            env.advanceTime(5000);
+            sendAssert(env, "E2", 2, 2);
+            env.advanceTime(9000);
+            sendAssert(env, "E1", 10, 11);
+            assertPartitionCount(env, 2);
+
+            // E2 idle since 5 seconds
+            env.advanceTime(15000);
+            assertPartitionCount(env, 1);
+            sendAssert(env, "E2", 20, 20);
+
+            // E1 idle since 9 seconds
+            env.advanceTime(18999);
+            assertPartitionCount(env, 2);
+            env.advanceTime(19000);
+            assertPartitionCount(env, 1);
+            sendAssert(env, "E1", 100, 100);
+
+            env.advanceTime(40000);
+            assertPartitionCount(env, 0);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ContextKeySegmentedEvictIdleInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@EvictIdle(after=10) create context MyContext start SupportBean_S0 end SupportBean_S1",
+                "@EvictIdle requires a keyed segmented context that is not nested");
+            tryInvalidCompile(env, "@EvictIdle(after=10) create context MyContext context A partition by theString from SupportBean, context B partition by intPrimitive from SupportBean",
+                "@EvictIdle requires a keyed segmented context that is not nested");
+            tryInvalidCompile(env, "@EvictIdle create context MyContext partition by theString from SupportBean",
+                "@EvictIdle requires a value for 'after' or 'maxPartitions'");
+            tryInvalidCompile(env, "@EvictIdle(after=-1) create context MyContext partition by theString from SupportBean",
+                "@EvictIdle requires non-negative values for 'after' and 'maxPartitions'");
+            tryInvalidCompile(env, "@EvictIdle(after=10, policy='spill') create context MyContext partition by theString from SupportBean",
+                "@EvictIdle policy 'spill' is not supported, the only supported policy is 'drop'");
+        }
+    }
+
+    private static void sendAssert(RegressionEnvironment env, String theString, int intPrimitive, int expected) {
+        env.sendEventBean(new SupportBean(theString, intPrimitive));
+        EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "c0,c1".split(","), new Object[]{theString, expected});
+    }
+
+    private static void assertPartitionCount(RegressionEnvironment env, int expected) {
+        assertEquals(expected, env.runtime().getContextPartitionService().getContextPartitionIds(env.deploymentId("ctx"), "SegmentedByString", new ContextPartitionSelectorAll()).size());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.context;
+
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.filter.SupportFilterHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Keyed context with the runtime configured for filters that all context partitions share.
+ */
+public class ContextKeySegmentedSharedFilter {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ContextKeySegmentedSharedFilterSingleKey());
+        execs.add(new ContextKeySegmentedSharedFilterMultiKey());
+        execs.add(new ContextKeySegmentedSharedFilterContextProperty());
+        return execs;
+    }
+
+    private static class ContextKeySegmentedSharedFilterSingleKey implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context SegmentedByString partition by theString from SupportBean(intPrimitive > 0), p00 from SupportBean_S0", path);
+            env.compileDeploy("@name('s0') context SegmentedByString select theString as c0, sum(intPrimitive) as c1 from SupportBean(longPrimitive >= 0)", path).addListener("s0");
+            env.compileDeploy("@name('s1') context SegmentedByString select p00 as c0, count(*) as c1 from SupportBean_S0", path).addListener("s1");
+            assertEquals(2, SupportFilterHelper.getFilterCountApprox(env));
+
+            String[] fields = "c0,c1".split(",");
+            env.sendEventBean(new SupportBean("E1", 10));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 10});
+            assertEquals(4, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.sendEventBean(new SupportBean("E2", 20));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E2", 20});
+            env.sendEventBean(new SupportBean("E1", 11));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 21});
+            env.sendEventBean(new SupportBean("E3", 30));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E3", 30});
+            assertEquals(4, SupportFilterHelper.getFilterCountApprox(env));
+
+            // partition filter and statement filter still apply
+            env.sendEventBean(new SupportBean("E4", -1));
+            SupportBean negative = new SupportBean("E1", 5);
+            negative.setLongPrimitive(-1);
+            env.sendEventBean(negative);
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean_S0(1, "E2"));
+            EPAssertionUtil.assertProps(env.listener("s1").assertOneGetNewAndReset(), fields, new Object[]{"E2", 1L});
+            env.sendEventBean(new SupportBean_S0(2, "E2"));
+            EPAssertionUtil.assertProps(env.listener("s1").assertOneGetNewAndReset(), fields, new Object[]{"E2", 2L});
+            env.sendEventBean(new SupportBean_S0(3, "E1"));
+            EPAssertionUtil.assertProps(env.listener("s1").assertOneGetNewAndReset(), fields, new Object[]{"E1", 1L});
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.undeployModuleContaining("s1");
+            assertEquals(3, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.undeployAll();
+            assertEquals(0, SupportFilterHelper.getFilterCountApprox(env));
+        }
+    }
+
+    private static class ContextKeySegmentedSharedFilterMultiKey implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "create context SegmentedByStringAndInt partition by theString, intPrimitive from SupportBean;\n" +
+                "@name('s0') context SegmentedByStringAndInt select theString as c0, intPrimitive as c1, count(*) as c2 from SupportBean;\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            String[] fields = "c0,c1,c2".split(",");
+            env.sendEventBean(new SupportBean("E1", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 1, 1L});
+            env.sendEventBean(new SupportBean("E1", 2));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 2, 1L});
+            env.sendEventBean(new SupportBean("E2", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E2", 1, 1L});
+            env.sendEventBean(new SupportBean("E1", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 1, 2L});
+            env.sendEventBean(new SupportBean(null, 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{null, 1, 1L});
+            env.sendEventBean(new SupportBean(null, 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{null, 1, 2L});
+            assertEquals(2, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.undeployAll();
+            assertEquals(0, SupportFilterHelper.getFilterCountApprox(env));
+        }
+    }
+
+    private static class ContextKeySegmentedSharedFilterContextProperty implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // filter values differ between partitions, the partitions after the first register their own filter
+            String epl = "create context SegmentedByString partition by theString from SupportBean;\n" +
+                "@name('s0') context SegmentedByString select theString as c0, count(*) as c1 from SupportBean(theString = context.key1);\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            String[] fields = "c0,c1".split(",");
+            env.sendEventBean(new SupportBean("E1", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 1L});
+            env.sendEventBean(new SupportBean("E2", 2));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E2", 1L});
+            env.sendEventBean(new SupportBean("E2", 3));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E2", 2L});
+            env.sendEventBean(new SupportBean("E1", 4));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 2L});
+            assertEquals(3, SupportFilterHelper.getFilterCountApprox(env));
+
+            env.undeployAll();
+            assertEquals(0, SupportFilterHelper.getFilterCountApprox(env));
+        }
+    }
+}
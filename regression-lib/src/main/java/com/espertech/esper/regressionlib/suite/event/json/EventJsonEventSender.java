@@ -10,19 +10,25 @@
  */
 package com.espertech.esper.regressionlib.suite.event.json;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.json.util.EventSenderJson;
 import com.espertech.esper.common.client.json.util.JsonEventObject;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 public class EventJsonEventSender {
 
     public static List<RegressionExecution> executions() {
         List<RegressionExecution> execs = new ArrayList<>();
         execs.add(new EventJsonEventSenderParseAndSend());
+        execs.add(new EventJsonEventSenderBytes());
         return execs;
     }
 
@@ -42,4 +48,54 @@ public class EventJsonEventSender {
             env.undeployAll();
         }
     }
+
+    private static class EventJsonEventSenderBytes implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "@public @buseventtype create json schema Inner(id int);\n" +
+                    "@public @buseventtype create json schema Outer(p1 string, inner Inner);\n" +
+                    "@public @buseventtype @JsonSchema(dynamic=true) create json schema Dynamic(p1 string);\n" +
+                    "@name('s0') select p1, inner.id as id from Outer;\n" +
+                    "@name('s1') select p1, p2? as p2 from Dynamic;\n";
+            env.compileDeploy(epl).addListener("s0").addListener("s1");
+
+            String json = "{\"skip\": {\"a\": [1, {\"b\": \"x\"}]}, \"p1\": \"\u00e9\u20ac\", \"inner\": {\"id\": 10, \"other\": [true]}, \"p2\": 5}";
+            byte[] bytes = ("  " + json + "  ").getBytes(StandardCharsets.UTF_8);
+            byte[] exact = json.getBytes(StandardCharsets.UTF_8);
+
+            env.eventService().sendEventJson(bytes, 0, bytes.length, "Outer");
+            assertOuter(env);
+
+            ByteBuffer heap = ByteBuffer.wrap(bytes);
+            env.eventService().sendEventJson(heap, "Outer");
+            assertOuter(env);
+            assertEquals(0, heap.position());
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(exact.length);
+            direct.put(exact).flip();
+            env.eventService().sendEventJson(direct, "Outer");
+            assertOuter(env);
+
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("Outer");
+            sender.sendEvent(exact);
+            assertOuter(env);
+            sender.sendEvent(direct);
+            assertOuter(env);
+            sender.sendEvent(sender.parse(exact, 0, exact.length));
+            assertOuter(env);
+
+            env.eventService().sendEventJson(exact, 0, exact.length, "Dynamic");
+            EventBean event = env.listener("s1").assertOneGetNewAndReset();
+            assertEquals("\u00e9\u20ac", event.get("p1"));
+            assertEquals(5, event.get("p2"));
+
+            env.undeployAll();
+        }
+
+        private static void assertOuter(RegressionEnvironment env) {
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals("\u00e9\u20ac", event.get("p1"));
+            assertEquals(10, event.get("id"));
+        }
+    }
 }
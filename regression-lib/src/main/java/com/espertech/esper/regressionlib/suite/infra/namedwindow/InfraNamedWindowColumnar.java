@@ -0,0 +1,166 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.EventRepresentationChoice;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.support.SupportBean_S1;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+
+public class InfraNamedWindowColumnar {
+    private final static String[] FIELDS = "theString,intPrimitive,longBoxed,doubleBoxed".split(",");
+    private final static String COLUMNS = "(theString string, intPrimitive int, longBoxed Long, doubleBoxed Double)";
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraNamedWindowColumnarCompareKeepAll());
+        execs.add(new InfraNamedWindowColumnarTimeWindow());
+        execs.add(new InfraNamedWindowColumnarDeleteMost());
+        execs.add(new InfraNamedWindowColumnarInvalid());
+        return execs;
+    }
+
+    private static class InfraNamedWindowColumnarCompareKeepAll implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String oa = EventRepresentationChoice.OBJECTARRAY.getAnnotationText();
+            RegressionPath path = new RegressionPath();
+            StringBuilder epl = new StringBuilder();
+            for (String window : new String[]{"ColumnarWindow", "PlainWindow"}) {
+                String prefix = window.equals("ColumnarWindow") ? "@Columnar " : "";
+                epl.append(prefix).append(oa).append(" @name('").append(window).append("') create window ").append(window).append("#keepall ").append(COLUMNS).append(";\n")
+                    .append("insert into ").append(window).append(" select theString, intPrimitive, longBoxed, doubleBoxed from SupportBean;\n")
+                    .append("on SupportBean_S0 as s0 delete from ").append(window).append(" as w where w.intPrimitive = s0.id;\n")
+                    .append("on SupportBean_S1 as s1 update ").append(window).append(" as w set doubleBoxed = -1d where w.theString = s1.p10;\n");
+            }
+            epl.append("create index ColumnarIndex on ColumnarWindow(intPrimitive);\n")
+                .append("@name('consumer') select irstream * from ColumnarWindow;\n");
+            env.compileDeploy(epl.toString(), path).addListener("consumer");
+
+            for (int i = 0; i < 20; i++) {
+                SupportBean bean = new SupportBean("E" + i, i);
+                bean.setLongBoxed(i % 3 == 0 ? null : (long) i * 100);
+                bean.setDoubleBoxed(i * 1.5);
+                env.sendEventBean(bean);
+                EPAssertionUtil.assertProps(env.listener("consumer").assertOneGetNewAndReset(), FIELDS, new Object[]{"E" + i, i, bean.getLongBoxed(), bean.getDoubleBoxed()});
+            }
+            assertSameContents(env, path);
+
+            env.sendEventBean(new SupportBean_S0(4));
+            EPAssertionUtil.assertProps(env.listener("consumer").assertOneGetOldAndReset(), FIELDS, new Object[]{"E4", 4, 400L, 6d});
+            env.sendEventBean(new SupportBean_S1(0, "E5"));
+            EPAssertionUtil.assertProps(env.listener("consumer").getAndResetLastNewData()[0], FIELDS, new Object[]{"E5", 5, 500L, -1d});
+            assertSameContents(env, path);
+
+            env.compileExecuteFAF("delete from ColumnarWindow where longBoxed is null", path);
+            env.compileExecuteFAF("delete from PlainWindow where longBoxed is null", path);
+            assertSameContents(env, path);
+
+            EventBean[] result = env.compileExecuteFAF("select theString from ColumnarWindow where intPrimitive = 7", path).getArray();
+            EPAssertionUtil.assertPropsPerRow(result, "theString".split(","), new Object[][]{{"E7"}});
+            result = env.compileExecuteFAF("select sum(longBoxed) as total from ColumnarWindow where doubleBoxed < 0", path).getArray();
+            assertEquals(500L, result[0].get("total"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraNamedWindowColumnarTimeWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            RegressionPath path = new RegressionPath();
+            String epl = "@Columnar " + EventRepresentationChoice.OBJECTARRAY.getAnnotationText() + " create window MyWindow#time(10 sec) " + COLUMNS + ";\n" +
+                "insert into MyWindow select theString, intPrimitive, longBoxed, doubleBoxed from SupportBean;\n" +
+                "@name('s0') select irstream theString, intPrimitive from MyWindow;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+            String[] fields = "theString,intPrimitive".split(",");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.advanceTime(5000);
+            env.sendEventBean(new SupportBean("E2", 2));
+            env.listener("s0").reset();
+
+            env.advanceTime(10000);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetOldAndReset(), fields, new Object[]{"E1", 1});
+            EPAssertionUtil.assertPropsPerRow(env.compileExecuteFAF("select * from MyWindow", path).getArray(), fields, new Object[][]{{"E2", 2}});
+
+            env.advanceTime(15000);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetOldAndReset(), fields, new Object[]{"E2", 2});
+            assertEquals(0, env.compileExecuteFAF("select * from MyWindow", path).getArray().length);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraNamedWindowColumnarDeleteMost implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "@Columnar " + EventRepresentationChoice.OBJECTARRAY.getAnnotationText() + " @name('window') create window MyWindow#keepall " + COLUMNS + ";\n" +
+                "insert into MyWindow select theString, intPrimitive, longBoxed, doubleBoxed from SupportBean;\n" +
+                "on SupportBean_S0 delete from MyWindow where intPrimitive % 5 != 0;\n" +
+                "@name('s0') select irstream theString, intPrimitive from MyWindow;\n";
+            env.compileDeploy(epl, path);
+            int count = 2500;
+            for (int i = 0; i < count; i++) {
+                env.sendEventBean(new SupportBean("E" + i, i));
+            }
+            env.addListener("s0");
+
+            // deleting most events releases chunk storage while removed events keep their values
+            env.sendEventBean(new SupportBean_S0(0));
+            EventBean[] removed = env.listener("s0").getAndResetLastOldData();
+            assertEquals(count / 5 * 4, removed.length);
+            for (EventBean event : removed) {
+                assertEquals("E" + event.get("intPrimitive"), event.get("theString"));
+            }
+
+            EventBean[] remaining = env.compileExecuteFAF("select * from MyWindow order by intPrimitive", path).getArray();
+            assertEquals(count / 5, remaining.length);
+            for (int i = 0; i < remaining.length; i++) {
+                EPAssertionUtil.assertProps(remaining[i], "theString,intPrimitive".split(","), new Object[]{"E" + (i * 5), i * 5});
+            }
+
+            env.sendEventBean(new SupportBean("X", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), "theString,intPrimitive".split(","), new Object[]{"X", 1});
+            assertEquals(count / 5 + 1, env.compileExecuteFAF("select * from MyWindow", path).getArray().length);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraNamedWindowColumnarInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@Columnar create window MyWindow#keepall as SupportBean",
+                "@Columnar requires a named window of object-array event representation");
+            tryInvalidCompile(env, "@Columnar " + EventRepresentationChoice.OBJECTARRAY.getAnnotationText() + " create window MyWindow#length(10) " + COLUMNS,
+                "@Columnar requires a named window that declares a single keep-all or time window");
+            tryInvalidCompile(env, "@Columnar " + EventRepresentationChoice.OBJECTARRAY.getAnnotationText() + " create window MyWindow#time(10)#keepall " + COLUMNS,
+                "@Columnar requires a named window that declares a single keep-all or time window");
+        }
+    }
+
+    private static void assertSameContents(RegressionEnvironment env, RegressionPath path) {
+        EventBean[] plain = env.compileExecuteFAF("select * from PlainWindow order by intPrimitive", path).getArray();
+        EventBean[] columnar = env.compileExecuteFAF("select * from ColumnarWindow order by intPrimitive", path).getArray();
+        EPAssertionUtil.assertPropsPerRow(columnar, FIELDS, EPAssertionUtil.eventsToObjectArr(plain, FIELDS));
+        EPAssertionUtil.assertPropsPerRow(env.iterator("ColumnarWindow"), FIELDS, EPAssertionUtil.eventsToObjectArr(EPAssertionUtil.iteratorToArray(env.iterator("PlainWindow")), FIELDS));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchMetric;
+import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InfraNamedWindowConsumerParallel implements RegressionExecutionWithConfigure {
+    private static final int NUM_CONSUMERS = 10;
+    private static final int NUM_EVENTS = 500;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setNamedWindowConsumerDispatchNumThreads(4);
+        configuration.getRuntime().getMetricsReporting().setEnableMetricsReporting(true);
+        configuration.getRuntime().getMetricsReporting().setThreading(false);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        runAssertionFanOut(env);
+        runAssertionSelfFeeding(env);
+    }
+
+    private static void runAssertionFanOut(RegressionEnvironment env) {
+        StringBuilder epl = new StringBuilder();
+        epl.append("create window MyWindow#keepall as SupportBean;\n");
+        epl.append("insert into MyWindow select * from SupportBean;\n");
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            epl.append("@name('c").append(i).append("') select theString, intPrimitive from MyWindow;\n");
+        }
+        // consumer results routed into a stream are processed by the dispatch thread
+        epl.append("insert into MyStream select theString, intPrimitive from MyWindow;\n");
+        epl.append("@name('stream') select theString, intPrimitive from MyStream;\n");
+        env.compileDeploy(epl.toString());
+
+        List<OrderRecordingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < NUM_CONSUMERS; i++) {
+            listeners.add(addListener(env, "c" + i));
+        }
+        listeners.add(addListener(env, "stream"));
+
+        // each consumer, including the statement consuming routed results, receives the delta before sendEvent returns
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            env.sendEventBean(new SupportBean("E" + i, i));
+            for (OrderRecordingListener listener : listeners) {
+                List<Integer> received = listener.getReceived();
+                assertEquals(i + 1, received.size());
+                assertEquals(i, (int) received.get(i));
+            }
+        }
+
+        NamedWindowDispatchServiceImpl dispatchService = (NamedWindowDispatchServiceImpl) ((EPRuntimeSPI) env.runtime()).getServicesContext().getNamedWindowDispatchService();
+        NamedWindowDispatchMetric metric = dispatchService.getDispatchMetrics().getMetric("MyWindow");
+        assertNotNull(metric);
+        assertEquals(NUM_EVENTS, metric.getDispatchCount());
+        assertEquals(NUM_CONSUMERS + 1, metric.getFanOutMax());
+        assertEquals(NUM_CONSUMERS + 1, metric.getFanOutAvg(), 0.0001);
+        assertTrue(metric.getLatencyNanosMax() > 0);
+        assertTrue(metric.getLatencyNanosTotal() >= metric.getLatencyNanosMax());
+
+        env.undeployAll();
+    }
+
+    private static void runAssertionSelfFeeding(RegressionEnvironment env) {
+        // a consumer inserting into the window that it consumes, directly and by means of a stream, processed by a dispatch thread
+        String epl = "@name('window') create window MyFeedWindow#keepall as SupportBean;\n" +
+            "insert into MyFeedWindow select * from SupportBean;\n" +
+            "insert into MyFeedWindow select 'D' || theString as theString, intPrimitive from MyFeedWindow(theString like 'E%');\n" +
+            "insert into MyFeedStream select 'S' || theString as theString, intPrimitive from MyFeedWindow(theString like 'E%');\n" +
+            "insert into MyFeedWindow select * from MyFeedStream;\n" +
+            "@name('direct') select theString, intPrimitive from MyFeedWindow(theString like 'D%');\n" +
+            "@name('stream') select theString, intPrimitive from MyFeedWindow(theString like 'S%');\n";
+        env.compileDeploy(epl);
+        OrderRecordingListener direct = addListener(env, "direct");
+        OrderRecordingListener stream = addListener(env, "stream");
+
+        for (int i = 0; i < 100; i++) {
+            env.sendEventBean(new SupportBean("E" + i, i));
+            assertEquals(i + 1, direct.getReceived().size());
+            assertEquals(i, (int) direct.getReceived().get(i));
+            assertEquals(i + 1, stream.getReceived().size());
+            assertEquals(i, (int) stream.getReceived().get(i));
+            assertEquals(3 * (i + 1), EPAssertionUtil.iteratorToArray(env.statement("window").iterator()).length);
+        }
+
+        env.undeployAll();
+    }
+
+    private static OrderRecordingListener addListener(RegressionEnvironment env, String statementName) {
+        OrderRecordingListener listener = new OrderRecordingListener();
+        env.statement(statementName).addListener(listener);
+        return listener;
+    }
+
+    private static class OrderRecordingListener implements UpdateListener {
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                received.add((Integer) event.get("intPrimitive"));
+            }
+        }
+
+        List<Integer> getReceived() {
+            synchronized (received) {
+                return new ArrayList<>(received);
+            }
+        }
+    }
+}
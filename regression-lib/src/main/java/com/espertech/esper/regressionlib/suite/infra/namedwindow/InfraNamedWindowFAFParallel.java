@@ -0,0 +1,73 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class InfraNamedWindowFAFParallel implements RegressionExecutionWithConfigure {
+    private static final int NUM_KEYS = 100;
+    private static final int NUM_EVENTS = 1000;
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getExecution().setFireAndForgetParallelThreshold(2);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        RegressionPath path = new RegressionPath();
+        String epl = "create context PerKey partition by theString from SupportBean;\n" +
+            "context PerKey create window MyWindow#keepall as SupportBean;\n" +
+            "context PerKey insert into MyWindow select * from SupportBean;\n";
+        env.compileDeploy(epl, path);
+
+        List<Object[]> expectedEven = new ArrayList<>();
+        long expectedSum = 0;
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            String key = "K" + (i % NUM_KEYS);
+            env.sendEventBean(new SupportBean(key, i));
+            if (i % 2 == 0) {
+                expectedEven.add(new Object[]{key, i});
+                expectedSum += i;
+            }
+        }
+
+        EventBean[] result = env.compileExecuteFAF("select theString, intPrimitive from MyWindow where intPrimitive % 2 = 0", path).getArray();
+        EPAssertionUtil.assertPropsPerRowAnyOrder(result, "theString,intPrimitive".split(","), expectedEven.toArray(new Object[0][]));
+
+        result = env.compileExecuteFAF("select count(*) as cnt, sum(intPrimitive) as total from MyWindow where intPrimitive % 2 = 0", path).getArray();
+        assertEquals(1, result.length);
+        assertEquals((long) expectedEven.size(), result[0].get("cnt"));
+        assertEquals((int) expectedSum, result[0].get("total"));
+
+        result = env.compileExecuteFAF("select theString, count(*) as cnt from MyWindow group by theString order by theString limit 2", path).getArray();
+        EPAssertionUtil.assertPropsPerRow(result, "theString,cnt".split(","), new Object[][]{{"K0", 10L}, {"K1", 10L}});
+
+        List<EventBean> streamed = new ArrayList<>();
+        env.runtime().getFireAndForgetService().executeQuery(env.compileFAF("select theString, intPrimitive from MyWindow where intPrimitive % 2 = 0", path),
+            (eventType, rows) -> streamed.addAll(Arrays.asList(rows)));
+        EPAssertionUtil.assertPropsPerRowAnyOrder(streamed.toArray(new EventBean[0]), "theString,intPrimitive".split(","), expectedEven.toArray(new Object[0][]));
+
+        env.undeployAll();
+    }
+}
@@ -13,9 +13,11 @@ package com.espertech.esper.regressionlib.suite.infra.nwtable;
 import com.espertech.esper.common.client.EPCompiled;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.context.ContextPartitionSelector;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQuery;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.client.json.minimaljson.JsonObject;
 import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.client.soda.EPStatementObjectModel;
@@ -30,6 +32,7 @@ import com.espertech.esper.regressionlib.support.bean.SupportBean_A;
 import com.espertech.esper.regressionlib.support.context.SupportHashCodeFuncGranularCRC32;
 import com.espertech.esper.regressionlib.support.context.SupportSelectorByHashCode;
 import com.espertech.esper.regressionlib.support.context.SupportSelectorCategory;
+import com.espertech.esper.regressionlib.support.context.SupportSelectorPartitioned;
 import com.espertech.esper.regressionlib.support.util.IndexBackingTableInfo;
 import com.espertech.esper.regressionlib.support.util.SupportQueryPlanIndexHook;
 import com.espertech.esper.runtime.client.EPStatement;
@@ -103,9 +106,85 @@ public class InfraNWTableFAF implements IndexBackingTableInfo {
         execs.add(new InfraSelectDistinct(true));
         execs.add(new InfraSelectDistinct(false));
 
+        execs.add(new InfraSelectStreaming(true));
+        execs.add(new InfraSelectStreaming(false));
+
         return execs;
     }
 
+    private static class InfraSelectStreaming implements RegressionExecution {
+        private final boolean namedWindow;
+
+        private InfraSelectStreaming(boolean namedWindow) {
+            this.namedWindow = namedWindow;
+        }
+
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context MyCtx partition by theString from SupportBean", path);
+            String eplCreate = namedWindow ?
+                "context MyCtx create window CtxInfra#keepall as SupportBean" :
+                "context MyCtx create table CtxInfra (theString string primary key, intPrimitive int primary key)";
+            env.compileDeploy(eplCreate, path);
+            String eplPopulate = namedWindow ?
+                "context MyCtx insert into CtxInfra select * from SupportBean" :
+                "context MyCtx on SupportBean sb merge CtxInfra ci where sb.theString = ci.theString and sb.intPrimitive = ci.intPrimitive when not matched then insert select theString, intPrimitive";
+            env.compileDeploy(eplPopulate, path);
+
+            for (int i = 0; i < 30; i++) {
+                env.sendEventBean(new SupportBean("E" + (i % 7), i));
+            }
+
+            // unaggregated: rows arrive per context partition
+            String query = "select theString, intPrimitive from CtxInfra where intPrimitive >= 10";
+            EventBean[] expected = env.compileExecuteFAF(query, path).getArray();
+            assertEquals(20, expected.length);
+            RowCollector collector = new RowCollector();
+            env.runtime().getFireAndForgetService().executeQuery(env.compileFAF(query, path), collector);
+            assertTrue(collector.invocations > 1);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(collector.rows.toArray(new EventBean[0]), "theString,intPrimitive".split(","), toRows(expected));
+
+            // context partition selector
+            collector = new RowCollector();
+            env.runtime().getFireAndForgetService().executeQuery(env.compileFAF(query, path), new ContextPartitionSelector[]{new SupportSelectorPartitioned("E1")}, collector);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(collector.rows.toArray(new EventBean[0]), "theString,intPrimitive".split(","), new Object[][]{{"E1", 15}, {"E1", 22}, {"E1", 29}});
+
+            // aggregated and ordered: rows arrive at once
+            collector = new RowCollector();
+            env.runtime().getFireAndForgetService().executeQuery(env.compileFAF("select theString, count(*) as cnt from CtxInfra group by theString order by theString", path), collector);
+            assertEquals(1, collector.invocations);
+            assertEquals(7, collector.rows.size());
+            assertEquals("E0", collector.rows.get(0).get("theString"));
+            assertEquals(5L, collector.rows.get(0).get("cnt"));
+
+            // empty result does not invoke
+            collector = new RowCollector();
+            env.runtime().getFireAndForgetService().executeQuery(env.compileFAF("select * from CtxInfra where intPrimitive < 0", path), collector);
+            assertEquals(0, collector.invocations);
+
+            env.undeployAll();
+        }
+
+        private static Object[][] toRows(EventBean[] events) {
+            Object[][] rows = new Object[events.length][];
+            for (int i = 0; i < events.length; i++) {
+                rows[i] = new Object[]{events[i].get("theString"), events[i].get("intPrimitive")};
+            }
+            return rows;
+        }
+    }
+
+    private static class RowCollector implements EPFireAndForgetQueryRowCallback {
+        private final List<EventBean> rows = new ArrayList<>();
+        private int invocations;
+
+        public void rows(EventType eventType, EventBean[] rows) {
+            assertTrue(rows.length > 0);
+            invocations++;
+            this.rows.addAll(Arrays.asList(rows));
+        }
+    }
+
     private static class InfraSelectDistinct implements RegressionExecution {
         private final boolean namedWindow;
 
@@ -0,0 +1,124 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.tbl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class InfraTableQuantileSketch {
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraQuantileAndCdf());
+        execs.add(new InfraCompressionAndFilter());
+        execs.add(new InfraInvalid());
+        return execs;
+    }
+
+    private static class InfraQuantileAndCdf implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl =
+                "create table MyQuantiles(latency quantileSketch());\n" +
+                    "into table MyQuantiles select quantileSketchAdd(intPrimitive) as latency from SupportBean;\n" +
+                    "@name('s0') select MyQuantiles.latency.quantile(0) as p0, MyQuantiles.latency.quantile(0.5) as p50, " +
+                    "MyQuantiles.latency.quantile(1) as p100, MyQuantiles.latency.cdf(id) as cdf from SupportBean_S0;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            env.sendEventBean(new SupportBean_S0(1));
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertNull(event.get("p50"));
+            assertNull(event.get("cdf"));
+
+            for (int i = 1; i <= 5; i++) {
+                env.sendEventBean(new SupportBean("E" + i, i));
+            }
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S0(3));
+            event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(1d, event.get("p0"));
+            assertEquals(3d, event.get("p50"));
+            assertEquals(5d, event.get("p100"));
+            assertEquals(0.5d, (Double) event.get("cdf"), 1e-9);
+
+            env.sendEventBean(new SupportBean_S0(10));
+            assertEquals(1d, env.listener("s0").assertOneGetNewAndReset().get("cdf"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraCompressionAndFilter implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl =
+                "create table MyQuantilesC(latency quantileSketch({compression: 200}));\n" +
+                    "into table MyQuantilesC select quantileSketchAdd(doublePrimitive, filter: theString = 'A') as latency from SupportBean;\n" +
+                    "@name('s0') select MyQuantilesC.latency.quantile(0.99) as p99 from SupportBean_S0;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            for (int i = 0; i < 10000; i++) {
+                sendSupportBean(env, "A", i);
+                sendSupportBean(env, "B", 100000);
+            }
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S0(0));
+            double p99 = (Double) env.listener("s0").assertOneGetNewAndReset().get("p99");
+            assertEquals(9900d, p99, 20d);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create table MyQS(sketch quantileSketch())", path);
+
+            tryInvalidCompile(env, path, "select quantileSketch() from SupportBean",
+                "Failed to validate select-clause expression 'quantileSketch()': Quantile-sketch aggregation function 'quantileSketch' can only be used in create-table statements [");
+            tryInvalidCompile(env, path, "create table MyTable(sketch quantileSketch(5))",
+                "Failed to validate table-column expression 'quantileSketch(5)': Quantile-sketch aggregation function 'quantileSketch' expects either no parameter or a single json parameter object [");
+            tryInvalidCompile(env, path, "create table MyTable(sketch quantileSketch({xxx:3}))",
+                "Failed to validate table-column expression 'quantileSketch({xxx=3})': Unrecognized parameter 'xxx' [");
+            tryInvalidCompile(env, path, "select quantileSketchAdd(intPrimitive) from SupportBean",
+                "Failed to validate select-clause expression 'quantileSketchAdd(intPrimitive)': Quantile-sketch aggregation function 'quantileSketchAdd' can only be used with into-table [");
+            tryInvalidCompile(env, path, "into table MyQS select quantileSketchAdd(theString) as sketch from SupportBean",
+                "Failed to validate select-clause expression 'quantileSketchAdd(theString)': Quantile-sketch aggregation function 'quantileSketchAdd' requires a numeric parameter expression but received java.lang.String [");
+            tryInvalidCompile(env, path, "select MyQS.sketch.quantile(2) from SupportBean",
+                "Failed to validate select-clause expression 'MyQS.sketch.quantile(2)': Quantile-sketch aggregation method 'quantile' requires a quantile between zero and one but received 2 [");
+            tryInvalidCompile(env, path, "select MyQS.sketch.cdf() from SupportBean",
+                "Failed to validate select-clause expression 'MyQS.sketch.cdf()': Quantile-sketch aggregation method 'cdf' requires a single parameter expression [");
+
+            env.undeployAll();
+        }
+    }
+
+    private static void sendSupportBean(RegressionEnvironment env, String theString, double doublePrimitive) {
+        SupportBean bean = new SupportBean(theString, 0);
+        bean.setDoublePrimitive(doublePrimitive);
+        env.sendEventBean(bean);
+    }
+}
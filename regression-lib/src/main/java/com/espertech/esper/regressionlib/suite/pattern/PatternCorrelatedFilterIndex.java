@@ -0,0 +1,114 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.pattern;
+
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.support.filter.SupportFilterHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Patterns with the runtime configured for one shared filter per followed-by filter that correlates on equality.
+ */
+public class PatternCorrelatedFilterIndex {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new PatternCorrelatedFilterIndexFollowedBy());
+        execs.add(new PatternCorrelatedFilterIndexWithConstant());
+        execs.add(new PatternCorrelatedFilterIndexSameType());
+        return execs;
+    }
+
+    private static class PatternCorrelatedFilterIndexFollowedBy implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select a.intPrimitive as c0, b.id as c1 from pattern [every a=SupportBean -> b=SupportBean_S0(p00=a.theString)]";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "c0,c1".split(",");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean("E2", 2));
+            env.sendEventBean(new SupportBean("E1", 3));
+            assertEquals(1, SupportFilterHelper.getFilterCount(env.statement("s0"), "SupportBean_S0"));
+
+            env.sendEventBean(new SupportBean_S0(10, "E3"));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean_S0(11, "E1"));
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), fields, new Object[][]{{1, 11}, {3, 11}});
+            env.listener("s0").reset();
+            assertEquals(1, SupportFilterHelper.getFilterCount(env.statement("s0"), "SupportBean_S0"));
+
+            env.sendEventBean(new SupportBean_S0(12, "E1"));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean_S0(13, "E2"));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{2, 13});
+            assertEquals(0, SupportFilterHelper.getFilterCount(env.statement("s0"), "SupportBean_S0"));
+
+            // null never matches
+            env.sendEventBean(new SupportBean(null, 4));
+            env.sendEventBean(new SupportBean_S0(14, null));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class PatternCorrelatedFilterIndexWithConstant implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select a.intPrimitive as c0, b.id as c1 from pattern [every a=SupportBean -> b=SupportBean_S0(p00=a.theString, id > 10)]";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "c0,c1".split(",");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean_S0(5, "E1"));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean_S0(20, "E1"));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1, 20});
+            assertEquals(0, SupportFilterHelper.getFilterCount(env.statement("s0"), "SupportBean_S0"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class PatternCorrelatedFilterIndexSameType implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select a.intPrimitive as c0, b.intPrimitive as c1 from pattern [every a=SupportBean -> b=SupportBean(theString=a.theString)]";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "c0,c1".split(",");
+
+            // the event that starts waiting for a key does not itself match
+            env.sendEventBean(new SupportBean("E1", 1));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean("E1", 2));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1, 2});
+
+            env.sendEventBean(new SupportBean("E2", 3));
+            assertFalse(env.listener("s0").isInvoked());
+
+            env.sendEventBean(new SupportBean("E1", 4));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{2, 4});
+
+            env.undeployAll();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.resultset.aggregate;
+
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+
+public class ResultSetAggregateCountDistinctApprox {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ResultSetAggregateCountDistinctApproxWindow());
+        execs.add(new ResultSetAggregateCountDistinctApproxRollup());
+        execs.add(new ResultSetAggregateCountDistinctApproxIntoTable());
+        execs.add(new ResultSetAggregateCountDistinctApproxLargeCardinality());
+        execs.add(new ResultSetAggregateCountDistinctApproxInvalid());
+        return execs;
+    }
+
+    private static class ResultSetAggregateCountDistinctApproxWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select " +
+                "countDistinctApprox(theString) as cs, " +
+                "countDistinctApprox(intPrimitive, 10) as ci, " +
+                "countDistinctApprox(theString, filter:intPrimitive > 0) as cf " +
+                "from SupportBean#length(3)";
+            AtomicInteger milestone = new AtomicInteger();
+            env.compileDeploy(epl).addListener("s0");
+            runAssertion(env, milestone);
+            env.undeployAll();
+
+            env.eplToModelCompileDeploy(epl).addListener("s0");
+            runAssertion(env, milestone);
+            env.undeployAll();
+        }
+
+        private static void runAssertion(RegressionEnvironment env, AtomicInteger milestone) {
+            String[] fields = "cs,ci,cf".split(",");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1L, 1L, 1L});
+
+            env.sendEventBean(new SupportBean("E1", 0));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1L, 2L, 1L});
+
+            env.milestoneInc(milestone);
+
+            env.sendEventBean(new SupportBean("E2", 1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{2L, 2L, 2L});
+
+            // values leaving remain counted as long as any value remains
+            env.sendEventBean(new SupportBean("E3", 3));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{3L, 3L, 3L});
+        }
+    }
+
+    private static class ResultSetAggregateCountDistinctApproxRollup implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select theString, countDistinctApprox(intPrimitive) as c " +
+                "from SupportBean#keepall group by rollup(theString) output snapshot every 3 events order by theString";
+            env.compileDeploy(epl).addListener("s0");
+
+            env.sendEventBean(new SupportBean("A", 1));
+            env.sendEventBean(new SupportBean("A", 2));
+            env.sendEventBean(new SupportBean("B", 1));
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getAndResetLastNewData(), "theString,c".split(","),
+                new Object[][]{{null, 2L}, {"A", 2L}, {"B", 1L}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateCountDistinctApproxIntoTable implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "create table MyTable(k int primary key, c countDistinctApprox(string));\n" +
+                "into table MyTable select countDistinctApprox(theString) as c from SupportBean group by intPrimitive;\n" +
+                "@name('s0') select MyTable[id].c as c from SupportBean_S0;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean("E2", 1));
+            env.sendEventBean(new SupportBean("E1", 1));
+            env.sendEventBean(new SupportBean("E1", 2));
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S0(1));
+            assertEquals(2L, env.listener("s0").assertOneGetNewAndReset().get("c"));
+            env.sendEventBean(new SupportBean("E3", 1));
+            env.sendEventBean(new SupportBean_S0(1));
+            assertEquals(3L, env.listener("s0").assertOneGetNewAndReset().get("c"));
+            env.sendEventBean(new SupportBean_S0(2));
+            assertEquals(1L, env.listener("s0").assertOneGetNewAndReset().get("c"));
+
+            tryInvalidCompile(env, path, "into table MyTable select countDistinctApprox(theString, 10) as c from SupportBean group by intPrimitive",
+                "Incompatible aggregation function for table 'MyTable' column 'c', expecting 'countDistinctApprox(string)' and received 'countDistinctApprox(theString,10)': The precision is 14 and provided is 10");
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateCountDistinctApproxLargeCardinality implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select countDistinctApprox(longPrimitive) as c from SupportBean").addListener("s0");
+
+            int count = 50000;
+            for (int i = 0; i < count; i++) {
+                SupportBean bean = new SupportBean("E", 0);
+                bean.setLongPrimitive(i % (count / 2));
+                env.sendEventBean(bean);
+            }
+            long estimate = (Long) env.listener("s0").getLastNewData()[0].get("c");
+            assertEquals(count / 2, estimate, count / 2 * 0.03);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateCountDistinctApproxInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "select countDistinctApprox() from SupportBean",
+                "Failed to validate select-clause expression 'countDistinctApprox()': The countDistinctApprox aggregation function requires an expression returning the values to count and an optional precision constant between 4 and 18");
+            tryInvalidCompile(env, "select countDistinctApprox(theString, 20) from SupportBean",
+                "Failed to validate select-clause expression 'countDistinctApprox(theString,20)': The countDistinctApprox aggregation function requires an expression returning the values to count");
+            tryInvalidCompile(env, "select countDistinctApprox(theString, intPrimitive) from SupportBean",
+                "Failed to validate select-clause expression 'countDistinctApprox(theString,intPrimitive)': The countDistinctApprox aggregation function requires an expression returning the values to count");
+            tryInvalidCompile(env, "select countDistinctApprox(distinct theString) from SupportBean",
+                "Failed to validate select-clause expression 'countDistinctApprox(distinct theString)': The countDistinctApprox aggregation function counts distinct values and does not allow distinct");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.resultset.aggregate;
+
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultSetAggregateGroupByOpenAddressing {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ResultSetAggregateGroupByOpenAddressingIntegralKey());
+        execs.add(new ResultSetAggregateGroupByOpenAddressingCompositeKey());
+        return execs;
+    }
+
+    private static class ResultSetAggregateGroupByOpenAddressingIntegralKey implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "c0,c1".split(",");
+            String epl = "@name('s0') select intBoxed as c0, sum(longPrimitive) as c1 from SupportBean#length(1) group by intBoxed";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendEvent(env, 1, 10);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields, new Object[][]{{1, 10L}});
+
+            sendEvent(env, null, 20);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields, new Object[][]{{null, 20L}, {1, null}});
+
+            // the row of a group that left is removed, a group that enters again starts over
+            sendEvent(env, 1, 30);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields, new Object[][]{{1, 30L}, {null, null}});
+
+            sendEvent(env, 1, 40);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.listener("s0").getAndResetLastNewData(), fields, new Object[][]{{1, 40L}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateGroupByOpenAddressingCompositeKey implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String[] fields = "c0,c1,c2".split(",");
+            String epl = "@name('s0') select theString as c0, intPrimitive as c1, count(*) as c2 from SupportBean#keepall group by theString, intPrimitive";
+            env.compileDeploy(epl).addListener("s0");
+
+            for (int i = 0; i < 100; i++) {
+                env.sendEventBean(new SupportBean("E" + (i % 10), i % 3));
+            }
+            env.listener("s0").reset();
+
+            env.sendEventBean(new SupportBean("E0", 0));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E0", 0, 5L});
+
+            env.sendEventBean(new SupportBean("E1", 0));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"E1", 0, 4L});
+
+            env.sendEventBean(new SupportBean("X", 0));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"X", 0, 1L});
+
+            env.undeployAll();
+        }
+    }
+
+    private static void sendEvent(RegressionEnvironment env, Integer intBoxed, long longPrimitive) {
+        SupportBean bean = new SupportBean();
+        bean.setIntBoxed(intBoxed);
+        bean.setLongPrimitive(longPrimitive);
+        env.sendEventBean(bean);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.resultset.aggregate;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+
+public class ResultSetAggregatePercentile {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ResultSetAggregatePercentileWindow());
+        execs.add(new ResultSetAggregatePercentileFilterDistinct());
+        execs.add(new ResultSetAggregatePercentileIntoTable());
+        execs.add(new ResultSetAggregatePercentileNaN());
+        execs.add(new ResultSetAggregatePercentileInvalid());
+        return execs;
+    }
+
+    private static class ResultSetAggregatePercentileWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select " +
+                "median(intPrimitive) as med, " +
+                "percentile(intPrimitive, 50) as p50, " +
+                "percentile(intPrimitive, 90) as p90, " +
+                "percentiles(intPrimitive, 0, 25, 100) as ps " +
+                "from SupportBean#length(4)";
+            AtomicInteger milestone = new AtomicInteger();
+            env.compileDeploy(epl).addListener("s0");
+            runAssertion(env, milestone);
+            env.undeployAll();
+
+            env.eplToModelCompileDeploy(epl).addListener("s0");
+            runAssertion(env, milestone);
+            env.undeployAll();
+        }
+
+        private static void runAssertion(RegressionEnvironment env, AtomicInteger milestone) {
+            String[] fields = "med,p50,p90".split(",");
+
+            env.sendEventBean(new SupportBean("E1", 10));
+            assertValues(env, fields, new Object[]{10d, 10d, 10d}, new Double[]{10d, 10d, 10d});
+
+            env.sendEventBean(new SupportBean("E2", 20));
+            assertValues(env, fields, new Object[]{15d, 15d, 19d}, new Double[]{10d, 12.5d, 20d});
+
+            env.milestoneInc(milestone);
+
+            env.sendEventBean(new SupportBean("E3", 40));
+            env.sendEventBean(new SupportBean("E4", 30));
+            assertValues(env, fields, new Object[]{25d, 25d, 37d}, new Double[]{10d, 17.5d, 40d});
+
+            env.sendEventBean(new SupportBean("E5", 0));
+            assertValues(env, fields, new Object[]{25d, 25d, 37d}, new Double[]{0d, 15d, 40d});
+        }
+
+        private static void assertValues(RegressionEnvironment env, String[] fields, Object[] expected, Double[] expectedPercentiles) {
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            EPAssertionUtil.assertProps(event, fields, expected);
+            EPAssertionUtil.assertEqualsExactOrder(expectedPercentiles, (Double[]) event.get("ps"));
+        }
+    }
+
+    private static class ResultSetAggregatePercentileFilterDistinct implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select " +
+                "percentile(intPrimitive, 100, filter:theString like 'A%') as pmax, " +
+                "percentile(distinct intPrimitive, 50) as pdist " +
+                "from SupportBean#keepall";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "pmax,pdist".split(",");
+
+            env.sendEventBean(new SupportBean("B1", 50));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{null, 50d});
+
+            env.sendEventBean(new SupportBean("A1", 10));
+            env.sendEventBean(new SupportBean("A2", 10));
+            env.sendEventBean(new SupportBean("A3", 10));
+            EPAssertionUtil.assertProps(env.listener("s0").getLastNewData()[0], fields, new Object[]{10d, 30d});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregatePercentileIntoTable implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "create table MyTable(p90 percentile(int, 90), ps percentiles(int, 0, 100));\n" +
+                "into table MyTable select percentile(intPrimitive, 90) as p90, percentiles(intPrimitive, 0, 100) as ps from SupportBean;\n" +
+                "@name('s0') select MyTable.p90 as p90, MyTable.ps as ps from SupportBean_S0;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+            String[] fields = "p90,ps".split(",");
+
+            for (int i = 1; i <= 11; i++) {
+                env.sendEventBean(new SupportBean("E" + i, i * 10));
+            }
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean_S0(0));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{100d, new Double[]{10d, 110d}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregatePercentileNaN implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select median(doublePrimitive) as med, percentile(doublePrimitive, 100) as pmax from SupportBean#length(3)";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "med,pmax".split(",");
+
+            // NaN values are ignored, same as median has always done
+            sendDouble(env, 1);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1d, 1d});
+
+            sendDouble(env, Double.NaN);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{1d, 1d});
+
+            sendDouble(env, 3);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{2d, 3d});
+
+            env.milestone(0);
+
+            sendDouble(env, 5);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{4d, 5d});
+
+            sendDouble(env, 7);
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{5d, 7d});
+
+            env.undeployAll();
+        }
+
+        private static void sendDouble(RegressionEnvironment env, double value) {
+            SupportBean bean = new SupportBean("E", 0);
+            bean.setDoublePrimitive(value);
+            env.sendEventBean(bean);
+        }
+    }
+
+    private static class ResultSetAggregatePercentileInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "select percentile(intPrimitive) from SupportBean",
+                "Failed to validate select-clause expression 'percentile(intPrimitive)': The percentile aggregation function requires two parameters, an expression returning numeric values and a numeric percentile constant between zero and 100");
+            tryInvalidCompile(env, "select percentile(intPrimitive, 101) from SupportBean",
+                "Failed to validate select-clause expression 'percentile(intPrimitive,101)': The percentile aggregation function requires two parameters");
+            tryInvalidCompile(env, "select percentiles(intPrimitive, 10, intBoxed) from SupportBean",
+                "Failed to validate select-clause expression 'percentiles(intPrimitive,10,intBoxed)': The percentiles aggregation function requires an expression returning numeric values and one or more numeric percentile constants between zero and 100");
+            tryInvalidCompile(env, "select percentile(theString, 50) from SupportBean",
+                "Failed to validate select-clause expression 'percentile(theString,50)': Implicit conversion from datatype 'String' to numeric is not allowed for aggregation function 'percentile'");
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class ViewGroup {
         execs.add(new ViewGroupLengthWin());
         execs.add(new ViewGroupLengthBatch());
         execs.add(new ViewGroupTimeWin());
+        execs.add(new ViewGroupTimeWinSharedExpiry());
         execs.add(new ViewGroupExpressionGrouped());
         execs.add(new ViewGroupExpressionBatch());
         execs.add(new ViewGroupEscapedPropertyText());
@@ -211,7 +212,8 @@ public class ViewGroup {
                 env.sendEventBean(theEvent);
             }
 
-            assertEquals(10, SupportScheduleHelper.scheduleCount(env.statement("s0")));
+            // the time windows of all groups share one schedule
+            assertEquals(1, SupportScheduleHelper.scheduleCount(env.statement("s0")));
 
             env.milestone(0);
 
@@ -889,6 +891,44 @@ public class ViewGroup {
         }
     }
 
+    public static class ViewGroupTimeWinSharedExpiry implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.advanceTime(0);
+            String[] fields = "theString,intPrimitive".split(",");
+            env.compileDeploy("@name('s0') select irstream theString, intPrimitive from SupportBean#groupwin(theString)#time(10 sec)").addListener("s0");
+
+            env.sendEventBean(new SupportBean("G1", 1));
+            env.sendEventBean(new SupportBean("G2", 2));
+            env.advanceTime(1000);
+            env.sendEventBean(new SupportBean("G3", 3));
+            env.sendEventBean(new SupportBean("G1", 4));
+            env.listener("s0").reset();
+            assertEquals(1, SupportScheduleHelper.scheduleCount(env.statement("s0")));
+
+            env.advanceTime(9999);
+            assertFalse(env.listener("s0").isInvoked());
+
+            // groups expire in the order the groups were created
+            env.advanceTime(10000);
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getOldDataListFlattened(), fields, new Object[][]{{"G1", 1}, {"G2", 2}});
+            env.listener("s0").reset();
+            assertEquals(1, SupportScheduleHelper.scheduleCount(env.statement("s0")));
+
+            env.milestone(0);
+
+            env.advanceTime(11000);
+            EPAssertionUtil.assertPropsPerRow(env.listener("s0").getOldDataListFlattened(), fields, new Object[][]{{"G1", 4}, {"G3", 3}});
+            env.listener("s0").reset();
+            assertEquals(0, SupportScheduleHelper.scheduleCount(env.statement("s0")));
+
+            env.sendEventBean(new SupportBean("G2", 5));
+            assertEquals(1, SupportScheduleHelper.scheduleCount(env.statement("s0")));
+
+            env.undeployAll();
+            assertEquals(0, SupportScheduleHelper.scheduleCountOverall(env));
+        }
+    }
+
     public static class ViewGroupLengthWin implements RegressionExecution {
 
         public void run(RegressionEnvironment env) {
@@ -61,10 +61,18 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         session.destroy();
     }
 
+    public void testClientRuntimeSendEventBatchDispatchSize() {
+        RegressionRunner.runConfigurable(new ClientRuntimeSendEventBatchDispatchSize());
+    }
+
     public void testClientRuntimeThreadedConfigInbound() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInbound());
     }
 
+    public void testClientRuntimeThreadedConfigInboundAffinity() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundAffinity());
+    }
+
     public void testClientRuntimeThreadedConfigInboundFastShutdown() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundFastShutdown());
     }
@@ -93,6 +93,10 @@ public class TestSuiteContext extends TestCase {
         RegressionRunner.run(session, ContextKeySegmentedNamedWindow.executions());
     }
 
+    public void testContextKeySegmentedEvictIdle() {
+        RegressionRunner.run(session, ContextKeySegmentedEvictIdle.executions());
+    }
+
     public void testContextLifecycle() {
         RegressionRunner.run(session, ContextLifecycle.executions());
     }
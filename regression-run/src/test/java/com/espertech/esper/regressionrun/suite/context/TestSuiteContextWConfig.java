@@ -17,6 +17,7 @@ import com.espertech.esper.common.internal.support.SupportBean_S1;
 import com.espertech.esper.common.internal.support.SupportBean_S2;
 import com.espertech.esper.regressionlib.suite.context.ContextInitTermPrioritized;
 import com.espertech.esper.regressionlib.suite.context.ContextKeySegmentedPrioritized;
+import com.espertech.esper.regressionlib.suite.context.ContextKeySegmentedSharedFilter;
 import com.espertech.esper.regressionlib.suite.context.ContextKeySegmentedWInitTermPrioritized;
 import com.espertech.esper.regressionlib.support.bean.*;
 import com.espertech.esper.regressionrun.runner.RegressionRunner;
@@ -45,6 +46,15 @@ public class TestSuiteContextWConfig extends TestCase {
         session.destroy();
     }
 
+    public void testContextKeySegmentedSharedFilter() {
+        RegressionSession session = RegressionRunner.session();
+        session.getConfiguration().getCommon().addEventType(SupportBean.class);
+        session.getConfiguration().getCommon().addEventType(SupportBean_S0.class);
+        session.getConfiguration().getRuntime().getExecution().setKeyedContextSharedFilters(true);
+        RegressionRunner.run(session, ContextKeySegmentedSharedFilter.executions());
+        session.destroy();
+    }
+
     private static void configurePrioritized(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean.class, SupportBean_S0.class, SupportBean_S1.class, SupportBean_S2.class, ISupportA.class, ISupportB.class,
             ISupportABCImpl.class, ISupportAImpl.class, ISupportBImpl.class, SupportProductIdEvent.class}) {
@@ -112,6 +112,10 @@ public class TestSuiteInfraNamedWindow extends TestCase {
         RegressionRunner.run(session, new InfraNamedWindowLateStartIndex());
     }
 
+    public void testInfraNamedWindowColumnar() {
+        RegressionRunner.run(session, InfraNamedWindowColumnar.executions());
+    }
+
     private static void configure(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean.class, OrderBean.class, OrderWithItems.class,
             SupportBeanAtoFBase.class, SupportBean_A.class, SupportMarketDataBean.class,
@@ -11,6 +11,8 @@
 package com.espertech.esper.regressionrun.suite.infra;
 
 import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.regressionlib.suite.infra.namedwindow.InfraNamedWindowConsumerParallel;
+import com.espertech.esper.regressionlib.suite.infra.namedwindow.InfraNamedWindowFAFParallel;
 import com.espertech.esper.regressionlib.suite.infra.namedwindow.InfraNamedWindowOnUpdateWMultiDispatch;
 import com.espertech.esper.regressionrun.runner.RegressionRunner;
 import com.espertech.esper.regressionrun.runner.RegressionSession;
@@ -26,6 +28,14 @@ public class TestSuiteInfraNamedWindowWConfig extends TestCase {
         runAssertion(false, false, null);
     }
 
+    public void testInfraNamedWindowFAFParallel() {
+        RegressionRunner.runConfigurable(new InfraNamedWindowFAFParallel());
+    }
+
+    public void testInfraNamedWindowConsumerParallel() {
+        RegressionRunner.runConfigurable(new InfraNamedWindowConsumerParallel());
+    }
+
     private void runAssertion(boolean useDefault, Boolean preserve, Locking locking) {
         RegressionSession session = RegressionRunner.session();
         if (!useDefault) {
@@ -73,6 +73,10 @@ public class TestSuiteInfraTable extends TestCase {
         RegressionRunner.run(session, InfraTableCountMinSketch.executions());
     }
 
+    public void testInfraTableQuantileSketch() {
+        RegressionRunner.run(session, InfraTableQuantileSketch.executions());
+    }
+
     public void testInfraTableAccessDotMethod() {
         RegressionRunner.run(session, InfraTableAccessDotMethod.executions());
     }
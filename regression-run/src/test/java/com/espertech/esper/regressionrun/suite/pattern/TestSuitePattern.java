@@ -12,6 +12,7 @@ package com.espertech.esper.regressionrun.suite.pattern;
 
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommon;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.regressionlib.suite.pattern.*;
@@ -147,6 +148,14 @@ public class TestSuitePattern extends TestCase {
         RegressionRunner.run(session, new PatternExpressionText());
     }
 
+    public void testPatternTimerSchedulingTimingWheel() {
+        session.getConfiguration().getRuntime().getExecution().setSchedulingServiceProfile(SchedulingServiceProfile.TIMINGWHEEL);
+        RegressionRunner.run(session, PatternObserverTimerInterval.executions());
+        RegressionRunner.run(session, PatternGuardTimerWithin.executions());
+        RegressionRunner.run(session, PatternObserverTimerAt.executions());
+        RegressionRunner.run(session, PatternObserverTimerSchedule.executions());
+    }
+
     private static void configure(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean_A.class, SupportBean_B.class, SupportBean_C.class, SupportBean_D.class, SupportBean_E.class, SupportBean_F.class, SupportBean_G.class,
             SupportBean.class, SupportCallEvent.class, SupportRFIDEvent.class, SupportBean_N.class, SupportBean_S0.class,
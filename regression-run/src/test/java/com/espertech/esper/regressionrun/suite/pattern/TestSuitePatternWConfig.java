@@ -13,6 +13,7 @@ package com.espertech.esper.regressionrun.suite.pattern;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.regressionlib.suite.pattern.*;
 import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.regressionlib.support.bean.SupportBean_A;
 import com.espertech.esper.regressionlib.support.bean.SupportBean_B;
 import com.espertech.esper.regressionlib.support.client.SupportConditionHandlerFactory;
@@ -67,6 +68,16 @@ public class TestSuitePatternWConfig extends TestCase {
         session.destroy();
     }
 
+    public void testPatternCorrelatedFilterIndex() {
+        RegressionSession session = RegressionRunner.session();
+        session.getConfiguration().getRuntime().getPatterns().setCorrelatedFilterIndex(true);
+        for (Class clazz : new Class[]{SupportBean.class, SupportBean_S0.class}) {
+            session.getConfiguration().getCommon().addEventType(clazz.getSimpleName(), clazz);
+        }
+        RegressionRunner.run(session, PatternCorrelatedFilterIndex.executions());
+        session.destroy();
+    }
+
     private void configure(long max, boolean preventStart, Configuration configuration) {
         configuration.getRuntime().getConditionHandling().addClass(SupportConditionHandlerFactory.class);
         configuration.getRuntime().getPatterns().setMaxSubexpressions(max);
@@ -58,6 +58,14 @@ public class TestSuiteResultSetAggregate extends TestCase {
         RegressionRunner.run(session, ResultSetAggregateMedianAndDeviation.executions());
     }
 
+    public void testResultSetAggregatePercentile() {
+        RegressionRunner.run(session, ResultSetAggregatePercentile.executions());
+    }
+
+    public void testResultSetAggregateCountDistinctApprox() {
+        RegressionRunner.run(session, ResultSetAggregateCountDistinctApprox.executions());
+    }
+
     public void testResultSetAggregateMinMax() {
         RegressionRunner.run(session, ResultSetAggregateMinMax.executions());
     }
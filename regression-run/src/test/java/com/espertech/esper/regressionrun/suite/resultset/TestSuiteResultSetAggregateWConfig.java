@@ -12,6 +12,7 @@ package com.espertech.esper.regressionrun.suite.resultset;
 
 import com.espertech.esper.regressionlib.suite.resultset.aggregate.ResultSetAggregateExtInvalid;
 import com.espertech.esper.regressionlib.suite.resultset.aggregate.ResultSetAggregateFilteredWMathContext;
+import com.espertech.esper.regressionlib.suite.resultset.aggregate.ResultSetAggregateGroupByOpenAddressing;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.regressionlib.support.bean.SupportBeanNumeric;
 import com.espertech.esper.regressionrun.runner.RegressionRunner;
@@ -37,4 +38,12 @@ public class TestSuiteResultSetAggregateWConfig extends TestCase {
         RegressionRunner.run(session, new ResultSetAggregateExtInvalid());
         session.destroy();
     }
-}
\ No newline at end of file
+
+    public void testResultSetAggregateGroupByOpenAddressing() {
+        RegressionSession session = RegressionRunner.session();
+        session.getConfiguration().getCompiler().getExecution().setEnabledGroupByOpenAddressing(true);
+        session.getConfiguration().getCommon().addEventType(SupportBean.class);
+        RegressionRunner.run(session, ResultSetAggregateGroupByOpenAddressing.executions());
+        session.destroy();
+    }
+}
@@ -13,6 +13,8 @@ package com.espertech.esper.runtime.client;
 import com.espertech.esper.common.client.EPException;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -102,4 +104,89 @@ public interface EPEventServiceSendEvent {
      * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
      */
     void sendEventJson(String json, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by UTF-8 encoded JSON held by a slice of a byte array to the runtime.
+     * <p>
+     * The document is parsed from the bytes without first converting it to a string and
+     * with a parser that is reused by the calling thread. The document is parsed before this method returns,
+     * also when using inbound threading, so that the array may be reused by the caller after this method returns.
+     *
+     * @param json              array holding the event
+     * @param offset            offset of the event in the array
+     * @param length            length of the event in bytes
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by UTF-8 encoded JSON held by the remaining bytes of a byte buffer to the runtime.
+     * <p>
+     * The document is parsed from the bytes between the buffer position and limit without first converting it to a string and
+     * with a parser that is reused by the calling thread. The position of the buffer does not change.
+     * The document is parsed before this method returns, also when using inbound threading, so that the buffer may be reused
+     * by the caller after this method returns.
+     *
+     * @param json              buffer holding the event
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    void sendEventJson(ByteBuffer json, String jsonEventTypeName);
+
+    /**
+     * Send a batch of object arrays containing event property values to the runtime.
+     * <p>
+     * Events are processed in iteration order and with the same semantics as sending each event using {@link #sendEventObjectArray(Object[], String)},
+     * however the runtime amortizes locking across events and dispatches results to listeners and subscribers as controlled by
+     * the batch dispatch size setting of the runtime execution configuration.
+     * </p>
+     *
+     * @param events        - collection of arrays that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    void sendEventObjectArrayBatch(Collection<Object[]> events, String eventTypeName);
+
+    /**
+     * Send a batch of events represented by objects to the runtime.
+     * <p>
+     * Events are processed in iteration order and with the same semantics as sending each event using {@link #sendEventBean(Object, String)},
+     * however the runtime amortizes locking across events and dispatches results to listeners and subscribers as controlled by
+     * the batch dispatch size setting of the runtime execution configuration.
+     * </p>
+     *
+     * @param events        is the collection of events to send to the runtime
+     * @param eventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    void sendEventBeanBatch(Collection<?> events, String eventTypeName);
+
+    /**
+     * Send a batch of maps containing event property values to the runtime.
+     * <p>
+     * Events are processed in iteration order and with the same semantics as sending each event using {@link #sendEventMap(Map, String)},
+     * however the runtime amortizes locking across events and dispatches results to listeners and subscribers as controlled by
+     * the batch dispatch size setting of the runtime execution configuration.
+     * </p>
+     *
+     * @param events        - collection of maps that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    void sendEventMapBatch(Collection<Map<String, Object>> events, String eventTypeName);
+
+    /**
+     * Send a batch of events represented by String JSON to the runtime.
+     * <p>
+     * Events are processed in iteration order and with the same semantics as sending each event using {@link #sendEventJson(String, String)},
+     * however the runtime amortizes locking across events and dispatches results to listeners and subscribers as controlled by
+     * the batch dispatch size setting of the runtime execution configuration.
+     * </p>
+     *
+     * @param events            is the collection of JSON-formatted events to send to the runtime
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error, including for Json parsing problems
+     */
+    void sendEventJsonBatch(Collection<String> events, String jsonEventTypeName);
 }
@@ -15,6 +15,7 @@ import com.espertech.esper.common.client.context.ContextPartitionSelector;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQuery;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQueryParameterized;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 
 /**
  * Executes fire-and-forget non-continuous on-demand queries against named windows or tables.
@@ -41,6 +42,30 @@ public interface EPFireAndForgetService {
      */
     EPFireAndForgetQueryResult executeQuery(EPCompiled compiled, ContextPartitionSelector[] selectors);
 
+    /**
+     * Execute a fire-and-forget query, providing the result rows to the callback incrementally.
+     * <p>
+     * For select queries from a single named window or table without aggregation, order-by, row limit or distinct,
+     * the runtime provides rows as it processes context partitions without materializing the complete result.
+     * For other queries the runtime provides all rows in a single invocation.
+     * </p>
+     *
+     * @param compiled is the compiled EPL query to execute
+     * @param callback receives result rows
+     */
+    void executeQuery(EPCompiled compiled, EPFireAndForgetQueryRowCallback callback);
+
+    /**
+     * Execute a fire-and-forget query, providing the result rows to the callback incrementally,
+     * for use with named windows and tables that have a context declared and that may therefore have multiple context partitions.
+     *
+     * @param compiled  is the compiled EPL query to execute
+     * @param selectors selects context partitions to consider
+     * @param callback  receives result rows
+     * @see #executeQuery(EPCompiled, EPFireAndForgetQueryRowCallback)
+     */
+    void executeQuery(EPCompiled compiled, ContextPartitionSelector[] selectors, EPFireAndForgetQueryRowCallback callback);
+
     /**
      * Prepare an unparameterized fire-and-forget query before execution and for repeated execution.
      *
@@ -18,6 +18,7 @@ import com.espertech.esper.runtime.client.util.LockStrategyDefault;
  */
 public class RolloutOptions {
     private LockStrategy rolloutLockStrategy = LockStrategyDefault.INSTANCE;
+    private int classLoadingThreads = 1;
 
     /**
      * Return the rollout lock strategy, the default is {@link LockStrategyDefault}
@@ -36,4 +37,33 @@ public class RolloutOptions {
     public void setRolloutLockStrategy(LockStrategy rolloutLockStrategy) {
         this.rolloutLockStrategy = rolloutLockStrategy;
     }
+
+    /**
+     * Returns the number of threads that load the classes of rollout items, the default is 1 which loads classes by the calling thread.
+     *
+     * @return number of threads
+     */
+    public int getClassLoadingThreads() {
+        return classLoadingThreads;
+    }
+
+    /**
+     * Sets the number of threads that load the classes of rollout items, the default is 1 which loads classes by the calling thread.
+     * <p>
+     * When set to more than 1, the rollout loads and defines the classes of rollout items in parallel before resolving dependencies.
+     * Resolving dependencies, initializing and starting statements, including the activation of filters and contexts,
+     * and publishing deployments remain sequential and in rollout order, since they change the path, filter, schedule and
+     * context services that all deployments share.
+     * </p>
+     *
+     * @param classLoadingThreads number of threads, at least 1
+     * @return itself
+     */
+    public RolloutOptions setClassLoadingThreads(int classLoadingThreads) {
+        if (classLoadingThreads < 1) {
+            throw new IllegalArgumentException("Invalid number of class loading threads " + classLoadingThreads + ", the number of threads must be at least 1");
+        }
+        this.classLoadingThreads = classLoadingThreads;
+        return this;
+    }
 }
@@ -12,6 +12,7 @@ package com.espertech.esper.runtime.internal.filtersvcimpl;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterHandleDispatch;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleSize;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
@@ -108,7 +109,11 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
 
             // Add each filter callback stored in this node to the matching list
             for (FilterHandle filterCallback : callbackSet) {
-                matches.add(filterCallback);
+                if (filterCallback instanceof FilterHandleDispatch) {
+                    ((FilterHandleDispatch) filterCallback).matchFound(theEvent, matches);
+                } else {
+                    matches.add(filterCallback);
+                }
             }
         } finally {
             nodeRWLock.readLock().unlock();
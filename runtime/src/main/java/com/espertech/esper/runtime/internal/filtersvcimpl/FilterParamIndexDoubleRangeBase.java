@@ -15,27 +15,23 @@ import com.espertech.esper.common.internal.filterspec.DoubleRange;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 
 import java.util.ArrayDeque;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
+ * The implementation is based on an interval tree, see {@link DoubleRangeIntervalTree}, and stores only expression
  * parameter values of type DoubleRange.
  */
 public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLookupableBase {
-    protected final TreeMap<DoubleRange, EventEvaluator> ranges;
+    protected final DoubleRangeIntervalTree ranges;
     private EventEvaluator rangesNullEndpoints;
     private final ReadWriteLock rangesRWLock;
 
-    protected double largestRangeValueDouble = Double.MIN_VALUE;
-
     protected FilterParamIndexDoubleRangeBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
         super(filterOperator, lookupable);
 
-        ranges = new TreeMap<>(DoubleRangeComparator.INSTANCE);
+        ranges = new DoubleRangeIntervalTree();
         rangesRWLock = readWriteLock;
     }
 
@@ -63,10 +59,6 @@ public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLo
             return;
         }
 
-        if (Math.abs(range.getMax() - range.getMin()) > largestRangeValueDouble) {
-            largestRangeValueDouble = Math.abs(range.getMax() - range.getMin());
-        }
-
         ranges.put(range, matcher);
     }
 
@@ -93,10 +85,10 @@ public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLo
     }
 
     public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
-        for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
-            entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
+        ranges.forEach((range, evaluator) -> {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), range));
+            evaluator.getTraverseStatement(traverse, statementIds, evaluatorStack);
             evaluatorStack.removeLast();
-        }
+        });
     }
 }
@@ -12,26 +12,29 @@ package com.espertech.esper.runtime.internal.filtersvcimpl;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
-import com.espertech.esper.common.internal.filterspec.DoubleRange;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the not range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
+ * The implementation is based on an interval tree and stores only expression
  * parameter values of type DoubleRange.
  */
 public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexDoubleRangeBase {
+    private final boolean includeMin;
+    private final boolean includeMax;
+
     public FilterParamIndexDoubleRangeInverted(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
         super(lookupable, readWriteLock, filterOperator);
         if (!(filterOperator.isInvertedRangeOperator())) {
             throw new IllegalArgumentException("Invalid filter operator " + filterOperator);
         }
+        includeMin = filterOperator == FilterOperator.NOT_RANGE_CLOSED || filterOperator == FilterOperator.NOT_RANGE_HALF_OPEN;
+        includeMax = filterOperator == FilterOperator.NOT_RANGE_CLOSED || filterOperator == FilterOperator.NOT_RANGE_HALF_CLOSED;
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
@@ -48,38 +51,7 @@ public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexD
         }
 
         double attributeValue = ((Number) objAttributeValue).doubleValue();
-
-        if (this.getFilterOperator() == FilterOperator.NOT_RANGE_CLOSED) {   // include all endpoints
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue < entry.getKey().getMin()) ||
-                        (attributeValue > entry.getKey().getMax())) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        } else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_OPEN) { // include neither endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue <= entry.getKey().getMin()) ||
-                        (attributeValue >= entry.getKey().getMax())) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        } else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_HALF_CLOSED) { // include high endpoint not low endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue <= entry.getKey().getMin()) ||
-                        (attributeValue > entry.getKey().getMax())) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        } else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_HALF_OPEN) { // include low endpoint not high endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue < entry.getKey().getMin()) ||
-                        (attributeValue >= entry.getKey().getMax())) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        } else {
-            throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
-        }
+        ranges.matchNotContaining(attributeValue, includeMin, includeMax, theEvent, matches);
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aFilterReverseIndex(null);
@@ -0,0 +1,126 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.SingleWriterLongHashMap;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the equals (=) operator, for int- or long-typed lookupables.
+ * The implementation is based on an open-addressing table keyed by primitive long, that matches events without
+ * taking the read lock. Writers still serialize on the write lock.
+ * <p>
+ * Constants that are not of the lookupable type can never equal an event value and are kept apart.
+ */
+public final class FilterParamIndexEqualsLong extends FilterParamIndexLookupableBase {
+    private final boolean intKeyed;
+    private final SingleWriterLongHashMap<EventEvaluator> constantsTable;
+    private final Map<Object, EventEvaluator> constantsOther;
+    private final ReadWriteLock constantsMapRWLock;
+
+    public FilterParamIndexEqualsLong(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean intKeyed) {
+        super(FilterOperator.EQUAL, lookupable);
+        this.intKeyed = intKeyed;
+        this.constantsTable = new SingleWriterLongHashMap<EventEvaluator>();
+        this.constantsOther = new HashMap<Object, EventEvaluator>(4);
+        this.constantsMapRWLock = readWriteLock;
+    }
+
+    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        Object attributeValue = lookupable.getGetter().get(theEvent);
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);
+        }
+
+        if (!isKeyType(attributeValue)) {   //  null cannot match, not even null: requires use of "is", nor can other types
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        // Look up in table, no lock required
+        EventEvaluator evaluator = constantsTable.get(((Number) attributeValue).longValue());
+
+        // No listener found for the value, return
+        if (evaluator == null) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aFilterReverseIndex(true);
+        }
+        evaluator.matchEvent(theEvent, matches);
+    }
+
+    public final EventEvaluator get(Object filterConstant) {
+        if (isKeyType(filterConstant)) {
+            return constantsTable.get(((Number) filterConstant).longValue());
+        }
+        return constantsOther.get(filterConstant);
+    }
+
+    public final void put(Object filterConstant, EventEvaluator evaluator) {
+        if (isKeyType(filterConstant)) {
+            constantsTable.put(((Number) filterConstant).longValue(), evaluator);
+        } else {
+            constantsOther.put(filterConstant, evaluator);
+        }
+    }
+
+    public final void remove(Object filterConstant) {
+        if (isKeyType(filterConstant)) {
+            constantsTable.remove(((Number) filterConstant).longValue());
+        } else {
+            constantsOther.remove(filterConstant);
+        }
+    }
+
+    public final int sizeExpensive() {
+        return constantsTable.size() + constantsOther.size();
+    }
+
+    public boolean isEmpty() {
+        return constantsTable.isEmpty() && constantsOther.isEmpty();
+    }
+
+    public final ReadWriteLock getReadWriteLock() {
+        return constantsMapRWLock;
+    }
+
+    public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
+        constantsTable.forEach((evaluator, key) -> {
+            Object filterConstant = intKeyed ? (Object) (int) key : (Object) key;
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), filterConstant));
+            evaluator.getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        });
+        for (Map.Entry<Object, EventEvaluator> entry : constantsOther.entrySet()) {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
+            entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        }
+    }
+
+    private boolean isKeyType(Object filterConstant) {
+        return intKeyed ? filterConstant instanceof Integer : filterConstant instanceof Long;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the equals (=) operator, for string-typed lookupables.
+ * The implementation is based on a ConcurrentHashMap, that matches events without taking the read lock.
+ * Writers still serialize on the write lock.
+ * <p>
+ * Constants that are not strings, such as null, can never equal an event value and are kept apart.
+ */
+public final class FilterParamIndexEqualsString extends FilterParamIndexLookupableBase {
+    private final Map<String, EventEvaluator> constantsMap;
+    private final Map<Object, EventEvaluator> constantsOther;
+    private final ReadWriteLock constantsMapRWLock;
+
+    public FilterParamIndexEqualsString(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        super(FilterOperator.EQUAL, lookupable);
+        this.constantsMap = new ConcurrentHashMap<String, EventEvaluator>();
+        this.constantsOther = new HashMap<Object, EventEvaluator>(4);
+        this.constantsMapRWLock = readWriteLock;
+    }
+
+    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        Object attributeValue = lookupable.getGetter().get(theEvent);
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);
+        }
+
+        if (attributeValue == null) {   //  null cannot match, not even null: requires use of "is"
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        // Look up in hashtable, no lock required
+        EventEvaluator evaluator = constantsMap.get(attributeValue);
+
+        // No listener found for the value, return
+        if (evaluator == null) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(false);
+            }
+            return;
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aFilterReverseIndex(true);
+        }
+        evaluator.matchEvent(theEvent, matches);
+    }
+
+    public final EventEvaluator get(Object filterConstant) {
+        if (filterConstant instanceof String) {
+            return constantsMap.get(filterConstant);
+        }
+        return constantsOther.get(filterConstant);
+    }
+
+    public final void put(Object filterConstant, EventEvaluator evaluator) {
+        if (filterConstant instanceof String) {
+            constantsMap.put((String) filterConstant, evaluator);
+        } else {
+            constantsOther.put(filterConstant, evaluator);
+        }
+    }
+
+    public final void remove(Object filterConstant) {
+        if (filterConstant instanceof String) {
+            constantsMap.remove(filterConstant);
+        } else {
+            constantsOther.remove(filterConstant);
+        }
+    }
+
+    public final int sizeExpensive() {
+        return constantsMap.size() + constantsOther.size();
+    }
+
+    public boolean isEmpty() {
+        return constantsMap.isEmpty() && constantsOther.isEmpty();
+    }
+
+    public final ReadWriteLock getReadWriteLock() {
+        return constantsMapRWLock;
+    }
+
+    public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
+        for (Map.Entry<String, EventEvaluator> entry : constantsMap.entrySet()) {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
+            entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        }
+        for (Map.Entry<Object, EventEvaluator> entry : constantsOther.entrySet()) {
+            evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey()));
+            entry.getValue().getTraverseStatement(traverse, statementIds, evaluatorStack);
+            evaluatorStack.removeLast();
+        }
+    }
+}
@@ -54,6 +54,10 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
         return filtersVersion;
     }
 
+    public void incrementFiltersVersion() {
+        filtersVersion++;
+    }
+
     public void destroy() {
         log.debug("Destroying filter service");
         eventTypeIndex.destroy();
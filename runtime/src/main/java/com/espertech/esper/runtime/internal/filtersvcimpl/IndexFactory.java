@@ -15,6 +15,7 @@ import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.Set
 import com.espertech.esper.common.internal.epl.index.advanced.index.quadtree.SettingsApplicationDotMethodRectangeIntersectsRectangle;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filterspec.FilterSpecLookupableAdvancedIndex;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
 
 /**
  * Factory for {@link FilterParamIndexBase} instances based on event property name and filter operator type.
@@ -36,6 +37,13 @@ public class IndexFactory {
 
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL) {
+            Class boxedType = JavaClassHelper.getBoxedType(returnValueType);
+            if (boxedType == Integer.class || boxedType == Long.class) {
+                return new FilterParamIndexEqualsLong(lookupable, lockFactory.obtainNew(), boxedType == Integer.class);
+            }
+            if (returnValueType == String.class) {
+                return new FilterParamIndexEqualsString(lookupable, lockFactory.obtainNew());
+            }
             index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
             return index;
         }
@@ -0,0 +1,301 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.filterspec.StringRange;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * Interval tree of string ranges, an AVL tree ordered by {@link StringRangeComparator}
+ * with each node augmented by the largest and smallest maximum endpoint in its subtree.
+ * <p>
+ * Add and remove are O(log n). Matching only descends into subtrees that hold at least one candidate range,
+ * regardless of the width of ranges, and does not allocate. Matches are provided in range order.
+ * <p>
+ * Not thread-safe, the caller provides locking.
+ */
+public final class StringRangeIntervalTree {
+    private Node root;
+    private int size;
+
+    public EventEvaluator get(StringRange range) {
+        Node node = root;
+        while (node != null) {
+            int comparison = StringRangeComparator.INSTANCE.compare(range, node.range);
+            if (comparison == 0) {
+                return node.value;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    public void put(StringRange range, EventEvaluator value) {
+        root = insert(root, range, range.getMin(), range.getMax(), value);
+    }
+
+    public void remove(StringRange range) {
+        root = delete(root, range);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void forEach(BiConsumer<StringRange, EventEvaluator> consumer) {
+        forEach(root, consumer);
+    }
+
+    /**
+     * Match the ranges that contain the value.
+     *
+     * @param value      value
+     * @param includeMin true to include the low endpoint
+     * @param includeMax true to include the high endpoint
+     * @param theEvent   event
+     * @param matches    matches
+     */
+    public void matchContaining(String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        matchContaining(root, value, includeMin, includeMax, theEvent, matches);
+    }
+
+    /**
+     * Match the ranges that do not contain the value.
+     *
+     * @param value      value
+     * @param includeMin true to include the low endpoint in the range
+     * @param includeMax true to include the high endpoint in the range
+     * @param theEvent   event
+     * @param matches    matches
+     */
+    public void matchNotContaining(String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        matchNotContaining(root, value, includeMin, includeMax, theEvent, matches);
+    }
+
+    private static void matchContaining(Node node, String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        while (node != null) {
+            if (node.subtreeMaxOfMax.compareTo(value) < 0) {
+                return;
+            }
+            matchContaining(node.left, value, includeMin, includeMax, theEvent, matches);
+            if (node.min.compareTo(value) > 0) {
+                return;   // right subtree only has ranges starting after the value
+            }
+            int minCompared = node.min.compareTo(value);
+            int maxCompared = node.max.compareTo(value);
+            if ((includeMin ? minCompared <= 0 : minCompared < 0) && (includeMax ? maxCompared >= 0 : maxCompared > 0)) {
+                node.value.matchEvent(theEvent, matches);
+            }
+            node = node.right;
+        }
+    }
+
+    private static void matchNotContaining(Node node, String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        if (node == null) {
+            return;
+        }
+        if (node.min.compareTo(value) >= 0) {
+            // this node and its right subtree start at or after the value
+            matchNotContaining(node.left, value, includeMin, includeMax, theEvent, matches);
+            matchOutside(node, value, includeMin, includeMax, theEvent, matches);
+            matchAllOutside(node.right, value, includeMin, includeMax, theEvent, matches);
+        } else {
+            // this node and its left subtree start before the value, only those ending at or before the value qualify
+            matchEndingBefore(node.left, value, includeMin, includeMax, theEvent, matches);
+            matchOutside(node, value, includeMin, includeMax, theEvent, matches);
+            matchNotContaining(node.right, value, includeMin, includeMax, theEvent, matches);
+        }
+    }
+
+    private static void matchEndingBefore(Node node, String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        while (node != null) {
+            if (node.subtreeMinOfMax.compareTo(value) > 0) {
+                return;
+            }
+            matchEndingBefore(node.left, value, includeMin, includeMax, theEvent, matches);
+            matchOutside(node, value, includeMin, includeMax, theEvent, matches);
+            node = node.right;
+        }
+    }
+
+    private static void matchAllOutside(Node node, String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        while (node != null) {
+            matchAllOutside(node.left, value, includeMin, includeMax, theEvent, matches);
+            matchOutside(node, value, includeMin, includeMax, theEvent, matches);
+            node = node.right;
+        }
+    }
+
+    private static void matchOutside(Node node, String value, boolean includeMin, boolean includeMax, EventBean theEvent, Collection<FilterHandle> matches) {
+        int minCompared = node.min.compareTo(value);
+        int maxCompared = node.max.compareTo(value);
+        if ((includeMin ? minCompared > 0 : minCompared >= 0) || (includeMax ? maxCompared < 0 : maxCompared <= 0)) {
+            node.value.matchEvent(theEvent, matches);
+        }
+    }
+
+    private Node insert(Node node, StringRange range, String min, String max, EventEvaluator value) {
+        if (node == null) {
+            size++;
+            return new Node(range, min, max, value);
+        }
+        int comparison = StringRangeComparator.INSTANCE.compare(range, node.range);
+        if (comparison == 0) {
+            node.value = value;
+            return node;
+        }
+        if (comparison < 0) {
+            node.left = insert(node.left, range, min, max, value);
+        } else {
+            node.right = insert(node.right, range, min, max, value);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, StringRange range) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = StringRangeComparator.INSTANCE.compare(range, node.range);
+        if (comparison < 0) {
+            node.left = delete(node.left, range);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, range);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        int height = 0;
+        String maxOfMax = node.max;
+        String minOfMax = node.max;
+        if (node.left != null) {
+            height = node.left.height;
+            maxOfMax = max(maxOfMax, node.left.subtreeMaxOfMax);
+            minOfMax = min(minOfMax, node.left.subtreeMinOfMax);
+        }
+        if (node.right != null) {
+            height = Math.max(height, node.right.height);
+            maxOfMax = max(maxOfMax, node.right.subtreeMaxOfMax);
+            minOfMax = min(minOfMax, node.right.subtreeMinOfMax);
+        }
+        node.height = height + 1;
+        node.subtreeMaxOfMax = maxOfMax;
+        node.subtreeMinOfMax = minOfMax;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static String max(String one, String two) {
+        return one.compareTo(two) >= 0 ? one : two;
+    }
+
+    private static String min(String one, String two) {
+        return one.compareTo(two) <= 0 ? one : two;
+    }
+
+    private static void forEach(Node node, BiConsumer<StringRange, EventEvaluator> consumer) {
+        while (node != null) {
+            forEach(node.left, consumer);
+            consumer.accept(node.range, node.value);
+            node = node.right;
+        }
+    }
+
+    private static final class Node {
+        private final StringRange range;
+        private final String min;
+        private final String max;
+        private EventEvaluator value;
+        private Node left;
+        private Node right;
+        private int height;
+        private String subtreeMaxOfMax;
+        private String subtreeMinOfMax;
+
+        Node(StringRange range, String min, String max, EventEvaluator value) {
+            this.range = range;
+            this.min = min;
+            this.max = max;
+            this.value = value;
+            update(this);
+        }
+    }
+}
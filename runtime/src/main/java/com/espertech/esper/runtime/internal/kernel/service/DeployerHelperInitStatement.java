@@ -12,8 +12,10 @@ package com.espertech.esper.runtime.internal.kernel.service;
 
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.SingleWriter;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
 import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.common.client.util.StatementType;
 import com.espertech.esper.common.client.util.StatementProperty;
 import com.espertech.esper.common.internal.context.aifactory.core.ModuleIncidentals;
 import com.espertech.esper.common.internal.context.airegistry.AIRegistryRequirements;
@@ -21,10 +23,12 @@ import com.espertech.esper.common.internal.context.airegistry.StatementAIResourc
 import com.espertech.esper.common.internal.context.mgr.ContextDeployTimeResolver;
 import com.espertech.esper.common.internal.context.mgr.ContextManager;
 import com.espertech.esper.common.internal.context.module.*;
+import com.espertech.esper.common.internal.context.util.AgentInstanceUtil;
 import com.espertech.esper.common.internal.context.util.ContextRuntimeDescriptor;
 import com.espertech.esper.common.internal.context.util.EPStatementHandle;
 import com.espertech.esper.common.internal.context.util.StatementCPCacheService;
 import com.espertech.esper.common.internal.context.util.StatementContext;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
 import com.espertech.esper.common.internal.epl.pattern.pool.PatternSubexpressionPoolStmtHandler;
 import com.espertech.esper.common.internal.epl.pattern.pool.PatternSubexpressionPoolStmtSvc;
@@ -78,6 +82,19 @@ public class DeployerHelperInitStatement {
                     throw new EPDeployException("Duplicate statement name provide by statement name resolver for statement name '" + statementName + "'", rolloutItemNumber);
                 }
                 statementNames.add(statementName);
+
+                ConfigurationRuntimeThreading threading = services.getConfigSnapshot().getRuntime().getThreading();
+                boolean partitionedByAffinityKey = threading.isThreadPoolInboundAffinity() && threading.isThreadPoolInboundAffinityLockElision() &&
+                    AgentInstanceUtil.isKeyedContextPartitionedByAffinityKey(lightweight.getStatementContext(), threading.getThreadPoolInboundAffinityKeys());
+                String singleWriterMessage = validateSingleWriter(lightweight.getStatementInformationals(), threading, partitionedByAffinityKey);
+                if (singleWriterMessage != null) {
+                    throw new EPDeployException("Statement '" + statementName + "' is annotated with @" + SingleWriter.class.getSimpleName() + " but " + singleWriterMessage, rolloutItemNumber);
+                }
+
+                String insertIntoAffinityType = getInsertIntoAffinityKeyType(lightweight.getStatementInformationals(), services.getStatementAgentInstanceLockFactory().getKeyedContextPartitionAffinityKeys());
+                if (insertIntoAffinityType != null) {
+                    throw new EPDeployException("Statement '" + statementName + "' inserts into event type '" + insertIntoAffinityType + "' that has an inbound affinity key, which is not supported when affinity lock elision is enabled", rolloutItemNumber);
+                }
             }
 
             // set parameters
@@ -90,6 +107,61 @@ public class DeployerHelperInitStatement {
         return new DeployerModuleStatementLightweights(statementIdFirstStatement, lightweights, substitutionParameters);
     }
 
+    /**
+     * Returns the reason why a statement that is annotated as single-writer could be processed by multiple threads,
+     * or null when the statement is not annotated or could only be processed by the threads that the application provides.
+     * <p>
+     * With multiple inbound threads the statement must be in a keyed segmented context that partitions by the inbound affinity keys
+     * and affinity lock elision must be enabled, since the runtime then rejects inserting and routing events of the affinity-keyed event types.
+     * </p>
+     *
+     * @param informationals           statement informationals
+     * @param threading                threading configuration
+     * @param partitionedByAffinityKey indicator whether the statement context partitions by the inbound affinity keys and locks are elided
+     * @return reason or null
+     */
+    protected static String validateSingleWriter(StatementInformationalsRuntime informationals, ConfigurationRuntimeThreading threading, boolean partitionedByAffinityKey) {
+        if (!AnnotationUtil.hasAnnotation(informationals.getAnnotations(), SingleWriter.class)) {
+            return null;
+        }
+        StatementType statementType = informationals.getStatementType();
+        if (statementType == StatementType.CREATE_WINDOW || statementType == StatementType.CREATE_TABLE || statementType.isOnTriggerInfra()) {
+            return "the statement manages a named window or table that other statements share";
+        }
+        if (informationals.isHasTableAccess()) {
+            return "the statement accesses a table that other statements share";
+        }
+        if (informationals.getNumScheduleCallbacks() > 0) {
+            return "the statement schedules";
+        }
+        if (threading.isThreadPoolRouteExec()) {
+            return "route execution threading is enabled";
+        }
+        if (threading.isThreadPoolTimerExec()) {
+            return "timer execution threading is enabled";
+        }
+        if (threading.isThreadPoolInbound() && threading.getThreadPoolInboundNumThreads() > 1 && !partitionedByAffinityKey) {
+            return "inbound threading is enabled with multiple threads and the statement is not in a keyed context that partitions by the inbound affinity keys with affinity lock elision enabled";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the event type that the statement inserts into when that event type has an inbound affinity key
+     * and context partitions elide locks, since inserted events are processed by the inserting thread and not by the
+     * worker thread of the partition key.
+     *
+     * @param informationals statement informationals
+     * @param affinityKeys   affinity keys when eliding locks, or null
+     * @return event type name or null
+     */
+    protected static String getInsertIntoAffinityKeyType(StatementInformationalsRuntime informationals, Map<String, String> affinityKeys) {
+        if (affinityKeys == null || informationals.getInsertIntoLatchName() == null) {
+            return null;
+        }
+        return affinityKeys.containsKey(informationals.getInsertIntoLatchName()) ? informationals.getInsertIntoLatchName() : null;
+    }
+
     private static StatementLightweight initStatement(boolean recovery, String moduleName, StatementProvider statementProvider, String deploymentId, int statementId, EventTypeResolver eventTypeResolver, ModuleIncidentals moduleIncidentals, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, ClassLoader moduleClassLoader, EPServicesContext services) {
         StatementInformationalsRuntime informationals = statementProvider.getInformationals();
 
@@ -10,16 +10,21 @@
  */
 package com.espertech.esper.runtime.internal.kernel.service;
 
+import com.espertech.esper.common.client.EPCompiled;
 import com.espertech.esper.common.internal.collection.PathException;
 import com.espertech.esper.common.internal.context.module.ModuleDependenciesRuntime;
 import com.espertech.esper.common.internal.context.module.ModuleProviderCLPair;
 import com.espertech.esper.common.internal.context.module.ModuleProviderUtil;
+import com.espertech.esper.common.internal.type.NameAndModule;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.runtime.client.*;
+import com.espertech.esper.runtime.internal.kernel.thread.EngineThreadFactory;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.espertech.esper.runtime.internal.kernel.service.Deployer.addPathDependencies;
 import static com.espertech.esper.runtime.internal.kernel.service.Deployer.getRecoveryInformation;
@@ -30,7 +35,7 @@ import static com.espertech.esper.runtime.internal.kernel.service.DeployerHelper
 import static com.espertech.esper.runtime.internal.kernel.service.DeployerHelperUpdatePath.updatePath;
 
 public class DeployerRollout {
-    public static DeployerRolloutDeploymentResult rollout(int currentStatementId, Collection<EPDeploymentRolloutCompiled> itemsProvided, EPRuntimeSPI runtime) throws EPDeployException {
+    public static DeployerRolloutDeploymentResult rollout(int currentStatementId, Collection<EPDeploymentRolloutCompiled> itemsProvided, int classLoadingThreads, EPRuntimeSPI runtime) throws EPDeployException {
         EPDeploymentRolloutCompiled[] items = itemsProvided.toArray(new EPDeploymentRolloutCompiled[0]);
 
         // per-deployment: determine deployment id
@@ -43,15 +48,23 @@ public class DeployerRollout {
             }
         }
 
-        // per-deployment: obtain module providers
+        // per-deployment: obtain module providers, loading classes in parallel when requested
         ModuleProviderCLPair[] moduleProviders = new ModuleProviderCLPair[items.length];
-        for (int i = 0; i < items.length; i++) {
-            ClassLoader classLoader = DeployerHelperResolver.getClassLoader(i, items[i].getOptions().getDeploymentClassLoaderOption(), runtime.getServicesContext());
-            try {
-                moduleProviders[i] = ModuleProviderUtil.analyze(items[i].getCompiled(), classLoader, runtime.getServicesContext().getClassProvidedPathRegistry());
-            } catch (Throwable t) {
-                rolloutCleanClassloader(deploymentIds, runtime.getServicesContext());
+        try {
+            ClassLoader[] classLoaders = new ClassLoader[items.length];
+            for (int i = 0; i < items.length; i++) {
+                classLoaders[i] = DeployerHelperResolver.getClassLoader(i, items[i].getOptions().getDeploymentClassLoaderOption(), runtime.getServicesContext());
             }
+            if (classLoadingThreads <= 1 || items.length < 2) {
+                for (int i = 0; i < items.length; i++) {
+                    moduleProviders[i] = analyze(i, items[i].getCompiled(), classLoaders[i], false, runtime.getServicesContext());
+                }
+            } else {
+                analyzeParallel(items, classLoaders, moduleProviders, classLoadingThreads, runtime.getServicesContext());
+            }
+        } catch (EPDeployException ex) {
+            rolloutCleanClassloader(deploymentIds, runtime.getServicesContext());
+            throw ex;
         }
 
         // per-deployment: check dependencies and initialize EPL objects
@@ -123,6 +136,64 @@ public class DeployerRollout {
         return new DeployerRolloutDeploymentResult(numStatements, deployments);
     }
 
+    private static void analyzeParallel(EPDeploymentRolloutCompiled[] items, ClassLoader[] classLoaders, ModuleProviderCLPair[] moduleProviders, int classLoadingThreads, EPServicesContext services) throws EPDeployException {
+        String name = "RolloutClassLoading";
+        ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + services.getRuntimeURI() + "-" + name);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(classLoadingThreads, items.length), new EngineThreadFactory(services.getRuntimeURI(), name, threadGroup, Thread.NORM_PRIORITY));
+        try {
+            List<Future<ModuleProviderCLPair>> futures = new ArrayList<>(items.length);
+            for (int i = 0; i < items.length; i++) {
+                int rolloutItemNumber = i;
+                futures.add(executor.submit(() -> analyze(rolloutItemNumber, items[rolloutItemNumber].getCompiled(), classLoaders[rolloutItemNumber], true, services)));
+            }
+
+            // report the failure of the first failing item, same as when loading sequentially
+            for (int i = 0; i < items.length; i++) {
+                try {
+                    moduleProviders[i] = futures.get(i).get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new EPDeployException("Interrupted while loading classes", ex, i);
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof EPDeployException) {
+                        throw (EPDeployException) ex.getCause();
+                    }
+                    throw new EPDeployException(ex.getCause().getMessage(), ex.getCause(), i);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ModuleProviderCLPair analyze(int rolloutItemNumber, EPCompiled compiled, ClassLoader classLoader, boolean preload, EPServicesContext services) throws EPDeployException {
+        ModuleProviderCLPair pair;
+        try {
+            pair = ModuleProviderUtil.analyze(compiled, classLoader, services.getClassProvidedPathRegistry());
+        } catch (Throwable t) {
+            throw new EPDeployException(t.getMessage(), t, rolloutItemNumber);
+        }
+        if (!preload) {
+            return pair;
+        }
+
+        // Define the module's classes now rather than on first use by statement initialization, which is sequential.
+        // Classes of a module that depends on application-provided classes may require classes of preceding rollout items
+        // that only become visible when the path is updated, and are left to load on first use.
+        NameAndModule[] pathClasses = pair.getModuleProvider().getModuleDependencies().getPathClasses();
+        if (pathClasses != null && pathClasses.length > 0) {
+            return pair;
+        }
+        for (String className : compiled.getClasses().keySet()) {
+            try {
+                Class.forName(className, false, pair.getClassLoader());
+            } catch (ClassNotFoundException | NoClassDefFoundError ex) {
+                // reported when the class is first used
+            }
+        }
+        return pair;
+    }
+
     private static void rolloutCleanClassloader(String[] deploymentIds, EPServicesContext services) {
         for (int i = 0; i < deploymentIds.length; i++) {
             services.getClassLoaderParent().remove(deploymentIds[i]);
@@ -71,7 +71,7 @@ public class EPDeploymentServiceImpl implements EPDeploymentServiceSPI {
                 currentStatementId = 1;
             }
 
-            rolloutResult = DeployerRollout.rollout(currentStatementId, items, runtime);
+            rolloutResult = DeployerRollout.rollout(currentStatementId, items, options.getClassLoadingThreads(), runtime);
             statementIdRecovery.setCurrentStatementId(currentStatementId + rolloutResult.getNumStatements());
 
             // dispatch event
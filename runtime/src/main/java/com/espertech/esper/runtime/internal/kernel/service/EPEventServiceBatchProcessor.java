@@ -0,0 +1,35 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.EventBean;
+
+/**
+ * Event service that evaluates the events of a batch, for use with {@link EPEventServiceHelper#processWrappedEventBatch}.
+ */
+public interface EPEventServiceBatchProcessor {
+    /**
+     * Evaluates a single event of a batch, called while holding the event processing read lock.
+     *
+     * @param eventBean event
+     */
+    void processBatchEvent(EventBean eventBean);
+
+    /**
+     * Dispatches results to listeners.
+     */
+    void dispatch();
+
+    /**
+     * Works off the thread's work queue.
+     */
+    void processThreadWorkQueue();
+}
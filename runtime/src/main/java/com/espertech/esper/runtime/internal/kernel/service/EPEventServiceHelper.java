@@ -10,11 +10,18 @@
  */
 package com.espertech.esper.runtime.internal.kernel.service;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.hook.exception.ExceptionHandlerExceptionType;
+import com.espertech.esper.common.internal.collection.DualWorkQueue;
 import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackSchedule;
+import com.espertech.esper.common.internal.context.util.InternalEventRouter;
 import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLock;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowDispatchService;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.statement.dispatch.DispatchService;
+import com.espertech.esper.common.internal.util.ManagedReadWriteLock;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.ArrayDeque;
@@ -101,4 +108,88 @@ public class EPEventServiceHelper {
             }
         }
     }
+
+    /**
+     * Processing a batch of events in order, holding the event processing read lock across consecutive events
+     * that leave no routed events, named window consumer dispatches or due listener dispatches behind.
+     *
+     * @param eventBeans                 events
+     * @param processor                  event service evaluating each event
+     * @param uri                        runtime or stage URI
+     * @param internalEventRouter        router for preprocessing
+     * @param exprEvaluatorContext       context for preprocessing
+     * @param eventProcessingRWLock      event processing lock
+     * @param queues                     the thread's work queue
+     * @param namedWindowDispatchService named window dispatch service
+     * @param dispatchService            listener dispatch service
+     * @param batchDispatchSize          number of events after which results are dispatched to listeners, or zero for the end of the batch
+     */
+    public static void processWrappedEventBatch(EventBean[] eventBeans, EPEventServiceBatchProcessor processor, String uri,
+                                                InternalEventRouter internalEventRouter, ExprEvaluatorContext exprEvaluatorContext,
+                                                ManagedReadWriteLock eventProcessingRWLock, DualWorkQueue queues,
+                                                NamedWindowDispatchService namedWindowDispatchService, DispatchService dispatchService,
+                                                int batchDispatchSize) {
+        int countSinceDispatch = 0;
+        boolean locked = false;
+        try {
+            for (EventBean event : eventBeans) {
+                EventBean eventBean = event;
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(eventBean, uri);
+                }
+
+                // Preprocessing takes place outside of the read-lock, same as for single events
+                if (internalEventRouter.isHasPreprocessing()) {
+                    if (locked) {
+                        locked = false;
+                        eventProcessingRWLock.releaseReadLock();
+                    }
+                    eventBean = internalEventRouter.preprocess(eventBean, exprEvaluatorContext, InstrumentationHelper.get());
+                    if (eventBean == null) {
+                        continue;
+                    }
+                }
+
+                // Acquire main processing lock once for consecutive events that leave no work behind
+                if (!locked) {
+                    eventProcessingRWLock.acquireReadLock();
+                    locked = true;
+                }
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qEvent(eventBean, uri, true);
+                }
+                try {
+                    processor.processBatchEvent(eventBean);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+                countSinceDispatch++;
+
+                // Routed events and named window consumers must be processed before the next event, same as for single events.
+                // Dispatch to listeners and the work queue are processed outside of the read-lock to prevent lockups when listeners create statements.
+                boolean workWaiting = !queues.getFrontQueue().isEmpty() || !queues.getBackQueue().isEmpty() || namedWindowDispatchService.isDispatchWaiting();
+                boolean dispatchDue = batchDispatchSize > 0 && countSinceDispatch >= batchDispatchSize && dispatchService.isDispatchWaiting();
+                if (workWaiting || dispatchDue) {
+                    locked = false;
+                    eventProcessingRWLock.releaseReadLock();
+                    processor.dispatch();
+                    processor.processThreadWorkQueue();
+                    countSinceDispatch = 0;
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                eventProcessingRWLock.releaseReadLock();
+            }
+        }
+
+        processor.dispatch();
+        processor.processThreadWorkQueue();
+    }
 }
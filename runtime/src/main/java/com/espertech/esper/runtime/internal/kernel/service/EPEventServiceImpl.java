@@ -65,6 +65,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -76,7 +77,7 @@ import static com.espertech.esper.runtime.internal.kernel.service.EPEventService
  * Implements runtime interface. Also accepts timer callbacks for synchronizing time events with regular events
  * sent in.
  */
-public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, TimerCallback, EPRuntimeEventProcessWrapped {
+public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, TimerCallback, EPRuntimeEventProcessWrapped, EPEventServiceBatchProcessor {
     protected static final Logger log = LoggerFactory.getLogger(EPEventServiceImpl.class);
     public static final int MAX_FILTER_FAULT_COUNT = 10;
 
@@ -87,6 +88,8 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     private boolean isLatchStatementInsertStream;
     private boolean isUsingExternalClocking;
     protected boolean isPrioritized;
+    private int batchDispatchSize;
+    private Map<String, String> affinityLockElisionKeys;
     protected volatile UnmatchedListener unmatchedListener;
     private AtomicLong routedInternal;
     private AtomicLong routedExternal;
@@ -98,6 +101,12 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     private ThreadLocal<Map<EPStatementAgentInstanceHandle, Object>> matchesPerStmtThreadLocal;
     private ThreadLocal<Map<EPStatementAgentInstanceHandle, Object>> schedulePerStmtThreadLocal;
 
+    // named window dispatch threads deliver consumer results to listeners and work off routed events themselves
+    private final Runnable namedWindowDispatchCompletion = () -> {
+        dispatch();
+        processThreadWorkQueue();
+    };
+
     /**
      * Constructor.
      *
@@ -112,6 +121,8 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         isLatchStatementInsertStream = this.services.getRuntimeSettingsService().getConfigurationRuntime().getThreading().isInsertIntoDispatchPreserveOrder();
         isUsingExternalClocking = !this.services.getRuntimeSettingsService().getConfigurationRuntime().getThreading().isInternalTimerEnabled();
         isPrioritized = services.getRuntimeSettingsService().getConfigurationRuntime().getExecution().isPrioritized();
+        batchDispatchSize = services.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getBatchDispatchSize();
+        affinityLockElisionKeys = services.getStatementAgentInstanceLockFactory().getKeyedContextPartitionAffinityKeys();
         routedInternal = new AtomicLong();
         routedExternal = new AtomicLong();
         runtimeFilterAndDispatchTimeContext = new ExprEvaluatorContext() {
@@ -252,6 +263,34 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+        sendEventJsonParsed(eventBean);
+    }
+
+    public void sendEventJson(ByteBuffer json, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, jsonEventTypeName);
+        sendEventJsonParsed(eventBean);
+    }
+
+    private void sendEventJsonParsed(EventBean eventBean) {
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event " + eventBean.getUnderlying());
+        }
+
+        if (inboundThreading) {
+            services.getThreadingService().submitInbound(new InboundUnitSendWrapped(eventBean, this, services));
+        } else {
+            processWrappedEvent(eventBean);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -396,7 +435,101 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void sendEventObjectArrayBatch(Collection<Object[]> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Object[] propertyValues : events) {
+                sendEventObjectArray(propertyValues, eventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object[] propertyValues : events) {
+            if (propertyValues == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventObjectArray(propertyValues, eventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
+    public void sendEventMapBatch(Collection<Map<String, Object>> events, String mapEventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Map<String, Object> map : events) {
+                sendEventMap(map, mapEventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Map<String, Object> map : events) {
+            if (map == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventMap(map, mapEventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
+    public void sendEventBeanBatch(Collection<?> events, String eventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Object theEvent : events) {
+                sendEventBean(theEvent, eventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            if (theEvent == null) {
+                log.error(".sendEventBeanBatch Null object supplied");
+                continue;
+            }
+            eventBeans[count++] = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+        }
+        processWrappedEventBatch(count == eventBeans.length ? eventBeans : Arrays.copyOf(eventBeans, count));
+    }
+
+    public void sendEventJsonBatch(Collection<String> events, String jsonEventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (String json : events) {
+                sendEventJson(json, jsonEventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (String json : events) {
+            if (json == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventJson(json, jsonEventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
     public void routeEventBean(EventBean theEvent) {
+        checkAffinityLockElisionRoute(theEvent);
         threadWorkQueue.addBack(theEvent);
     }
 
@@ -409,6 +542,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         if (theEvent instanceof NaturalEventBean) {
             theEvent = ((NaturalEventBean) theEvent).getOptionalSynthetic();
         }
+        checkAffinityLockElisionRoute(theEvent);
         routedInternal.incrementAndGet();
 
         if (isLatchStatementInsertStream) {
@@ -473,6 +607,20 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
+    public void processWrappedEventBatch(EventBean[] eventBeans) {
+        EPEventServiceHelper.processWrappedEventBatch(eventBeans, this, services.getRuntimeURI(), internalEventRouter, runtimeFilterAndDispatchTimeContext,
+            services.getEventProcessingRWLock(), threadWorkQueue.getThreadQueue(), services.getNamedWindowDispatchService(), services.getDispatchService(), batchDispatchSize);
+    }
+
+    public void processBatchEvent(EventBean eventBean) {
+        try {
+            processMatches(eventBean);
+        } catch (RuntimeException ex) {
+            matchesArrayThreadLocal.get().clear();
+            throw new EPException(ex);
+        }
+    }
+
     /**
      * Works off the thread's work queue.
      */
@@ -480,7 +628,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         DualWorkQueue queues = threadWorkQueue.getThreadQueue();
 
         if (queues.getFrontQueue().isEmpty()) {
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(namedWindowDispatchCompletion);
             if (haveDispatched) {
                 // Dispatch results to listeners
                 dispatch();
@@ -503,7 +651,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 processThreadWorkQueueUnlatched(item);
             }
 
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(namedWindowDispatchCompletion);
             if (haveDispatched) {
                 dispatch();
             }
@@ -525,7 +673,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 processThreadWorkQueueUnlatched(item);
             }
 
-            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
+            boolean haveDispatched = services.getNamedWindowDispatchService().dispatch(namedWindowDispatchCompletion);
             if (haveDispatched) {
                 dispatch();
             }
@@ -1258,6 +1406,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     private void routeEventInternal(EventBean theEvent) {
+        checkAffinityLockElisionRoute(theEvent);
         if (internalEventRouter.isHasPreprocessing()) {
             theEvent = internalEventRouter.preprocess(theEvent, runtimeFilterAndDispatchTimeContext, InstrumentationHelper.get());
             if (theEvent == null) {
@@ -1266,4 +1415,16 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         threadWorkQueue.addBack(theEvent);
     }
+
+    // A routed event would be processed by the routing thread, while context partitions that elide the lock rely on
+    // the inbound worker thread of the partition key being the only thread that processes the partition.
+    private void checkAffinityLockElisionRoute(EventBean theEvent) {
+        if (affinityLockElisionKeys == null) {
+            return;
+        }
+        String eventTypeName = theEvent.getEventType().getName();
+        if (eventTypeName != null && affinityLockElisionKeys.containsKey(eventTypeName)) {
+            throw new EPException("Routing events of event type '" + eventTypeName + "' is not supported since the event type has an inbound affinity key and affinity lock elision is enabled");
+        }
+    }
 }
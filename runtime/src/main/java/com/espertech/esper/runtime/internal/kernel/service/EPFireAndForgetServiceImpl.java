@@ -16,10 +16,13 @@ import com.espertech.esper.common.client.context.ContextPartitionSelector;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQuery;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQueryParameterized;
 import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryResult;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetQueryRowCallback;
 import com.espertech.esper.common.internal.context.query.FAFProvider;
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.EPPreparedQueryResult;
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethod;
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodProvider;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodSelect;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodSelectExecUtil;
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodUtil;
 import com.espertech.esper.runtime.client.EPFireAndForgetService;
 import com.espertech.esper.runtime.internal.kernel.faf.EPFireAndForgetPreparedQueryParameterizedImpl;
@@ -49,6 +52,17 @@ public class EPFireAndForgetServiceImpl implements EPFireAndForgetService {
         return executeQueryUnprepared(compiled, contextPartitionSelectors);
     }
 
+    public void executeQuery(EPCompiled compiled, EPFireAndForgetQueryRowCallback callback) {
+        executeQueryUnpreparedStreaming(compiled, null, callback);
+    }
+
+    public void executeQuery(EPCompiled compiled, ContextPartitionSelector[] contextPartitionSelectors, EPFireAndForgetQueryRowCallback callback) {
+        if (contextPartitionSelectors == null) {
+            throw new IllegalArgumentException("No context partition selectors provided");
+        }
+        executeQueryUnpreparedStreaming(compiled, contextPartitionSelectors, callback);
+    }
+
     public EPFireAndForgetPreparedQuery prepareQuery(EPCompiled compiled) {
         FAFProvider fafProvider = EPRuntimeHelperFAF.queryMethod(compiled, services);
         FAFQueryMethodProvider queryMethodProvider = fafProvider.getQueryMethodProvider();
@@ -96,4 +110,21 @@ public class EPFireAndForgetServiceImpl implements EPFireAndForgetService {
         EPPreparedQueryResult result = queryMethod.execute(serviceStatusProvider, queryMethodProvider.getSubstitutionFieldSetter(), contextPartitionSelectors, services.getContextManagementService());
         return new EPQueryResultImpl(result);
     }
+
+    private void executeQueryUnpreparedStreaming(EPCompiled compiled, ContextPartitionSelector[] contextPartitionSelectors, EPFireAndForgetQueryRowCallback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("No callback provided");
+        }
+        FAFProvider fafProvider = EPRuntimeHelperFAF.queryMethod(compiled, services);
+        FAFQueryMethodProvider queryMethodProvider = fafProvider.getQueryMethodProvider();
+        EPRuntimeHelperFAF.validateSubstitutionParams(queryMethodProvider);
+        FAFQueryMethod queryMethod = queryMethodProvider.getQueryMethod();
+        queryMethod.ready(services.getStatementContextRuntimeServices());
+        if (queryMethod instanceof FAFQueryMethodSelect) {
+            ((FAFQueryMethodSelect) queryMethod).executeStreaming(serviceStatusProvider, queryMethodProvider.getSubstitutionFieldSetter(), contextPartitionSelectors, services.getContextManagementService(), callback);
+        } else {
+            EPPreparedQueryResult result = queryMethod.execute(serviceStatusProvider, queryMethodProvider.getSubstitutionFieldSetter(), contextPartitionSelectors, services.getContextManagementService());
+            FAFQueryMethodSelectExecUtil.deliver(result, callback);
+        }
+    }
 }
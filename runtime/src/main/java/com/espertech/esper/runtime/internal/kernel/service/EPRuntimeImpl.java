@@ -49,6 +49,7 @@ import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
 import com.espertech.esper.runtime.internal.metrics.codahale_metrics.metrics.MetricNameFactory;
 import com.espertech.esper.runtime.internal.metrics.codahale_metrics.metrics.core.MetricName;
 import com.espertech.esper.runtime.internal.metrics.jmx.CommonJMXUtil;
+import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -216,6 +217,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
             }
 
             runtimeToDestroy.getServices().getThreadingService().destroy();
+            runtimeToDestroy.getServices().getNamedWindowDispatchService().destroy();
 
             // assign null - making EPRuntime and EPAdministrator unobtainable
             runtimeEnvironment = null;
@@ -283,6 +285,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
 
             runtimeEnvironment.getRuntime().initialize();
 
+            runtimeEnvironment.getServices().getNamedWindowDispatchService().destroy();
             runtimeEnvironment.getServices().destroy();
         }
 
@@ -496,12 +499,17 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
         CommonJMXUtil.registerMbean(services.getSchedulingService(), scheduleName);
         MetricName runtimeName = MetricNameFactory.name(services.getRuntimeURI(), "runtime");
         CommonJMXUtil.registerMbean(runtime, runtimeName);
+        if (services.getNamedWindowDispatchService() instanceof NamedWindowDispatchServiceImpl) {
+            MetricName namedWindowDispatchName = MetricNameFactory.name(services.getRuntimeURI(), "namedwindowdispatch");
+            CommonJMXUtil.registerMbean(((NamedWindowDispatchServiceImpl) services.getNamedWindowDispatchService()).getDispatchMetrics(), namedWindowDispatchName);
+        }
     }
 
     private synchronized void destroyEngineMetrics(String runtimeURI) {
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "filter"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "schedule"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "runtime"));
+        CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "namedwindowdispatch"));
     }
 
     /**
@@ -16,6 +16,7 @@ import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeMeta;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeConditionHandling;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeExceptionHandling;
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
 import com.espertech.esper.common.client.hook.condition.ConditionHandler;
 import com.espertech.esper.common.client.hook.condition.ConditionHandlerFactory;
 import com.espertech.esper.common.client.hook.condition.ConditionHandlerFactoryContext;
@@ -269,7 +270,10 @@ public abstract class EPServicesContextFactoryBase implements EPServicesContextF
         }
         TimerService timerService = new TimerServiceImpl(epRuntime.getURI(), msecTimerResolution);
 
-        StatementAgentInstanceLockFactory statementAgentInstanceLockFactory = new StatementAgentInstanceLockFactoryImpl(configs.getRuntime().getExecution().isFairlock(), configs.getRuntime().getExecution().isDisableLocking());
+        ConfigurationRuntimeThreading threading = configs.getRuntime().getThreading();
+        boolean keyedContextPartitionLockElision = threading.isThreadPoolInbound() && threading.isThreadPoolInboundAffinity() && threading.isThreadPoolInboundAffinityLockElision();
+        Map<String, String> keyedContextPartitionAffinityKeys = keyedContextPartitionLockElision ? threading.getThreadPoolInboundAffinityKeys() : null;
+        StatementAgentInstanceLockFactory statementAgentInstanceLockFactory = new StatementAgentInstanceLockFactoryImpl(configs.getRuntime().getExecution().isFairlock(), configs.getRuntime().getExecution().isDisableLocking(), keyedContextPartitionAffinityKeys);
 
         EventTableIndexService eventTableIndexService = makeEventTableIndexService(epServicesHA.getRuntimeExtensionServices());
         ExpressionResultCacheService expressionResultCacheSharable = new ExpressionResultCacheService(configs.getRuntime().getExecution().getDeclaredExprValueCacheSize());
@@ -13,6 +13,7 @@ package com.espertech.esper.runtime.internal.kernel.service;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeMeta;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.collection.PathRegistry;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactory;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactoryImpl;
@@ -81,6 +82,7 @@ import com.espertech.esper.runtime.internal.kernel.thread.ThreadingServiceImpl;
 import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceTimingWheel;
 import com.espertech.esper.runtime.internal.statementlifesvc.StatementLifecycleServiceImpl;
 
 import java.time.ZoneId;
@@ -137,6 +139,9 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected SchedulingServiceSPI makeSchedulingService(EPServicesHA epServicesHA, TimeSourceService timeSourceService, RuntimeExtensionServices runtimeExt, RuntimeSettingsService runtimeSettingsService, StatementContextResolver statementContextResolver, ZoneId zoneId) {
+        if (runtimeSettingsService.getConfigurationRuntime().getExecution().getSchedulingServiceProfile() == SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheel(-1, timeSourceService, zoneId);
+        }
         return new SchedulingServiceImpl(-1, timeSourceService, zoneId);
     }
 
@@ -178,7 +183,7 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected NamedWindowDispatchService makeNamedWindowDispatchService(SchedulingServiceSPI schedulingService, Configuration configurationSnapshot, ManagedReadWriteLock eventProcessingRWLock, ExceptionHandlingService exceptionHandlingService, VariableManagementService variableManagementService, TableManagementService tableManagementService, MetricReportingService metricReportingService) {
-        return new NamedWindowDispatchServiceImpl(schedulingService, variableManagementService, tableManagementService, configurationSnapshot.getRuntime().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricReportingService);
+        return new NamedWindowDispatchServiceImpl(schedulingService, variableManagementService, tableManagementService, configurationSnapshot.getRuntime().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricReportingService, configurationSnapshot.getRuntime().getThreading().getNamedWindowConsumerDispatchNumThreads());
     }
 
     protected NamedWindowConsumerManagementService makeNamedWindowConsumerManagementService(NamedWindowManagementService namedWindowManagementService) {
@@ -33,6 +33,7 @@ import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
 import com.espertech.esper.runtime.client.EPStatement;
 import com.espertech.esper.runtime.client.EPUndeployPreconditionException;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.InboundAffinityExecutor;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.Instrumentation;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 
@@ -176,10 +177,14 @@ public class Undeployer {
     }
 
     static void deleteFromEventTypeBus(EPServicesContext services, Map<Long, EventType> eventTypes) {
+        InboundAffinityExecutor affinityExecutor = services.getThreadingService().getInboundAffinityExecutor();
         for (Map.Entry<Long, EventType> entry : eventTypes.entrySet()) {
             if (entry.getValue().getMetadata().getBusModifier() == EventTypeBusModifier.BUS) {
                 services.getEventTypeRepositoryBus().removeType(entry.getValue());
             }
+            if (affinityExecutor != null) {
+                affinityExecutor.removeEventType(entry.getValue());
+            }
         }
     }
 
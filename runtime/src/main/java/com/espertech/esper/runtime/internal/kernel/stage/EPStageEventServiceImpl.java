@@ -52,6 +52,8 @@ import com.espertech.esper.common.internal.util.ExecutionPathDebugLog;
 import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.common.internal.util.ThreadLogUtil;
 import com.espertech.esper.runtime.client.UnmatchedListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceBatchProcessor;
+import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceHelper;
 import com.espertech.esper.runtime.internal.kernel.service.EPStatementAgentInstanceHandleComparator;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
 import com.espertech.esper.runtime.internal.kernel.thread.*;
@@ -65,6 +67,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -72,7 +75,7 @@ import static com.espertech.esper.runtime.internal.kernel.service.EPEventService
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceHelper.processStatementScheduleSingle;
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl.MAX_FILTER_FAULT_COUNT;
 
-public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, EPRuntimeEventProcessWrapped {
+public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, EPRuntimeEventProcessWrapped, EPEventServiceBatchProcessor {
     protected static final Logger log = LoggerFactory.getLogger(EPStageEventServiceImpl.class);
 
     protected StageSpecificServices specificServices;
@@ -85,6 +88,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
     private boolean isLatchStatementInsertStream;
     private boolean isUsingExternalClocking;
     protected boolean isPrioritized;
+    private int batchDispatchSize;
     protected volatile UnmatchedListener unmatchedListener;
     private AtomicLong routedInternal;
     private AtomicLong routedExternal;
@@ -107,6 +111,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         isLatchStatementInsertStream = runtimeServices.getRuntimeSettingsService().getConfigurationRuntime().getThreading().isInsertIntoDispatchPreserveOrder();
         isUsingExternalClocking = true;
         isPrioritized = runtimeServices.getRuntimeSettingsService().getConfigurationRuntime().getExecution().isPrioritized();
+        batchDispatchSize = runtimeServices.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getBatchDispatchSize();
         routedInternal = new AtomicLong();
         routedExternal = new AtomicLong();
         runtimeFilterAndDispatchTimeContext = new ExprEvaluatorContext() {
@@ -237,6 +242,34 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        EventBean eventBean = runtimeServices.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+        sendEventJsonParsed(eventBean);
+    }
+
+    public void sendEventJson(ByteBuffer json, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        EventBean eventBean = runtimeServices.getEventTypeResolvingBeanFactory().adapterForJson(json, jsonEventTypeName);
+        sendEventJsonParsed(eventBean);
+    }
+
+    private void sendEventJsonParsed(EventBean eventBean) {
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event " + eventBean.getUnderlying());
+        }
+
+        if (inboundThreading) {
+            specificServices.getThreadingService().submitInbound(new InboundUnitSendWrapped(eventBean, this, specificServices));
+        } else {
+            processWrappedEvent(eventBean);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -381,6 +414,99 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public void sendEventObjectArrayBatch(Collection<Object[]> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Object[] propertyValues : events) {
+                sendEventObjectArray(propertyValues, eventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object[] propertyValues : events) {
+            if (propertyValues == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventObjectArray(propertyValues, eventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
+    public void sendEventMapBatch(Collection<Map<String, Object>> events, String mapEventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Map<String, Object> map : events) {
+                sendEventMap(map, mapEventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Map<String, Object> map : events) {
+            if (map == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventMap(map, mapEventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
+    public void sendEventBeanBatch(Collection<?> events, String eventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (Object theEvent : events) {
+                sendEventBean(theEvent, eventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            if (theEvent == null) {
+                log.error(".sendEventBeanBatch Null object supplied");
+                continue;
+            }
+            eventBeans[count++] = runtimeServices.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+        }
+        processWrappedEventBatch(count == eventBeans.length ? eventBeans : Arrays.copyOf(eventBeans, count));
+    }
+
+    public void sendEventJsonBatch(Collection<String> events, String jsonEventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+
+        if (inboundThreading) {
+            for (String json : events) {
+                sendEventJson(json, jsonEventTypeName);
+            }
+            return;
+        }
+
+        EventBean[] eventBeans = new EventBean[events.size()];
+        int count = 0;
+        for (String json : events) {
+            if (json == null) {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+            eventBeans[count++] = wrapEventJson(json, jsonEventTypeName);
+        }
+        processWrappedEventBatch(eventBeans);
+    }
+
     public void routeEventBean(EventBean theEvent) {
         threadWorkQueue.addBack(theEvent);
     }
@@ -458,6 +584,20 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
+    public void processWrappedEventBatch(EventBean[] eventBeans) {
+        EPEventServiceHelper.processWrappedEventBatch(eventBeans, this, stageUri, internalEventRouter, runtimeFilterAndDispatchTimeContext,
+            specificServices.getEventProcessingRWLock(), threadWorkQueue.getThreadQueue(), runtimeServices.getNamedWindowDispatchService(), runtimeServices.getDispatchService(), batchDispatchSize);
+    }
+
+    public void processBatchEvent(EventBean eventBean) {
+        try {
+            processMatches(eventBean);
+        } catch (RuntimeException ex) {
+            matchesArrayThreadLocal.get().clear();
+            throw new EPException(ex);
+        }
+    }
+
     /**
      * Works off the thread's work queue.
      */
@@ -10,12 +10,14 @@
  */
 package com.espertech.esper.runtime.internal.kernel.stage;
 
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.schedule.TimeSourceService;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesContext;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceTimingWheel;
 
 import java.time.ZoneId;
 import java.util.Collections;
@@ -73,11 +75,15 @@ public class StageRecoveryServiceImpl extends StageRecoveryServiceBase implement
 
     protected SchedulingServiceSPI makeSchedulingService(int stageId, EPServicesContext servicesContext) {
         ZoneId zoneId = servicesContext.getClasspathImportServiceRuntime().getTimeZone().toZoneId();
-        return new SchedulingServiceImpl(stageId, new TimeSourceService() {
+        TimeSourceService timeSourceService = new TimeSourceService() {
             public long getTimeMillis() {
                 return servicesContext.getSchedulingService().getTime() + 1;
             }
-        }, zoneId);
+        };
+        if (servicesContext.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getSchedulingServiceProfile() == SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheel(stageId, timeSourceService, zoneId);
+        }
+        return new SchedulingServiceImpl(stageId, timeSourceService, zoneId);
     }
 
     private void initDeploymentStages() {
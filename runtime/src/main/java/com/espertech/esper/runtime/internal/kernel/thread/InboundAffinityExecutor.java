@@ -0,0 +1,295 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Inbound executor that assigns each event to a fixed worker thread by the key of the event,
+ * each worker thread consuming its own queue.
+ * <p>
+ * Events of the same key are therefore processed in the order they are submitted, while events of different keys
+ * are processed in parallel. The key is the value of the affinity key property of the event type, or, for event types
+ * without affinity key, the event type name so that events of such types are processed in order relative to each other.
+ * <p>
+ * Keeps the number of submitted and processed units per queue.
+ */
+public class InboundAffinityExecutor {
+    private static final Logger log = LoggerFactory.getLogger(InboundAffinityExecutor.class);
+
+    private final Map<String, String> affinityKeys;
+    private final BlockingQueue<Runnable>[] queues;
+    private final Thread[] threads;
+    private final AtomicLongArray submittedCounts;
+    private final AtomicLongArray processedCounts;
+    private final ConcurrentHashMap<EventType, AffinityKeyGetter> getters = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI   runtime URI
+     * @param name         pool name
+     * @param affinityKeys event type name and key property expression
+     * @param numThreads   number of threads and queues
+     * @param capacity     capacity of each queue or null for unbounded
+     */
+    @SuppressWarnings("unchecked")
+    public InboundAffinityExecutor(String runtimeURI, String name, Map<String, String> affinityKeys, int numThreads, Integer capacity) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads " + numThreads + ", the number of threads must be at least 1");
+        }
+        this.affinityKeys = affinityKeys;
+        this.queues = new BlockingQueue[numThreads];
+        this.threads = new Thread[numThreads];
+        this.submittedCounts = new AtomicLongArray(numThreads);
+        this.processedCounts = new AtomicLongArray(numThreads);
+
+        if (log.isInfoEnabled()) {
+            log.info("Starting pool " + name + " with " + numThreads + " threads and affinity keys " + affinityKeys);
+        }
+        String threadGroupName = "com.espertech.esper." + runtimeURI + "-" + name;
+        ThreadGroup threadGroup = new ThreadGroup(threadGroupName);
+        EngineThreadFactory threadFactory = new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY);
+        for (int i = 0; i < numThreads; i++) {
+            queues[i] = capacity == null || capacity <= 0 || capacity == Integer.MAX_VALUE ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(capacity);
+            threads[i] = threadFactory.newThread(new Worker(i));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Submit a unit to the queue of the worker thread for its key, waiting for space in the queue if needed.
+     *
+     * @param unit unit to submit
+     * @throws InterruptedException when interrupted while waiting for space
+     */
+    public void submit(InboundUnitRunnable unit) throws InterruptedException {
+        int index = getQueueIndex(unit);
+        submittedCounts.incrementAndGet(index);
+        queues[index].put(unit);
+    }
+
+    /**
+     * Returns the queue index for a unit.
+     *
+     * @param unit unit
+     * @return queue index
+     */
+    public int getQueueIndex(InboundUnitRunnable unit) {
+        if (queues.length == 1) {
+            return 0;
+        }
+        EventBean event;
+        try {
+            event = unit.getEventBean();
+        } catch (RuntimeException ex) {
+            // the unit handles the exception when it runs
+            return 0;
+        }
+        Object key;
+        try {
+            key = getKey(event);
+        } catch (RuntimeException ex) {
+            // assign by event type name, same as for event types without affinity key
+            log.warn("Failed to obtain inbound affinity key for event type '" + event.getEventType().getName() + "', assigning by event type name: " + ex.getMessage(), ex);
+            key = event.getEventType().getName();
+        }
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        return (hash & 0x7fffffff) % queues.length;
+    }
+
+    /**
+     * Discards the key getter of an event type, such as when the event type is undeployed.
+     *
+     * @param eventType event type
+     */
+    public void removeEventType(EventType eventType) {
+        getters.remove(eventType);
+    }
+
+    /**
+     * Returns the number of queues, which is the number of worker threads.
+     *
+     * @return number of queues
+     */
+    public int getNumQueues() {
+        return queues.length;
+    }
+
+    /**
+     * Returns the queue of a worker thread.
+     *
+     * @param index queue index
+     * @return queue
+     */
+    public BlockingQueue<Runnable> getQueue(int index) {
+        return queues[index];
+    }
+
+    /**
+     * Returns the number of units waiting in a queue.
+     *
+     * @param index queue index
+     * @return depth
+     */
+    public int getQueueDepth(int index) {
+        return queues[index].size();
+    }
+
+    /**
+     * Returns the number of units submitted to a queue.
+     *
+     * @param index queue index
+     * @return count
+     */
+    public long getSubmittedCount(int index) {
+        return submittedCounts.get(index);
+    }
+
+    /**
+     * Returns the number of units processed by the worker thread of a queue.
+     *
+     * @param index queue index
+     * @return count
+     */
+    public long getProcessedCount(int index) {
+        return processedCounts.get(index);
+    }
+
+    /**
+     * Returns true when any queue is full, for use by producers that prefer to not block.
+     *
+     * @return indicator
+     */
+    public boolean isAnyQueueFull() {
+        for (BlockingQueue<Runnable> queue : queues) {
+            if (queue.remainingCapacity() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards queued units, stops the worker threads and waits for them to terminate.
+     *
+     * @param timeoutMSec time to wait for each thread
+     */
+    public void shutdown(long timeoutMSec) {
+        shutdown = true;
+        for (BlockingQueue<Runnable> queue : queues) {
+            queue.clear();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(timeoutMSec);
+            } catch (InterruptedException e) {
+                log.error("Interruped awaiting termination", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Object getKey(EventBean event) {
+        EventType eventType = event.getEventType();
+        AffinityKeyGetter getter = getters.get(eventType);
+        if (getter == null) {
+            getter = makeGetter(eventType);
+            getters.put(eventType, getter);
+        }
+        return getter.get(event);
+    }
+
+    private AffinityKeyGetter makeGetter(EventType eventType) {
+        String property = eventType.getName() == null ? null : affinityKeys.get(eventType.getName());
+        if (property != null) {
+            EventPropertyGetter getter = eventType.getGetter(property);
+            if (getter != null) {
+                return new AffinityKeyGetterProperty(getter);
+            }
+            log.warn("Property expression '" + property + "' for inbound affinity is not valid for event type '" + eventType.getName() + "', assigning events by event type name instead");
+        }
+        return new AffinityKeyGetterConstant(eventType.getName());
+    }
+
+    private interface AffinityKeyGetter {
+        Object get(EventBean event);
+    }
+
+    private static class AffinityKeyGetterProperty implements AffinityKeyGetter {
+        private final EventPropertyGetter getter;
+
+        AffinityKeyGetterProperty(EventPropertyGetter getter) {
+            this.getter = getter;
+        }
+
+        public Object get(EventBean event) {
+            return getter.get(event);
+        }
+    }
+
+    private static class AffinityKeyGetterConstant implements AffinityKeyGetter {
+        private final Object key;
+
+        AffinityKeyGetterConstant(Object key) {
+            this.key = key;
+        }
+
+        public Object get(EventBean event) {
+            return key;
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final int index;
+
+        Worker(int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            BlockingQueue<Runnable> queue = queues[index];
+            while (!shutdown) {
+                Runnable unit;
+                try {
+                    unit = queue.take();
+                } catch (InterruptedException e) {
+                    if (shutdown) {
+                        break;
+                    }
+                    continue;
+                }
+                try {
+                    unit.run();
+                } catch (RuntimeException ex) {
+                    log.error("Unexpected error processing inbound unit: " + ex.getMessage(), ex);
+                }
+                processedCounts.incrementAndGet(index);
+            }
+        }
+    }
+}
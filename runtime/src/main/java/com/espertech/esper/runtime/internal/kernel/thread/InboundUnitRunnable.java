@@ -10,8 +10,17 @@
  */
 package com.espertech.esper.runtime.internal.kernel.thread;
 
+import com.espertech.esper.common.client.EventBean;
+
 /**
  * Interface for inbound runnables.
  */
 public interface InboundUnitRunnable extends Runnable {
+    /**
+     * Returns the event, wrapping the underlying event when called first.
+     *
+     * @return event
+     * @throws RuntimeException when the event cannot be wrapped, for example when the event type is not known
+     */
+    EventBean getEventBean();
 }
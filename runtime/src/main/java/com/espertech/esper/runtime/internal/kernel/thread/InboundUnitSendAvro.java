@@ -25,6 +25,7 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -41,9 +42,16 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, genericRecordDotData);
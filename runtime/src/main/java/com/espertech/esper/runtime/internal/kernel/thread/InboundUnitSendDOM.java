@@ -27,6 +27,7 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendDOM(Node theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.theEvent = theEvent;
@@ -35,9 +36,16 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, theEvent);
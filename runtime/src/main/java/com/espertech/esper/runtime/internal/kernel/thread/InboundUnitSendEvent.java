@@ -25,6 +25,7 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendEvent(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.theEvent = theEvent;
@@ -33,9 +34,16 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (Throwable t) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), t, theEvent);
@@ -25,6 +25,7 @@ public class InboundUnitSendJson implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendJson(String json, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.json = json;
@@ -33,9 +34,16 @@ public class InboundUnitSendJson implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, json);
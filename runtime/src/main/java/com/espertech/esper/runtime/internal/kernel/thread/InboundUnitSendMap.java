@@ -27,6 +27,7 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendMap(Map map, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.map = map;
@@ -35,9 +36,16 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, map);
@@ -25,6 +25,7 @@ public class InboundUnitSendObjectArray implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPRuntimeEventProcessWrapped runtime;
     private final EPServicesEvaluation services;
+    private EventBean eventBean;
 
     public InboundUnitSendObjectArray(Object[] properties, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         this.properties = properties;
@@ -33,9 +34,16 @@ public class InboundUnitSendObjectArray implements InboundUnitRunnable {
         this.services = services;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            eventBean = services.getEventTypeResolvingBeanFactory().adapterForObjectArray(properties, eventTypeName);
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForObjectArray(properties, eventTypeName);
+            EventBean eventBean = getEventBean();
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, properties);
@@ -36,6 +36,15 @@ public class OutboundUnitRunnable implements Runnable {
         this.statementResultService = statementResultService;
     }
 
+    /**
+     * Returns the statement result service, which identifies the statement that the dispatch is for.
+     *
+     * @return statement result service
+     */
+    public StatementResultServiceImpl getStatementResultService() {
+        return statementResultService;
+    }
+
     public void run() {
         try {
             statementResultService.processDispatch(events);
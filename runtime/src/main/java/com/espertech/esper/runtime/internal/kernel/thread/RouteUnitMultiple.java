@@ -57,4 +57,7 @@ public class RouteUnitMultiple implements RouteUnitRunnable {
         }
     }
 
+    public EPStatementAgentInstanceHandle getAgentInstanceHandle() {
+        return handle;
+    }
 }
@@ -57,4 +57,7 @@ public class RouteUnitMultipleStaged implements RouteUnitRunnable {
         }
     }
 
+    public EPStatementAgentInstanceHandle getAgentInstanceHandle() {
+        return handle;
+    }
 }
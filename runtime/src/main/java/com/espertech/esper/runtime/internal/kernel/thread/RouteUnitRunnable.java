@@ -10,8 +10,16 @@
  */
 package com.espertech.esper.runtime.internal.kernel.thread;
 
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+
 /**
  * Interface for route execution work units.
  */
 public interface RouteUnitRunnable extends Runnable {
+    /**
+     * Returns the handle of the statement agent instance that the work unit processes the event for.
+     *
+     * @return agent instance handle
+     */
+    EPStatementAgentInstanceHandle getAgentInstanceHandle();
 }
@@ -11,6 +11,7 @@
 package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
 import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl;
 import org.slf4j.Logger;
@@ -54,4 +55,7 @@ public class RouteUnitSingle implements RouteUnitRunnable {
         }
     }
 
+    public EPStatementAgentInstanceHandle getAgentInstanceHandle() {
+        return handleCallback.getAgentInstanceHandle();
+    }
 }
@@ -11,6 +11,7 @@
 package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
 import com.espertech.esper.runtime.internal.kernel.stage.EPStageEventServiceImpl;
 import org.slf4j.Logger;
@@ -54,4 +55,7 @@ public class RouteUnitSingleStaged implements RouteUnitRunnable {
         }
     }
 
+    public EPStatementAgentInstanceHandle getAgentInstanceHandle() {
+        return handleCallback.getAgentInstanceHandle();
+    }
 }
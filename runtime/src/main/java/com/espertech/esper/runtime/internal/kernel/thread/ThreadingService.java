@@ -90,7 +90,7 @@ public interface ThreadingService extends ThreadingCommon {
     public void submitOutbound(OutboundUnitRunnable unit);
 
     /**
-     * Returns the outbound queue.
+     * Returns the outbound queue, or null when outbound work units run on virtual threads.
      *
      * @return queue
      */
@@ -104,7 +104,7 @@ public interface ThreadingService extends ThreadingCommon {
     public ThreadPoolExecutor getOutboundThreadPool();
 
     /**
-     * Returns the route queue.
+     * Returns the route queue, or null when route work units run on virtual threads.
      *
      * @return queue
      */
@@ -132,7 +132,8 @@ public interface ThreadingService extends ThreadingCommon {
     public ThreadPoolExecutor getTimerThreadPool();
 
     /**
-     * Returns the inbound queue.
+     * Returns the inbound queue, or null when inbound threading assigns events to worker threads by affinity key
+     * as each worker thread then has its own queue.
      *
      * @return queue
      */
@@ -145,5 +146,27 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the inbound executor that assigns events to worker threads by affinity key,
+     * or null when not using inbound affinity keys.
+     *
+     * @return executor
+     */
+    public InboundAffinityExecutor getInboundAffinityExecutor();
+
+    /**
+     * Returns the executor that runs route work units on virtual threads, or null when not using virtual threads for routes.
+     *
+     * @return executor
+     */
+    public VirtualThreadOrderedExecutor getRouteVirtualExecutor();
+
+    /**
+     * Returns the executor that runs outbound work units on virtual threads, or null when not using virtual threads for outbound.
+     *
+     * @return executor
+     */
+    public VirtualThreadOrderedExecutor getOutboundVirtualExecutor();
+
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable);
 }
@@ -17,6 +17,7 @@ import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.concurrent.*;
 
 /**
@@ -41,6 +42,10 @@ public class ThreadingServiceImpl implements ThreadingService {
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
 
+    private InboundAffinityExecutor inboundAffinityExecutor;
+    private VirtualThreadOrderedExecutor routeVirtualExecutor;
+    private VirtualThreadOrderedExecutor outboundVirtualExecutor;
+
     private EPServicesEvaluation services;
 
     /**
@@ -75,8 +80,13 @@ public class ThreadingServiceImpl implements ThreadingService {
     public void initThreading(String uri, EPServicesEvaluation services) {
         this.services = services;
         if (isInboundThreading) {
-            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
-            inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            if (config.isThreadPoolInboundAffinity()) {
+                String runtimeURI = uri == null ? "default" : uri;
+                inboundAffinityExecutor = new InboundAffinityExecutor(runtimeURI, "Inbound", new LinkedHashMap<>(config.getThreadPoolInboundAffinityKeys()), config.getThreadPoolInboundNumThreads(), config.getThreadPoolInboundCapacity());
+            } else {
+                inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
+                inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            }
         }
 
         if (isTimerThreading) {
@@ -85,14 +95,32 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
 
         if (isRouteThreading) {
-            routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity());
-            routeThreadPool = getThreadPool(uri, "RouteExec", routeQueue, config.getThreadPoolRouteExecNumThreads());
+            if (config.isThreadPoolRouteExecVirtualThreads()) {
+                routeVirtualExecutor = getVirtualThreadExecutor(uri, "RouteExec", config.getThreadPoolRouteExecCapacity());
+            }
+            if (routeVirtualExecutor == null) {
+                routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity());
+                routeThreadPool = getThreadPool(uri, "RouteExec", routeQueue, config.getThreadPoolRouteExecNumThreads());
+            }
         }
 
         if (isOutboundThreading) {
-            outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
-            outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            if (config.isThreadPoolOutboundVirtualThreads()) {
+                outboundVirtualExecutor = getVirtualThreadExecutor(uri, "Outbound", config.getThreadPoolOutboundCapacity());
+            }
+            if (outboundVirtualExecutor == null) {
+                outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
+                outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            }
+        }
+    }
+
+    private VirtualThreadOrderedExecutor getVirtualThreadExecutor(String runtimeURI, String name, Integer capacity) {
+        VirtualThreadOrderedExecutor executor = VirtualThreadOrderedExecutor.make(runtimeURI == null ? "default" : runtimeURI, name, capacity);
+        if (executor == null) {
+            log.warn("Virtual threads are not supported by this Java runtime, using a thread pool for " + name);
         }
+        return executor;
     }
 
     private BlockingQueue<Runnable> makeQueue(Integer threadPoolTimerExecCapacity) {
@@ -107,6 +135,10 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitRoute(RouteUnitRunnable unit) {
         try {
+            if (routeVirtualExecutor != null) {
+                routeVirtualExecutor.submit(unit.getAgentInstanceHandle().getStatementHandle(), unit);
+                return;
+            }
             routeQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -115,6 +147,10 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitInbound(InboundUnitRunnable unit) {
         try {
+            if (inboundAffinityExecutor != null) {
+                inboundAffinityExecutor.submit(unit);
+                return;
+            }
             inboundQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -123,6 +159,10 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitOutbound(OutboundUnitRunnable unit) {
         try {
+            if (outboundVirtualExecutor != null) {
+                outboundVirtualExecutor.submit(unit.getStatementResultService(), unit);
+                return;
+            }
             outboundQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -169,6 +209,18 @@ public class ThreadingServiceImpl implements ThreadingService {
         return inboundThreadPool;
     }
 
+    public InboundAffinityExecutor getInboundAffinityExecutor() {
+        return inboundAffinityExecutor;
+    }
+
+    public VirtualThreadOrderedExecutor getRouteVirtualExecutor() {
+        return routeVirtualExecutor;
+    }
+
+    public VirtualThreadOrderedExecutor getOutboundVirtualExecutor() {
+        return outboundVirtualExecutor;
+    }
+
     public synchronized void destroy() {
         if (timerThreadPool != null) {
             stopPool(timerThreadPool, timerQueue, "TimerExec");
@@ -182,11 +234,32 @@ public class ThreadingServiceImpl implements ThreadingService {
         if (inboundThreadPool != null) {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (inboundAffinityExecutor != null) {
+            if (log.isInfoEnabled()) {
+                log.info("Shutting down pool Inbound");
+            }
+            inboundAffinityExecutor.shutdown(10000);
+        }
+        if (routeVirtualExecutor != null) {
+            if (log.isInfoEnabled()) {
+                log.info("Shutting down virtual-thread executor RouteExec");
+            }
+            routeVirtualExecutor.shutdown(10000);
+        }
+        if (outboundVirtualExecutor != null) {
+            if (log.isInfoEnabled()) {
+                log.info("Shutting down virtual-thread executor Outbound");
+            }
+            outboundVirtualExecutor.shutdown(10000);
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        inboundAffinityExecutor = null;
+        routeVirtualExecutor = null;
+        outboundVirtualExecutor = null;
     }
 
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable) {
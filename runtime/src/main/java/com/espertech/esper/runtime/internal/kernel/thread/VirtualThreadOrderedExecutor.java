@@ -0,0 +1,222 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor that runs work units on virtual threads, keeping the order of work units of the same key.
+ * <p>
+ * Work units of the same key, such as the same statement, are chained: at most one virtual thread runs the work units
+ * of a key at a time, taking the next work unit of the key when the previous one completes. Work units of different keys
+ * run in parallel. The number of outstanding work units per key is bounded, and submitting waits when the bound is reached.
+ * <p>
+ * Virtual threads require Java 21 or later. The executor obtains the virtual thread factory by reflection,
+ * see {@link #isSupported()}.
+ */
+public class VirtualThreadOrderedExecutor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadOrderedExecutor.class);
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY_PROTOTYPE = virtualThreadFactory("esper-virtual-");
+
+    private final ExecutorService executor;
+    private final int maxOutstandingPerKey;
+    private final ConcurrentHashMap<Object, KeyChain> chains = new ConcurrentHashMap<>();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+
+    /**
+     * Ctor.
+     *
+     * @param executor             executor that starts a virtual thread per task
+     * @param maxOutstandingPerKey maximum number of outstanding work units per key
+     */
+    public VirtualThreadOrderedExecutor(ExecutorService executor, int maxOutstandingPerKey) {
+        this.executor = executor;
+        this.maxOutstandingPerKey = maxOutstandingPerKey;
+    }
+
+    /**
+     * Returns true when the Java runtime supports virtual threads.
+     *
+     * @return indicator
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY_PROTOTYPE != null;
+    }
+
+    /**
+     * Makes an executor that runs work units on virtual threads, or returns null when the Java runtime does not support virtual threads.
+     *
+     * @param runtimeURI runtime URI
+     * @param name       pool name
+     * @param capacity   maximum number of outstanding work units per key, or null or non-positive for unbounded
+     * @return executor or null when not supported
+     */
+    public static VirtualThreadOrderedExecutor make(String runtimeURI, String name, Integer capacity) {
+        if (!isSupported()) {
+            return null;
+        }
+        ThreadFactory threadFactory = virtualThreadFactory("com.espertech.esper." + name + "-" + runtimeURI + "-");
+        ExecutorService executor = threadPerTaskExecutor(threadFactory);
+        if (executor == null) {
+            return null;
+        }
+        int maxOutstanding = capacity == null || capacity <= 0 ? Integer.MAX_VALUE : capacity;
+        if (log.isInfoEnabled()) {
+            log.info("Starting virtual-thread executor " + name + (maxOutstanding == Integer.MAX_VALUE ? "" : " with " + maxOutstanding + " outstanding work units per statement"));
+        }
+        return new VirtualThreadOrderedExecutor(executor, maxOutstanding);
+    }
+
+    /**
+     * Submit a work unit to run after all previously-submitted work units of the same key,
+     * waiting while the key has the maximum number of outstanding work units.
+     *
+     * @param key      key such as a statement handle
+     * @param runnable work unit
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void submit(Object key, Runnable runnable) throws InterruptedException {
+        while (true) {
+            KeyChain chain = chains.computeIfAbsent(key, KeyChain::new);
+            chain.permits.acquire();
+            boolean start;
+            synchronized (chain) {
+                if (chain.retired) {
+                    // the chain completed and was removed meanwhile, use a new chain
+                    chain.permits.release();
+                    continue;
+                }
+                chain.pending.add(runnable);
+                start = !chain.running;
+                chain.running = true;
+            }
+            submittedCount.incrementAndGet();
+            if (start) {
+                try {
+                    executor.execute(chain);
+                } catch (RejectedExecutionException ex) {
+                    log.warn("Virtual-thread executor rejected work unit, executor has been shut down");
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * Returns the number of work units submitted.
+     *
+     * @return count
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Returns the number of work units completed.
+     *
+     * @return count
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the number of keys that have outstanding work units.
+     *
+     * @return count
+     */
+    public int getNumKeysOutstanding() {
+        return chains.size();
+    }
+
+    /**
+     * Discards work units that have not started and stops accepting work units, waiting for running work units to complete.
+     *
+     * @param timeoutMSec time to wait
+     */
+    public void shutdown(long timeoutMSec) {
+        for (KeyChain chain : chains.values()) {
+            synchronized (chain) {
+                chain.pending.clear();
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMSec, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.error("Interruped awaiting termination", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static ExecutorService threadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.warn("Failed to obtain virtual-thread executor: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private class KeyChain implements Runnable {
+        private final Object key;
+        private final Semaphore permits = new Semaphore(maxOutstandingPerKey);
+        private final ArrayDeque<Runnable> pending = new ArrayDeque<>(2);
+        private boolean running;
+        private boolean retired;
+
+        KeyChain(Object key) {
+            this.key = key;
+        }
+
+        public void run() {
+            while (true) {
+                Runnable next;
+                synchronized (this) {
+                    next = pending.poll();
+                    if (next == null) {
+                        running = false;
+                        retired = true;
+                        chains.remove(key, this);
+                        return;
+                    }
+                }
+                try {
+                    next.run();
+                } catch (RuntimeException ex) {
+                    log.error("Unexpected error processing work unit: " + ex.getMessage(), ex);
+                } finally {
+                    permits.release();
+                    completedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+}
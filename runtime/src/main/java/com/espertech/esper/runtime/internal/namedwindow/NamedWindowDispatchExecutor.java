@@ -0,0 +1,111 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.namedwindow;
+
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.runtime.internal.kernel.thread.EngineThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker threads for processing named window consumers in parallel.
+ * <p>
+ * Each worker thread consumes its own queue and a consuming statement is always assigned to the same worker thread,
+ * so that the dispatches to a consuming statement, and the listener deliveries of the consuming statement,
+ * are processed in the order they are submitted.
+ */
+public class NamedWindowDispatchExecutor {
+    private static final Logger log = LoggerFactory.getLogger(NamedWindowDispatchExecutor.class);
+
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI runtime URI
+     * @param numThreads number of worker threads
+     */
+    public NamedWindowDispatchExecutor(String runtimeURI, int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads " + numThreads + ", the number of threads must be at least 1");
+        }
+        if (runtimeURI == null) {
+            runtimeURI = "default";
+        }
+        String name = "NamedWindowDispatch";
+        if (log.isInfoEnabled()) {
+            log.info("Starting pool " + name + " with " + numThreads + " threads");
+        }
+        ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + runtimeURI + "-" + name);
+        EngineThreadFactory threadFactory = new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY);
+        lanes = new ThreadPoolExecutor[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            lanes[i].prestartAllCoreThreads();
+        }
+    }
+
+    public int getNumThreads() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the worker thread index for a consuming statement.
+     *
+     * @param handle consuming statement handle
+     * @return worker thread index
+     */
+    public int getLane(EPStatementAgentInstanceHandle handle) {
+        int hash = handle.hashCode();
+        hash ^= hash >>> 16;
+        return (hash & 0x7fffffff) % lanes.length;
+    }
+
+    /**
+     * Submit a unit to a worker thread.
+     *
+     * @param lane worker thread index
+     * @param unit unit to run
+     */
+    public void submit(int lane, Runnable unit) {
+        lanes[lane].execute(unit);
+    }
+
+    public boolean isShutdown() {
+        return lanes[0].isShutdown();
+    }
+
+    /**
+     * Discards queued units, stops the worker threads and waits for them to terminate.
+     */
+    public void shutdown() {
+        if (log.isInfoEnabled()) {
+            log.info("Shutting down pool NamedWindowDispatch");
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.getQueue().clear();
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                log.error("Interruped awaiting termination", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
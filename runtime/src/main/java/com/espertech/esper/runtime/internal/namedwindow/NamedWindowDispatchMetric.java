@@ -0,0 +1,106 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.namedwindow;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatch statistics of a single named window: the number of dispatches, the number of consuming statements
+ * dispatched to (fan-out) and the time taken until all consuming statements processed the dispatch.
+ */
+public class NamedWindowDispatchMetric {
+    private final String windowName;
+    private final AtomicLong dispatchCount = new AtomicLong();
+    private final AtomicLong fanOutTotal = new AtomicLong();
+    private final AtomicLong fanOutMax = new AtomicLong();
+    private final AtomicLong latencyNanosTotal = new AtomicLong();
+    private final AtomicLong latencyNanosMax = new AtomicLong();
+
+    public NamedWindowDispatchMetric(String windowName) {
+        this.windowName = windowName;
+    }
+
+    /**
+     * Account for a dispatch.
+     *
+     * @param fanOut       number of consuming statements
+     * @param latencyNanos nanoseconds until all consuming statements processed the dispatch
+     */
+    public void account(int fanOut, long latencyNanos) {
+        dispatchCount.incrementAndGet();
+        fanOutTotal.addAndGet(fanOut);
+        latencyNanosTotal.addAndGet(latencyNanos);
+        updateMax(fanOutMax, fanOut);
+        updateMax(latencyNanosMax, latencyNanos);
+    }
+
+    public String getWindowName() {
+        return windowName;
+    }
+
+    public long getDispatchCount() {
+        return dispatchCount.get();
+    }
+
+    public long getFanOutTotal() {
+        return fanOutTotal.get();
+    }
+
+    public long getFanOutMax() {
+        return fanOutMax.get();
+    }
+
+    public long getLatencyNanosTotal() {
+        return latencyNanosTotal.get();
+    }
+
+    public long getLatencyNanosMax() {
+        return latencyNanosMax.get();
+    }
+
+    /**
+     * Returns the average number of consuming statements per dispatch.
+     *
+     * @return average fan-out or zero when there were no dispatches
+     */
+    public double getFanOutAvg() {
+        long count = dispatchCount.get();
+        return count == 0 ? 0 : (double) fanOutTotal.get() / count;
+    }
+
+    /**
+     * Returns the average nanoseconds per dispatch.
+     *
+     * @return average latency or zero when there were no dispatches
+     */
+    public double getLatencyNanosAvg() {
+        long count = dispatchCount.get();
+        return count == 0 ? 0 : (double) latencyNanosTotal.get() / count;
+    }
+
+    /**
+     * Reset statistics.
+     */
+    public void reset() {
+        dispatchCount.set(0);
+        fanOutTotal.set(0);
+        fanOutMax.set(0);
+        latencyNanosTotal.set(0);
+        latencyNanosMax.set(0);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+}
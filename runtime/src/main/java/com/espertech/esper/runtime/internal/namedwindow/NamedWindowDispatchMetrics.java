@@ -0,0 +1,97 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.namedwindow;
+
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxOperation;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxParam;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatch statistics per named window, for named window results dispatched to consuming statements.
+ * Accounts only when metrics reporting is enabled.
+ */
+public class NamedWindowDispatchMetrics {
+    private final ConcurrentHashMap<String, NamedWindowDispatchMetric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Account for a dispatch.
+     *
+     * @param windowName   named window name
+     * @param fanOut       number of consuming statements
+     * @param latencyNanos nanoseconds until all consuming statements processed the dispatch
+     */
+    public void account(String windowName, int fanOut, long latencyNanos) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(windowName, NamedWindowDispatchMetric::new);
+        }
+        metric.account(fanOut, latencyNanos);
+    }
+
+    /**
+     * Returns the statistics of a named window.
+     *
+     * @param windowName named window name
+     * @return statistics or null if there were no dispatches for the named window
+     */
+    public NamedWindowDispatchMetric getMetric(String windowName) {
+        return metrics.get(windowName);
+    }
+
+    public Collection<NamedWindowDispatchMetric> getMetrics() {
+        return metrics.values();
+    }
+
+    @JmxGetter(name = "WindowNames", description = "Names of named windows that dispatched to consuming statements")
+    public String[] getWindowNames() {
+        return metrics.keySet().toArray(new String[0]);
+    }
+
+    @JmxOperation(description = "Number of dispatches of a named window")
+    public long getDispatchCount(@JmxParam(name = "windowName", description = "Named window name") String windowName) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        return metric == null ? 0 : metric.getDispatchCount();
+    }
+
+    @JmxOperation(description = "Average number of consuming statements per dispatch of a named window")
+    public double getFanOutAvg(@JmxParam(name = "windowName", description = "Named window name") String windowName) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        return metric == null ? 0 : metric.getFanOutAvg();
+    }
+
+    @JmxOperation(description = "Maximum number of consuming statements per dispatch of a named window")
+    public long getFanOutMax(@JmxParam(name = "windowName", description = "Named window name") String windowName) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        return metric == null ? 0 : metric.getFanOutMax();
+    }
+
+    @JmxOperation(description = "Average nanoseconds per dispatch of a named window")
+    public double getLatencyNanosAvg(@JmxParam(name = "windowName", description = "Named window name") String windowName) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        return metric == null ? 0 : metric.getLatencyNanosAvg();
+    }
+
+    @JmxOperation(description = "Maximum nanoseconds per dispatch of a named window")
+    public long getLatencyNanosMax(@JmxParam(name = "windowName", description = "Named window name") String windowName) {
+        NamedWindowDispatchMetric metric = metrics.get(windowName);
+        return metric == null ? 0 : metric.getLatencyNanosMax();
+    }
+
+    @JmxOperation(description = "Reset named window dispatch statistics")
+    public void resetStats() {
+        for (NamedWindowDispatchMetric metric : metrics.values()) {
+            metric.reset();
+        }
+    }
+}
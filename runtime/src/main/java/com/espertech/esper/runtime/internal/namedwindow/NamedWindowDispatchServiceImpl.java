@@ -23,14 +23,24 @@ import com.espertech.esper.common.internal.settings.ExceptionHandlingService;
 import com.espertech.esper.common.internal.util.ManagedReadWriteLock;
 import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This service hold for each named window a dedicated processor and a lock to the named window.
  * This lock is shrared between the named window and on-delete statements.
+ * <p>
+ * When configured with dispatch threads, the consuming statements of named window results are processed in parallel
+ * by the dispatch threads, with each consuming statement assigned to the same thread, and the dispatching thread waits
+ * for all consuming statements to complete before it continues.
  */
 public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchService {
+    private static final Logger log = LoggerFactory.getLogger(NamedWindowDispatchServiceImpl.class);
+
     private final SchedulingService schedulingService;
     private final VariableManagementService variableService;
     private final TableManagementService tableManagementService;
@@ -38,6 +48,8 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     private final boolean isPrioritized;
     private final ManagedReadWriteLock eventProcessingRWLock;
     private final MetricReportingService metricReportingService;
+    private final NamedWindowDispatchExecutor dispatchExecutor;
+    private final NamedWindowDispatchMetrics dispatchMetrics = new NamedWindowDispatchMetrics();
 
     private ThreadLocal<DispatchesTL> threadLocal = new ThreadLocal<DispatchesTL>() {
         protected synchronized DispatchesTL initialValue() {
@@ -51,7 +63,8 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                                           boolean isPrioritized,
                                           ManagedReadWriteLock eventProcessingRWLock,
                                           ExceptionHandlingService exceptionHandlingService,
-                                          MetricReportingService metricReportingService) {
+                                          MetricReportingService metricReportingService,
+                                          int numThreads) {
         this.schedulingService = schedulingService;
         this.variableService = variableService;
         this.tableManagementService = tableManagementService;
@@ -59,10 +72,18 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         this.eventProcessingRWLock = eventProcessingRWLock;
         this.exceptionHandlingService = exceptionHandlingService;
         this.metricReportingService = metricReportingService;
+        this.dispatchExecutor = numThreads > 0 ? new NamedWindowDispatchExecutor(exceptionHandlingService.getRuntimeURI(), numThreads) : null;
     }
 
     public void destroy() {
         threadLocal.remove();
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdown();
+        }
+    }
+
+    public NamedWindowDispatchMetrics getDispatchMetrics() {
+        return dispatchMetrics;
     }
 
     public void addDispatch(NamedWindowConsumerLatchFactory latchFactory, NamedWindowDeltaData delta, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumers) {
@@ -70,12 +91,26 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         threadLocal.get().getDispatches().add(latch);
     }
 
+    public boolean isDispatchWaiting() {
+        return !threadLocal.get().getDispatches().isEmpty();
+    }
+
     public boolean dispatch() {
+        return dispatch(null);
+    }
+
+    public boolean dispatch(Runnable workerCompletion) {
         DispatchesTL dispatchesTL = threadLocal.get();
         if (dispatchesTL.getDispatches().isEmpty()) {
             return false;
         }
 
+        // dispatch threads process their own results serially, prioritized execution requires a serial order
+        if (workerCompletion != null && dispatchExecutor != null && !isPrioritized && !dispatchesTL.isWorker()) {
+            dispatchParallel(dispatchesTL, workerCompletion);
+            return true;
+        }
+
         while (!dispatchesTL.getDispatches().isEmpty()) {
 
             // Acquire main processing lock which locks out statement management
@@ -106,6 +141,7 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
 
         if (dispatches.size() == 1) {
             NamedWindowConsumerLatch latch = dispatches.getFirst();
+            long startNanos = System.nanoTime();
             try {
                 latch.await();
                 EventBean[] newData = latch.getDeltaData().getNewData();
@@ -145,6 +181,9 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 }
             } finally {
                 latch.done();
+                if (metricReportingService.isMetricsReportingEnabled()) {
+                    dispatchMetrics.account(latch.getWindowName(), latch.getDispatchTo().size(), System.nanoTime() - startNanos);
+                }
             }
 
             return;
@@ -158,51 +197,57 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         // named windows that produce results at the same time. Therefore sort by statement handle.
         // We need to process in N-element chains to preserve dispatches that are next to each other for the same thread.
         while (!dispatches.isEmpty()) {
+            collectChain(dispatches, work);
+            processDispatches(work, dispatchesPerStmt);
+        }
+    }
 
-            // the first latch always gets awaited
-            NamedWindowConsumerLatch first = dispatches.removeFirst();
-            first.await();
-            work.add(first);
-
-            // determine which further latches are in this chain and add these, skipping await for any latches in the chain
-            Iterator<NamedWindowConsumerLatch> it = dispatches.iterator();
-            while (it.hasNext()) {
-                NamedWindowConsumerLatch next = it.next();
-                NamedWindowConsumerLatch earlier = next.getEarlier();
-                if (earlier == null || work.contains(earlier)) {
-                    work.add(next);
-                    it.remove();
+    private void collectChain(ArrayDeque<NamedWindowConsumerLatch> dispatches, ArrayDeque<NamedWindowConsumerLatch> work) {
+        // the first latch always gets awaited
+        NamedWindowConsumerLatch first = dispatches.removeFirst();
+        first.await();
+        work.add(first);
+
+        // determine which further latches are in this chain and add these, skipping await for any latches in the chain
+        Iterator<NamedWindowConsumerLatch> it = dispatches.iterator();
+        while (it.hasNext()) {
+            NamedWindowConsumerLatch next = it.next();
+            NamedWindowConsumerLatch earlier = next.getEarlier();
+            if (earlier == null || work.contains(earlier)) {
+                work.add(next);
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void addDispatchesPerStmt(ArrayDeque<NamedWindowConsumerLatch> dispatches, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt) {
+        for (NamedWindowConsumerLatch latch : dispatches) {
+            for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                EPStatementAgentInstanceHandle handle = entry.getKey();
+                Object perStmtObj = dispatchesPerStmt.get(handle);
+                if (perStmtObj == null) {
+                    dispatchesPerStmt.put(handle, latch);
+                } else if (perStmtObj instanceof List) {
+                    List<NamedWindowConsumerLatch> list = (List<NamedWindowConsumerLatch>) perStmtObj;
+                    list.add(latch);
                 } else {
-                    break;
+                    // convert from object to list
+                    NamedWindowConsumerLatch unitObj = (NamedWindowConsumerLatch) perStmtObj;
+                    List<NamedWindowConsumerLatch> list = new ArrayList<NamedWindowConsumerLatch>();
+                    list.add(unitObj);
+                    list.add(latch);
+                    dispatchesPerStmt.put(handle, list);
                 }
             }
-
-            processDispatches(work, dispatchesPerStmt);
         }
     }
 
     private void processDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt) {
-
+        long startNanos = System.nanoTime();
         try {
-            for (NamedWindowConsumerLatch latch : dispatches) {
-                for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
-                    EPStatementAgentInstanceHandle handle = entry.getKey();
-                    Object perStmtObj = dispatchesPerStmt.get(handle);
-                    if (perStmtObj == null) {
-                        dispatchesPerStmt.put(handle, latch);
-                    } else if (perStmtObj instanceof List) {
-                        List<NamedWindowConsumerLatch> list = (List<NamedWindowConsumerLatch>) perStmtObj;
-                        list.add(latch);
-                    } else {
-                        // convert from object to list
-                        NamedWindowConsumerLatch unitObj = (NamedWindowConsumerLatch) perStmtObj;
-                        List<NamedWindowConsumerLatch> list = new ArrayList<NamedWindowConsumerLatch>();
-                        list.add(unitObj);
-                        list.add(latch);
-                        dispatchesPerStmt.put(handle, list);
-                    }
-                }
-            }
+            addDispatchesPerStmt(dispatches, dispatchesPerStmt);
 
             // Dispatch - with or without metrics reporting
             if (metricReportingService.isMetricsReportingEnabled()) {
@@ -293,14 +338,154 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                 }
             }
         } finally {
+            completeDispatches(dispatches, startNanos);
+            dispatchesPerStmt.clear();
+            dispatches.clear();
+        }
+    }
+
+    private void completeDispatches(ArrayDeque<NamedWindowConsumerLatch> dispatches, long startNanos) {
+        for (NamedWindowConsumerLatch latch : dispatches) {
+            latch.done();
+        }
+        if (metricReportingService.isMetricsReportingEnabled()) {
+            long latencyNanos = System.nanoTime() - startNanos;
             for (NamedWindowConsumerLatch latch : dispatches) {
-                latch.done();
+                dispatchMetrics.account(latch.getWindowName(), latch.getDispatchTo().size(), latencyNanos);
+            }
+        }
+    }
+
+    private void dispatchParallel(DispatchesTL dispatchesTL, Runnable workerCompletion) {
+        ArrayDeque<NamedWindowConsumerLatch> current = dispatchesTL.getCurrent();
+        ArrayDeque<NamedWindowConsumerLatch> work = dispatchesTL.getWork();
+        Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt = dispatchesTL.getDispatchesPerStmt();
+        boolean[] lanesUsed = new boolean[dispatchExecutor.getNumThreads()];
+
+        // The dispatching thread does not hold the runtime lock while it waits for the dispatch threads,
+        // each dispatch thread acquires the runtime lock while it processes consuming statements.
+        try {
+            while (!dispatchesTL.getDispatches().isEmpty()) {
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qNamedWindowDispatch(exceptionHandlingService.getRuntimeURI());
+                }
+                try {
+                    current.addAll(dispatchesTL.getDispatches());
+                    dispatchesTL.getDispatches().clear();
+                    while (!current.isEmpty()) {
+                        collectChain(current, work);
+                        processDispatchesParallel(work, dispatchesPerStmt, lanesUsed);
+                    }
+                } catch (RuntimeException ex) {
+                    throw new EPException(ex);
+                } finally {
+                    current.clear();
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aNamedWindowDispatch();
+                    }
+                }
+            }
+        } finally {
+            // All dispatched latches are done at this point, so that events that the dispatch threads route
+            // into the same named windows do not wait for this dispatching thread.
+            completeWorkers(lanesUsed, workerCompletion);
+        }
+    }
+
+    private void processDispatchesParallel(ArrayDeque<NamedWindowConsumerLatch> dispatches, Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt, boolean[] lanesUsed) {
+        long startNanos = System.nanoTime();
+        try {
+            addDispatchesPerStmt(dispatches, dispatchesPerStmt);
+
+            // assign each consuming statement to its dispatch thread, retaining the order of dispatches per consuming statement
+            int numThreads = dispatchExecutor.getNumThreads();
+            DispatchUnit[] units = new DispatchUnit[numThreads];
+            int numUnits = 0;
+            for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
+                int lane = dispatchExecutor.getLane(entry.getKey());
+                if (units[lane] == null) {
+                    units[lane] = new DispatchUnit();
+                    numUnits++;
+                }
+                units[lane].add(entry.getKey(), entry.getValue());
             }
+
+            CountDownLatch processed = new CountDownLatch(numUnits);
+            for (int i = 0; i < numThreads; i++) {
+                if (units[i] != null) {
+                    units[i].setProcessed(processed);
+                    lanesUsed[i] = true;
+                    dispatchExecutor.submit(i, units[i]);
+                }
+            }
+            awaitLatch(processed);
+        } finally {
+            completeDispatches(dispatches, startNanos);
             dispatchesPerStmt.clear();
             dispatches.clear();
         }
     }
 
+    private void completeWorkers(boolean[] lanesUsed, Runnable workerCompletion) {
+        int numLanes = 0;
+        for (boolean used : lanesUsed) {
+            if (used) {
+                numLanes++;
+            }
+        }
+        if (numLanes == 0) {
+            return;
+        }
+        CountDownLatch completed = new CountDownLatch(numLanes);
+        for (int i = 0; i < lanesUsed.length; i++) {
+            if (lanesUsed[i]) {
+                dispatchExecutor.submit(i, new WorkerCompletionUnit(workerCompletion, completed));
+            }
+        }
+        awaitLatch(completed);
+    }
+
+    private void awaitLatch(CountDownLatch latch) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (latch.await(100, TimeUnit.MILLISECONDS) || dispatchExecutor.isShutdown()) {
+                        return;
+                    }
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void processPerStmt(EPStatementAgentInstanceHandle handle, Object perStmtObj) {
+        boolean metrics = metricReportingService.isMetricsReportingEnabled() && handle.getStatementHandle().getMetricsHandle().isEnabled();
+        long cpuTimeBefore = metrics ? MetricUtil.getCPUCurrentThread() : 0;
+        long wallTimeBefore = metrics ? MetricUtil.getWall() : 0;
+
+        if (perStmtObj instanceof NamedWindowConsumerLatch) {
+            NamedWindowConsumerLatch unit = (NamedWindowConsumerLatch) perStmtObj;
+            List<NamedWindowConsumerView> items = unit.getDispatchTo().get(handle);
+            if (items != null) {
+                processHandle(handle, items, unit.getDeltaData().getNewData(), unit.getDeltaData().getOldData());
+            }
+        } else {
+            processHandleMultiple(handle, getDeltaPerConsumer(perStmtObj, handle));
+        }
+
+        if (metrics) {
+            long deltaCPU = MetricUtil.getCPUCurrentThread() - cpuTimeBefore;
+            long deltaWall = MetricUtil.getWall() - wallTimeBefore;
+            metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+        }
+    }
+
     private void processHandleMultiple(EPStatementAgentInstanceHandle handle, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qNamedWindowCPMulti(exceptionHandlingService.getRuntimeURI(), deltaPerConsumer, handle, schedulingService.getTime());
@@ -379,11 +564,82 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         return deltaPerConsumer;
     }
 
+    /**
+     * The consuming statements assigned to one dispatch thread. Processes the consuming statements under the runtime lock
+     * and then signals that processing completed.
+     */
+    private class DispatchUnit implements Runnable {
+        private final List<EPStatementAgentInstanceHandle> handles = new ArrayList<>(4);
+        private final List<Object> perStmtObjs = new ArrayList<>(4);
+        private CountDownLatch processed;
+
+        void add(EPStatementAgentInstanceHandle handle, Object perStmtObj) {
+            handles.add(handle);
+            perStmtObjs.add(perStmtObj);
+        }
+
+        void setProcessed(CountDownLatch processed) {
+            this.processed = processed;
+        }
+
+        public void run() {
+            threadLocal.get().setWorker(true);
+            try {
+                eventProcessingRWLock.acquireReadLock();
+                try {
+                    for (int i = 0; i < handles.size(); i++) {
+                        processPerStmt(handles.get(i), perStmtObjs.get(i));
+                    }
+                } finally {
+                    eventProcessingRWLock.releaseReadLock();
+                }
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error processing named window dispatch: " + ex.getMessage(), ex);
+            } finally {
+                processed.countDown();
+            }
+        }
+    }
+
+    /**
+     * Runs on a dispatch thread after the dispatching thread marked the dispatches done. Delivers the results
+     * of the consuming statements to listeners and works off routed events, and then signals completion,
+     * so that the dispatching thread continues only once listeners received all results.
+     */
+    private static class WorkerCompletionUnit implements Runnable {
+        private final Runnable workerCompletion;
+        private final CountDownLatch completed;
+
+        WorkerCompletionUnit(Runnable workerCompletion, CountDownLatch completed) {
+            this.workerCompletion = workerCompletion;
+            this.completed = completed;
+        }
+
+        public void run() {
+            try {
+                workerCompletion.run();
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error processing named window dispatch results: " + ex.getMessage(), ex);
+            } finally {
+                completed.countDown();
+            }
+        }
+    }
+
     private static class DispatchesTL {
         private final ArrayDeque<NamedWindowConsumerLatch> dispatches = new ArrayDeque<>();
         private final ArrayDeque<NamedWindowConsumerLatch> current = new ArrayDeque<>();
         private final ArrayDeque<NamedWindowConsumerLatch> work = new ArrayDeque<>();
         private final Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt = new HashMap<>();
+        private boolean worker;
+
+        public boolean isWorker() {
+            return worker;
+        }
+
+        public void setWorker(boolean worker) {
+            this.worker = worker;
+        }
 
         public ArrayDeque<NamedWindowConsumerLatch> getDispatches() {
             return dispatches;
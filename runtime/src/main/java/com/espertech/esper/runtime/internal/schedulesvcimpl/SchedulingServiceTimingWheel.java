@@ -0,0 +1,448 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.client.util.DateTime;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleServiceException;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implements the schedule service as a hierarchical timing wheel.
+ * <p>
+ * Each level of the wheel has 64 buckets and resolves 6 bits of the trigger time. A schedule is placed in
+ * the level of the most significant bit in which its trigger time differs from the wheel position, so that
+ * adding and removing a schedule are constant-time operations. Advancing the wheel only visits non-empty buckets,
+ * as tracked by a per-level occupancy bitmap, and therefore large time jumps do not require stepping through
+ * each tick. Schedules that become due are returned ordered by time and then by slot, same as {@link SchedulingServiceImpl}.
+ * <p>
+ * Synchronized since statement creation and event evaluation by multiple (event send) threads
+ * can lead to callbacks added/removed asynchronously. All operations under the monitor are constant-time
+ * other than the evaluation of due schedules.
+ */
+public final class SchedulingServiceTimingWheel implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int BUCKETS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int BUCKET_MASK = BUCKETS_PER_LEVEL - 1;
+    private static final int NUM_LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    private static final int LEVEL_DUE = -1;
+
+    private static final Comparator<Entry> TIME_SLOT_COMPARATOR = new Comparator<Entry>() {
+        public int compare(Entry o1, Entry o2) {
+            int compared = Long.compare(o1.time, o2.time);
+            if (compared != 0) {
+                return compared;
+            }
+            return Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    private final int stageId;
+    private final DateTimeFormatter defaultDateTimeFormatter;
+
+    // Buckets per level, each bucket being a doubly-linked list of entries
+    private final Entry[][] buckets;
+
+    // Bitmap per level of non-empty buckets
+    private final long[] occupied;
+
+    // Entries on or before the wheel position, not yet returned by evaluation
+    private Entry due;
+
+    // Map of handle and entry for faster removal
+    private final Map<ScheduleHandle, Entry> handleEntryMap;
+
+    // Reused for ordering due entries
+    private final ArrayList<Entry> fired;
+
+    // Wheel position as a key, i.e. the time last evaluated with the sign bit flipped for unsigned comparison
+    private long position;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    /**
+     * Constructor.
+     *
+     * @param stageId                  stage id or -1 when not applicable
+     * @param timeSourceService        time source provider
+     * @param defaultFormatterTimeZone time zone for the default formatter
+     */
+    public SchedulingServiceTimingWheel(int stageId, TimeSourceService timeSourceService, ZoneId defaultFormatterTimeZone) {
+        this.stageId = stageId;
+        this.defaultDateTimeFormatter = DateTimeFormatter.ofPattern(DateTime.DEFAULT_XMLLIKE_DATE_FORMAT).withZone(defaultFormatterTimeZone);
+        this.buckets = new Entry[NUM_LEVELS][BUCKETS_PER_LEVEL];
+        this.occupied = new long[NUM_LEVELS];
+        this.handleEntryMap = new HashMap<ScheduleHandle, Entry>();
+        this.fired = new ArrayList<Entry>();
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.position = toKey(currentTime);
+    }
+
+    public synchronized void destroy() {
+        log.debug("Destroying scheduling service");
+        handleEntryMap.clear();
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            Arrays.fill(buckets[level], null);
+            occupied[level] = 0;
+        }
+        due = null;
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    public synchronized final void add(long afterTime, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+
+        Entry entry = new Entry(currentTime + afterTime, slot, handle);
+        Entry existing = handleEntryMap.put(handle, entry);
+        if (existing != null) {
+            unlink(existing);
+        }
+        place(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public synchronized final void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+
+        Entry entry = handleEntryMap.remove(handle);
+        if (entry == null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            return;
+        }
+        unlink(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+
+        long target = toKey(currentTime);
+        if (Long.compareUnsigned(target, position) < 0) {
+            rebase(target);
+        } else {
+            advance(target);
+        }
+
+        if (due == null) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aScheduleEval(handles);
+            }
+            return;
+        }
+
+        for (Entry entry = due; entry != null; entry = entry.next) {
+            fired.add(entry);
+            handleEntryMap.remove(entry.handle);
+        }
+        due = null;
+
+        if (fired.size() > 1) {
+            Collections.sort(fired, TIME_SLOT_COMPARATOR);
+        }
+        for (Entry entry : fired) {
+            entry.prev = null;
+            entry.next = null;
+            handles.add(entry.handle);
+        }
+        fired.clear();
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public void transfer(Set<Integer> statementIds, SchedulingServiceSPI schedulingService) {
+        long currentTime = getTime();
+        long targetTime = schedulingService.getTime();
+        for (Entry entry : collectEntries()) {
+            if (statementIds.contains(entry.handle.getStatementId())) {
+                long relative = ScheduleTransferHelper.computeTransferTime(currentTime, targetTime, entry.time);
+                remove(entry.handle, entry.slot);
+                schedulingService.add(relative, entry.handle, entry.slot);
+            }
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public synchronized int getTimeHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public synchronized Long getFurthestTimeHandle() {
+        // entries in higher levels are always later than entries in lower levels and later than due entries
+        for (int level = NUM_LEVELS - 1; level >= 0; level--) {
+            if (occupied[level] != 0) {
+                int bucket = BUCKET_MASK - Long.numberOfLeadingZeros(occupied[level]);
+                return maxTime(buckets[level][bucket]);
+            }
+        }
+        return due == null ? null : maxTime(due);
+    }
+
+    public synchronized int getScheduleHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    public synchronized boolean isScheduled(ScheduleHandle handle) {
+        return handleEntryMap.containsKey(handle);
+    }
+
+    public synchronized Long getNearestTimeHandle() {
+        if (due != null) {
+            return minTime(due);
+        }
+        // entries in lower levels are always earlier than entries in higher levels
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            if (occupied[level] != 0) {
+                int bucket = Long.numberOfTrailingZeros(occupied[level]);
+                return minTime(buckets[level][bucket]);
+            }
+        }
+        return null;
+    }
+
+    public void visitSchedules(ScheduleVisitor visitor) {
+        List<Entry> entries = collectEntries();
+        Collections.sort(entries, TIME_SLOT_COMPARATOR);
+        ScheduleVisit visit = new ScheduleVisit();
+        for (Entry entry : entries) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    public DateTimeFormatter getDefaultFormatter() {
+        return defaultDateTimeFormatter;
+    }
+
+    /**
+     * Moves the wheel position forward, cascading entries of the buckets that were passed to lower levels
+     * or into the due list.
+     *
+     * @param target new position, on or after the current position
+     */
+    private void advance(long target) {
+        long changed = position ^ target;
+        if (changed == 0) {
+            return;
+        }
+        int top = (Long.SIZE - 1 - Long.numberOfLeadingZeros(changed)) / BITS_PER_LEVEL;
+        int shift = top * BITS_PER_LEVEL;
+        int digitFrom = (int) (position >>> shift) & BUCKET_MASK;
+        int digitTo = (int) (target >>> shift) & BUCKET_MASK;
+        position = target;
+
+        // all entries in levels below the top changed level are before the new position
+        for (int level = 0; level < top; level++) {
+            long bits = occupied[level];
+            while (bits != 0) {
+                int bucket = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                replaceBucket(level, bucket);
+            }
+        }
+
+        // in the top changed level, buckets past the old position and up to the new position cascade down
+        long bits = occupied[top] & (-1L << (digitFrom + 1)) & (-1L >>> (BUCKET_MASK - digitTo));
+        while (bits != 0) {
+            int bucket = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            replaceBucket(top, bucket);
+        }
+    }
+
+    /**
+     * Moves the wheel position backward, which is rare and requires placing each entry again.
+     *
+     * @param target new position, before the current position
+     */
+    private void rebase(long target) {
+        List<Entry> entries = collectEntries();
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            Arrays.fill(buckets[level], null);
+            occupied[level] = 0;
+        }
+        due = null;
+        position = target;
+        for (Entry entry : entries) {
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+        }
+    }
+
+    private void replaceBucket(int level, int bucket) {
+        Entry entry = buckets[level][bucket];
+        buckets[level][bucket] = null;
+        occupied[level] &= ~(1L << bucket);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry entry) {
+        long key = toKey(entry.time);
+        if (Long.compareUnsigned(key, position) <= 0) {
+            entry.level = LEVEL_DUE;
+            entry.next = due;
+            if (due != null) {
+                due.prev = entry;
+            }
+            due = entry;
+            return;
+        }
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(key ^ position)) / BITS_PER_LEVEL;
+        int bucket = (int) (key >>> (level * BITS_PER_LEVEL)) & BUCKET_MASK;
+        Entry head = buckets[level][bucket];
+        entry.level = level;
+        entry.bucket = bucket;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[level][bucket] = entry;
+        occupied[level] |= 1L << bucket;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == LEVEL_DUE) {
+            due = entry.next;
+        } else {
+            buckets[entry.level][entry.bucket] = entry.next;
+            if (entry.next == null) {
+                occupied[entry.level] &= ~(1L << entry.bucket);
+            }
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private synchronized List<Entry> collectEntries() {
+        List<Entry> entries = new ArrayList<Entry>(handleEntryMap.size());
+        for (Entry entry = due; entry != null; entry = entry.next) {
+            entries.add(entry);
+        }
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            long bits = occupied[level];
+            while (bits != 0) {
+                int bucket = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (Entry entry = buckets[level][bucket]; entry != null; entry = entry.next) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static long minTime(Entry entry) {
+        long min = entry.time;
+        for (Entry current = entry.next; current != null; current = current.next) {
+            min = Math.min(min, current.time);
+        }
+        return min;
+    }
+
+    private static long maxTime(Entry entry) {
+        long max = entry.time;
+        for (Entry current = entry.next; current != null; current = current.next) {
+            max = Math.max(max, current.time);
+        }
+        return max;
+    }
+
+    private static long toKey(long time) {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static final class Entry {
+        private final long time;
+        private final long slot;
+        private final ScheduleHandle handle;
+        private int level;
+        private int bucket;
+        private Entry prev;
+        private Entry next;
+
+        Entry(long time, long slot, ScheduleHandle handle) {
+            this.time = time;
+            this.slot = slot;
+            this.handle = handle;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheel.class);
+}
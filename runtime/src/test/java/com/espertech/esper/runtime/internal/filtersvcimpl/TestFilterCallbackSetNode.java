@@ -12,6 +12,7 @@ package com.espertech.esper.runtime.internal.filtersvcimpl;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedSharedFilter;
 import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.support.SupportBean;
@@ -97,6 +98,43 @@ public class TestFilterCallbackSetNode extends TestCase {
         assertEquals(expr, matches.get(0));
     }
 
+    public void testNodeMatchingKeyedSharedFilter() {
+        EventBean eventOne = SupportEventBeanFactory.createObject(new SupportBeanSimple("K1", 1));
+        EventBean eventTwo = SupportEventBeanFactory.createObject(new SupportBeanSimple("K2", 2));
+        EventBean eventNull = SupportEventBeanFactory.createObject(new SupportBeanSimple(null, 3));
+
+        ExprFilterSpecLookupable lookupable = makeLookupable("myString", eventOne.getEventType());
+        ContextControllerKeyedSharedFilter shared = new ContextControllerKeyedSharedFilter(1, new ExprFilterSpecLookupable[]{lookupable}, eventOne.getEventType(), null, null);
+        testNode.add(shared);
+
+        FilterHandle handleOne = new SupportFilterHandle();
+        FilterHandle handleNull = new SupportFilterHandle();
+        assertTrue(shared.addHandle("K1", handleOne));
+        assertTrue(shared.addHandle(null, handleNull));
+        assertFalse(shared.addHandle("K1", new SupportFilterHandle()));
+
+        List<FilterHandle> matches = new LinkedList<FilterHandle>();
+        testNode.matchEvent(eventOne, matches);
+        assertEquals(1, matches.size());
+        assertTrue(matches.get(0) == handleOne);
+        matches.clear();
+
+        testNode.matchEvent(eventTwo, matches);
+        assertTrue(matches.isEmpty());
+
+        testNode.matchEvent(eventNull, matches);
+        assertEquals(1, matches.size());
+        assertTrue(matches.get(0) == handleNull);
+        matches.clear();
+
+        shared.removeHandle("K1", handleOne);
+        testNode.matchEvent(eventOne, matches);
+        assertTrue(matches.isEmpty());
+        assertFalse(shared.isEmpty());
+        shared.removeHandle(null, handleNull);
+        assertTrue(shared.isEmpty());
+    }
+
     private ExprFilterSpecLookupable makeLookupable(String fieldName, EventType eventType) {
         return new ExprFilterSpecLookupable(fieldName, eventType.getGetter(fieldName), eventType.getPropertyType(fieldName), false, null);
     }
@@ -86,6 +86,83 @@ public class TestFilterParamIndexEquals extends TestCase {
         verifyFloatPrimitive(index, 0, 0);
     }
 
+    public void testIntKeyed() {
+        FilterParamIndexEqualsLong index = new FilterParamIndexEqualsLong(makeLookupable("intBoxed"), new ReentrantReadWriteLock(), true);
+
+        index.put(1, testEvaluator);
+        index.put(20, testEvaluator);
+        index.put(20L, testEvaluator);
+
+        verifyIntBoxed(index, 10, 0);
+        verifyIntBoxed(index, 1, 1);
+        verifyIntBoxed(index, 20, 1);
+        verifyIntBoxed(index, null, 0);
+        assertEquals(3, index.sizeExpensive());
+
+        assertEquals(testEvaluator, index.get(1));
+        assertEquals(testEvaluator, index.get(20L));
+        assertNull(index.get(1L));
+        index.remove(1);
+        index.remove(1);
+        index.remove(20L);
+        assertEquals(null, index.get(1));
+        verifyIntBoxed(index, 1, 0);
+        verifyIntBoxed(index, 20, 1);
+        index.remove(20);
+        assertTrue(index.isEmpty());
+    }
+
+    public void testLongKeyed() {
+        FilterParamIndexEqualsLong index = new FilterParamIndexEqualsLong(makeLookupable("longPrimitive"), new ReentrantReadWriteLock(), false);
+
+        for (long i = 0; i < 1000; i++) {
+            index.put(i * 7, testEvaluator);
+        }
+        verifyLongPrimitive(index, 0, 1);
+        verifyLongPrimitive(index, 6993, 1);
+        verifyLongPrimitive(index, 6994, 0);
+        verifyLongPrimitive(index, -7, 0);
+
+        for (long i = 0; i < 1000; i += 2) {
+            index.remove(i * 7);
+        }
+        assertEquals(500, index.sizeExpensive());
+        verifyLongPrimitive(index, 0, 0);
+        verifyLongPrimitive(index, 7, 1);
+        verifyLongPrimitive(index, 6993, 1);
+    }
+
+    public void testStringKeyed() {
+        FilterParamIndexEqualsString index = new FilterParamIndexEqualsString(makeLookupable("theString"), new ReentrantReadWriteLock());
+
+        index.put("hello", testEvaluator);
+        index.put("test", testEvaluator);
+        index.put(null, testEvaluator);
+
+        verifyString(index, null, 0);
+        verifyString(index, "dudu", 0);
+        verifyString(index, "hello", 1);
+        verifyString(index, "test", 1);
+        assertEquals(3, index.sizeExpensive());
+
+        index.remove("hello");
+        index.remove(null);
+        verifyString(index, "hello", 0);
+        assertEquals(1, index.sizeExpensive());
+    }
+
+    private void verifyIntBoxed(FilterParamIndexBase index, Integer testValue, int numExpected) {
+        testBean.setIntBoxed(testValue);
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyLongPrimitive(FilterParamIndexBase index, long testValue, int numExpected) {
+        testBean.setLongPrimitive(testValue);
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
     private void verifyShortBoxed(FilterParamIndexBase index, Short testValue, int numExpected) {
         testBean.setShortBoxed(testValue);
         index.matchEvent(testEventBean, matchesList);
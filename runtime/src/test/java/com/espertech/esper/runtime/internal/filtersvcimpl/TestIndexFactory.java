@@ -42,6 +42,16 @@ public class TestIndexFactory extends TestCase {
         assertTrue(getPropName(index).equals("string"));
         assertTrue(index.getFilterOperator() == FilterOperator.EQUAL);
 
+        // Create typed "equals" indexes
+        index = IndexFactory.createIndex(makeLookupable("theString"), lockFactory, FilterOperator.EQUAL);
+        assertTrue(index instanceof FilterParamIndexEqualsString);
+        index = IndexFactory.createIndex(makeLookupable("intPrimitive"), lockFactory, FilterOperator.EQUAL);
+        assertTrue(index instanceof FilterParamIndexEqualsLong);
+        index = IndexFactory.createIndex(makeLookupable("longBoxed"), lockFactory, FilterOperator.EQUAL);
+        assertTrue(index instanceof FilterParamIndexEqualsLong);
+        index = IndexFactory.createIndex(makeLookupable("doubleBoxed"), lockFactory, FilterOperator.EQUAL);
+        assertTrue(index instanceof FilterParamIndexEquals);
+
         // Create an "not equals" index
         index = IndexFactory.createIndex(makeLookupable("string"), lockFactory, FilterOperator.NOT_EQUAL);
 
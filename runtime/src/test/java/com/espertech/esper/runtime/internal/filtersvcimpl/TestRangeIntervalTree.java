@@ -0,0 +1,171 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.filterspec.DoubleRange;
+import com.espertech.esper.common.internal.filterspec.StringRange;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import junit.framework.TestCase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class TestRangeIntervalTree extends TestCase {
+
+    public void testDoubleCompareBruteForce() {
+        Random random = new Random(4321);
+        DoubleRangeIntervalTree tree = new DoubleRangeIntervalTree();
+        Map<DoubleRange, EventEvaluator> expected = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            double min = random.nextInt(100);
+            double max = random.nextInt(4) == 0 ? min + random.nextInt(100) : min + random.nextInt(5);
+            DoubleRange range = new DoubleRange(min, max);
+            if (random.nextInt(3) == 0) {
+                tree.remove(range);
+                expected.remove(range);
+            } else {
+                EventEvaluator evaluator = new HandleAddingEvaluator();
+                tree.put(range, evaluator);
+                expected.put(range, evaluator);
+            }
+            assertEquals(expected.size(), tree.size());
+            assertEquals(expected.get(range), tree.get(range));
+
+            double value = random.nextInt(220) / 2d - 5;
+            for (int flags = 0; flags < 4; flags++) {
+                boolean includeMin = (flags & 1) != 0;
+                boolean includeMax = (flags & 2) != 0;
+
+                Set<FilterHandle> containing = new HashSet<>();
+                Set<FilterHandle> notContaining = new HashSet<>();
+                for (Map.Entry<DoubleRange, EventEvaluator> entry : expected.entrySet()) {
+                    double rangeMin = entry.getKey().getMin();
+                    double rangeMax = entry.getKey().getMax();
+                    boolean contains = (includeMin ? rangeMin <= value : rangeMin < value) && (includeMax ? value <= rangeMax : value < rangeMax);
+                    entry.getValue().matchEvent(null, contains ? containing : notContaining);
+                }
+
+                List<FilterHandle> matches = new ArrayList<>();
+                tree.matchContaining(value, includeMin, includeMax, null, matches);
+                assertEquals(containing, new HashSet<>(matches));
+                assertEquals(containing.size(), matches.size());
+
+                matches.clear();
+                tree.matchNotContaining(value, includeMin, includeMax, null, matches);
+                assertEquals(notContaining, new HashSet<>(matches));
+                assertEquals(notContaining.size(), matches.size());
+            }
+        }
+
+        List<DoubleRange> ordered = new ArrayList<>();
+        tree.forEach((range, evaluator) -> ordered.add(range));
+        assertEquals(expected.size(), ordered.size());
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(DoubleRangeComparator.INSTANCE.compare(ordered.get(i - 1), ordered.get(i)) < 0);
+        }
+    }
+
+    public void testStringCompareBruteForce() {
+        Random random = new Random(8765);
+        StringRangeIntervalTree tree = new StringRangeIntervalTree();
+        Map<StringRange, EventEvaluator> expected = new HashMap<>();
+
+        for (int step = 0; step < 3000; step++) {
+            String min = randomString(random);
+            String max = randomString(random);
+            if (min.compareTo(max) > 0) {
+                String temp = min;
+                min = max;
+                max = temp;
+            }
+            StringRange range = new StringRange(min, max);
+            if (random.nextInt(3) == 0) {
+                tree.remove(range);
+                expected.remove(range);
+            } else {
+                EventEvaluator evaluator = new HandleAddingEvaluator();
+                tree.put(range, evaluator);
+                expected.put(range, evaluator);
+            }
+            assertEquals(expected.size(), tree.size());
+            assertEquals(expected.get(range), tree.get(range));
+
+            String value = randomString(random);
+            for (int flags = 0; flags < 4; flags++) {
+                boolean includeMin = (flags & 1) != 0;
+                boolean includeMax = (flags & 2) != 0;
+
+                Set<FilterHandle> containing = new HashSet<>();
+                Set<FilterHandle> notContaining = new HashSet<>();
+                for (Map.Entry<StringRange, EventEvaluator> entry : expected.entrySet()) {
+                    int minCompared = entry.getKey().getMin().compareTo(value);
+                    int maxCompared = entry.getKey().getMax().compareTo(value);
+                    boolean contains = (includeMin ? minCompared <= 0 : minCompared < 0) && (includeMax ? maxCompared >= 0 : maxCompared > 0);
+                    entry.getValue().matchEvent(null, contains ? containing : notContaining);
+                }
+
+                List<FilterHandle> matches = new ArrayList<>();
+                tree.matchContaining(value, includeMin, includeMax, null, matches);
+                assertEquals(containing, new HashSet<>(matches));
+                assertEquals(containing.size(), matches.size());
+
+                matches.clear();
+                tree.matchNotContaining(value, includeMin, includeMax, null, matches);
+                assertEquals(notContaining, new HashSet<>(matches));
+                assertEquals(notContaining.size(), matches.size());
+            }
+        }
+    }
+
+    public void testDoubleNaN() {
+        DoubleRangeIntervalTree tree = new DoubleRangeIntervalTree();
+        SupportEventEvaluator evaluator = new SupportEventEvaluator();
+        tree.put(new DoubleRange(1d, 5d), evaluator);
+        tree.put(new DoubleRange(Double.NaN, 5d), new SupportEventEvaluator());
+
+        List<FilterHandle> matches = new ArrayList<>();
+        tree.matchContaining(3, true, true, null, matches);
+        assertEquals(1, evaluator.getAndResetCountInvoked());
+        tree.matchContaining(Double.NaN, true, true, null, matches);
+        tree.matchNotContaining(3, true, true, null, matches);
+        assertEquals(0, evaluator.getAndResetCountInvoked());
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(3);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(5)));
+        }
+        return builder.toString();
+    }
+
+    private static class HandleAddingEvaluator implements EventEvaluator {
+        private final SupportFilterHandle handle = new SupportFilterHandle();
+
+        public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+            matches.add(handle);
+        }
+
+        public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
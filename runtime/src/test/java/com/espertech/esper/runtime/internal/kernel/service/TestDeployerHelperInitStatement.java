@@ -0,0 +1,78 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
+import com.espertech.esper.common.client.util.StatementType;
+import com.espertech.esper.common.internal.context.module.StatementInformationalsRuntime;
+import com.espertech.esper.common.internal.type.AnnotationNoLock;
+import com.espertech.esper.common.internal.type.AnnotationSingleWriter;
+import junit.framework.TestCase;
+
+import java.lang.annotation.Annotation;
+
+public class TestDeployerHelperInitStatement extends TestCase {
+
+    public void testValidateSingleWriter() {
+        ConfigurationRuntimeThreading threading = new ConfigurationRuntimeThreading();
+        threading.setInternalTimerEnabled(false);
+
+        StatementInformationalsRuntime informationals = makeInformationals(StatementType.SELECT, new AnnotationSingleWriter());
+        assertNull(validate(informationals, threading, false));
+
+        informationals.setNumScheduleCallbacks(1);
+        assertEquals("the statement schedules", validate(informationals, threading, false));
+        threading.setInternalTimerEnabled(true);
+        assertEquals("the statement schedules", validate(informationals, threading, false));
+        informationals.setNumScheduleCallbacks(0);
+        assertNull(validate(informationals, threading, false));
+
+        String messageMultiple = "inbound threading is enabled with multiple threads and the statement is not in a keyed context that partitions by the inbound affinity keys with affinity lock elision enabled";
+        threading.setThreadPoolInbound(true);
+        threading.setThreadPoolInboundNumThreads(1);
+        assertNull(validate(informationals, threading, false));
+        threading.setThreadPoolInboundNumThreads(2);
+        assertEquals(messageMultiple, validate(informationals, threading, false));
+        threading.addThreadPoolInboundAffinityKey("MyEvent", "key");
+        assertEquals(messageMultiple, validate(informationals, threading, false));
+        assertNull(validate(informationals, threading, true));
+
+        threading.setThreadPoolRouteExec(true);
+        assertEquals("route execution threading is enabled", validate(informationals, threading, true));
+        threading.setThreadPoolRouteExec(false);
+        threading.setThreadPoolTimerExec(true);
+        assertEquals("timer execution threading is enabled", validate(informationals, threading, true));
+        threading.setThreadPoolTimerExec(false);
+
+        informationals.setHasTableAccess(true);
+        assertEquals("the statement accesses a table that other statements share", validate(informationals, threading, true));
+
+        for (StatementType type : new StatementType[]{StatementType.CREATE_WINDOW, StatementType.CREATE_TABLE, StatementType.ON_MERGE}) {
+            informationals = makeInformationals(type, new AnnotationSingleWriter());
+            assertEquals("the statement manages a named window or table that other statements share", validate(informationals, threading, true));
+        }
+
+        // not annotated
+        threading.setThreadPoolRouteExec(true);
+        assertNull(validate(makeInformationals(StatementType.CREATE_WINDOW, new AnnotationNoLock()), threading, false));
+    }
+
+    private static String validate(StatementInformationalsRuntime informationals, ConfigurationRuntimeThreading threading, boolean partitionedByAffinityKey) {
+        return DeployerHelperInitStatement.validateSingleWriter(informationals, threading, partitionedByAffinityKey);
+    }
+
+    private static StatementInformationalsRuntime makeInformationals(StatementType statementType, Annotation annotation) {
+        StatementInformationalsRuntime informationals = new StatementInformationalsRuntime();
+        informationals.setStatementType(statementType);
+        informationals.setAnnotations(new Annotation[]{annotation});
+        return informationals;
+    }
+}
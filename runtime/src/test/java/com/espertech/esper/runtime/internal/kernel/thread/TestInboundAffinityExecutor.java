@@ -0,0 +1,169 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBeanSimple;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestInboundAffinityExecutor extends TestCase {
+
+    public void testOrderPerKey() throws Exception {
+        int numKeys = 20;
+        int numPerKey = 500;
+        InboundAffinityExecutor executor = new InboundAffinityExecutor("default", "Inbound", Collections.singletonMap("SupportBean", "theString"), 4, 100);
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Map<String, Set<Thread>> threads = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(numKeys * numPerKey);
+        try {
+            for (int i = 0; i < numPerKey; i++) {
+                for (int key = 0; key < numKeys; key++) {
+                    EventBean event = SupportEventBeanFactory.createObject(new SupportBean("K" + key, i));
+                    executor.submit(new SupportInboundUnit(event, () -> {
+                        SupportBean bean = (SupportBean) event.getUnderlying();
+                        received.computeIfAbsent(bean.getTheString(), k -> Collections.synchronizedList(new ArrayList<>())).add(bean.getIntPrimitive());
+                        threads.computeIfAbsent(bean.getTheString(), k -> Collections.synchronizedSet(new HashSet<>())).add(Thread.currentThread());
+                        latch.countDown();
+                    }));
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown(1000);
+        }
+
+        assertEquals(numKeys, received.size());
+        for (Map.Entry<String, List<Integer>> entry : received.entrySet()) {
+            List<Integer> values = entry.getValue();
+            assertEquals(numPerKey, values.size());
+            for (int i = 0; i < numPerKey; i++) {
+                assertEquals(i, (int) values.get(i));
+            }
+            assertEquals(1, threads.get(entry.getKey()).size());
+        }
+
+        long submitted = 0;
+        long processed = 0;
+        int usedQueues = 0;
+        for (int i = 0; i < executor.getNumQueues(); i++) {
+            submitted += executor.getSubmittedCount(i);
+            processed += executor.getProcessedCount(i);
+            usedQueues += executor.getSubmittedCount(i) > 0 ? 1 : 0;
+        }
+        assertEquals(numKeys * numPerKey, submitted);
+        assertEquals(numKeys * numPerKey, processed);
+        assertTrue(usedQueues > 1);
+    }
+
+    public void testQueueIndex() {
+        InboundAffinityExecutor executor = new InboundAffinityExecutor("default", "Inbound", Collections.singletonMap("SupportBean", "theString"), 8, null);
+        try {
+            SupportInboundUnit first = makeUnit(new SupportBean("A", 1));
+            SupportInboundUnit second = makeUnit(new SupportBean("A", 2));
+            assertEquals(executor.getQueueIndex(first), executor.getQueueIndex(second));
+
+            Set<Integer> indexes = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                indexes.add(executor.getQueueIndex(makeUnit(new SupportBean("K" + i, i))));
+            }
+            assertEquals(8, indexes.size());
+
+            // event types without affinity key are assigned by type name
+            Set<Integer> unkeyed = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                SupportBeanSimple simple = new SupportBeanSimple("K" + i, i);
+                unkeyed.add(executor.getQueueIndex(makeUnit(simple)));
+            }
+            assertEquals(1, unkeyed.size());
+
+            // units that fail to wrap go to the first queue and handle the exception when they run
+            assertEquals(0, executor.getQueueIndex(new SupportInboundUnit(null, () -> {
+            })));
+        } finally {
+            executor.shutdown(1000);
+        }
+    }
+
+    public void testInvalidKeyProperty() {
+        InboundAffinityExecutor executor = new InboundAffinityExecutor("default", "Inbound", Collections.singletonMap("SupportBean", "dummy"), 4, null);
+        try {
+            Set<Integer> indexes = new HashSet<>();
+            for (int i = 0; i < 20; i++) {
+                indexes.add(executor.getQueueIndex(makeUnit(new SupportBean("K" + i, i))));
+            }
+            assertEquals(1, indexes.size());
+        } finally {
+            executor.shutdown(1000);
+        }
+    }
+
+    public void testKeyGetterException() {
+        InboundAffinityExecutor executor = new InboundAffinityExecutor("default", "Inbound", Collections.singletonMap("SupportBean", "theString"), 4, null);
+        try {
+            // key getter failures assign by event type name
+            Set<Integer> indexes = new HashSet<>();
+            for (int i = 0; i < 20; i++) {
+                indexes.add(executor.getQueueIndex(makeUnit(new SupportBeanKeyFailure(i))));
+            }
+            assertEquals(1, indexes.size());
+
+            // after removing the event type the key getter is obtained again
+            executor.removeEventType(SupportEventBeanFactory.createObject(new SupportBean()).getEventType());
+            SupportInboundUnit first = makeUnit(new SupportBean("A", 1));
+            assertEquals(executor.getQueueIndex(first), executor.getQueueIndex(makeUnit(new SupportBean("A", 2))));
+        } finally {
+            executor.shutdown(1000);
+        }
+    }
+
+    private static SupportInboundUnit makeUnit(Object underlying) {
+        return new SupportInboundUnit(SupportEventBeanFactory.createObject(underlying), () -> {
+        });
+    }
+
+    private static class SupportInboundUnit implements InboundUnitRunnable {
+        private final EventBean event;
+        private final Runnable runnable;
+
+        SupportInboundUnit(EventBean event, Runnable runnable) {
+            this.event = event;
+            this.runnable = runnable;
+        }
+
+        public EventBean getEventBean() {
+            if (event == null) {
+                throw new IllegalStateException("Unknown event type");
+            }
+            return event;
+        }
+
+        public void run() {
+            runnable.run();
+        }
+    }
+
+    public static class SupportBeanKeyFailure extends SupportBean {
+        public SupportBeanKeyFailure(int intPrimitive) {
+            super("K" + intPrimitive, intPrimitive);
+        }
+
+        public String getTheString() {
+            throw new IllegalStateException("Key not available");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestVirtualThreadOrderedExecutor extends TestCase {
+
+    public void testOrderPerKey() throws Exception {
+        int numKeys = 20;
+        int numPerKey = 500;
+        VirtualThreadOrderedExecutor executor = new VirtualThreadOrderedExecutor(Executors.newCachedThreadPool(), 10);
+        Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> concurrent = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numKeys * numPerKey);
+        try {
+            for (int i = 0; i < numPerKey; i++) {
+                for (int key = 0; key < numKeys; key++) {
+                    int value = i;
+                    Integer theKey = key;
+                    executor.submit(theKey, () -> {
+                        AtomicInteger running = concurrent.computeIfAbsent(theKey, k -> new AtomicInteger());
+                        if (running.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        received.computeIfAbsent(theKey, k -> Collections.synchronizedList(new ArrayList<>())).add(value);
+                        running.decrementAndGet();
+                        latch.countDown();
+                    });
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown(1000);
+        }
+
+        assertEquals(0, overlaps.get());
+        assertEquals(numKeys, received.size());
+        for (List<Integer> values : received.values()) {
+            assertEquals(numPerKey, values.size());
+            for (int i = 0; i < numPerKey; i++) {
+                assertEquals(i, (int) values.get(i));
+            }
+        }
+        assertEquals(numKeys * numPerKey, executor.getSubmittedCount());
+        assertEquals(numKeys * numPerKey, executor.getCompletedCount());
+    }
+
+    public void testMaxOutstandingPerKey() throws Exception {
+        VirtualThreadOrderedExecutor executor = new VirtualThreadOrderedExecutor(Executors.newCachedThreadPool(), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.submit("A", () -> awaitQuietly(release));
+            executor.submit("A", () -> {
+            });
+
+            // the third work unit of the key waits for the first to complete
+            CountDownLatch submitted = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                try {
+                    executor.submit("A", () -> {
+                    });
+                    submitted.countDown();
+                } catch (InterruptedException e) {
+                    // ignored
+                }
+            });
+            producer.start();
+            assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+            // another key is not affected
+            CountDownLatch other = new CountDownLatch(1);
+            executor.submit("B", other::countDown);
+            assertTrue(other.await(1, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertTrue(submitted.await(1, TimeUnit.SECONDS));
+            producer.join();
+        } finally {
+            release.countDown();
+            executor.shutdown(1000);
+        }
+        assertEquals(4, executor.getSubmittedCount());
+    }
+
+    public void testMakeFallback() {
+        VirtualThreadOrderedExecutor executor = VirtualThreadOrderedExecutor.make("default", "Outbound", 100);
+        if (!VirtualThreadOrderedExecutor.isSupported()) {
+            assertNull(executor);
+            return;
+        }
+        assertNotNull(executor);
+        executor.shutdown(1000);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
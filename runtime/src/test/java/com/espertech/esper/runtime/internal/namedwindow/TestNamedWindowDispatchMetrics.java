@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.namedwindow;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestNamedWindowDispatchMetrics extends TestCase {
+
+    public void testAccount() {
+        NamedWindowDispatchMetrics metrics = new NamedWindowDispatchMetrics();
+        assertNull(metrics.getMetric("W1"));
+        assertEquals(0, metrics.getDispatchCount("W1"));
+        assertEquals(0, metrics.getFanOutAvg("W1"), 0);
+
+        metrics.account("W1", 2, 100);
+        metrics.account("W1", 6, 300);
+        metrics.account("W2", 1, 50);
+
+        NamedWindowDispatchMetric metric = metrics.getMetric("W1");
+        assertEquals(2, metric.getDispatchCount());
+        assertEquals(8, metric.getFanOutTotal());
+        assertEquals(6, metric.getFanOutMax());
+        assertEquals(4, metric.getFanOutAvg(), 0);
+        assertEquals(400, metric.getLatencyNanosTotal());
+        assertEquals(300, metric.getLatencyNanosMax());
+        assertEquals(200, metrics.getLatencyNanosAvg("W1"), 0);
+        assertEquals(1, metrics.getDispatchCount("W2"));
+        assertEquals(2, metrics.getWindowNames().length);
+
+        metrics.resetStats();
+        assertEquals(0, metric.getDispatchCount());
+        assertEquals(0, metric.getFanOutMax());
+        assertEquals(0, metric.getLatencyNanosAvg(), 0);
+    }
+
+    public void testExecutorShutdown() throws Exception {
+        NamedWindowDispatchExecutor executor = new NamedWindowDispatchExecutor(null, 3);
+        assertEquals(3, executor.getNumThreads());
+        final Thread[] threads = new Thread[2];
+        CountDownLatch done = new CountDownLatch(2);
+        executor.submit(1, () -> {
+            threads[0] = Thread.currentThread();
+            done.countDown();
+        });
+        executor.submit(1, () -> {
+            threads[1] = Thread.currentThread();
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertNotNull(threads[0]);
+        assertTrue(threads[0] == threads[1]);
+    }
+}
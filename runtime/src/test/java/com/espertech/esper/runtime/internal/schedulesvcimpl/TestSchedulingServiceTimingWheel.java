@@ -0,0 +1,189 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.internal.schedule.ScheduleBucket;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.TestSchedulingServiceImpl.SupportScheduleCallback;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+public class TestSchedulingServiceTimingWheel extends TestCase {
+    private SchedulingServiceTimingWheel service;
+
+    private long slots[][];
+    private SupportScheduleCallback callbacks[];
+
+    public void setUp() {
+        service = new SchedulingServiceTimingWheel(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+
+        ScheduleBucket[] buckets = new ScheduleBucket[3];
+        slots = new long[buckets.length][2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ScheduleBucket(i);
+            slots[i] = new long[2];
+            for (int j = 0; j < slots[i].length; j++) {
+                slots[i][j] = buckets[i].allocateSlot();
+            }
+        }
+
+        callbacks = new SupportScheduleCallback[5];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+    }
+
+    public void testTrigger() {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(0);
+
+        service.add(20, callbacks[3], slots[1][1]);
+        service.add(20, callbacks[2], slots[1][0]);
+        service.add(20, callbacks[1], slots[0][1]);
+        service.add(21, callbacks[0], slots[0][0]);
+        assertTrue(service.isScheduled(callbacks[3]));
+        assertEquals(4, service.getScheduleHandleCount());
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+
+        service.setTime(19);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+
+        service.setTime(20);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 2, 3, 0});
+        assertFalse(service.isScheduled(callbacks[3]));
+
+        service.setTime(21);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{4, 0, 0, 0, 0});
+        assertEquals(0, service.getScheduleHandleCount());
+        assertNull(service.getNearestTimeHandle());
+        assertNull(service.getFurthestTimeHandle());
+
+        // re-adding replaces the earlier schedule
+        service.add(20, callbacks[0], slots[0][0]);
+        service.add(28, callbacks[0], slots[0][0]);
+        assertEquals(1, service.getScheduleHandleCount());
+        service.remove(callbacks[0], slots[0][0]);
+        assertFalse(service.isScheduled(callbacks[0]));
+        service.remove(callbacks[0], slots[0][0]);
+
+        service.setTime(21 + Integer.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+    }
+
+    public void testLargeTimeJumpAndDueOnAdd() {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(1000);
+        service.add(0, callbacks[0], slots[0][0]);
+        service.add(Long.MAX_VALUE / 4, callbacks[1], slots[0][1]);
+        service.add(100000, callbacks[2], slots[1][0]);
+
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{1, 0, 0, 0, 0});
+
+        service.setTime(1000 + Long.MAX_VALUE / 8);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 2, 0, 0});
+
+        service.setTime(1000 + Long.MAX_VALUE / 4);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 3, 0, 0, 0});
+    }
+
+    public void testTimeMovesBackward() {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(5000);
+        service.add(100, callbacks[0], slots[0][0]);
+        evaluateSchedule();
+
+        service.setTime(10);
+        service.add(100, callbacks[1], slots[0][1]);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+
+        service.setTime(110);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 0, 0, 0});
+
+        service.setTime(5100);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{2, 0, 0, 0, 0});
+    }
+
+    public void testCompareSortedRandom() {
+        Random random = new Random(1234);
+        SchedulingServiceImpl sorted = new SchedulingServiceImpl(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+        ScheduleBucket bucket = new ScheduleBucket(0);
+        List<SupportScheduleCallback> handles = new ArrayList<SupportScheduleCallback>();
+        List<Long> handleSlots = new ArrayList<Long>();
+        for (int i = 0; i < 200; i++) {
+            handles.add(new SupportScheduleCallback());
+            handleSlots.add(bucket.allocateSlot());
+        }
+
+        long time = 0;
+        sorted.setTime(time);
+        service.setTime(time);
+        for (int step = 0; step < 20000; step++) {
+            int index = random.nextInt(handles.size());
+            int action = random.nextInt(10);
+            if (action < 5) {
+                long after = random.nextInt(4) == 0 ? random.nextInt(100000) : random.nextInt(100);
+                sorted.add(after, handles.get(index), handleSlots.get(index));
+                service.add(after, handles.get(index), handleSlots.get(index));
+            } else if (action < 7) {
+                sorted.remove(handles.get(index), handleSlots.get(index));
+                service.remove(handles.get(index), handleSlots.get(index));
+            } else {
+                time += random.nextInt(3) == 0 ? random.nextInt(50000) : random.nextInt(20);
+                sorted.setTime(time);
+                service.setTime(time);
+                List<ScheduleHandle> expected = new ArrayList<ScheduleHandle>();
+                List<ScheduleHandle> received = new ArrayList<ScheduleHandle>();
+                sorted.evaluate(expected);
+                service.evaluate(received);
+                assertEquals(expected, received);
+            }
+            assertEquals(sorted.getScheduleHandleCount(), service.getScheduleHandleCount());
+            assertEquals(sorted.isScheduled(handles.get(index)), service.isScheduled(handles.get(index)));
+        }
+    }
+
+    private void checkCallbacks(Integer[] results) {
+        assertTrue(callbacks.length == results.length);
+
+        for (int i = 0; i < callbacks.length; i++) {
+            assertEquals((int) results[i], (int) callbacks[i].clearAndGetOrderTriggered());
+        }
+    }
+
+    private void evaluateSchedule() {
+        Collection<ScheduleHandle> handles = new LinkedList<ScheduleHandle>();
+        service.evaluate(handles);
+
+        for (ScheduleHandle handle : handles) {
+            ScheduleHandleCallback cb = (ScheduleHandleCallback) handle;
+            cb.scheduledTrigger();
+        }
+    }
+}